@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.client.AtomixClient;
+import io.atomix.client.AtomixClientBuilder;
+import io.atomix.client.Versioned;
+import io.atomix.client.map.AtomicMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AtomicMap} benchmarks.
+ * <p>
+ * With a single key all the benchmark threads operate on the same key, and otherwise on keys picked at random. The
+ * benchmarks are run with and without {@link AtomixClientBuilder#withTransportAffinity() transport affinity}, and
+ * operation latency percentiles are sampled to compare the two.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtomicMapBenchmark extends ClusterBenchmark {
+    private static final String VALUE = "value";
+
+    @Param({"1", "1024"})
+    private int keys;
+
+    @Param({"false", "true"})
+    private boolean transportAffinity;
+
+    private AtomicMap<String, String> map;
+    private String[] keyNames;
+
+    @Override
+    protected AtomixClient newClient() throws Exception {
+        AtomixClientBuilder builder = cluster.clientBuilder();
+        if (transportAffinity) {
+            builder.withTransportAffinity();
+        }
+        return cluster.client(builder);
+    }
+
+    @Override
+    protected void setup() {
+        map = client.<String, String>atomicMapBuilder("benchmark-map").build();
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "key-" + i;
+            map.put(keyNames[i], VALUE);
+        }
+    }
+
+    private String nextKey() {
+        return keys == 1 ? keyNames[0] : keyNames[ThreadLocalRandom.current().nextInt(keys)];
+    }
+
+    @Benchmark
+    public Versioned<String> put() {
+        return map.put(nextKey(), VALUE);
+    }
+
+    @Benchmark
+    public Versioned<String> get() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextKey());
+    }
+}
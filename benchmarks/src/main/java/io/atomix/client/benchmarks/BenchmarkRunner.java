@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark runner.
+ * <p>
+ * Runs the benchmarks matching the given pattern with the GC profiler at each of the given thread counts, e.g.
+ * {@code java -jar target/benchmarks.jar AtomicMap 1,8,32}. The GC profiler's {@code gc.alloc.rate.norm} is the number
+ * of bytes allocated per operation.
+ */
+public final class BenchmarkRunner {
+    private static final int[] DEFAULT_THREADS = {1, 8, 32};
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        int[] threads = args.length > 1
+            ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray()
+            : DEFAULT_THREADS;
+        for (int count : threads) {
+            Options options = new OptionsBuilder()
+                .include(include)
+                .threads(count)
+                .addProfiler(GCProfiler.class)
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+    private BenchmarkRunner() {
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import io.atomix.client.AtomixClient;
+import io.atomix.client.test.TestCluster;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class for benchmarks against an in-process {@link TestCluster}.
+ * <p>
+ * The cluster and a client connected to it are shared by all the benchmark threads for the length of a trial.
+ */
+@State(Scope.Benchmark)
+public abstract class ClusterBenchmark {
+    protected TestCluster cluster;
+    protected AtomixClient client;
+
+    @Setup(Level.Trial)
+    public void setupCluster() throws Exception {
+        cluster = new TestCluster();
+        cluster.start();
+        client = newClient();
+        setup();
+    }
+
+    /**
+     * Creates the client used by the benchmark.
+     *
+     * @return the connected client
+     */
+    protected AtomixClient newClient() throws Exception {
+        return cluster.client();
+    }
+
+    /**
+     * Creates the primitives used by the benchmark.
+     */
+    protected abstract void setup() throws Exception;
+
+    @TearDown(Level.Trial)
+    public void teardownCluster() throws Exception {
+        cluster.stop();
+    }
+}
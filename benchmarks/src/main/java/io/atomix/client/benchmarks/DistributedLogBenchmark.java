@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.atomix.client.log.DistributedLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DistributedLog} benchmarks.
+ * <p>
+ * The produce benchmark measures the rate at which entries are appended to the log, and the produce/consume benchmark
+ * waits for each entry to be delivered to a consumer on another client.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistributedLogBenchmark extends ClusterBenchmark {
+    private static final String ENTRY = "entry";
+
+    private final AtomicLong produced = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private DistributedLog<String> log;
+
+    @Override
+    protected void setup() throws Exception {
+        log = client.<String>logBuilder().build();
+        DistributedLog<String> consumer = cluster.client().<String>logBuilder().build();
+        consumer.consume(record -> consumed.incrementAndGet());
+    }
+
+    @Benchmark
+    public void produce() {
+        produced.incrementAndGet();
+        log.produce(ENTRY);
+    }
+
+    @Benchmark
+    public void produceConsume() {
+        long expected = produced.incrementAndGet();
+        log.produce(ENTRY);
+        while (consumed.get() < expected) {
+            LockSupport.parkNanos(1000);
+        }
+    }
+}
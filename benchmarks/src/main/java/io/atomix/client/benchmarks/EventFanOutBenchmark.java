@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.atomix.client.Versioned;
+import io.atomix.client.map.AtomicMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Event fan-out benchmarks.
+ * <p>
+ * Each operation updates a map and waits until the update's event has been delivered to the listeners on all the
+ * listening clients, each of which has its own session.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventFanOutBenchmark extends ClusterBenchmark {
+    private static final String NAME = "benchmark-events";
+
+    @Param({"1", "8"})
+    private int listeners;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private AtomicMap<String, String> map;
+
+    @Override
+    protected void setup() throws Exception {
+        map = client.<String, String>atomicMapBuilder(NAME).build();
+        for (int i = 0; i < listeners; i++) {
+            AtomicMap<String, String> listenerMap = cluster.client().<String, String>atomicMapBuilder(NAME).build();
+            listenerMap.addListener(event -> received.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public Versioned<String> put() {
+        long expected = sent.addAndGet(listeners);
+        Versioned<String> previous = map.put("key", "value");
+        while (received.get() < expected) {
+            LockSupport.parkNanos(1000);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.client.Versioned;
+import io.atomix.client.map.AtomicMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Primitive iterator benchmarks.
+ * <p>
+ * Each operation iterates over all the entries in a map of the given size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IteratorBenchmark extends ClusterBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private AtomicMap<String, String> map;
+
+    @Override
+    protected void setup() {
+        map = client.<String, String>atomicMapBuilder("benchmark-iterator").build();
+        for (int i = 0; i < size; i++) {
+            map.put("key-" + i, "value-" + i);
+        }
+    }
+
+    @Benchmark
+    public void iterateEntries(Blackhole blackhole) {
+        for (Map.Entry<String, Versioned<String>> entry : map.entrySet()) {
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iterateKeys(Blackhole blackhole) {
+        for (String key : map.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+}
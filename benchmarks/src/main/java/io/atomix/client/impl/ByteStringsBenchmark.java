@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ByteStrings} benchmarks.
+ * <p>
+ * Measures the cost of moving a value into a request message and out of a parsed response message, with and without
+ * copying. Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteStringsBenchmark {
+    @Param({"1024", "65536", "1048576"})
+    private int valueSize;
+
+    @Param({"false", "true"})
+    private boolean zeroCopy;
+
+    private byte[] value;
+    private BytesValue response;
+
+    @Setup
+    public void setup() throws InvalidProtocolBufferException {
+        value = new byte[valueSize];
+        new Random(0).nextBytes(value);
+        response = BytesValue.parseFrom(BytesValue.newBuilder()
+            .setValue(ByteStrings.wrap(value, false))
+            .build()
+            .toByteArray());
+    }
+
+    @Benchmark
+    public BytesValue request() {
+        return BytesValue.newBuilder()
+            .setValue(ByteStrings.wrap(value, zeroCopy))
+            .build();
+    }
+
+    @Benchmark
+    public byte[] response() {
+        return ByteStrings.toByteArray(response.getValue(), zeroCopy);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import io.atomix.api.headers.RequestHeader;
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.primitive.Name;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.NullThreadContext;
+import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PrimitiveSessionExecutor} benchmarks.
+ * <p>
+ * Operations are executed on the calling thread against a request function that responds immediately, so the GC
+ * profiler's {@code gc.alloc.rate.norm} is the session hot path's allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveSessionExecutorBenchmark {
+    private static final BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> REQUEST_FUNCTION =
+        (header, observer) -> {
+            observer.onNext(ResponseHeader.getDefaultInstance());
+            observer.onCompleted();
+        };
+
+    private PrimitiveSessionExecutor<Object> executor;
+
+    @Setup
+    public void setup() {
+        ThreadContext context = new NullThreadContext() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        PrimitiveSessionState state = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000);
+        ManagedPrimitiveContext primitiveContext = new ManagedPrimitiveContext(
+            1, "benchmark", (name, managementService) -> null, Duration.ofSeconds(5));
+        PrimitiveSessionSequencer sequencer = new PrimitiveSessionSequencer(state, primitiveContext);
+        executor = new PrimitiveSessionExecutor<>(
+            new Object(), state, primitiveContext, sequencer, context,
+            RetryPolicy.DEFAULT, new RetryBudget(100, .1), Duration.ofSeconds(5),
+            new QueryHedger(new SessionConfig()), ReadConsistency.LINEARIZABLE,
+            new PartitionMetrics(MetricsRegistry.NOOP, 1), new OperationMetrics(MetricsRegistry.NOOP, Object.class),
+            new SessionConfig(), new InFlightLimit(0));
+    }
+
+    @Benchmark
+    public ResponseHeader command() {
+        return executor.executeCommand(REQUEST_FUNCTION, response -> response).join();
+    }
+
+    @Benchmark
+    public ResponseHeader query() {
+        return executor.executeQuery(REQUEST_FUNCTION, response -> response).join();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.primitive.Name;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PrimitiveSessionSequencer} benchmarks.
+ * <p>
+ * Each invocation sequences a batch of responses, either in order or with the given percentage of responses arriving
+ * ahead of their sequence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveSessionSequencerBenchmark {
+    private static final int BATCH_SIZE = 1024;
+    private static final int MAX_REORDER_DISTANCE = 16;
+    private static final Runnable CALLBACK = () -> {
+    };
+
+    @Param({"0", "10"})
+    private int reorderPercentage;
+
+    private PrimitiveSessionSequencer sequencer;
+    private int[] order;
+
+    @Setup
+    public void setup() {
+        PrimitiveSessionState state = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000);
+        ManagedPrimitiveContext context = new ManagedPrimitiveContext(
+            1, "benchmark", (name, managementService) -> null, Duration.ofSeconds(5));
+        sequencer = new PrimitiveSessionSequencer(state, context);
+
+        // Move the given percentage of responses ahead of the responses preceding them.
+        order = new int[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(0);
+        for (int i = MAX_REORDER_DISTANCE; i < BATCH_SIZE; i++) {
+            if (random.nextInt(100) < reorderPercentage) {
+                int j = i - 1 - random.nextInt(MAX_REORDER_DISTANCE);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long sequenceResponses() {
+        long first = sequencer.nextRequest();
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            sequencer.nextRequest();
+        }
+        ResponseHeader header = ResponseHeader.getDefaultInstance();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            sequencer.sequenceResponse(first + order[i], header, CALLBACK);
+        }
+        return sequencer.responseSequence;
+    }
+}
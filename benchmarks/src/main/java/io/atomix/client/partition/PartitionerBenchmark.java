@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.hash.Hashing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Murmur3Partitioner} benchmarks.
+ * <p>
+ * Compares routing a batch of keys through Guava's hash functions, the list-based {@link Partitioner} API, a
+ * {@link PartitionTable} and the batch {@link HashPartitioner} API.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionerBenchmark {
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({"3", "32"})
+    private int partitions;
+
+    private final Murmur3Partitioner partitioner = new Murmur3Partitioner();
+    private List<Integer> partitionIds;
+    private PartitionTable table;
+    private String[] keys;
+    private int[] keyPartitions;
+
+    @Setup
+    public void setup() {
+        partitionIds = new CopyOnWriteArrayList<>(IntStream.rangeClosed(1, partitions).boxed().collect(Collectors.toList()));
+        table = PartitionTable.of(partitionIds);
+        keys = new String[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            keys[i] = "user:" + Long.toHexString(i * 0x9E3779B97F4A7C15L);
+        }
+        keyPartitions = new int[BATCH_SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int guava() {
+        int sum = 0;
+        for (String key : keys) {
+            int hash = Math.abs(Hashing.murmur3_32().hashUnencodedChars(key).asInt());
+            sum += partitionIds.get(Hashing.consistentHash(hash, partitionIds.size()));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int list() {
+        int sum = 0;
+        for (String key : keys) {
+            sum += partitioner.partition(key, partitionIds);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int table() {
+        int sum = 0;
+        for (String key : keys) {
+            sum += partitioner.partition(key, table);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] batch() {
+        partitioner.partition(keys, table, keyPartitions);
+        return keyPartitions;
+    }
+}
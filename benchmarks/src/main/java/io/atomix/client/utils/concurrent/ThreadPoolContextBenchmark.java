@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ThreadPoolContext} benchmarks.
+ * <p>
+ * Multiple producer threads submit batches of tasks to a single context, as gRPC threads and callers do for a
+ * primitive. Each producer waits for its batch to be executed before submitting the next one, so the context's queue
+ * stays bounded. Run with 8 or more threads to measure contention between producers, e.g.
+ * {@code java -jar target/benchmarks.jar ThreadPoolContext 8,32}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadPoolContextBenchmark {
+    private static final int BATCH_SIZE = 1024;
+    private static final Runnable TASK = () -> {
+    };
+
+    /**
+     * Context shared by the producer threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Context {
+        private ScheduledExecutorService executor;
+        private ThreadContext context;
+
+        @Setup
+        public void setup() {
+            executor = Executors.newScheduledThreadPool(4, new AtomixThreadFactory());
+            context = new ThreadPoolContext(executor);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Producer thread state.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+        private final Semaphore executed = new Semaphore(0);
+        private final Runnable release = executed::release;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void execute(Context context, Producer producer) throws InterruptedException {
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            context.context.execute(TASK);
+        }
+        context.context.execute(producer.release);
+        producer.executed.acquire();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.atomix.client.partition.Partitioner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link KeyCodec} benchmarks.
+ * <p>
+ * Each invocation encodes and partitions a batch of keys. The {@code wireBytes} and {@code heapBytes} counters record
+ * the UTF-8 size of the encoded keys on the wire and their size in a JVM with compact strings; dividing them by the
+ * benchmark's throughput gives the bytes per key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyCodecBenchmark {
+    private static final int BATCH_SIZE = 1024;
+    private static final List<Integer> PARTITIONS = IntStream.rangeClosed(1, 32).boxed().collect(Collectors.toList());
+
+    private static final Serializer SERIALIZER = new Serializer() {
+        @Override
+        public <T> byte[] encode(T object) {
+            if (object instanceof Long) {
+                return ByteBuffer.allocate(Long.BYTES).putLong((Long) object).array();
+            }
+            return object.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T decode(byte[] bytes) {
+            return (T) (Long) ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    /**
+     * Encoded key size counters.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class KeySizes {
+        public long wireBytes;
+        public long heapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            heapBytes = 0;
+        }
+    }
+
+    @Param({"base16", "binary", "compact"})
+    private String codec;
+
+    @Param({"string", "long"})
+    private String keyType;
+
+    private KeyCodec<Object> keyCodec;
+    private Object[] keys;
+
+    @Setup
+    public void setup() {
+        switch (codec) {
+            case "base16":
+                keyCodec = KeyCodec.base16(SERIALIZER);
+                break;
+            case "binary":
+                keyCodec = KeyCodec.binary(SERIALIZER);
+                break;
+            default:
+                keyCodec = KeyCodec.compact(SERIALIZER);
+                break;
+        }
+        keys = new Object[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long value = i * 0x9E3779B97F4A7C15L;
+            keys[i] = keyType.equals("string") ? "user:" + Long.toHexString(value) : (Object) value;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int encodeAndPartition(KeySizes sizes) {
+        int partitions = 0;
+        for (Object key : keys) {
+            String encoded = keyCodec.encode(key);
+            partitions += Partitioner.MURMUR3.partition(encoded, PARTITIONS);
+            sizes.wireBytes += utf8Length(encoded);
+            sizes.heapBytes += isLatin1(encoded) ? encoded.length() : encoded.length() * 2;
+        }
+        return partitions;
+    }
+
+    private static int utf8Length(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+        }
+        return length;
+    }
+
+    private static boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -56,4 +56,13 @@ public interface AsyncPrimitive extends DistributedPrimitive {
      */
     SyncPrimitive sync(Duration operationTimeout);
 
+    /**
+     * Returns the number of operations waiting to be admitted by the client's flow control.
+     *
+     * @return the number of queued operations
+     */
+    default int queueDepth() {
+        return 0;
+    }
+
 }
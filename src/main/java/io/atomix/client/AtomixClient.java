@@ -16,15 +16,23 @@
 package io.atomix.client;
 
 import io.atomix.api.primitive.Name;
+import io.atomix.client.channel.ChannelConfig;
 import io.atomix.client.channel.ChannelProvider;
 import io.atomix.client.impl.DefaultPrimitiveManagementService;
+import io.atomix.client.impl.PartitionSessionRegistry;
 import io.atomix.client.impl.PrimitiveCacheImpl;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.partition.impl.PartitionChannelRegistry;
 import io.atomix.client.partition.impl.PartitionServiceImpl;
+import io.atomix.client.session.SessionConfig;
 import io.atomix.client.utils.concurrent.BlockingAwareThreadPoolContextFactory;
+import io.atomix.client.utils.concurrent.EventLoopContextFactory;
 import io.atomix.client.utils.concurrent.ThreadContextFactory;
+import io.atomix.client.utils.concurrent.VirtualThreadPoolContextFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -95,14 +103,49 @@ public class AtomixClient implements AtomixClientService {
 
     private final String namespace;
     private final ChannelProvider channelProvider;
+    private final ChannelConfig channelConfig;
+    private final SessionConfig sessionConfig;
+    private final RetryPolicy retryPolicy;
+    private final MetricsRegistry metricsRegistry;
+    private final boolean virtualThreads;
+    private final Duration timerResolution;
+    private final Duration partitionRefreshInterval;
     private final PrimitiveCache primitiveCache = new PrimitiveCacheImpl();
     private ThreadContextFactory threadContextFactory;
+    private PartitionChannelRegistry channelRegistry;
+    private PartitionSessionRegistry sessionRegistry;
+    private PartitionServiceImpl partitionService;
     private PrimitiveManagementService managementService;
     private final AtomicBoolean started = new AtomicBoolean();
 
-    protected AtomixClient(String namespace, ChannelProvider channelProvider) {
+    protected AtomixClient(
+        String namespace,
+        ChannelProvider channelProvider,
+        ChannelConfig channelConfig,
+        SessionConfig sessionConfig,
+        RetryPolicy retryPolicy,
+        MetricsRegistry metricsRegistry,
+        boolean virtualThreads,
+        Duration timerResolution,
+        Duration partitionRefreshInterval) {
         this.namespace = namespace;
         this.channelProvider = channelProvider;
+        this.channelConfig = channelConfig;
+        this.sessionConfig = sessionConfig;
+        this.retryPolicy = retryPolicy;
+        this.metricsRegistry = metricsRegistry;
+        this.virtualThreads = virtualThreads;
+        this.timerResolution = timerResolution;
+        this.partitionRefreshInterval = partitionRefreshInterval;
+    }
+
+    /**
+     * Returns the registry to which the client's metrics are recorded.
+     *
+     * @return the client metrics registry
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
     }
 
     @Override
@@ -142,14 +185,38 @@ public class AtomixClient implements AtomixClientService {
      * @return a future to be completed once the instance has completed startup
      */
     public synchronized CompletableFuture<AtomixClient> start() {
-        this.threadContextFactory = new BlockingAwareThreadPoolContextFactory(
-            "atomix-client-%d",
-            Runtime.getRuntime().availableProcessors(),
-            LOGGER);
+        if (channelConfig.isTransportAffinityEnabled()) {
+            EventLoopContextFactory eventLoopContextFactory = new EventLoopContextFactory(
+                "atomix-client-%d",
+                Runtime.getRuntime().availableProcessors(),
+                timerResolution,
+                LOGGER);
+            this.threadContextFactory = eventLoopContextFactory;
+            this.channelRegistry = new PartitionChannelRegistry(channelConfig, eventLoopContextFactory.eventLoopGroup());
+        } else {
+            if (virtualThreads) {
+                this.threadContextFactory = new VirtualThreadPoolContextFactory("atomix-client", timerResolution, LOGGER);
+            } else {
+                this.threadContextFactory = new BlockingAwareThreadPoolContextFactory(
+                    "atomix-client-%d",
+                    Runtime.getRuntime().availableProcessors(),
+                    timerResolution,
+                    LOGGER);
+            }
+            this.channelRegistry = new PartitionChannelRegistry(channelConfig);
+        }
+        this.sessionRegistry = new PartitionSessionRegistry(threadContextFactory, sessionConfig, metricsRegistry);
+        this.partitionService = new PartitionServiceImpl(
+            channelProvider.getFactory(),
+            channelRegistry,
+            sessionRegistry,
+            threadContextFactory.createContext(),
+            partitionRefreshInterval);
         this.managementService = new DefaultPrimitiveManagementService(
-            new PartitionServiceImpl(channelProvider.getFactory()),
+            partitionService,
             primitiveCache,
-            threadContextFactory);
+            threadContextFactory,
+            retryPolicy);
         started.set(true);
         LOGGER.info("Started");
         return CompletableFuture.completedFuture(this);
@@ -170,6 +237,9 @@ public class AtomixClient implements AtomixClientService {
      * @return a future to be completed once the instance has been stopped
      */
     public synchronized CompletableFuture<Void> stop() {
+        partitionService.close();
+        sessionRegistry.close();
+        channelRegistry.close();
         threadContextFactory.close();
         LOGGER.info("Stopped");
         started.set(false);
@@ -17,20 +17,37 @@ package io.atomix.client;
 
 import io.atomix.client.channel.ChannelConfig;
 import io.atomix.client.channel.ChannelProvider;
+import io.atomix.client.channel.LoadBalancingPolicy;
 import io.atomix.client.channel.ServerChannelProvider;
 import io.atomix.client.channel.ServiceChannelProvider;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.session.AdmissionPolicy;
+import io.atomix.client.session.SessionConfig;
 import io.atomix.client.utils.Builder;
+import io.atomix.client.utils.concurrent.VirtualThreadPoolContextFactory;
 
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Atomix client builder.
  */
 public class AtomixClientBuilder implements Builder<AtomixClient> {
     private static final String DEFAULT_NAMESPACE = "default";
+    private static final Duration DEFAULT_TIMER_RESOLUTION = Duration.ofMillis(10);
+    private static final Duration DEFAULT_PARTITION_REFRESH_INTERVAL = Duration.ofSeconds(30);
     private String namespace = DEFAULT_NAMESPACE;
     private ChannelProvider channelProvider;
     private final ChannelConfig channelConfig = new ChannelConfig();
+    private final SessionConfig sessionConfig = new SessionConfig();
+    private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NOOP;
+    private boolean virtualThreads;
+    private Duration timerResolution = DEFAULT_TIMER_RESOLUTION;
+    private Duration partitionRefreshInterval = DEFAULT_PARTITION_REFRESH_INTERVAL;
 
     /**
      * Sets the client namespace.
@@ -108,8 +125,194 @@ public class AtomixClientBuilder implements Builder<AtomixClient> {
         return this;
     }
 
+    /**
+     * Sets the number of channels to open to each partition endpoint.
+     * <p>
+     * Channels to partition endpoints are shared by all primitives connected to the same endpoint. Increasing the
+     * pool size spreads concurrent calls across multiple connections to each endpoint.
+     *
+     * @param poolSize the number of channels to open to each partition endpoint
+     * @return the client builder
+     */
+    public AtomixClientBuilder withChannelPoolSize(int poolSize) {
+        channelConfig.setPoolSize(poolSize);
+        return this;
+    }
+
+    /**
+     * Sets the policy used to spread queries across the endpoints of each partition.
+     *
+     * @param loadBalancingPolicy the query load balancing policy
+     * @return the client builder
+     */
+    public AtomixClientBuilder withLoadBalancingPolicy(LoadBalancingPolicy loadBalancingPolicy) {
+        channelConfig.setLoadBalancingPolicy(loadBalancingPolicy);
+        return this;
+    }
+
+    /**
+     * Executes primitives on the event loops of the client's gRPC channels.
+     * <p>
+     * Each primitive and partition session is pinned to one of the client's Netty event loops, and sends its calls on
+     * channels bound to that event loop. Operations are submitted, sent, sequenced and completed on the event loop
+     * without switching threads, so callbacks and event listeners must not block. Transport affinity can't be combined
+     * with {@link #withVirtualThreads()}.
+     *
+     * @return the client builder
+     */
+    public AtomixClientBuilder withTransportAffinity() {
+        channelConfig.setTransportAffinityEnabled(true);
+        return this;
+    }
+
+    /**
+     * Sets the default policy for retrying primitive operations.
+     * <p>
+     * The policy can be overridden for individual primitives via {@link PrimitiveBuilder#withRetryPolicy(RetryPolicy)}.
+     *
+     * @param retryPolicy the default retry policy
+     * @return the client builder
+     */
+    public AtomixClientBuilder withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = checkNotNull(retryPolicy, "retryPolicy cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the retry budget for each partition.
+     * <p>
+     * Each retry sent to a partition takes a token from the partition's budget, and each successful operation returns
+     * {@code tokenRatio} tokens to it. Retries are denied while the budget is empty.
+     *
+     * @param maxTokens  the maximum number of retry tokens per partition
+     * @param tokenRatio the number of retry tokens earned per successful operation
+     * @return the client builder
+     */
+    public AtomixClientBuilder withRetryBudget(int maxTokens, double tokenRatio) {
+        sessionConfig.setRetryBudgetTokens(maxTokens);
+        sessionConfig.setRetryBudgetRatio(tokenRatio);
+        return this;
+    }
+
+    /**
+     * Enables hedging of primitive queries.
+     * <p>
+     * When hedging is enabled, a query that has not received a response once the given percentile of recent query
+     * latencies to its partition has elapsed is sent again to another endpoint in the partition, and the first
+     * response is used. Hedged queries are limited by the partition's retry budget.
+     *
+     * @param percentile the percentile of recent query latencies after which to hedge a query, e.g. {@code .95}
+     * @param minDelay   the minimum delay after which to hedge a query
+     * @return the client builder
+     */
+    public AtomixClientBuilder withQueryHedging(double percentile, Duration minDelay) {
+        sessionConfig.setHedgingPercentile(percentile);
+        sessionConfig.setMinHedgingDelay(minDelay);
+        return this;
+    }
+
+    /**
+     * Limits the number of in-flight operations.
+     * <p>
+     * Operations in excess of either limit wait in each primitive's admission queue until earlier operations have
+     * completed. A limit of {@code 0} disables that limit.
+     *
+     * @param maxPerSession   the maximum number of in-flight operations per primitive session
+     * @param maxPerPartition the maximum number of in-flight operations per partition
+     * @return the client builder
+     */
+    public AtomixClientBuilder withMaxInFlightOperations(int maxPerSession, int maxPerPartition) {
+        sessionConfig.setMaxInFlightPerSession(maxPerSession);
+        sessionConfig.setMaxInFlightPerPartition(maxPerPartition);
+        return this;
+    }
+
+    /**
+     * Sets the capacity of each primitive's admission queue and the policy applied once it's full.
+     * <p>
+     * The admission queue only applies when the number of in-flight operations is limited via
+     * {@link #withMaxInFlightOperations(int, int)}.
+     *
+     * @param maxQueued the maximum number of operations waiting to be admitted per primitive session
+     * @param policy    the policy applied to operations submitted while the admission queue is full
+     * @return the client builder
+     */
+    public AtomixClientBuilder withAdmissionQueue(int maxQueued, AdmissionPolicy policy) {
+        sessionConfig.setMaxQueuedOperations(maxQueued);
+        sessionConfig.setAdmissionPolicy(policy);
+        return this;
+    }
+
+    /**
+     * Sets the registry to which client metrics are recorded.
+     * <p>
+     * Metrics are disabled by default. Use {@link MetricsRegistry#inMemory()} to record metrics in memory and read them
+     * via {@link AtomixClient#getMetricsRegistry()}.
+     *
+     * @param metricsRegistry the metrics registry
+     * @return the client builder
+     */
+    public AtomixClientBuilder withMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = checkNotNull(metricsRegistry, "metricsRegistry cannot be null");
+        return this;
+    }
+
+    /**
+     * Runs the client's thread contexts on virtual threads.
+     * <p>
+     * Primitive events and callbacks are executed on virtual threads, so they may block without tying up the client's
+     * threads, and synchronous primitives can be used by large numbers of concurrent virtual threads. Virtual threads
+     * require Java 21 or later.
+     *
+     * @return the client builder
+     * @throws IllegalStateException if virtual threads are not supported by the running JVM
+     */
+    public AtomixClientBuilder withVirtualThreads() {
+        checkState(VirtualThreadPoolContextFactory.isSupported(), "virtual threads require Java 21 or later");
+        this.virtualThreads = true;
+        return this;
+    }
+
+    /**
+     * Sets the resolution of the timers used for keep-alives, retries, hedges and primitive timeouts.
+     * <p>
+     * Timers are scheduled on a hashed wheel shared by all the client's thread contexts, and fire on the first tick of
+     * the wheel at or after their deadline. This applies to every execution mode, including
+     * {@link #withTransportAffinity() transport affinity}, where expired timers are handed off to the context's event
+     * loop. Defaults to {@code 10ms}.
+     *
+     * @param timerResolution the timer tick duration
+     * @return the client builder
+     */
+    public AtomixClientBuilder withTimerResolution(Duration timerResolution) {
+        checkNotNull(timerResolution, "timerResolution cannot be null");
+        checkArgument(!timerResolution.isNegative() && !timerResolution.isZero(), "timerResolution must be positive");
+        this.timerResolution = timerResolution;
+        return this;
+    }
+
+    /**
+     * Sets the interval at which cached partition group metadata is refreshed from the controller.
+     * <p>
+     * Partition groups are loaded once and shared by all the primitives built by the client. Changes to a partition's
+     * endpoints found by a refresh are applied to the primitives already using the partition. Defaults to {@code 30s}.
+     *
+     * @param refreshInterval the partition group refresh interval
+     * @return the client builder
+     */
+    public AtomixClientBuilder withPartitionRefreshInterval(Duration refreshInterval) {
+        checkNotNull(refreshInterval, "refreshInterval cannot be null");
+        checkArgument(!refreshInterval.isNegative() && !refreshInterval.isZero(), "refreshInterval must be positive");
+        this.partitionRefreshInterval = refreshInterval;
+        return this;
+    }
+
     @Override
     public AtomixClient build() {
-        return new AtomixClient(namespace, channelProvider);
+        checkState(!virtualThreads || !channelConfig.isTransportAffinityEnabled(),
+            "virtual threads cannot be combined with transport affinity");
+        return new AtomixClient(
+            namespace, channelProvider, channelConfig, sessionConfig, retryPolicy, metricsRegistry, virtualThreads,
+            timerResolution, partitionRefreshInterval);
     }
 }
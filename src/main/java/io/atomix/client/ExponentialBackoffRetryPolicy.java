@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Retry policy with exponential backoff and full jitter.
+ * <p>
+ * The delay before each retry is chosen uniformly at random between zero and the backoff for the attempt, where the
+ * backoff starts at the base delay and doubles with each attempt up to the maximum delay. Randomizing the entire
+ * delay spreads out the retries of clients that failed at the same time, e.g. when a partition endpoint goes down.
+ */
+public final class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    /**
+     * Returns a new exponential backoff retry policy builder.
+     *
+     * @return a new exponential backoff retry policy builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    private ExponentialBackoffRetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public Duration getRetryDelay(int attempt) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        long backoff = maxDelayMillis >> exponent < baseDelayMillis ? maxDelayMillis : baseDelayMillis << exponent;
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(backoff + 1));
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+            .add("maxAttempts", maxAttempts)
+            .add("baseDelay", Duration.ofMillis(baseDelayMillis))
+            .add("maxDelay", Duration.ofMillis(maxDelayMillis))
+            .toString();
+    }
+
+    /**
+     * Exponential backoff retry policy builder.
+     */
+    public static final class Builder implements io.atomix.client.utils.Builder<RetryPolicy> {
+        private int maxAttempts = 5;
+        private Duration baseDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(5);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of attempts for an operation, including the first attempt.
+         *
+         * @param maxAttempts the maximum number of attempts for an operation
+         * @return the retry policy builder
+         */
+        public Builder withMaxAttempts(int maxAttempts) {
+            checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the backoff for the first retry.
+         *
+         * @param baseDelay the backoff for the first retry
+         * @return the retry policy builder
+         */
+        public Builder withBaseDelay(Duration baseDelay) {
+            checkNotNull(baseDelay, "baseDelay cannot be null");
+            checkArgument(!baseDelay.isNegative(), "baseDelay cannot be negative");
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum backoff for a retry.
+         *
+         * @param maxDelay the maximum backoff for a retry
+         * @return the retry policy builder
+         */
+        public Builder withMaxDelay(Duration maxDelay) {
+            checkNotNull(maxDelay, "maxDelay cannot be null");
+            checkArgument(!maxDelay.isNegative(), "maxDelay cannot be negative");
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        @Override
+        public RetryPolicy build() {
+            checkArgument(maxDelay.compareTo(baseDelay) >= 0, "maxDelay cannot be less than baseDelay");
+            return new ExponentialBackoffRetryPolicy(maxAttempts, baseDelay.toMillis(), maxDelay.toMillis());
+        }
+    }
+}
@@ -20,6 +20,7 @@ import io.atomix.api.primitive.Name;
 import io.atomix.client.partition.Partitioner;
 import io.atomix.client.utils.serializer.Serializer;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -37,6 +38,9 @@ public abstract class PrimitiveBuilder<B extends PrimitiveBuilder<B, P>, P exten
     protected Partitioner<String> partitioner = Partitioner.MURMUR3;
     protected boolean readOnly;
     protected Serializer serializer;
+    protected RetryPolicy retryPolicy;
+    protected Duration operationTimeout = Duration.ofMillis(DistributedPrimitive.DEFAULT_OPERATION_TIMEOUT_MILLIS);
+    protected ReadConsistency readConsistency = ReadConsistency.LINEARIZABLE;
     protected final PrimitiveManagementService managementService;
 
     protected PrimitiveBuilder(Name name, PrimitiveManagementService managementService) {
@@ -84,6 +88,9 @@ public abstract class PrimitiveBuilder<B extends PrimitiveBuilder<B, P>, P exten
 
     /**
      * Sets the primitive serializer.
+     * <p>
+     * If no serializer is set, {@link Serializer#DEFAULT} is used, which supports strings, boxed primitives and byte
+     * arrays.
      *
      * @param serializer the primitive serializer
      * @return the primitive builder
@@ -94,6 +101,49 @@ public abstract class PrimitiveBuilder<B extends PrimitiveBuilder<B, P>, P exten
         return (B) this;
     }
 
+    /**
+     * Sets the policy for retrying the primitive's operations.
+     * <p>
+     * If no retry policy is set, the client's default retry policy is used.
+     *
+     * @param retryPolicy the primitive retry policy
+     * @return the primitive builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = checkNotNull(retryPolicy, "retryPolicy cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Sets the timeout for the primitive's operations.
+     * <p>
+     * Each operation is sent with a deadline after the operation timeout, and is cancelled once the deadline has
+     * passed. The timeout also bounds the operations of the synchronous primitive.
+     *
+     * @param operationTimeout the primitive operation timeout
+     * @return the primitive builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withOperationTimeout(Duration operationTimeout) {
+        this.operationTimeout = checkNotNull(operationTimeout, "operationTimeout cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Sets the consistency of the primitive's reads.
+     * <p>
+     * The read consistency can be overridden for individual reads with {@link ReadConsistency#call}.
+     *
+     * @param readConsistency the primitive read consistency
+     * @return the primitive builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withReadConsistency(ReadConsistency readConsistency) {
+        this.readConsistency = checkNotNull(readConsistency, "readConsistency cannot be null");
+        return (B) this;
+    }
+
     /**
      * Sets the primitive to read-only.
      *
@@ -122,7 +172,34 @@ public abstract class PrimitiveBuilder<B extends PrimitiveBuilder<B, P>, P exten
      * @return the protocol serializer
      */
     protected Serializer serializer() {
-        return serializer;
+        return serializer != null ? serializer : Serializer.DEFAULT;
+    }
+
+    /**
+     * Returns the primitive retry policy.
+     *
+     * @return the primitive retry policy
+     */
+    protected RetryPolicy retryPolicy() {
+        return retryPolicy != null ? retryPolicy : managementService.getRetryPolicy();
+    }
+
+    /**
+     * Returns the primitive operation timeout.
+     *
+     * @return the primitive operation timeout
+     */
+    protected Duration operationTimeout() {
+        return operationTimeout;
+    }
+
+    /**
+     * Returns the primitive read consistency.
+     *
+     * @return the primitive read consistency
+     */
+    protected ReadConsistency readConsistency() {
+        return readConsistency;
     }
 
     /**
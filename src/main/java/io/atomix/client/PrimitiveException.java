@@ -186,4 +186,21 @@ public class PrimitiveException extends AtomixClientException {
             super(cause);
         }
     }
+
+    public static class Unavailable extends PrimitiveException {
+        public Unavailable() {
+        }
+
+        public Unavailable(String message) {
+            super(message);
+        }
+
+        public Unavailable(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        public Unavailable(Throwable cause) {
+            super(cause);
+        }
+    }
 }
@@ -44,4 +44,11 @@ public interface PrimitiveManagementService {
      */
     ThreadContextFactory getThreadFactory();
 
+    /**
+     * Returns the default retry policy for primitives.
+     *
+     * @return the default retry policy for primitives
+     */
+    RetryPolicy getRetryPolicy();
+
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Consistency of primitive reads.
+ * <p>
+ * Reads are linearizable by default. Relaxed reads are preferably served by follower endpoints, and bounded
+ * staleness reads may additionally be served from the primitive's recent reads. Reads from the same primitive never
+ * go backwards in time regardless of their consistency: a relaxed read never returns state older than the state
+ * already observed by the primitive's session.
+ * <p>
+ * The read consistency is configured per primitive with {@link PrimitiveBuilder#withReadConsistency(ReadConsistency)}
+ * and can be overridden for individual reads with {@link #call(Supplier)}.
+ */
+public final class ReadConsistency {
+
+    /**
+     * Read consistency level.
+     */
+    public enum Level {
+
+        /**
+         * Reads reflect all the writes completed before the read was issued.
+         */
+        LINEARIZABLE,
+
+        /**
+         * Reads reflect a consistent prefix of the writes, including all the writes of the reading session.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Reads are sequential and at most a bounded amount of time out of date.
+         */
+        BOUNDED_STALENESS,
+
+    }
+
+    /**
+     * Linearizable read consistency.
+     */
+    public static final ReadConsistency LINEARIZABLE = new ReadConsistency(Level.LINEARIZABLE, Duration.ZERO);
+
+    /**
+     * Sequential read consistency.
+     */
+    public static final ReadConsistency SEQUENTIAL = new ReadConsistency(Level.SEQUENTIAL, Duration.ZERO);
+
+    private static final ThreadLocal<ReadConsistency> OVERRIDE = new ThreadLocal<>();
+
+    /**
+     * Returns a bounded staleness read consistency.
+     *
+     * @param maxStaleness the maximum age of the state returned by a read
+     * @return the bounded staleness read consistency
+     */
+    public static ReadConsistency boundedStaleness(Duration maxStaleness) {
+        checkNotNull(maxStaleness, "maxStaleness cannot be null");
+        checkArgument(!maxStaleness.isNegative(), "maxStaleness cannot be negative");
+        return new ReadConsistency(Level.BOUNDED_STALENESS, maxStaleness);
+    }
+
+    /**
+     * Returns the read consistency for reads issued by the current thread.
+     *
+     * @param defaultConsistency the read consistency to use if it has not been overridden by {@link #call(Supplier)}
+     * @return the read consistency for reads issued by the current thread
+     */
+    public static ReadConsistency current(ReadConsistency defaultConsistency) {
+        ReadConsistency consistency = OVERRIDE.get();
+        return consistency != null ? consistency : defaultConsistency;
+    }
+
+    private final Level level;
+    private final Duration maxStaleness;
+
+    private ReadConsistency(Level level, Duration maxStaleness) {
+        this.level = level;
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * Returns the read consistency level.
+     *
+     * @return the read consistency level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the maximum age of the state returned by a read.
+     *
+     * @return the maximum staleness of reads, or {@link Duration#ZERO} unless the level is
+     * {@link Level#BOUNDED_STALENESS}
+     */
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Calls the given supplier with this consistency for the reads it issues on the calling thread.
+     * <p>
+     * For example, {@code ReadConsistency.SEQUENTIAL.call(() -> map.get("foo"))} issues a sequential read regardless
+     * of the map's configured read consistency.
+     *
+     * @param supplier the supplier to call
+     * @param <T>      the supplier result type
+     * @return the supplier result
+     */
+    public <T> T call(Supplier<T> supplier) {
+        ReadConsistency previous = OVERRIDE.get();
+        OVERRIDE.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                OVERRIDE.set(previous);
+            } else {
+                OVERRIDE.remove();
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(level, maxStaleness);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof ReadConsistency) {
+            ReadConsistency that = (ReadConsistency) object;
+            return this.level == that.level && this.maxStaleness.equals(that.maxStaleness);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+            .add("level", level)
+            .add("maxStaleness", maxStaleness)
+            .toString();
+    }
+}
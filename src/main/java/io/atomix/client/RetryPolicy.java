@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client;
+
+import java.time.Duration;
+
+/**
+ * Policy for retrying primitive operations that failed to reach the cluster.
+ * <p>
+ * Retries are only attempted for failures after which the operation can be safely resent, such as connection
+ * failures and timeouts. Query retries for primitives on the same partition are additionally limited by the
+ * partition's retry budget, so retries can't amplify the load on a partition that's already failing.
+ * <p>
+ * Commands hold a sequence number in their session and can't be dropped without leaving a gap in the session's
+ * command sequence, so they're retried with the policy's backoff until they complete or the session expires. The
+ * attempt limit and the retry budget only apply to queries.
+ */
+public interface RetryPolicy {
+
+    /**
+     * Default retry policy.
+     */
+    RetryPolicy DEFAULT = ExponentialBackoffRetryPolicy.builder().build();
+
+    /**
+     * Policy that never retries operations.
+     */
+    RetryPolicy NONE = ExponentialBackoffRetryPolicy.builder()
+        .withMaxAttempts(1)
+        .build();
+
+    /**
+     * Returns the maximum number of attempts for a query, including the first attempt.
+     *
+     * @return the maximum number of attempts for a query
+     */
+    int getMaxAttempts();
+
+    /**
+     * Returns the delay before retrying an operation.
+     *
+     * @param attempt the number of attempts already made for the operation
+     * @return the delay before retrying the operation
+     */
+    Duration getRetryDelay(int attempt);
+
+}
@@ -15,6 +15,9 @@
  */
 package io.atomix.client.channel;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * TLS configuration.
  */
@@ -22,6 +25,9 @@ public class ChannelConfig {
     private boolean enabled = Boolean.parseBoolean(System.getProperty("io.atomix.enableNettyTLS", Boolean.toString(false)));
     private String certPath = System.getProperty("io.atomix.messaging.tls.certPath");
     private String keyPath = System.getProperty("io.atomix.messaging.tls.keyPath");
+    private int poolSize = 1;
+    private LoadBalancingPolicy loadBalancingPolicy = LoadBalancingPolicy.ROUND_ROBIN;
+    private boolean transportAffinity;
 
     /**
      * Returns whether TLS is enabled.
@@ -82,4 +88,68 @@ public class ChannelConfig {
         this.keyPath = keyPath;
         return this;
     }
+
+    /**
+     * Returns the number of channels to open to each partition endpoint.
+     *
+     * @return the number of channels to open to each partition endpoint
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of channels to open to each partition endpoint.
+     * <p>
+     * Calls to an endpoint are spread across the pooled channels in round-robin order, distributing HTTP/2 streams
+     * across multiple connections.
+     *
+     * @param poolSize the number of channels to open to each partition endpoint
+     * @return the channel configuration
+     */
+    public ChannelConfig setPoolSize(int poolSize) {
+        checkArgument(poolSize > 0, "poolSize must be positive");
+        this.poolSize = poolSize;
+        return this;
+    }
+
+    /**
+     * Returns the policy used to spread queries across partition endpoints.
+     *
+     * @return the query load balancing policy
+     */
+    public LoadBalancingPolicy getLoadBalancingPolicy() {
+        return loadBalancingPolicy;
+    }
+
+    /**
+     * Sets the policy used to spread queries across partition endpoints.
+     *
+     * @param loadBalancingPolicy the query load balancing policy
+     * @return the channel configuration
+     */
+    public ChannelConfig setLoadBalancingPolicy(LoadBalancingPolicy loadBalancingPolicy) {
+        this.loadBalancingPolicy = checkNotNull(loadBalancingPolicy, "loadBalancingPolicy cannot be null");
+        return this;
+    }
+
+    /**
+     * Returns whether primitives are executed on the event loops of their channels.
+     *
+     * @return indicates whether transport affinity is enabled
+     */
+    public boolean isTransportAffinityEnabled() {
+        return transportAffinity;
+    }
+
+    /**
+     * Sets whether primitives are executed on the event loops of their channels.
+     *
+     * @param transportAffinity whether to enable transport affinity
+     * @return the channel configuration
+     */
+    public ChannelConfig setTransportAffinityEnabled(boolean transportAffinity) {
+        this.transportAffinity = transportAffinity;
+        return this;
+    }
 }
@@ -15,7 +15,7 @@
  */
 package io.atomix.client.channel;
 
-import io.grpc.Channel;
+import io.grpc.ManagedChannel;
 
 /**
  * Channel factory.
@@ -24,10 +24,14 @@ import io.grpc.Channel;
 public interface ChannelFactory {
 
     /**
-     * Returns a new gRPC channel for the client.
+     * Returns a gRPC channel for the client.
+     * <p>
+     * The caller owns the returned channel and must {@link ManagedChannel#shutdown() shut it down} once it's no longer
+     * needed. Factories that share connections may return a reference to a shared channel, in which case shutting down
+     * the returned channel only releases the caller's reference to it.
      *
      * @return the gRPC channel
      */
-    Channel getChannel();
+    ManagedChannel getChannel();
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.channel;
+
+/**
+ * Policy for spreading queries across the endpoints of a partition.
+ * <p>
+ * Commands are always routed to the last endpoint known to have accepted a command, and only fail over to another
+ * endpoint when that endpoint becomes unavailable.
+ */
+public enum LoadBalancingPolicy {
+
+    /**
+     * Routes queries to healthy endpoints in round-robin order.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Routes queries to the healthy endpoint with the fewest outstanding requests.
+     */
+    LEAST_OUTSTANDING_REQUESTS,
+
+}
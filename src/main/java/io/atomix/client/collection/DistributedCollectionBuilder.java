@@ -15,9 +15,19 @@
  */
 package io.atomix.client.collection;
 
+import java.util.function.Function;
+
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveManagementService;
 import io.atomix.client.cache.CachedPrimitiveBuilder;
+import io.atomix.client.partition.HashPartitioner;
+import io.atomix.client.partition.KeyAffinityCodec;
+import io.atomix.client.partition.KeyAffinityPartitioner;
+import io.atomix.client.partition.Partitioner;
+import io.atomix.client.utils.serializer.KeyCodec;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Distributed collection builder.
@@ -26,7 +36,67 @@ public abstract class DistributedCollectionBuilder<
     B extends DistributedCollectionBuilder<B, P, E>,
     P extends DistributedCollection<E>, E>
     extends CachedPrimitiveBuilder<B, P> {
+    protected KeyCodec<E> keyCodec;
+    protected Function<E, String> keyAffinity;
+
     protected DistributedCollectionBuilder(Name name, PrimitiveManagementService managementService) {
         super(name, managementService);
     }
+
+    /**
+     * Sets the codec with which elements are encoded.
+     * <p>
+     * Encoded elements are used both to partition the primitive and as the elements stored by the cluster, so a primitive
+     * must always be accessed with the codec with which it was written. Defaults to {@link KeyCodec#base16}, the encoding
+     * used by earlier versions of the client. New primitives can opt in to {@link KeyCodec#compact}, which stores string
+     * elements unchanged and halves the size of other elements.
+     *
+     * @param keyCodec the element codec
+     * @return the collection builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withKeyCodec(KeyCodec<E> keyCodec) {
+        this.keyCodec = checkNotNull(keyCodec, "keyCodec cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Returns the element codec.
+     *
+     * @return the element codec
+     */
+    protected KeyCodec<E> keyCodec() {
+        KeyCodec<E> codec = keyCodec != null ? keyCodec : KeyCodec.base16(serializer());
+        return keyAffinity != null ? new KeyAffinityCodec<>(codec, keyAffinity) : codec;
+    }
+
+    /**
+     * Sets the function with which elements are mapped to their partition affinity.
+     * <p>
+     * Elements with the same affinity are stored in the same partition, so operations on multiple related elements are
+     * sent to a single partition. The affinity is computed when an element is encoded and is stored with the encoded
+     * element, so a primitive must always be accessed with the same affinity function. Elements for which the function
+     * returns {@code null} are partitioned by their encoded form. Affinity requires a {@link HashPartitioner}.
+     *
+     * @param keyAffinity the element affinity function
+     * @return the collection builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withKeyAffinity(Function<E, String> keyAffinity) {
+        this.keyAffinity = checkNotNull(keyAffinity, "keyAffinity cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Returns the partitioner with which encoded elements are routed.
+     *
+     * @return the element partitioner
+     */
+    protected Partitioner<String> keyPartitioner() {
+        if (keyAffinity == null) {
+            return partitioner;
+        }
+        checkState(partitioner instanceof HashPartitioner, "element affinity requires a HashPartitioner");
+        return new KeyAffinityPartitioner((HashPartitioner) partitioner);
+    }
 }
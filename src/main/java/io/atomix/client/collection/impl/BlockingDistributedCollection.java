@@ -143,6 +143,7 @@ public class BlockingDistributedCollection<E> extends Synchronous<AsyncDistribut
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
@@ -97,6 +97,7 @@ public class BlockingAtomicCounter extends Synchronous<AsyncAtomicCounter> imple
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
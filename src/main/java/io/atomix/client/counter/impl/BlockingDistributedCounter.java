@@ -86,6 +86,7 @@ public class BlockingDistributedCounter extends Synchronous<AsyncDistributedCoun
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             throw new PrimitiveException(e.getCause());
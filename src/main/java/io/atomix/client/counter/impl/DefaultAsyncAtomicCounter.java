@@ -35,10 +35,12 @@ import io.atomix.api.counter.SetRequest;
 import io.atomix.api.counter.SetResponse;
 import io.atomix.api.primitive.Name;
 import io.atomix.api.headers.ResponseHeader;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.counter.AsyncAtomicCounter;
 import io.atomix.client.counter.AtomicCounter;
 import io.atomix.client.impl.AbstractAsyncPrimitive;
 import io.atomix.client.partition.Partition;
+import io.atomix.client.partition.impl.PartitionChannel.OperationType;
 import io.atomix.client.utils.concurrent.ThreadContext;
 
 /**
@@ -47,13 +49,13 @@ import io.atomix.client.utils.concurrent.ThreadContext;
 public class DefaultAsyncAtomicCounter
     extends AbstractAsyncPrimitive<CounterServiceGrpc.CounterServiceStub, AsyncAtomicCounter>
     implements AsyncAtomicCounter {
-    public DefaultAsyncAtomicCounter(Name name, Partition partition, ThreadContext context) {
-        super(name, CounterServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context);
+    public DefaultAsyncAtomicCounter(Name name, Partition partition, ThreadContext context, RetryPolicy retryPolicy, Duration operationTimeout) {
+        super(name, partition, CounterServiceGrpc::newStub, context, retryPolicy, operationTimeout);
     }
 
     @Override
     public CompletableFuture<Long> get() {
-        return execute((header, observer) -> getService().get(GetRequest.newBuilder()
+        return execute(OperationType.QUERY, (header, observer) -> getService().get(GetRequest.newBuilder()
             .setHeader(header)
             .build(), observer), GetResponse::getHeader)
             .thenApply(response -> response.getValue());
@@ -145,7 +147,8 @@ public class DefaultAsyncAtomicCounter
         return this.<CloseResponse>execute((header, observer) -> getService().close(CloseRequest.newBuilder()
             .setHeader(header)
             .build(), observer), response -> ResponseHeader.getDefaultInstance())
-            .thenApply(v -> null);
+            .<Void>thenApply(v -> null)
+            .whenComplete((result, error) -> releaseChannel());
     }
 
     @Override
@@ -154,7 +157,8 @@ public class DefaultAsyncAtomicCounter
             .setHeader(header)
             .setDelete(true)
             .build(), observer), response -> ResponseHeader.getDefaultInstance())
-            .thenApply(v -> null);
+            .<Void>thenApply(v -> null)
+            .whenComplete((result, error) -> releaseChannel());
     }
 
     @Override
@@ -38,8 +38,9 @@ public class DefaultAtomicCounterBuilder extends AtomicCounterBuilder {
             .thenCompose(group -> new DefaultAsyncAtomicCounter(
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
-                managementService.getThreadFactory().createContext())
+                managementService.getThreadFactory().createContext(),
+                retryPolicy(), operationTimeout())
                 .connect()
-                .thenApply(AsyncAtomicCounter::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
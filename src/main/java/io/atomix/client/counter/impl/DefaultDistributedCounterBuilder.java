@@ -37,9 +37,10 @@ public class DefaultDistributedCounterBuilder extends DistributedCounterBuilder
             .thenCompose(group -> new DefaultAsyncAtomicCounter(
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
-                managementService.getThreadFactory().createContext())
+                managementService.getThreadFactory().createContext(),
+                retryPolicy(), operationTimeout())
                 .connect()
                 .thenApply(DelegatingDistributedCounter::new)
-                .thenApply(AsyncDistributedCounter::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
@@ -106,6 +106,7 @@ public class BlockingLeaderElection<T> extends Synchronous<AsyncLeaderElection<T
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
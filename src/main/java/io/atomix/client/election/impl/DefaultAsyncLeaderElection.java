@@ -35,14 +35,14 @@ import io.atomix.api.election.EvictRequest;
 import io.atomix.api.election.EvictResponse;
 import io.atomix.api.election.GetLeadershipRequest;
 import io.atomix.api.election.GetLeadershipResponse;
-import io.atomix.api.election.KeepAliveRequest;
-import io.atomix.api.election.KeepAliveResponse;
 import io.atomix.api.election.LeaderElectionServiceGrpc;
 import io.atomix.api.election.PromoteRequest;
 import io.atomix.api.election.PromoteResponse;
 import io.atomix.api.election.WithdrawRequest;
 import io.atomix.api.election.WithdrawResponse;
 import io.atomix.api.primitive.Name;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.election.AsyncLeaderElection;
 import io.atomix.client.election.Leader;
 import io.atomix.client.election.LeaderElection;
@@ -63,8 +63,8 @@ public class DefaultAsyncLeaderElection
     private volatile CompletableFuture<Long> listenFuture;
     private final Set<LeadershipEventListener<String>> eventListeners = new CopyOnWriteArraySet<>();
 
-    public DefaultAsyncLeaderElection(Name name, Partition partition, ThreadContext context, Duration timeout) {
-        super(name, LeaderElectionServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context, timeout);
+    public DefaultAsyncLeaderElection(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency) {
+        super(name, partition, LeaderElectionServiceGrpc::newStub, context, timeout, retryPolicy, operationTimeout, readConsistency);
     }
 
     @Override
@@ -200,13 +200,6 @@ public class DefaultAsyncLeaderElection
             .thenApply(response -> response.getHeader().getSessionId());
     }
 
-    @Override
-    protected CompletableFuture<Boolean> keepAlive() {
-        return this.<KeepAliveResponse>session((header, observer) -> getService().keepAlive(KeepAliveRequest.newBuilder()
-            .build(), observer))
-            .thenApply(response -> true);
-    }
-
     @Override
     protected CompletableFuture<Void> close(boolean delete) {
         return this.<CloseResponse>session((header, observer) -> getService().close(CloseRequest.newBuilder()
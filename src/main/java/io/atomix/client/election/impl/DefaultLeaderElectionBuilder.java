@@ -41,7 +41,8 @@ public class DefaultLeaderElectionBuilder<T> extends LeaderElectionBuilder<T> {
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
                 managementService.getThreadFactory().createContext(),
-                sessionTimeout)
+                sessionTimeout,
+                retryPolicy(), operationTimeout(), readConsistency())
                 .connect()
                 .thenApply(election -> {
                     Serializer serializer = serializer();
@@ -50,6 +51,6 @@ public class DefaultLeaderElectionBuilder<T> extends LeaderElectionBuilder<T> {
                         id -> BaseEncoding.base16().encode(serializer.encode(id)),
                         string -> serializer.decode(BaseEncoding.base16().decode(string)));
                 })
-                .thenApply(AsyncLeaderElection::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
\ No newline at end of file
@@ -56,6 +56,7 @@ public class BlockingAtomicIdGenerator extends Synchronous<AsyncAtomicIdGenerato
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             throw new PrimitiveException(e.getCause());
@@ -38,9 +38,10 @@ public class DelegatingAtomicIdGeneratorBuilder extends AtomicIdGeneratorBuilder
             .thenCompose(group -> new DefaultAsyncAtomicCounter(
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
-                managementService.getThreadFactory().createContext())
+                managementService.getThreadFactory().createContext(),
+                retryPolicy(), operationTimeout())
                 .connect()
                 .thenApply(DelegatingAtomicIdGenerator::new)
-                .thenApply(AsyncAtomicIdGenerator::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
@@ -20,10 +20,19 @@ import io.atomix.api.headers.ResponseHeader;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.AsyncPrimitive;
 import io.atomix.client.ManagedAsyncPrimitive;
+import io.atomix.client.PrimitiveException;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.partition.Partition;
+import io.atomix.client.partition.impl.PartitionChannel.OperationType;
 import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.Channel;
+import io.grpc.Deadline;
+import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -35,14 +44,28 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public abstract class AbstractAsyncPrimitive<S, P extends AsyncPrimitive> implements ManagedAsyncPrimitive<P> {
     private final Name name;
+    private final ManagedChannel channel;
     private final S service;
     private final ThreadContext context;
+    private final RetryPolicy retryPolicy;
+    private final Duration operationTimeout;
+    private final OperationMetrics metrics;
     private final AtomicLong index = new AtomicLong();
 
-    public AbstractAsyncPrimitive(Name name, S service, ThreadContext context) {
+    public AbstractAsyncPrimitive(
+        Name name,
+        Partition partition,
+        Function<Channel, S> serviceFactory,
+        ThreadContext context,
+        RetryPolicy retryPolicy,
+        Duration operationTimeout) {
         this.name = checkNotNull(name);
-        this.service = checkNotNull(service);
+        this.channel = partition.getChannelFactory().getChannel();
+        this.service = checkNotNull(serviceFactory.apply(channel));
         this.context = context;
+        this.retryPolicy = checkNotNull(retryPolicy, "retryPolicy cannot be null");
+        this.operationTimeout = checkNotNull(operationTimeout, "operationTimeout cannot be null");
+        this.metrics = new OperationMetrics(partition.getMetricsRegistry(), getClass());
     }
 
     @Override
@@ -68,6 +91,33 @@ public abstract class AbstractAsyncPrimitive<S, P extends AsyncPrimitive> implem
         return context;
     }
 
+    /**
+     * Returns the primitive retry policy.
+     *
+     * @return the primitive retry policy
+     */
+    protected RetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Returns the primitive operation timeout.
+     *
+     * @return the primitive operation timeout
+     */
+    protected Duration operationTimeout() {
+        return operationTimeout;
+    }
+
+    /**
+     * Returns the primitive operation metrics.
+     *
+     * @return the primitive operation metrics
+     */
+    OperationMetrics metrics() {
+        return metrics;
+    }
+
     /**
      * Returns the primitive service.
      *
@@ -77,6 +127,13 @@ public abstract class AbstractAsyncPrimitive<S, P extends AsyncPrimitive> implem
         return service;
     }
 
+    /**
+     * Releases the primitive's reference to the partition channel.
+     */
+    protected void releaseChannel() {
+        channel.shutdown();
+    }
+
     private RequestHeader getRequestHeader() {
         return RequestHeader.newBuilder()
             .setName(name)
@@ -85,26 +142,76 @@ public abstract class AbstractAsyncPrimitive<S, P extends AsyncPrimitive> implem
     }
 
     protected <T> CompletableFuture<T> execute(
+        BiConsumer<RequestHeader, StreamObserver<T>> callback,
+        Function<T, ResponseHeader> headerFunction) {
+        return execute(OperationType.COMMAND, callback, headerFunction);
+    }
+
+    /**
+     * Executes an operation of the given type.
+     * <p>
+     * Queries that fail to reach their endpoint are retried according to the primitive's {@link RetryPolicy}, with the
+     * first retry sent immediately to another endpoint in the partition. Commands are not retried since the
+     * session-less path cannot deduplicate them. The operation is sent with a deadline after the primitive's operation
+     * timeout, and fails with {@link PrimitiveException.Timeout} once the deadline has passed.
+     *
+     * @param type           the operation type used to route the operation
+     * @param callback       the operation callback
+     * @param headerFunction the response header function
+     * @param <T>            the response type
+     * @return a future to be completed with the operation response
+     */
+    protected <T> CompletableFuture<T> execute(
+        OperationType type,
         BiConsumer<RequestHeader, StreamObserver<T>> callback,
         Function<T, ResponseHeader> headerFunction) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        callback.accept(getRequestHeader(), new StreamObserver<T>() {
+        Deadline deadline = Deadline.after(operationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        long startTime = metrics.enabled ? System.nanoTime() : 0;
+        execute(type, callback, headerFunction, future, deadline, startTime, 1);
+        return future;
+    }
+
+    private <T> void execute(
+        OperationType type,
+        BiConsumer<RequestHeader, StreamObserver<T>> callback,
+        Function<T, ResponseHeader> headerFunction,
+        CompletableFuture<T> future,
+        Deadline deadline,
+        long startTime,
+        int attempt) {
+        type.run(callback, getRequestHeader(), new StreamObserver<T>() {
             @Override
             public void onNext(T response) {
                 index.accumulateAndGet(headerFunction.apply(response).getIndex(), Math::max);
+                if (metrics.enabled) {
+                    metrics.recordLatency(response, System.nanoTime() - startTime);
+                }
                 future.complete(response);
             }
 
             @Override
             public void onError(Throwable t) {
-                future.completeExceptionally(t);
+                if (deadline.isExpired()) {
+                    future.completeExceptionally(new PrimitiveException.Timeout());
+                } else if (type == OperationType.QUERY
+                    && attempt < retryPolicy.getMaxAttempts()
+                    && PrimitiveSessionExecutor.CONNECTION_PREDICATE.test(t)) {
+                    if (attempt == 1) {
+                        execute(type, callback, headerFunction, future, deadline, startTime, attempt + 1);
+                    } else {
+                        context.schedule(retryPolicy.getRetryDelay(attempt),
+                            () -> execute(type, callback, headerFunction, future, deadline, startTime, attempt + 1));
+                    }
+                } else {
+                    future.completeExceptionally(t);
+                }
             }
 
             @Override
             public void onCompleted() {
             }
-        });
-        return future;
+        }, deadline);
     }
 
     protected <T> CompletableFuture<Void> execute(
@@ -21,10 +21,15 @@ import io.atomix.api.headers.StreamHeader;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.AsyncPrimitive;
 import io.atomix.client.ManagedAsyncPrimitive;
+import io.atomix.client.PrimitiveException;
 import io.atomix.client.PrimitiveState;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.partition.Partition;
 import io.atomix.client.utils.concurrent.Futures;
 import io.atomix.client.utils.concurrent.Scheduled;
 import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.Channel;
 import io.grpc.stub.StreamObserver;
 
 import java.time.Duration;
@@ -35,30 +40,72 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Primitive session.
+ * <p>
+ * Managed primitives share a {@link PartitionSession} with the other primitives on their partition. The partition
+ * session is kept alive on behalf of all the primitives sharing it, while each primitive sequences its own operations.
+ * Closing the primitive only detaches it from the partition session, which is closed once no primitive is using it.
+ * Deleting the primitive detaches it as well, and then deletes it through a session opened for the primitive alone.
+ * <p>
+ * When constructed with an idle timeout, the primitive connects lazily: the partition session is acquired on the first
+ * operation rather than in {@link #connect()}, concurrent first operations share a single connection attempt, and the
+ * session is released again once the primitive has been idle for the timeout.
  */
 public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> extends AbstractAsyncPrimitive<S, P> implements ManagedAsyncPrimitive<P> {
-    private static final double TIMEOUT_FACTOR = .5;
-    private static final long MIN_TIMEOUT_DELTA = 2500;
-
+    private final PartitionSessionProvider sessionProvider;
     private final Duration timeout;
+    private final ReadConsistency readConsistency;
+    private final Duration idleTimeout;
     private final AtomicBoolean open = new AtomicBoolean();
-    private PrimitiveSessionState state;
-    private PrimitiveSessionSequencer sequencer;
-    private PrimitiveSessionExecutor<S> executor;
-    private Scheduled keepAliveTimer;
+    private final Object lazyLock = new Object();
+    private CompletableFuture<PrimitiveSessionExecutor<S>> connectFuture;
+    private CompletableFuture<Void> closeFuture = CompletableFuture.completedFuture(null);
+    private int activeOperations;
+    private long lastAccessTime;
+    private Scheduled idleTimer;
+    // The session fields are written when connecting and read by operations and the idle timer on other threads.
+    private volatile PartitionSession session;
+    private volatile PrimitiveSessionState state;
+    private volatile PrimitiveSessionSequencer sequencer;
+    private volatile PrimitiveSessionExecutor<S> executor;
 
     protected AbstractManagedPrimitive(
         Name name,
-        S service,
+        Partition partition,
+        Function<Channel, S> serviceFactory,
         ThreadContext context,
-        Duration timeout) {
-        super(name, service, context);
+        Duration timeout,
+        RetryPolicy retryPolicy,
+        Duration operationTimeout,
+        ReadConsistency readConsistency) {
+        this(name, partition, serviceFactory, context, timeout, retryPolicy, operationTimeout, readConsistency, null);
+    }
+
+    protected AbstractManagedPrimitive(
+        Name name,
+        Partition partition,
+        Function<Channel, S> serviceFactory,
+        ThreadContext context,
+        Duration timeout,
+        RetryPolicy retryPolicy,
+        Duration operationTimeout,
+        ReadConsistency readConsistency,
+        Duration idleTimeout) {
+        super(name, partition, serviceFactory, context, retryPolicy, operationTimeout);
+        checkArgument(partition instanceof PartitionSessionProvider, "partition does not provide sessions");
+        this.sessionProvider = (PartitionSessionProvider) partition;
         this.timeout = timeout;
+        this.readConsistency = checkNotNull(readConsistency, "readConsistency cannot be null");
+        this.idleTimeout = idleTimeout;
     }
 
     private RequestHeader getSessionHeader() {
+        PrimitiveSessionState state = this.state;
+        PrimitiveSessionSequencer sequencer = this.sequencer;
         if (state != null) {
             return RequestHeader.newBuilder()
                 .setName(getName())
@@ -102,6 +149,9 @@ public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> exte
     protected <T> CompletableFuture<T> command(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> headerFunction) {
+        if (idleTimeout != null) {
+            return lazily(executor -> executor.executeCommand(function, headerFunction));
+        }
         return executor.executeCommand(function, headerFunction);
     }
 
@@ -109,22 +159,139 @@ public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> exte
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> headerFunction,
         StreamObserver<T> handler) {
+        if (idleTimeout != null) {
+            return lazily(executor -> executor.executeCommand(function, headerFunction, handler));
+        }
         return executor.executeCommand(function, headerFunction, handler);
     }
 
     protected <T> CompletableFuture<T> query(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> headerFunction) {
+        if (idleTimeout != null) {
+            return lazily(executor -> executor.executeQuery(function, headerFunction));
+        }
         return executor.executeQuery(function, headerFunction);
     }
 
+    /**
+     * Executes a query reading the state for the given key.
+     * <p>
+     * With {@link ReadConsistency.Level#BOUNDED_STALENESS bounded staleness} reads, the query may be served from a
+     * recent read of the same key.
+     *
+     * @param readKey        the key read by the query
+     * @param function       the request function
+     * @param headerFunction the response header function
+     * @param <T>            the response type
+     * @return a future to be completed with the query response
+     */
+    protected <T> CompletableFuture<T> query(
+        Object readKey,
+        BiConsumer<RequestHeader, StreamObserver<T>> function,
+        Function<T, ResponseHeader> headerFunction) {
+        if (idleTimeout != null) {
+            return lazily(executor -> executor.executeQuery(readKey, function, headerFunction));
+        }
+        return executor.executeQuery(readKey, function, headerFunction);
+    }
+
     protected <T> CompletableFuture<Void> query(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> headerFunction,
         StreamObserver<T> handler) {
+        if (idleTimeout != null) {
+            return lazily(executor -> executor.executeQuery(function, headerFunction, handler));
+        }
         return executor.executeQuery(function, headerFunction, handler);
     }
 
+    /**
+     * Executes an operation once the primitive's session has been connected, connecting it if necessary.
+     * <p>
+     * Once the session is connected, the operation is submitted directly to the executor and its own future is
+     * returned so that cancellation still reaches the executor. Operations cancelled while the session is connecting
+     * are never submitted, and cancelling an operation submitted once the session connected cancels it in the executor.
+     *
+     * @param operation the operation to execute
+     * @param <T>       the operation result type
+     * @return a future to be completed with the operation result
+     */
+    private <T> CompletableFuture<T> lazily(Function<PrimitiveSessionExecutor<S>, CompletableFuture<T>> operation) {
+        CompletableFuture<PrimitiveSessionExecutor<S>> connectFuture;
+        synchronized (lazyLock) {
+            if (!open.get()) {
+                return Futures.exceptionalFuture(new PrimitiveException.ClosedSession());
+            }
+            connectFuture = this.connectFuture;
+            if (connectFuture == null || connectFuture.isCompletedExceptionally()) {
+                connectFuture = closeFuture.thenCompose(v -> connectSession(sessionProvider.getSession(timeout)));
+                this.connectFuture = connectFuture;
+            }
+            activeOperations++;
+        }
+
+        CompletableFuture<T> future;
+        if (connectFuture.isDone() && !connectFuture.isCompletedExceptionally()) {
+            future = operation.apply(connectFuture.join());
+        } else {
+            CompletableFuture<T> connectingFuture = new CompletableFuture<>();
+            connectFuture.whenComplete((executor, error) -> {
+                if (error != null) {
+                    connectingFuture.completeExceptionally(error);
+                } else if (!connectingFuture.isDone()) {
+                    CompletableFuture<T> operationFuture = operation.apply(executor);
+                    connectingFuture.whenComplete((result, cancelError) -> {
+                        if (connectingFuture.isCancelled()) {
+                            operationFuture.cancel(false);
+                        }
+                    });
+                    operationFuture.whenComplete((result, operationError) -> {
+                        if (operationError != null) {
+                            connectingFuture.completeExceptionally(operationError);
+                        } else {
+                            connectingFuture.complete(result);
+                        }
+                    });
+                }
+            });
+            future = connectingFuture;
+        }
+        future.whenComplete((result, error) -> {
+            synchronized (lazyLock) {
+                activeOperations--;
+                lastAccessTime = System.currentTimeMillis();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Releases the partition session if the primitive has been idle for the idle timeout.
+     * <p>
+     * The session is kept while operations are in flight or any event streams are open.
+     */
+    private void closeIfIdle() {
+        synchronized (lazyLock) {
+            CompletableFuture<PrimitiveSessionExecutor<S>> connectFuture = this.connectFuture;
+            if (!open.get() || connectFuture == null || !connectFuture.isDone() || activeOperations > 0) {
+                return;
+            }
+            if (connectFuture.isCompletedExceptionally()) {
+                this.connectFuture = null;
+                return;
+            }
+            if (System.currentTimeMillis() - lastAccessTime < idleTimeout.toMillis() || !sequencer.streams().isEmpty()) {
+                return;
+            }
+            this.connectFuture = null;
+            closeFuture = detach().handle((result, error) -> {
+                releaseSession();
+                return null;
+            });
+        }
+    }
+
     protected void state(Consumer<PrimitiveState> consumer) {
         state.addStateChangeListener(consumer);
     }
@@ -133,82 +300,137 @@ public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> exte
         return state.getState();
     }
 
+    @Override
+    public int queueDepth() {
+        PrimitiveSessionExecutor<S> executor = this.executor;
+        return executor != null ? executor.getQueueDepth() : 0;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public CompletableFuture<P> connect() {
         if (!open.compareAndSet(false, true)) {
             return Futures.exceptionalFuture(new IllegalStateException());
         }
-        return create().thenApply(sessionId -> {
+        if (idleTimeout != null) {
+            idleTimer = context().schedule(idleTimeout, idleTimeout, this::closeIfIdle);
+            return CompletableFuture.completedFuture((P) this);
+        }
+        return connectSession(sessionProvider.getSession(timeout)).whenComplete((executor, error) -> {
+            if (error != null) {
+                open.set(false);
+            }
+        }).thenApply(executor -> (P) this);
+    }
+
+    /**
+     * Connects the given partition session and creates the primitive within it.
+     *
+     * @param session the partition session to which to connect the primitive
+     * @return a future to be completed with the primitive's session executor
+     */
+    private CompletableFuture<PrimitiveSessionExecutor<S>> connectSession(PartitionSession session) {
+        this.session = session;
+        return session.connect().thenCompose(sessionId -> {
             ManagedPrimitiveContext context = new ManagedPrimitiveContext(
                 sessionId,
                 name(),
                 type(),
                 timeout);
-            state = new PrimitiveSessionState(getName(), sessionId, timeout.toMillis());
-            sequencer = new PrimitiveSessionSequencer(state, context);
-            executor = new PrimitiveSessionExecutor<>(getService(), state, context, sequencer, context());
-            keepAlive(System.currentTimeMillis());
-            return (P) this;
+            PrimitiveSessionState state = new PrimitiveSessionState(
+                getName(), sessionId, timeout.toMillis(), session.commandSequence());
+            PrimitiveSessionSequencer sequencer = new PrimitiveSessionSequencer(
+                state, context, metrics().enabled ? metrics().reorder : null);
+            PrimitiveSessionExecutor<S> executor = new PrimitiveSessionExecutor<>(
+                getService(), state, context, sequencer, context(), retryPolicy(), session.retryBudget(),
+                operationTimeout(), session.hedger(), readConsistency, session.metrics(), metrics(),
+                session.config(), session.inFlightLimit());
+            // The state is published last, since readers that see it expect the sequencer and executor to be set.
+            this.sequencer = sequencer;
+            this.executor = executor;
+            this.state = state;
+            session.register(state, sequencer);
+            return openSession(timeout).thenApply(primitiveSessionId -> {
+                if (!sessionId.equals(primitiveSessionId)) {
+                    throw new PrimitiveException.UnknownSession(
+                        "primitive opened in session " + primitiveSessionId + " rather than " + sessionId);
+                }
+                return executor;
+            });
+        }).whenComplete((result, error) -> {
+            if (error != null) {
+                releaseSession();
+            }
         });
     }
 
     /**
-     * Creates the primitive.
+     * Creates the primitive within the partition session.
      *
+     * @param timeout the session timeout
      * @return a future to be completed with the session ID
      */
-    protected abstract CompletableFuture<Long> create();
+    protected abstract CompletableFuture<Long> openSession(Duration timeout);
 
     /**
-     * Keeps the primitive session alive.
+     * Detaches the primitive from the partition session.
+     * <p>
+     * The partition session is shared with the other primitives on the partition, so no close request is sent to the
+     * cluster. The primitive's pending operations are failed and it must then release its reference to the session.
+     *
+     * @return a future to be completed once the primitive has been detached
      */
-    protected void keepAlive(long lastKeepAliveTime) {
-        long keepAliveTime = System.currentTimeMillis();
-        keepAlive().whenComplete((succeeded, error) -> {
-            if (open.get()) {
-                long delta = System.currentTimeMillis() - keepAliveTime;
-                // If the keep-alive succeeded, ensure the session state is CONNECTED and schedule another keep-alive.
-                if (error == null) {
-                    if (succeeded) {
-                        state.setState(PrimitiveState.CONNECTED);
-                        scheduleKeepAlive(System.currentTimeMillis(), delta);
-                    } else {
-                        state.setState(PrimitiveState.EXPIRED);
-                    }
-                }
-                // If the keep-alive failed, set the session state to SUSPENDED and schedule another keep-alive.
-                else {
-                    state.setState(PrimitiveState.SUSPENDED);
-                    scheduleKeepAlive(lastKeepAliveTime, delta);
-                }
-            }
-        });
+    private CompletableFuture<Void> detach() {
+        PrimitiveSessionState state = this.state;
+        PrimitiveSessionExecutor<S> executor = this.executor;
+        if (state == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        state.setState(PrimitiveState.CLOSED);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        context().execute(() -> executor.close().whenComplete((result, error) -> future.complete(null)));
+        return future;
     }
 
     /**
-     * Sends a keep-alive request to the cluster.
-     *
-     * @return a future indicating whether the request was successful
+     * Releases the primitive's reference to the partition session.
      */
-    protected abstract CompletableFuture<Boolean> keepAlive();
+    private void releaseSession() {
+        PartitionSession session = this.session;
+        PrimitiveSessionState state = this.state;
+        if (state != null) {
+            session.unregister(state);
+            this.state = null;
+        }
+        session.release();
+    }
 
     /**
-     * Schedules a keep-alive request.
+     * Closes a lazily connected primitive, waiting for any pending connection or idle close to complete.
+     *
+     * @param delete whether to delete the service
+     * @return a future to be completed once the primitive has been closed
      */
-    private synchronized void scheduleKeepAlive(long lastKeepAliveTime, long delta) {
-        if (keepAliveTimer != null) {
-            keepAliveTimer.cancel();
-        }
-
-        Duration delay = Duration.ofMillis(
-            Math.max(Math.max((long) (timeout.toMillis() * TIMEOUT_FACTOR) - delta,
-                timeout.toMillis() - MIN_TIMEOUT_DELTA - delta), 0));
-        keepAliveTimer = context().schedule(delay, () -> {
-            if (open.get()) {
-                keepAlive(lastKeepAliveTime);
+    private CompletableFuture<Void> closeLazily(boolean delete) {
+        CompletableFuture<PrimitiveSessionExecutor<S>> connectFuture;
+        CompletableFuture<Void> closeFuture;
+        synchronized (lazyLock) {
+            if (idleTimer != null) {
+                idleTimer.cancel();
+                idleTimer = null;
             }
-        });
+            connectFuture = this.connectFuture;
+            closeFuture = this.closeFuture;
+            this.connectFuture = null;
+        }
+        if (connectFuture == null || connectFuture.isCompletedExceptionally()) {
+            CompletableFuture<Void> future = delete ? closeFuture.thenCompose(v -> deleteService()) : closeFuture;
+            return future.whenComplete((result, error) -> releaseChannel());
+        }
+        return connectFuture.thenCompose(executor -> detach()
+            .whenComplete((result, error) -> releaseSession()))
+            .thenCompose(v -> delete ? deleteService() : CompletableFuture.<Void>completedFuture(null))
+            .whenComplete((result, error) -> releaseChannel());
     }
 
     @Override
@@ -216,12 +438,38 @@ public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> exte
         if (!open.compareAndSet(true, false)) {
             return Futures.exceptionalFuture(new IllegalStateException());
         }
-        keepAliveTimer.cancel();
-        return close(false);
+        if (idleTimeout != null) {
+            return closeLazily(false);
+        }
+        return detach().whenComplete((result, error) -> {
+            releaseSession();
+            releaseChannel();
+        });
+    }
+
+    /**
+     * Deletes the primitive's service through a session that only this primitive owns.
+     * <p>
+     * Close requests end the session in which they're sent, so the delete is sent through a dedicated session rather
+     * than the shared partition session, which the other primitives on the partition keep using.
+     *
+     * @return a future to be completed once the service has been deleted
+     */
+    private CompletableFuture<Void> deleteService() {
+        return connectSession(sessionProvider.newSession(timeout)).thenCompose(executor -> {
+            CompletableFuture<Void> future = close(true);
+            return future.handle((result, error) -> null)
+                .thenCompose(v -> detach())
+                .whenComplete((result, error) -> releaseSession())
+                .thenCompose(v -> future);
+        });
     }
 
     /**
      * Sends a close request to the cluster.
+     * <p>
+     * Close requests end the session in which they're sent, so this is only used to delete the primitive through a
+     * dedicated session; closing the primitive only detaches it from the shared partition session.
      *
      * @param delete whether to delete the service
      * @return a future to be completed once the close is complete
@@ -230,6 +478,15 @@ public abstract class AbstractManagedPrimitive<S, P extends AsyncPrimitive> exte
 
     @Override
     public CompletableFuture<Void> delete() {
-        return close(true);
+        if (idleTimeout != null && open.compareAndSet(true, false)) {
+            return closeLazily(true);
+        }
+        if (!open.compareAndSet(true, false)) {
+            return deleteService().whenComplete((result, error) -> releaseChannel());
+        }
+        return detach()
+            .whenComplete((result, error) -> releaseSession())
+            .thenCompose(v -> deleteService())
+            .whenComplete((result, error) -> releaseChannel());
     }
 }
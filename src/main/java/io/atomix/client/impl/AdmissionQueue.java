@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded count of the operations waiting to be admitted by a primitive.
+ * <p>
+ * A place is reserved by the submitting thread before an operation is handed to the primitive's thread context, and
+ * released once the operation has been admitted or failed, so the depth includes operations that have not yet reached
+ * the primitive's admission queue.
+ * <p>
+ * Blocked threads wait on a {@link Lock} rather than a monitor so that waiting virtual threads don't pin their carrier
+ * threads.
+ */
+final class AdmissionQueue {
+    private final int capacity;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Lock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private volatile int blocked;
+
+    AdmissionQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the number of operations waiting to be admitted.
+     *
+     * @return the admission queue depth
+     */
+    int depth() {
+        return depth.get();
+    }
+
+    /**
+     * Attempts to reserve a place in the queue.
+     *
+     * @return indicates whether a place was reserved
+     */
+    boolean tryReserve() {
+        int current = depth.get();
+        while (current < capacity) {
+            if (depth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = depth.get();
+        }
+        return false;
+    }
+
+    /**
+     * Reserves a place in the queue, waiting for one to be released if the queue is full.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void reserve() throws InterruptedException {
+        if (tryReserve()) {
+            return;
+        }
+        lock.lock();
+        try {
+            blocked++;
+            try {
+                while (!tryReserve()) {
+                    released.await();
+                }
+            } finally {
+                blocked--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves a place in the queue regardless of its capacity.
+     */
+    void forceReserve() {
+        depth.incrementAndGet();
+    }
+
+    /**
+     * Releases a place in the queue.
+     */
+    void release() {
+        // Blocked threads are counted before they check the depth, so a release either sees the blocked thread or is
+        // seen by it.
+        if (depth.decrementAndGet() < capacity && blocked > 0) {
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
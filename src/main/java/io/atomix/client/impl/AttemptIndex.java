@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sequence-ordered index of in-flight operations.
+ * <p>
+ * Operations are keyed by their primitive-local sequence number, which is assigned in increasing order, so the index
+ * is kept as a ring of parallel sequence number and value arrays sorted by sequence number. Adding an operation
+ * appends it to the tail of the ring, removing an operation is a binary search, and the operations following a
+ * given sequence number can be found without touching the operations that precede it. Removed entries are left
+ * in place until they reach the head or tail of the ring or the ring is compacted.
+ *
+ * @param <T> the operation type
+ */
+final class AttemptIndex<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int head;
+    private int count;
+    private int size;
+
+    /**
+     * Returns the number of operations in the index.
+     *
+     * @return the number of operations in the index
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a boolean indicating whether the index is empty.
+     *
+     * @return indicates whether the index is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an operation to the index.
+     *
+     * @param id    the operation sequence number, which must be greater than that of any operation in the index
+     * @param value the operation
+     */
+    void add(long id, T value) {
+        checkArgument(count == 0 || id > ids[(head + count - 1) & mask], "id must be greater than the last id");
+        if (count == ids.length) {
+            resize(size < ids.length / 2 ? ids.length : ids.length << 1);
+        }
+        int index = (head + count++) & mask;
+        ids[index] = id;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Returns the operation with the given sequence number.
+     *
+     * @param id the operation sequence number
+     * @return the operation or {@code null} if the operation is not in the index
+     */
+    @SuppressWarnings("unchecked")
+    T get(long id) {
+        int position = search(id);
+        return position >= 0 ? (T) values[(head + position) & mask] : null;
+    }
+
+    /**
+     * Removes the operation with the given sequence number.
+     *
+     * @param id the operation sequence number
+     * @return indicates whether an operation was removed
+     */
+    boolean remove(long id) {
+        int position = search(id);
+        if (position < 0 || values[(head + position) & mask] == null) {
+            return false;
+        }
+        values[(head + position) & mask] = null;
+        size--;
+
+        // Trim removed entries from the ends of the ring.
+        while (count > 0 && values[head] == null) {
+            head = (head + 1) & mask;
+            count--;
+        }
+        while (count > 0 && values[(head + count - 1) & mask] == null) {
+            count--;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the operations with sequence numbers greater than the given sequence number.
+     *
+     * @param id the sequence number after which to return operations
+     * @return the operations following the given sequence number in sequence order
+     */
+    @SuppressWarnings("unchecked")
+    List<T> after(long id) {
+        int position = search(id);
+        int start = position >= 0 ? position + 1 : -(position + 1);
+        List<T> operations = new ArrayList<>(count - start);
+        for (int i = start; i < count; i++) {
+            Object value = values[(head + i) & mask];
+            if (value != null) {
+                operations.add((T) value);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Returns all the operations in the index.
+     *
+     * @return the operations in the index in sequence order
+     */
+    List<T> values() {
+        return after(Long.MIN_VALUE);
+    }
+
+    /**
+     * Removes all operations from the index.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        head = 0;
+        count = 0;
+        size = 0;
+    }
+
+    /**
+     * Searches for the position of the given sequence number relative to the head of the ring.
+     *
+     * @return the position of the sequence number if present, otherwise {@code -(insertion position) - 1}
+     */
+    private int search(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = ids[(head + middle) & mask];
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Copies the live entries into a ring with the given capacity.
+     */
+    private void resize(int capacity) {
+        long[] newIds = new long[capacity];
+        Object[] newValues = new Object[capacity];
+        int newCount = 0;
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & mask;
+            if (values[index] != null) {
+                newIds[newCount] = ids[index];
+                newValues[newCount] = values[index];
+                newCount++;
+            }
+        }
+        ids = newIds;
+        values = newValues;
+        mask = capacity - 1;
+        head = 0;
+        count = newCount;
+    }
+}
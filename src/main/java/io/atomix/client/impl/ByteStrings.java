@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Utilities for converting primitive values to and from {@link ByteString}s.
+ * <p>
+ * By default values are copied in both directions. In zero-copy mode, arrays passed to {@link #wrap(byte[], boolean)}
+ * are wrapped rather than copied, and {@link #toByteArray(ByteString, boolean)} returns the array backing the
+ * {@code ByteString} when it spans the whole array. Zero-copy mode transfers ownership of the arrays: an array passed to
+ * {@code wrap} must not be modified once the operation has been submitted, and arrays returned by {@code toByteArray}
+ * may be shared with other readers of the same response and must be treated as read-only.
+ */
+public final class ByteStrings {
+
+    /**
+     * Returns a {@code ByteString} for the given value.
+     *
+     * @param bytes    the value to convert
+     * @param zeroCopy whether to wrap the value rather than copy it
+     * @return the value as a {@code ByteString}
+     */
+    public static ByteString wrap(byte[] bytes, boolean zeroCopy) {
+        return zeroCopy ? UnsafeByteOperations.unsafeWrap(bytes) : ByteString.copyFrom(bytes);
+    }
+
+    /**
+     * Returns the given value as a byte array.
+     * <p>
+     * In zero-copy mode the value is copied only when it's not backed by exactly one array.
+     *
+     * @param bytes    the value to convert
+     * @param zeroCopy whether to return the array backing the value rather than a copy
+     * @return the value as a byte array
+     */
+    public static byte[] toByteArray(ByteString bytes, boolean zeroCopy) {
+        if (!zeroCopy || bytes.isEmpty()) {
+            return bytes.toByteArray();
+        }
+        ArrayOutput output = capture(bytes);
+        return output.array != null && output.offset == 0 && output.length == output.array.length
+            ? output.array
+            : bytes.toByteArray();
+    }
+
+    /**
+     * Returns a buffer viewing the given value without copying it.
+     * <p>
+     * When the value is backed by a single array, the returned buffer is backed by that array so that decoders may read
+     * the array directly. The buffer must be treated as read-only.
+     *
+     * @param bytes the value for which to return a buffer
+     * @return a buffer sharing the value's bytes
+     */
+    public static ByteBuffer asBuffer(ByteString bytes) {
+        if (bytes.isEmpty()) {
+            return bytes.asReadOnlyByteBuffer();
+        }
+        ArrayOutput output = capture(bytes);
+        return output.array != null
+            ? ByteBuffer.wrap(output.array, output.offset, output.length).slice()
+            : bytes.asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Captures the array backing the given value.
+     */
+    private static ArrayOutput capture(ByteString bytes) {
+        ArrayOutput output = new ArrayOutput();
+        try {
+            UnsafeByteOperations.unsafeWriteTo(bytes, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output;
+    }
+
+    /**
+     * Byte output that captures the array backing a {@code ByteString} when the string is backed by a single array.
+     */
+    private static class ArrayOutput extends ByteOutput {
+        private byte[] array;
+        private int offset;
+        private int length;
+        private boolean partial;
+
+        private void capture(byte[] value, int offset, int length) {
+            if (!partial && array == null) {
+                this.array = value;
+                this.offset = offset;
+                this.length = length;
+            } else {
+                reject();
+            }
+        }
+
+        private void reject() {
+            array = null;
+            partial = true;
+        }
+
+        @Override
+        public void write(byte value) {
+            reject();
+        }
+
+        @Override
+        public void write(byte[] value, int offset, int length) {
+            capture(value, offset, length);
+        }
+
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) {
+            capture(value, offset, length);
+        }
+
+        @Override
+        public void write(ByteBuffer value) {
+            reject();
+        }
+
+        @Override
+        public void writeLazy(ByteBuffer value) {
+            reject();
+        }
+    }
+
+    private ByteStrings() {
+    }
+}
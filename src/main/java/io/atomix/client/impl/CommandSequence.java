@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+/**
+ * Command sequence numbers of a session.
+ * <p>
+ * All the primitives sharing a {@link PartitionSession} draw their command sequence numbers from the session's command
+ * sequence, so their commands never reuse each other's sequence numbers. The sequence also tracks which commands have
+ * completed. The {@link #ack() ack} is the highest sequence number at or below which every command has completed, and
+ * is sent to the cluster so that it can release the responses cached for those commands.
+ */
+final class CommandSequence {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long request;
+    private volatile long ack;
+    private boolean[] completed = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Returns the next command sequence number.
+     *
+     * @return the next command sequence number
+     */
+    synchronized long next() {
+        if (request + 1 - ack > completed.length) {
+            grow(request + 1 - ack);
+        }
+        return ++request;
+    }
+
+    /**
+     * Records the completion of the command with the given sequence number.
+     *
+     * @param sequence the sequence number of the completed command
+     */
+    synchronized void complete(long sequence) {
+        if (sequence <= ack || sequence > request) {
+            return;
+        }
+        if (sequence != ack + 1) {
+            completed[(int) sequence & (completed.length - 1)] = true;
+            return;
+        }
+        long next = sequence + 1;
+        int mask = completed.length - 1;
+        while (next <= request && completed[(int) next & mask]) {
+            completed[(int) next & mask] = false;
+            next++;
+        }
+        ack = next - 1;
+    }
+
+    /**
+     * Returns the highest sequence number at or below which every command has completed.
+     *
+     * @return the command sequence ack
+     */
+    long ack() {
+        return ack;
+    }
+
+    /**
+     * Grows the completion buffer to hold at least the given number of sequence numbers following the ack.
+     */
+    private void grow(long required) {
+        int capacity = completed.length;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        boolean[] newCompleted = new boolean[capacity];
+        for (long sequence = ack + 1; sequence <= request; sequence++) {
+            newCompleted[(int) sequence & (capacity - 1)] = completed[(int) sequence & (completed.length - 1)];
+        }
+        completed = newCompleted;
+    }
+}
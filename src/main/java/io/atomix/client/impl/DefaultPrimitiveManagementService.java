@@ -17,6 +17,7 @@ package io.atomix.client.impl;
 
 import io.atomix.client.PrimitiveCache;
 import io.atomix.client.PrimitiveManagementService;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.partition.PartitionService;
 import io.atomix.client.utils.concurrent.ThreadContextFactory;
 
@@ -27,14 +28,17 @@ public class DefaultPrimitiveManagementService implements PrimitiveManagementSer
     private final PartitionService partitionService;
     private final PrimitiveCache primitiveCache;
     private final ThreadContextFactory threadContextFactory;
+    private final RetryPolicy retryPolicy;
 
     public DefaultPrimitiveManagementService(
         PartitionService partitionService,
         PrimitiveCache primitiveCache,
-        ThreadContextFactory threadContextFactory) {
+        ThreadContextFactory threadContextFactory,
+        RetryPolicy retryPolicy) {
         this.partitionService = partitionService;
         this.primitiveCache = primitiveCache;
         this.threadContextFactory = threadContextFactory;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -51,4 +55,9 @@ public class DefaultPrimitiveManagementService implements PrimitiveManagementSer
     public ThreadContextFactory getThreadFactory() {
         return threadContextFactory;
     }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limit on the number of in-flight operations to a partition.
+ * <p>
+ * The limit is shared by all the primitives on the partition. A primitive that fails to acquire a permit registers a
+ * waiter, which is run once a permit has been released so that the primitive can retry admitting its queued
+ * operations. A woken primitive that doesn't use the released permit {@link #signal() signals} the next waiter, so
+ * waiters are never left parked while a permit is free.
+ */
+final class InFlightLimit {
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+
+    InFlightLimit(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns whether the number of in-flight operations is limited.
+     *
+     * @return indicates whether the limit is enabled
+     */
+    boolean isEnabled() {
+        return maxInFlight > 0;
+    }
+
+    /**
+     * Returns the number of in-flight operations.
+     *
+     * @return the number of in-flight operations
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Attempts to acquire a permit for an operation.
+     *
+     * @return indicates whether a permit was acquired
+     */
+    boolean tryAcquire() {
+        if (maxInFlight == 0) {
+            return true;
+        }
+        int current = inFlight.get();
+        while (current < maxInFlight) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    /**
+     * Releases a permit, running the next waiter if there is one.
+     */
+    void release() {
+        if (maxInFlight == 0) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        Runnable waiter = waiters.poll();
+        if (waiter != null) {
+            waiter.run();
+        }
+    }
+
+    /**
+     * Registers a waiter to be run once a permit is released.
+     *
+     * @param waiter the waiter to run
+     */
+    void await(Runnable waiter) {
+        waiters.add(waiter);
+        // A permit may have been released before the waiter was added.
+        if (inFlight.get() < maxInFlight) {
+            Runnable next = waiters.poll();
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Runs the next waiter if a permit is available.
+     */
+    void signal() {
+        if (maxInFlight > 0 && inFlight.get() < maxInFlight) {
+            Runnable next = waiters.poll();
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+
+    /**
+     * Removes a waiter that no longer needs to be run.
+     *
+     * @param waiter the waiter to remove
+     */
+    void remove(Runnable waiter) {
+        waiters.removeIf(next -> next == waiter);
+    }
+}
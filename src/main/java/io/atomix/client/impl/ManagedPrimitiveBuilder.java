@@ -22,6 +22,7 @@ import io.atomix.client.SyncPrimitive;
 
 import java.time.Duration;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -29,6 +30,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public abstract class ManagedPrimitiveBuilder<B extends PrimitiveBuilder<B, P>, P extends SyncPrimitive> extends PrimitiveBuilder<B, P> {
     protected Duration sessionTimeout = Duration.ofSeconds(30);
+    protected Duration sessionIdleTimeout;
 
     protected ManagedPrimitiveBuilder(Name name, PrimitiveManagementService managementService) {
         super(name, managementService);
@@ -45,4 +47,22 @@ public abstract class ManagedPrimitiveBuilder<B extends PrimitiveBuilder<B, P>,
         this.sessionTimeout = checkNotNull(timeout, "timeout cannot be null");
         return (B) this;
     }
+
+    /**
+     * Enables lazy partition sessions.
+     * <p>
+     * Partitioned primitives open the session for a partition on the first operation on that partition rather than
+     * when the primitive is built, and release it again once the partition has been idle for the given timeout.
+     * Sessions with open event listeners are never released. Single-partition primitives ignore this option.
+     *
+     * @param idleTimeout the time after which an idle partition session is released
+     * @return the primitive builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withLazySessions(Duration idleTimeout) {
+        checkNotNull(idleTimeout, "idleTimeout cannot be null");
+        checkArgument(!idleTimeout.isNegative() && !idleTimeout.isZero(), "idleTimeout must be positive");
+        this.sessionIdleTimeout = idleTimeout;
+        return (B) this;
+    }
 }
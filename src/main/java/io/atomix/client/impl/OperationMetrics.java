@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.atomix.client.metrics.Histogram;
+import io.atomix.client.metrics.MetricsRegistry;
+
+/**
+ * Primitive operation metrics.
+ * <p>
+ * Operation latencies are recorded in nanoseconds to histograms named {@code <primitive>.<operation>}, e.g.
+ * {@code AtomicMap.put}, where the primitive name is derived from the primitive implementation class and the operation
+ * name from the class of the operation's response. The depth by which responses arrive ahead of their sequence is
+ * recorded to {@code <primitive>.reorder}.
+ */
+final class OperationMetrics {
+    private static final String[] PRIMITIVE_PREFIXES = {"DefaultAsync", "Default"};
+    private static final String RESPONSE_SUFFIX = "Response";
+
+    private static final ClassValue<String> OPERATION_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getSimpleName();
+            if (name.endsWith(RESPONSE_SUFFIX) && name.length() > RESPONSE_SUFFIX.length()) {
+                name = name.substring(0, name.length() - RESPONSE_SUFFIX.length());
+            }
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+    };
+
+    final boolean enabled;
+    final Histogram reorder;
+    private final MetricsRegistry registry;
+    private final String prefix;
+    private final Map<Class<?>, Histogram> latencies = new ConcurrentHashMap<>();
+
+    OperationMetrics(MetricsRegistry registry, Class<?> primitiveClass) {
+        this.enabled = registry.isEnabled();
+        this.registry = registry;
+        this.prefix = primitiveName(primitiveClass) + ".";
+        this.reorder = registry.histogram(prefix + "reorder");
+    }
+
+    /**
+     * Returns the name of the given primitive implementation class.
+     */
+    private static String primitiveName(Class<?> primitiveClass) {
+        String name = primitiveClass.getSimpleName();
+        for (String prefix : PRIMITIVE_PREFIXES) {
+            if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                return name.substring(prefix.length());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Records the latency of an operation.
+     *
+     * @param response     the operation response
+     * @param latencyNanos the operation latency in nanoseconds
+     */
+    void recordLatency(Object response, long latencyNanos) {
+        Histogram histogram = latencies.get(response.getClass());
+        if (histogram == null) {
+            histogram = latencies.computeIfAbsent(response.getClass(),
+                type -> registry.histogram(prefix + OPERATION_NAMES.get(type)));
+        }
+        histogram.record(latencyNanos);
+    }
+}
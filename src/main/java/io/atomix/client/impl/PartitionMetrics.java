@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import io.atomix.client.metrics.Counter;
+import io.atomix.client.metrics.Histogram;
+import io.atomix.client.metrics.MetricsRegistry;
+
+/**
+ * Partition metrics.
+ * <p>
+ * Metrics are named {@code partition.<id>.<metric>}, and are shared by all the sessions on the partition. Latencies
+ * are recorded in nanoseconds.
+ */
+final class PartitionMetrics {
+    final boolean enabled;
+    final Counter inFlight;
+    final Counter retries;
+    final Counter retriesDenied;
+    final Counter hedges;
+    final Counter suspended;
+    final Counter expired;
+    final Histogram keepAlive;
+
+    PartitionMetrics(MetricsRegistry registry, int partitionId) {
+        String prefix = "partition." + partitionId + ".";
+        this.enabled = registry.isEnabled();
+        this.inFlight = registry.counter(prefix + "inflight");
+        this.retries = registry.counter(prefix + "retries");
+        this.retriesDenied = registry.counter(prefix + "retries.denied");
+        this.hedges = registry.counter(prefix + "hedges");
+        this.suspended = registry.counter(prefix + "session.suspended");
+        this.expired = registry.counter(prefix + "session.expired");
+        this.keepAlive = registry.histogram(prefix + "keepalive");
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.atomix.api.headers.RequestHeader;
+import io.atomix.api.headers.StreamHeader;
+import io.atomix.api.session.CloseSessionRequest;
+import io.atomix.api.session.CloseSessionResponse;
+import io.atomix.api.session.KeepAliveRequest;
+import io.atomix.api.session.KeepAliveResponse;
+import io.atomix.api.session.OpenSessionRequest;
+import io.atomix.api.session.OpenSessionResponse;
+import io.atomix.api.session.SessionServiceGrpc;
+import io.atomix.client.PrimitiveState;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.Scheduled;
+import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Partition session.
+ * <p>
+ * A partition session is a single session shared by all the managed primitives on a partition that use the same
+ * session timeout. The session is opened by the first primitive to connect, kept alive by a single keep-alive loop,
+ * and closed once the last primitive sharing it has released it. Each primitive keeps its own
+ * {@link PrimitiveSessionState} and {@link PrimitiveSessionSequencer} so that operations are still sequenced per
+ * primitive, while the stream acks for all the primitives are batched into the session's keep-alive requests.
+ * <p>
+ * Command sequence numbers are session-wide: the primitives draw them from the session's {@link CommandSequence}, and
+ * each keep-alive acks the highest sequence number at or below which all commands in the session have completed.
+ * A primitive that's closed only detaches from the session; the session itself is closed with the last reference.
+ */
+public final class PartitionSession {
+    private static final double TIMEOUT_FACTOR = .5;
+    private static final long MIN_TIMEOUT_DELTA = 2500;
+
+    private final SessionServiceGrpc.SessionServiceStub service;
+    private final ManagedChannel channel;
+    private final ThreadContext context;
+    private final Duration timeout;
+    private final Consumer<PartitionSession> releaser;
+    private final RetryBudget retryBudget;
+    private final QueryHedger hedger;
+    private final PartitionMetrics metrics;
+    private final SessionConfig config;
+    private final InFlightLimit inFlightLimit;
+    private final CommandSequence commandSequence = new CommandSequence();
+    private final Map<PrimitiveSessionState, PrimitiveSessionSequencer> primitives = new ConcurrentHashMap<>();
+    private CompletableFuture<Long> openFuture;
+    private volatile long sessionId;
+    private volatile PrimitiveState state = PrimitiveState.CONNECTED;
+    private volatile boolean open = true;
+    private long suspendedTime;
+    private Scheduled keepAliveTimer;
+    int references;
+
+    PartitionSession(
+        ManagedChannel channel,
+        ThreadContext context,
+        Duration timeout,
+        SessionConfig config,
+        PartitionMetrics metrics,
+        Consumer<PartitionSession> releaser) {
+        this.service = SessionServiceGrpc.newStub(channel);
+        this.channel = channel;
+        this.context = context;
+        this.timeout = timeout;
+        this.releaser = releaser;
+        this.retryBudget = new RetryBudget(config.getRetryBudgetTokens(), config.getRetryBudgetRatio());
+        this.hedger = new QueryHedger(config);
+        this.metrics = metrics;
+        this.config = config;
+        this.inFlightLimit = new InFlightLimit(config.getMaxInFlightPerPartition());
+    }
+
+    /**
+     * Returns the session ID.
+     *
+     * @return the session ID or {@code 0} if the session has not been opened
+     */
+    public long sessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Returns the session timeout.
+     *
+     * @return the session timeout
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the command sequence shared by the primitives in the session.
+     *
+     * @return the session command sequence
+     */
+    CommandSequence commandSequence() {
+        return commandSequence;
+    }
+
+    /**
+     * Returns the hedger through which queries to the partition are hedged.
+     *
+     * @return the partition query hedger
+     */
+    QueryHedger hedger() {
+        return hedger;
+    }
+
+    /**
+     * Returns the session configuration.
+     *
+     * @return the session configuration
+     */
+    SessionConfig config() {
+        return config;
+    }
+
+    /**
+     * Returns the limit on in-flight operations to the partition.
+     *
+     * @return the partition in-flight operation limit
+     */
+    InFlightLimit inFlightLimit() {
+        return inFlightLimit;
+    }
+
+    /**
+     * Returns the metrics for the session's partition.
+     *
+     * @return the partition metrics
+     */
+    PartitionMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the budget limiting the retries sent to the partition.
+     *
+     * @return the partition retry budget
+     */
+    public RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Returns a boolean indicating whether the session has expired.
+     *
+     * @return indicates whether the session has expired
+     */
+    boolean isExpired() {
+        return state == PrimitiveState.EXPIRED;
+    }
+
+    /**
+     * Connects the session, opening it if necessary.
+     * <p>
+     * Concurrent calls share the same open request, so the session is only opened once for all the primitives
+     * sharing it.
+     *
+     * @return a future to be completed with the session ID
+     */
+    public synchronized CompletableFuture<Long> connect() {
+        if (openFuture == null) {
+            CompletableFuture<Long> future = this.<OpenSessionResponse>execute(observer -> service.openSession(
+                OpenSessionRequest.newBuilder()
+                    .setHeader(RequestHeader.newBuilder().build())
+                    .setTimeout(com.google.protobuf.Duration.newBuilder()
+                        .setSeconds(timeout.getSeconds())
+                        .setNanos(timeout.getNano())
+                        .build())
+                    .build(), observer))
+                .thenApply(response -> response.getHeader().getSessionId());
+            openFuture = future;
+            future.whenComplete((sessionId, error) -> {
+                if (error == null) {
+                    this.sessionId = sessionId;
+                    context.execute(() -> keepAlive(System.currentTimeMillis()));
+                } else {
+                    synchronized (this) {
+                        openFuture = null;
+                    }
+                }
+            });
+        }
+        return openFuture;
+    }
+
+    /**
+     * Registers a primitive with the session.
+     * <p>
+     * Registered primitives have their state updated by the session's keep-alives, and the acks for their open
+     * streams are sent with each keep-alive request.
+     *
+     * @param state     the primitive session state
+     * @param sequencer the primitive session sequencer
+     */
+    void register(PrimitiveSessionState state, PrimitiveSessionSequencer sequencer) {
+        primitives.put(state, sequencer);
+    }
+
+    /**
+     * Unregisters a primitive from the session.
+     *
+     * @param state the primitive session state
+     */
+    void unregister(PrimitiveSessionState state) {
+        primitives.remove(state);
+    }
+
+    /**
+     * Releases the caller's reference to the session.
+     * <p>
+     * The session is closed once all references to it have been released.
+     */
+    public void release() {
+        releaser.accept(this);
+    }
+
+    /**
+     * Returns the header for a keep-alive request, acking the completed commands and the streams of all registered
+     * primitives.
+     */
+    @VisibleForTesting
+    RequestHeader getKeepAliveHeader() {
+        RequestHeader.Builder header = RequestHeader.newBuilder()
+            .setSessionId(sessionId)
+            .setSequenceNumber(commandSequence.ack());
+        for (PrimitiveSessionSequencer sequencer : primitives.values()) {
+            for (PrimitiveSessionSequencer.StreamSequencer stream : sequencer.streams()) {
+                header.addStreams(StreamHeader.newBuilder()
+                    .setStreamId(stream.streamId())
+                    .setIndex(stream.getStreamIndex())
+                    .setLastItemNumber(stream.getStreamSequence())
+                    .build());
+            }
+        }
+        return header.build();
+    }
+
+    /**
+     * Keeps the session alive.
+     */
+    private void keepAlive(long lastKeepAliveTime) {
+        long keepAliveTime = System.currentTimeMillis();
+        long keepAliveNanos = metrics.enabled ? System.nanoTime() : 0;
+        this.<KeepAliveResponse>execute(observer -> service.keepAlive(KeepAliveRequest.newBuilder()
+            .setHeader(getKeepAliveHeader())
+            .build(), observer))
+            .whenComplete((response, error) -> {
+                if (open) {
+                    long delta = System.currentTimeMillis() - keepAliveTime;
+                    // If the keep-alive succeeded, ensure the session state is CONNECTED and schedule another keep-alive.
+                    if (error == null) {
+                        if (metrics.enabled) {
+                            metrics.keepAlive.record(System.nanoTime() - keepAliveNanos);
+                        }
+                        suspendedTime = 0;
+                        setState(PrimitiveState.CONNECTED);
+                        scheduleKeepAlive(System.currentTimeMillis(), delta);
+                    }
+                    // If the keep-alive failed, set the session state to SUSPENDED and schedule another keep-alive.
+                    // Once the session has been suspended for longer than its timeout it's expired and no longer kept alive.
+                    else {
+                        if (suspendedTime == 0) {
+                            suspendedTime = keepAliveTime;
+                        }
+                        if (System.currentTimeMillis() - suspendedTime > timeout.toMillis()) {
+                            setState(PrimitiveState.EXPIRED);
+                        } else {
+                            setState(PrimitiveState.SUSPENDED);
+                            scheduleKeepAlive(lastKeepAliveTime, delta);
+                        }
+                    }
+                }
+            });
+    }
+
+    /**
+     * Schedules a keep-alive request.
+     */
+    private synchronized void scheduleKeepAlive(long lastKeepAliveTime, long delta) {
+        if (keepAliveTimer != null) {
+            keepAliveTimer.cancel();
+        }
+
+        Duration delay = Duration.ofMillis(
+            Math.max(Math.max((long) (timeout.toMillis() * TIMEOUT_FACTOR) - delta,
+                timeout.toMillis() - MIN_TIMEOUT_DELTA - delta), 0));
+        keepAliveTimer = context.schedule(delay, () -> {
+            if (open) {
+                keepAlive(lastKeepAliveTime);
+            }
+        });
+    }
+
+    /**
+     * Updates the state of the session and all the primitives registered with it.
+     */
+    private void setState(PrimitiveState state) {
+        if (this.state != PrimitiveState.EXPIRED) {
+            if (metrics.enabled && this.state != state) {
+                if (state == PrimitiveState.SUSPENDED) {
+                    metrics.suspended.increment();
+                } else if (state == PrimitiveState.EXPIRED) {
+                    metrics.expired.increment();
+                }
+            }
+            this.state = state;
+        }
+        for (PrimitiveSessionState primitive : primitives.keySet()) {
+            primitive.setState(state);
+        }
+    }
+
+    /**
+     * Closes the session.
+     *
+     * @return a future to be completed once the session has been closed
+     */
+    CompletableFuture<Void> close() {
+        open = false;
+        synchronized (this) {
+            if (keepAliveTimer != null) {
+                keepAliveTimer.cancel();
+            }
+        }
+
+        CompletableFuture<Void> future;
+        if (sessionId != 0 && state != PrimitiveState.EXPIRED) {
+            future = this.<CloseSessionResponse>execute(observer -> service.closeSession(CloseSessionRequest.newBuilder()
+                .setHeader(RequestHeader.newBuilder()
+                    .setSessionId(sessionId)
+                    .build())
+                .build(), observer))
+                .thenApply(response -> null);
+        } else {
+            future = CompletableFuture.completedFuture(null);
+        }
+        return future.whenComplete((result, error) -> {
+            channel.shutdown();
+            context.close();
+        });
+    }
+
+    private <T> CompletableFuture<T> execute(Consumer<StreamObserver<T>> callback) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        callback.accept(new StreamObserver<T>() {
+            @Override
+            public void onNext(T response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+
+/**
+ * Provides the shared sessions of a partition.
+ */
+public interface PartitionSessionProvider {
+
+    /**
+     * Acquires a reference to the partition session with the given timeout.
+     * <p>
+     * The session is shared by all primitives on the partition that use the same timeout, and the returned
+     * reference must be released once it's no longer needed.
+     *
+     * @param timeout the session timeout
+     * @return the partition session
+     */
+    PartitionSession getSession(Duration timeout);
+
+    /**
+     * Creates a session with the given timeout that's not shared with any other primitive.
+     * <p>
+     * The returned reference must be released once it's no longer needed, which closes the session.
+     *
+     * @param timeout the session timeout
+     * @return the new partition session
+     */
+    PartitionSession newSession(Duration timeout);
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import io.atomix.api.controller.Partition;
+import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.ThreadContextFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reference counted registry of partition sessions.
+ * <p>
+ * The registry shares a single {@link PartitionSession} among all the primitives on a partition that use the same
+ * session timeout. Sessions are closed once the last reference to them has been released, and a session that has
+ * expired is replaced by a new session the next time it's acquired.
+ */
+public class PartitionSessionRegistry {
+    private final ThreadContextFactory threadContextFactory;
+    private final SessionConfig config;
+    private final MetricsRegistry metricsRegistry;
+    private final Map<SessionKey, PartitionSession> sessions = new HashMap<>();
+    private final Map<Integer, PartitionMetrics> metrics = new HashMap<>();
+
+    public PartitionSessionRegistry(ThreadContextFactory threadContextFactory, SessionConfig config) {
+        this(threadContextFactory, config, MetricsRegistry.NOOP);
+    }
+
+    public PartitionSessionRegistry(
+        ThreadContextFactory threadContextFactory,
+        SessionConfig config,
+        MetricsRegistry metricsRegistry) {
+        this.threadContextFactory = checkNotNull(threadContextFactory, "threadContextFactory cannot be null");
+        this.config = checkNotNull(config, "config cannot be null");
+        this.metricsRegistry = checkNotNull(metricsRegistry, "metricsRegistry cannot be null");
+    }
+
+    /**
+     * Returns the registry to which the partition and primitive metrics are recorded.
+     *
+     * @return the metrics registry
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * Acquires a reference to the session for the given partition.
+     * <p>
+     * The returned session must be released via {@link PartitionSession#release()} once it's no longer needed.
+     *
+     * @param partition      the partition for which to return the session
+     * @param channelFactory the partition channel factory
+     * @param timeout        the session timeout
+     * @return a reference to the shared session for the given partition
+     */
+    public synchronized PartitionSession acquire(Partition partition, ChannelFactory channelFactory, Duration timeout) {
+        SessionKey key = new SessionKey(partition, timeout);
+        PartitionSession session = sessions.get(key);
+        if (session == null || session.isExpired()) {
+            session = new PartitionSession(
+                channelFactory.getChannel(),
+                threadContextFactory.createContext(),
+                timeout,
+                config,
+                metrics.computeIfAbsent(partition.getPartitionId(), id -> new PartitionMetrics(metricsRegistry, id)),
+                s -> release(key, s));
+            sessions.put(key, session);
+        }
+        session.references++;
+        return session;
+    }
+
+    /**
+     * Creates a session for the given partition that's not shared with any other primitive.
+     * <p>
+     * Dedicated sessions are used to send requests that end the session in which they're sent, such as deleting a
+     * primitive, without ending the shared session. The returned session is closed once it has been released via
+     * {@link PartitionSession#release()}.
+     *
+     * @param partition      the partition for which to create the session
+     * @param channelFactory the partition channel factory
+     * @param timeout        the session timeout
+     * @return a reference to a new session for the given partition
+     */
+    public synchronized PartitionSession create(Partition partition, ChannelFactory channelFactory, Duration timeout) {
+        PartitionSession session = new PartitionSession(
+            channelFactory.getChannel(),
+            threadContextFactory.createContext(),
+            timeout,
+            config,
+            metrics.computeIfAbsent(partition.getPartitionId(), id -> new PartitionMetrics(metricsRegistry, id)),
+            this::release);
+        session.references++;
+        return session;
+    }
+
+    /**
+     * Releases a reference to the given dedicated session.
+     */
+    private synchronized void release(PartitionSession session) {
+        if (--session.references == 0) {
+            session.close();
+        }
+    }
+
+    /**
+     * Releases a reference to the given session.
+     */
+    private synchronized void release(SessionKey key, PartitionSession session) {
+        if (--session.references == 0) {
+            sessions.remove(key, session);
+            session.close();
+        }
+    }
+
+    /**
+     * Closes the registry, closing all open sessions.
+     */
+    public synchronized void close() {
+        new ArrayList<>(sessions.values()).forEach(PartitionSession::close);
+        sessions.clear();
+    }
+
+    /**
+     * Partition session key.
+     */
+    private static final class SessionKey {
+        private final Partition partition;
+        private final Duration timeout;
+
+        SessionKey(Partition partition, Duration timeout) {
+            this.partition = partition;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partition, timeout);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof SessionKey) {
+                SessionKey that = (SessionKey) object;
+                return partition.equals(that.partition) && timeout.equals(that.timeout);
+            }
+            return false;
+        }
+    }
+}
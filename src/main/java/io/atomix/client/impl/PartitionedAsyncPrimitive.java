@@ -15,8 +15,10 @@
  */
 package io.atomix.client.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +34,8 @@ import io.atomix.api.primitive.Name;
 import io.atomix.client.AsyncPrimitive;
 import io.atomix.client.ManagedAsyncPrimitive;
 import io.atomix.client.PrimitiveState;
+import io.atomix.client.partition.HashPartitioner;
+import io.atomix.client.partition.PartitionTable;
 import io.atomix.client.partition.Partitioner;
 import io.atomix.client.utils.concurrent.Futures;
 
@@ -44,7 +48,9 @@ public abstract class PartitionedAsyncPrimitive<P extends AsyncPrimitive> implem
     private final Name name;
     private final List<Integer> partitionIds = new CopyOnWriteArrayList<>();
     private final Map<Integer, P> partitions = new ConcurrentHashMap<>();
+    private final PartitionTable partitionTable;
     private final Partitioner<String> partitioner;
+    private final HashPartitioner hashPartitioner;
     private final Set<Consumer<PrimitiveState>> stateChangeListeners = Sets.newCopyOnWriteArraySet();
     private final Map<Integer, PrimitiveState> states = Maps.newHashMap();
     private volatile PrimitiveState state = PrimitiveState.CLOSED;
@@ -57,7 +63,9 @@ public abstract class PartitionedAsyncPrimitive<P extends AsyncPrimitive> implem
             this.partitions.put(partitionId, partition);
         });
         Collections.sort(partitionIds);
+        this.partitionTable = PartitionTable.of(partitionIds);
         this.partitioner = checkNotNull(partitioner, "partitioner cannot be null");
+        this.hashPartitioner = partitioner instanceof HashPartitioner ? (HashPartitioner) partitioner : null;
         partitions.forEach((partitionId, partition) -> {
             partition.addStateChangeListener(state -> onStateChange(partitionId, state));
         });
@@ -93,9 +101,37 @@ public abstract class PartitionedAsyncPrimitive<P extends AsyncPrimitive> implem
      * @return the partition ID for the given key
      */
     protected int getPartitionId(String key) {
+        if (hashPartitioner != null) {
+            return hashPartitioner.partition(key, partitionTable);
+        }
         return partitioner.partition(key, getPartitionIds());
     }
 
+    /**
+     * Groups the given keys by the partition to which they map.
+     * <p>
+     * When the partitioner is a {@link HashPartitioner}, the keys are routed in a single pass.
+     *
+     * @param keys the keys to group
+     * @return the keys grouped by partition ID
+     */
+    protected Map<Integer, Collection<String>> getPartitionKeys(Collection<? extends String> keys) {
+        String[] keyArray = keys.toArray(new String[0]);
+        int[] keyPartitions = new int[keyArray.length];
+        if (hashPartitioner != null) {
+            hashPartitioner.partition(keyArray, partitionTable, keyPartitions);
+        } else {
+            for (int i = 0; i < keyArray.length; i++) {
+                keyPartitions[i] = partitioner.partition(keyArray[i], partitionIds);
+            }
+        }
+        Map<Integer, Collection<String>> partitionKeys = new HashMap<>();
+        for (int i = 0; i < keyArray.length; i++) {
+            partitionKeys.computeIfAbsent(keyPartitions[i], id -> new ArrayList<>()).add(keyArray[i]);
+        }
+        return partitionKeys;
+    }
+
     /**
      * Returns a partition by ID.
      *
@@ -126,6 +162,13 @@ public abstract class PartitionedAsyncPrimitive<P extends AsyncPrimitive> implem
         stateChangeListeners.remove(listener);
     }
 
+    /**
+     * Connects all partitions.
+     * <p>
+     * Partitions built with lazy sessions complete immediately and open their sessions on first access.
+     *
+     * @return a future to be completed once all partitions have been connected
+     */
     @Override
     @SuppressWarnings("unchecked")
     public CompletableFuture<P> connect() {
@@ -18,13 +18,19 @@ package io.atomix.client.impl;
 import java.net.ConnectException;
 import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.Map;
+import java.util.Queue;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -33,20 +39,71 @@ import io.atomix.api.headers.RequestHeader;
 import io.atomix.api.headers.ResponseHeader;
 import io.atomix.client.PrimitiveException;
 import io.atomix.client.PrimitiveState;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.partition.impl.PartitionChannel.OperationType;
+import io.atomix.client.partition.impl.PartitionChannel.Route;
+import io.atomix.client.session.AdmissionPolicy;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.CancellableFuture;
+import io.atomix.client.utils.concurrent.Scheduled;
 import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Session operation submitter.
+ * <p>
+ * Queries are sent with a deadline after the primitive's operation timeout. Once the deadline has passed, the
+ * in-flight call is cancelled and the query fails with {@link PrimitiveException.Timeout}. Cancelling the future
+ * returned for a query or a stream, or any future derived from it, likewise cancels the in-flight call and removes the
+ * operation from the in-flight index.
+ * <p>
+ * Commands hold a sequence number in the session, so an unsent or cancelled command would leave a gap in the
+ * session's command sequence. Once the operation timeout has passed, the future returned for a command fails with
+ * {@link PrimitiveException.Timeout}, but the command itself stays in flight, and cancelling the future doesn't cancel
+ * the command. Closing the executor likewise waits for the commands that already hold a sequence number to complete,
+ * resending them as needed, so that the session's acked command sequence never skips a command the cluster hasn't
+ * received.
+ * <p>
+ * When query hedging is enabled for the partition, a query that has not received a response after the partition's
+ * hedging delay is sent again, and the first response to either query completes the operation.
+ * <p>
+ * Queries with a relaxed {@link ReadConsistency} are routed to follower endpoints. A relaxed query whose response is
+ * older than the state already observed by the session is resent to the leader, so reads never go backwards. The
+ * resend is a retry, limited by the retry policy and paid for from the partition's retry budget. Keyed
+ * queries with bounded staleness are served from the primitive's recent reads while no commands are in flight and the
+ * recent read is both fresh enough and no older than the state observed by the session.
+ * <p>
+ * When metrics are enabled, the latency of each unary operation is recorded to the primitive's
+ * {@link OperationMetrics}, and in-flight operations, retries and hedges to the partition's {@link PartitionMetrics}.
+ * <p>
+ * When flow control is enabled, new operations are only sent while the primitive's session and its partition are
+ * below their in-flight limits. Other operations wait in order in the primitive's admission queue, and operations
+ * submitted while the queue is full are handled according to the configured {@link AdmissionPolicy}.
  */
 final class PrimitiveSessionExecutor<S> {
-    private static final int[] FIBONACCI = new int[]{1, 1, 2, 3, 5};
-    private static final Predicate<Throwable> EXCEPTION_PREDICATE = e ->
+    static final Predicate<Throwable> CONNECTION_PREDICATE = e ->
         e instanceof ConnectException
-            || e instanceof TimeoutException
-            || e instanceof ClosedChannelException;
+            || e instanceof ClosedChannelException
+            || (e instanceof StatusRuntimeException
+            && ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.UNAVAILABLE);
+    private static final Predicate<Throwable> EXCEPTION_PREDICATE = e ->
+        CONNECTION_PREDICATE.test(e)
+            || e instanceof TimeoutException;
+    private static final int MAX_RECENT_READS = 1024;
+    private static final int REJECTED = 0;
+    private static final int RESERVED = 1;
+    private static final int CALLER_RUNS = 2;
+    private static final Predicate<Throwable> DEADLINE_PREDICATE = e ->
+        e instanceof StatusRuntimeException
+            && ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED;
     private static final Predicate<Throwable> EXPIRED_PREDICATE = e ->
         e instanceof PrimitiveException.UnknownClient
             || e instanceof PrimitiveException.UnknownSession;
@@ -59,68 +116,219 @@ final class PrimitiveSessionExecutor<S> {
     private final ManagedPrimitiveContext context;
     private final PrimitiveSessionSequencer sequencer;
     private final ThreadContext threadContext;
-    private final Map<Long, OperationAttempt> attempts = new LinkedHashMap<>();
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final long operationTimeoutNanos;
+    private final QueryHedger hedger;
+    private final ReadConsistency readConsistency;
+    private final PartitionMetrics partitionMetrics;
+    private final OperationMetrics operationMetrics;
+    private final Map<Object, RecentRead> recentReads = new ConcurrentHashMap<>();
+    private final RequestHeader.Builder headerBuilder;
+    private final AttemptIndex<CommandAttempt<?>> commands = new AttemptIndex<>();
+    private final AttemptIndex<QueryAttempt<?>> queries = new AttemptIndex<>();
+    private final AttemptIndex<OperationAttempt<?, ?>> streams = new AttemptIndex<>();
+    private final boolean flowControl;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final InFlightLimit partitionLimit;
+    private final AdmissionQueue admissionQueue;
+    private final AdmissionPolicy admissionPolicy;
+    private final Queue<OperationAttempt<?, ?>> admissions = new ArrayDeque<>();
+    private final Runnable admitTask = this::admitQueued;
+    private final Runnable partitionWaiter;
+    private boolean awaitingPartition;
+    private volatile CompletableFuture<Void> closeFuture;
 
     PrimitiveSessionExecutor(
         S service,
         PrimitiveSessionState state,
         ManagedPrimitiveContext context,
         PrimitiveSessionSequencer sequencer,
-        ThreadContext threadContext) {
+        ThreadContext threadContext,
+        RetryPolicy retryPolicy,
+        RetryBudget retryBudget,
+        Duration operationTimeout,
+        QueryHedger hedger,
+        ReadConsistency readConsistency,
+        PartitionMetrics partitionMetrics,
+        OperationMetrics operationMetrics,
+        SessionConfig config,
+        InFlightLimit partitionLimit) {
         this.service = checkNotNull(service, "service cannot be null");
         this.state = checkNotNull(state, "state cannot be null");
         this.context = checkNotNull(context, "context cannot be null");
         this.sequencer = checkNotNull(sequencer, "sequencer cannot be null");
         this.threadContext = checkNotNull(threadContext, "threadContext cannot be null");
+        this.retryPolicy = checkNotNull(retryPolicy, "retryPolicy cannot be null");
+        this.retryBudget = checkNotNull(retryBudget, "retryBudget cannot be null");
+        this.operationTimeoutNanos = checkNotNull(operationTimeout, "operationTimeout cannot be null").toNanos();
+        this.hedger = checkNotNull(hedger, "hedger cannot be null");
+        this.readConsistency = checkNotNull(readConsistency, "readConsistency cannot be null");
+        this.partitionMetrics = checkNotNull(partitionMetrics, "partitionMetrics cannot be null");
+        this.operationMetrics = checkNotNull(operationMetrics, "operationMetrics cannot be null");
+        this.partitionLimit = checkNotNull(partitionLimit, "partitionLimit cannot be null");
+        this.maxInFlight = config.getMaxInFlightPerSession();
+        this.flowControl = maxInFlight > 0 || partitionLimit.isEnabled();
+        this.admissionQueue = new AdmissionQueue(config.getMaxQueuedOperations());
+        this.admissionPolicy = config.getAdmissionPolicy();
+        this.partitionWaiter = () -> threadContext.execute(admitTask);
+        this.headerBuilder = RequestHeader.newBuilder()
+            .setName(state.getName())
+            .setSessionId(state.getSessionId());
     }
 
     protected <T> CompletableFuture<T> executeCommand(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> responseHeaderFunction) {
-        CompletableFuture<T> future = new CompletableFuture<>();
-        threadContext.execute(() -> invokeCommand(function, responseHeaderFunction, future));
-        return future;
+        OperationFuture<T> future = new OperationFuture<>();
+        return submit(future, () -> invokeCommand(function, responseHeaderFunction, future));
     }
 
     protected <T> CompletableFuture<Long> executeCommand(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> responseHeaderFunction,
         StreamObserver<T> observer) {
-        CompletableFuture<Long> future = new CompletableFuture<>();
-        threadContext.execute(() -> invokeCommand(function, responseHeaderFunction, observer, future));
-        return future;
+        OperationFuture<Long> future = new OperationFuture<>();
+        return submit(future, () -> invokeCommand(function, responseHeaderFunction, observer, future));
     }
 
     protected <T> CompletableFuture<T> executeQuery(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> responseHeaderFunction) {
-        CompletableFuture<T> future = new CompletableFuture<>();
-        threadContext.execute(() -> invokeQuery(function, responseHeaderFunction, future));
-        return future;
+        return executeQuery(null, function, responseHeaderFunction);
+    }
+
+    /**
+     * Executes a query for the given key.
+     * <p>
+     * The key identifies the state read by the query, and with bounded staleness allows the query to be served from
+     * a recent read of the same key.
+     *
+     * @param readKey                the key read by the query, or {@code null} if the query can't be served from
+     *                               recent reads
+     * @param function               the request function
+     * @param responseHeaderFunction the response header function
+     * @param <T>                    the response type
+     * @return a future to be completed with the query response
+     */
+    protected <T> CompletableFuture<T> executeQuery(
+        Object readKey,
+        BiConsumer<RequestHeader, StreamObserver<T>> function,
+        Function<T, ResponseHeader> responseHeaderFunction) {
+        ReadConsistency consistency = ReadConsistency.current(readConsistency);
+        OperationFuture<T> future = new OperationFuture<>();
+        return submit(future, () -> invokeQuery(function, responseHeaderFunction, future, consistency, readKey));
     }
 
     protected <T> CompletableFuture<Void> executeQuery(
         BiConsumer<RequestHeader, StreamObserver<T>> function,
         Function<T, ResponseHeader> responseHeaderFunction,
         StreamObserver<T> observer) {
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        threadContext.execute(() -> invokeQuery(function, responseHeaderFunction, observer, future));
+        OperationFuture<Void> future = new OperationFuture<>();
+        return submit(future, () -> invokeQuery(function, responseHeaderFunction, observer, future));
+    }
+
+    /**
+     * Returns the number of operations waiting to be admitted.
+     *
+     * @return the admission queue depth
+     */
+    int getQueueDepth() {
+        return flowControl ? admissionQueue.depth() : 0;
+    }
+
+    /**
+     * Submits an operation to the primitive's thread context once it has a place in the admission queue.
+     */
+    private <T> CompletableFuture<T> submit(OperationFuture<T> future, Runnable invocation) {
+        int admission = reserve(future);
+        if (admission != REJECTED) {
+            threadContext.execute(invocation);
+            if (admission == CALLER_RUNS) {
+                awaitCompletion(future);
+            }
+        }
         return future;
     }
 
+    /**
+     * Reserves a place in the admission queue for a new operation, applying the admission policy if it's full.
+     */
+    private int reserve(OperationFuture<?> future) {
+        if (!flowControl || admissionQueue.tryReserve()) {
+            return RESERVED;
+        }
+        // Atomix threads may be needed to complete the queued operations, so they're never blocked.
+        if (ThreadContext.currentContext() != null) {
+            admissionQueue.forceReserve();
+            return RESERVED;
+        }
+        switch (admissionPolicy) {
+            case FAIL:
+                future.completeExceptionally(new PrimitiveException.Unavailable("admission queue is full"));
+                return REJECTED;
+            case CALLER_RUNS:
+                admissionQueue.forceReserve();
+                return CALLER_RUNS;
+            case BLOCK:
+            default:
+                try {
+                    admissionQueue.reserve();
+                    return RESERVED;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(new PrimitiveException.Interrupted());
+                    return REJECTED;
+                }
+        }
+    }
+
+    /**
+     * Waits for the given future to be completed, leaving its outcome to the caller.
+     */
+    private static void awaitCompletion(CompletableFuture<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            // The outcome is reported through the returned future.
+        }
+    }
+
+    /**
+     * Returns a boolean indicating whether the given error is a failure to reach a partition endpoint.
+     */
+    private static boolean isConnectionFailure(Throwable error) {
+        return CONNECTION_PREDICATE.test(error) || (error instanceof CompletionException && CONNECTION_PREDICATE.test(error.getCause()));
+    }
+
+    /**
+     * Returns a request header for the given sequence number.
+     * <p>
+     * Headers are only built on the primitive's thread context, so a single builder holding the primitive name and
+     * session ID is reused for every request.
+     */
+    private RequestHeader getRequestHeader(long sequenceNumber) {
+        return headerBuilder.setSequenceNumber(sequenceNumber).build();
+    }
+
+    /**
+     * Returns a new deadline for a unary operation.
+     */
+    private Deadline newDeadline() {
+        return Deadline.after(operationTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Submits a command request to the cluster.
      */
     private <T> void invokeCommand(
         BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
         Function<T, ResponseHeader> responseHeaderFunction,
-        CompletableFuture<T> future) {
-        RequestHeader header = RequestHeader.newBuilder()
-            .setName(state.getName())
-            .setSessionId(state.getSessionId())
-            .setSequenceNumber(state.nextCommandRequest())
-            .build();
-        invoke(new CommandAttempt<>(sequencer.nextRequest(), requestFunction, header, responseHeaderFunction, future));
+        OperationFuture<T> future) {
+        invoke(new CommandAttempt<>(sequencer.nextRequest(), requestFunction, responseHeaderFunction, future, newDeadline()));
     }
 
     /**
@@ -130,28 +338,40 @@ final class PrimitiveSessionExecutor<S> {
         BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
         Function<T, ResponseHeader> responseHeaderFunction,
         StreamObserver<T> observer,
-        CompletableFuture<Long> future) {
-        RequestHeader header = RequestHeader.newBuilder()
-            .setName(state.getName())
-            .setSessionId(state.getSessionId())
-            .setSequenceNumber(state.nextCommandRequest())
-            .build();
-        invoke(new CommandStreamAttempt<>(sequencer.nextRequest(), requestFunction, header, responseHeaderFunction, observer, future));
+        OperationFuture<Long> future) {
+        invoke(new CommandStreamAttempt<>(sequencer.nextRequest(), requestFunction, responseHeaderFunction, observer, future));
     }
 
     /**
      * Submits a query request to the cluster.
      */
+    @SuppressWarnings("unchecked")
     private <T> void invokeQuery(
         BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
         Function<T, ResponseHeader> responseHeaderFunction,
-        CompletableFuture<T> future) {
-        RequestHeader header = RequestHeader.newBuilder()
-            .setName(state.getName())
-            .setSessionId(state.getSessionId())
-            .setSequenceNumber(state.getCommandRequest())
-            .build();
-        invoke(new QueryAttempt<>(sequencer.nextRequest(), requestFunction, header, responseHeaderFunction, future));
+        OperationFuture<T> future,
+        ReadConsistency consistency,
+        Object readKey) {
+        // Only bounded staleness reads are served from, and recorded as, recent reads.
+        if (consistency.getLevel() != ReadConsistency.Level.BOUNDED_STALENESS) {
+            readKey = null;
+        } else if (readKey != null) {
+            RecentRead read = recentReads.get(readKey);
+            if (read != null
+                && admissions.isEmpty()
+                && state.getCommandRequest() == state.getCommandResponse()
+                && read.index >= state.getResponseIndex()
+                && System.nanoTime() - read.time <= consistency.getMaxStaleness().toNanos()) {
+                if (flowControl) {
+                    admissionQueue.release();
+                }
+                // Recent reads still complete in the order in which the primitive's operations were submitted.
+                sequencer.sequenceResponse(sequencer.nextRequest(), null, () -> future.complete((T) read.response));
+                return;
+            }
+        }
+        invoke(new QueryAttempt<>(
+            sequencer.nextRequest(), requestFunction, responseHeaderFunction, future, newDeadline(), consistency, readKey));
     }
 
     /**
@@ -161,46 +381,108 @@ final class PrimitiveSessionExecutor<S> {
         BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
         Function<T, ResponseHeader> responseHeaderFunction,
         StreamObserver<T> observer,
-        CompletableFuture<Void> future) {
-        RequestHeader header = RequestHeader.newBuilder()
-            .setName(state.getName())
-            .setSessionId(state.getSessionId())
-            .setSequenceNumber(state.getCommandRequest())
-            .build();
-        invoke(new QueryStreamAttempt<>(sequencer.nextRequest(), requestFunction, header, responseHeaderFunction, observer, future));
+        OperationFuture<Void> future) {
+        invoke(new QueryStreamAttempt<>(sequencer.nextRequest(), requestFunction, responseHeaderFunction, observer, future));
     }
 
     /**
      * Submits an operation attempt.
+     * <p>
+     * With flow control enabled, a new operation is queued behind any operations already waiting to be admitted, or
+     * until the in-flight limits allow it to be sent.
      *
      * @param attempt The attempt to submit.
      */
     private void invoke(OperationAttempt<?, ?> attempt) {
-        if (state.getState() == PrimitiveState.CLOSED) {
-            attempt.fail(new PrimitiveException.ConcurrentModification("session closed"));
+        if (attempt.attempt == 1 && flowControl) {
+            if (!admissions.isEmpty() || !tryAcquire()) {
+                admissions.add(attempt);
+                return;
+            }
+            admissionQueue.release();
+            dispatch(attempt, true);
         } else {
-            attempts.put(attempt.id, attempt);
-            attempt.send();
-            attempt.future.whenComplete((r, e) -> attempts.remove(attempt.id));
+            dispatch(attempt, false);
         }
     }
 
     /**
-     * Resubmits commands starting after the given sequence number.
-     * <p>
-     * The sequence number from which to resend commands is the <em>request</em> sequence number, not the client-side
-     * sequence number. We resend only commands since queries cannot be reliably resent without losing linearizable
-     * semantics. Commands are resent by iterating through all pending operation attempts and retrying commands where the
-     * sequence number is greater than the given {@code commandSequence} number and the attempt number is less than or
-     * equal to the version.
+     * Admits queued operations while the in-flight limits allow it.
      */
-    private void resubmit(long commandSequence, OperationAttempt attempt) {
-        for (Map.Entry<Long, OperationAttempt> entry : attempts.entrySet()) {
-            OperationAttempt operation = entry.getValue();
-            if (operation instanceof CommandAttempt
-                && operation.id > commandSequence
-                && operation.attempt <= attempt.attempt) {
-                operation.retry();
+    private void admitQueued() {
+        awaitingPartition = false;
+        OperationAttempt<?, ?> attempt;
+        while ((attempt = admissions.peek()) != null && tryAcquire()) {
+            admissions.poll();
+            admissionQueue.release();
+            dispatch(attempt, true);
+        }
+        // A wakeup that leaves the partition's permits unused is passed on to the partition's next waiter.
+        if (!awaitingPartition) {
+            partitionLimit.signal();
+        }
+    }
+
+    /**
+     * Acquires a permit to send a new operation from the session's and the partition's in-flight limits.
+     */
+    private boolean tryAcquire() {
+        if (maxInFlight > 0 && inFlight.get() >= maxInFlight) {
+            return false;
+        }
+        if (!partitionLimit.tryAcquire()) {
+            if (!awaitingPartition) {
+                awaitingPartition = true;
+                partitionLimit.await(partitionWaiter);
+            }
+            return false;
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Releases an operation's in-flight permit, admitting queued operations if there are any.
+     */
+    private void release() {
+        inFlight.decrementAndGet();
+        partitionLimit.release();
+        if (admissionQueue.depth() > 0) {
+            threadContext.execute(admitTask);
+        }
+    }
+
+    /**
+     * Sends an operation attempt.
+     *
+     * @param attempt  the attempt to send
+     * @param acquired whether an in-flight permit was acquired for the attempt
+     */
+    private void dispatch(OperationAttempt<?, ?> attempt, boolean acquired) {
+        // Commands that already hold a sequence number are still sent once the session is closed, so that they're
+        // drained before the primitive detaches from the partition session.
+        if (state.getState() == PrimitiveState.CLOSED && !attempt.isSequenced()) {
+            if (acquired) {
+                release();
+            }
+            attempt.fail(new PrimitiveException.ConcurrentModification("session closed"));
+        } else if (attempt.isDropped()) {
+            if (acquired) {
+                release();
+            }
+            attempt.fail(new CancellationException());
+        } else {
+            // Retries reuse the attempt, which remains in its index until it's completed. The request header, and with it
+            // a command's sequence number, is only allocated once the operation is admitted, so operations that are
+            // cancelled or closed while queued never take a sequence number.
+            if (attempt.attempt == 1) {
+                attempt.requestHeader = attempt.newRequestHeader();
+                attempt.register();
+            }
+            attempt.send();
+            // Retried stream attempts may already have completed their future.
+            if (attempt.future.isDone()) {
+                attempt.unregister();
             }
         }
     }
@@ -210,49 +492,159 @@ final class PrimitiveSessionExecutor<S> {
      */
     public void reset() {
         threadContext.execute(() -> {
-            for (OperationAttempt attempt : attempts.values()) {
-                attempt.retry();
-            }
+            commands.values().forEach(OperationAttempt::retry);
+            queries.values().forEach(OperationAttempt::retry);
+            streams.values().forEach(OperationAttempt::retry);
         });
     }
 
     /**
      * Closes the submitter.
+     * <p>
+     * Queued operations and queries are failed immediately. Commands that already hold a sequence number in the
+     * session are left in flight, and are resent until they complete or the session expires.
      *
-     * @return A completable future to be completed with a list of pending operations.
+     * @return A completable future to be completed once the commands holding a sequence number have completed.
      */
     public CompletableFuture<Void> close() {
-        for (OperationAttempt attempt : new ArrayList<>(attempts.values())) {
-            attempt.fail(new PrimitiveException.ConcurrentModification("session closed"));
+        partitionLimit.remove(partitionWaiter);
+        awaitingPartition = false;
+        OperationAttempt<?, ?> queued;
+        while ((queued = admissions.poll()) != null) {
+            admissionQueue.release();
+            queued.fail(new PrimitiveException.ConcurrentModification("session closed"));
+        }
+        closeFuture = new CompletableFuture<>();
+        queries.values().forEach(this::failOnClose);
+        for (OperationAttempt<?, ?> attempt : commands.values()) {
+            if (!attempt.isSequenced()) {
+                failOnClose(attempt);
+            }
+        }
+        for (OperationAttempt<?, ?> attempt : streams.values()) {
+            if (!attempt.isSequenced()) {
+                failOnClose(attempt);
+            }
+        }
+        completeClose();
+        return closeFuture;
+    }
+
+    /**
+     * Fails an in-flight attempt when the executor is closed.
+     * <p>
+     * The attempt's failure is sequenced behind the operations preceding it, so its in-flight permit is released
+     * immediately rather than by the sequenced callback, which may only run after the executor has been closed.
+     */
+    private void failOnClose(OperationAttempt<?, ?> attempt) {
+        attempt.fail(new PrimitiveException.ConcurrentModification("session closed"));
+        attempt.unregister();
+    }
+
+    /**
+     * Completes the close once no command holding a sequence number remains in flight.
+     */
+    private void completeClose() {
+        CompletableFuture<Void> closeFuture = this.closeFuture;
+        if (closeFuture == null || closeFuture.isDone()) {
+            return;
+        }
+        for (OperationAttempt<?, ?> attempt : commands.values()) {
+            if (attempt.isSequenced()) {
+                return;
+            }
+        }
+        for (OperationAttempt<?, ?> attempt : streams.values()) {
+            if (attempt.isSequenced()) {
+                return;
+            }
+        }
+        closeFuture.complete(null);
+        // Attempts still waiting to be sequenced are removed through unregister() so that their permits are released.
+        commands.values().forEach(OperationAttempt::unregister);
+        streams.values().forEach(OperationAttempt::unregister);
+    }
+
+    /**
+     * Operation future.
+     * <p>
+     * Cancelling the future, or any future derived from it, cancels the operation's in-flight attempt.
+     */
+    private final class OperationFuture<T> extends CancellableFuture<T> {
+        private OperationAttempt<?, T> attempt;
+
+        @Override
+        protected void onCancel() {
+            threadContext.execute(() -> {
+                if (attempt != null) {
+                    attempt.cancel();
+                }
+            });
+        }
+    }
+
+    /**
+     * Completion state of an operation attempt.
+     * <p>
+     * An attempt may be completed concurrently by a response, a failure and a cancellation, but is only sequenced by
+     * the first of them.
+     */
+    private abstract static class AttemptCompletion {
+        private static final AtomicIntegerFieldUpdater<AttemptCompletion> COMPLETED =
+            AtomicIntegerFieldUpdater.newUpdater(AttemptCompletion.class, "completed");
+        private volatile int completed;
+
+        /**
+         * Claims the completion of the attempt.
+         *
+         * @return indicates whether the caller completes the attempt
+         */
+        protected final boolean tryComplete() {
+            return COMPLETED.compareAndSet(this, 0, 1);
+        }
+
+        /**
+         * Returns whether the completion of the attempt has been claimed.
+         *
+         * @return indicates whether the attempt has been completed
+         */
+        protected final boolean isCompleted() {
+            return completed != 0;
         }
-        attempts.clear();
-        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * Operation attempt.
+     * <p>
+     * An attempt is its own response observer and, for unary operations, its own sequencing callback once its response
+     * has been received.
+     * Retries reuse the same attempt with an incremented attempt number, so a steady-state operation allocates only
+     * its attempt and its request.
      */
-    private abstract class OperationAttempt<T, U> {
+    private abstract class OperationAttempt<T, U> extends AttemptCompletion implements ClientResponseObserver<Object, T> {
         protected final long id;
         protected final BiConsumer<RequestHeader, StreamObserver<T>> requestFunction;
-        protected final RequestHeader requestHeader;
+        protected RequestHeader requestHeader;
         protected final Function<T, ResponseHeader> responseHeaderFunction;
-        protected final int attempt;
-        protected final CompletableFuture<U> future;
+        protected final OperationFuture<U> future;
+        protected final Deadline deadline;
+        protected final long startTime;
+        protected volatile ClientCallStreamObserver<Object> call;
+        protected int attempt = 1;
 
         protected OperationAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
-            int attempt,
-            CompletableFuture<U> future) {
+            OperationFuture<U> future,
+            Deadline deadline) {
             this.id = id;
             this.requestFunction = requestFunction;
-            this.requestHeader = requestHeader;
             this.responseHeaderFunction = responseHeaderFunction;
-            this.attempt = attempt;
             this.future = future;
+            this.deadline = deadline;
+            this.startTime = operationMetrics.enabled ? System.nanoTime() : 0;
+            future.attempt = this;
         }
 
         /**
@@ -266,50 +658,123 @@ final class PrimitiveSessionExecutor<S> {
         }
 
         /**
-         * Executes the request function.
+         * Returns the type used to route the operation to a partition endpoint.
          *
-         * @param observer the response observer
+         * @return the operation type
+         */
+        protected abstract OperationType type();
+
+        /**
+         * Executes the request function, observing responses with this attempt.
          */
-        protected void execute(StreamObserver<T> observer) {
-            requestFunction.accept(requestHeader, observer);
+        protected void execute() {
+            if (!future.isCancelled()) {
+                type().run(requestFunction, requestHeader, this, deadline);
+            }
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Object> call) {
+            this.call = call;
         }
 
         /**
-         * Executes the request function, returning a single result future.
+         * Returns a new request header for the attempt.
+         * <p>
+         * The header is allocated when the operation is first dispatched.
          *
-         * @return the result future
-         */
-        protected CompletableFuture<T> execute() {
-            CompletableFuture<T> future = new CompletableFuture<>();
-            execute(new StreamObserver<T>() {
-                @Override
-                public void onNext(T response) {
-                    future.complete(response);
-                }
+         * @return the request header for the attempt
+         */
+        protected RequestHeader newRequestHeader() {
+            return getRequestHeader(state.getCommandRequest());
+        }
 
-                @Override
-                public void onError(Throwable t) {
-                    future.completeExceptionally(t);
-                }
+        /**
+         * Returns whether the attempt should be dropped rather than sent.
+         *
+         * @return indicates whether the attempt should be dropped
+         */
+        protected boolean isDropped() {
+            return future.isCancelled();
+        }
 
-                @Override
-                public void onCompleted() {
-                }
-            });
-            return future;
+        /**
+         * Returns whether the attempt holds a command sequence number for which no response has been received.
+         * <p>
+         * Sequenced attempts must be sent until they complete, since dropping them would leave a gap in the session's
+         * command sequence.
+         *
+         * @return indicates whether the attempt holds an outstanding command sequence number
+         */
+        protected boolean isSequenced() {
+            return false;
+        }
+
+        /**
+         * Cancels the attempt, cancelling its in-flight call.
+         */
+        protected void cancel() {
+            if (call != null) {
+                call.cancel("operation cancelled", null);
+            }
+            fail(new CancellationException());
         }
 
+
         /**
          * Sends the attempt.
          */
         protected abstract void send();
 
         /**
-         * Returns the next instance of the attempt.
+         * Adds the attempt to the index of in-flight operations.
+         */
+        protected final void register() {
+            addToIndex();
+            if (partitionMetrics.enabled) {
+                partitionMetrics.inFlight.increment();
+            }
+        }
+
+        /**
+         * Removes the attempt from the index of in-flight operations.
+         */
+        protected final void unregister() {
+            if (removeFromIndex()) {
+                if (partitionMetrics.enabled) {
+                    partitionMetrics.inFlight.decrement();
+                }
+                if (flowControl) {
+                    release();
+                }
+                if (closeFuture != null) {
+                    completeClose();
+                }
+            }
+        }
+
+        /**
+         * Adds the attempt to its index.
+         */
+        protected abstract void addToIndex();
+
+        /**
+         * Removes the attempt from its index.
          *
-         * @return The next instance of the attempt.
+         * @return indicates whether the attempt was in the index
          */
-        protected abstract OperationAttempt<T, U> next();
+        protected abstract boolean removeFromIndex();
+
+        /**
+         * Records the latency of the operation once it has completed with the given response.
+         *
+         * @param response the operation response
+         */
+        protected final void recordLatency(Object response) {
+            if (operationMetrics.enabled) {
+                operationMetrics.recordLatency(response, System.nanoTime() - startTime);
+            }
+        }
 
         /**
          * Returns a new instance of the default exception for the operation.
@@ -324,7 +789,11 @@ final class PrimitiveSessionExecutor<S> {
          * @param error The completion exception.
          */
         protected void complete(Throwable error) {
-            sequence(null, () -> future.completeExceptionally(error));
+            sequence(null, () -> {
+                completeCommand();
+                unregister();
+                future.completeExceptionally(error);
+            });
         }
 
         /**
@@ -334,7 +803,21 @@ final class PrimitiveSessionExecutor<S> {
          * @param callback The callback to run in sequence.
          */
         protected final void sequence(ResponseHeader response, Runnable callback) {
-            sequencer.sequenceResponse(id, response, callback);
+            if (tryComplete()) {
+                sequencer.sequenceResponse(id, response, callback);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        /**
+         * Records the completion of the attempt's command in the session's command sequence.
+         * <p>
+         * Queries don't have a command sequence number of their own, so this does nothing for them.
+         */
+        protected void completeCommand() {
         }
 
         /**
@@ -351,7 +834,8 @@ final class PrimitiveSessionExecutor<S> {
          */
         public void fail(Throwable t) {
             sequence(null, () -> {
-                state.setCommandResponse(id);
+                completeCommand();
+                unregister();
                 future.completeExceptionally(t);
             });
 
@@ -367,7 +851,7 @@ final class PrimitiveSessionExecutor<S> {
          * Immediately retries the attempt.
          */
         public void retry() {
-            threadContext.execute(() -> invoke(next()));
+            threadContext.execute(this::resend);
         }
 
         /**
@@ -376,52 +860,230 @@ final class PrimitiveSessionExecutor<S> {
          * @param after The duration after which to retry the attempt.
          */
         public void retry(Duration after) {
-            threadContext.schedule(after, () -> invoke(next()));
+            threadContext.schedule(after, this::resend);
+        }
+
+        /**
+         * Retries the attempt after a failure.
+         * <p>
+         * The attempt is retried according to the primitive's {@link RetryPolicy} if the partition's retry budget
+         * allows it, and is otherwise aborted with the given error. The first retry after a connection failure is sent
+         * immediately since the failed endpoint will have been marked unavailable and the retry will be routed to
+         * another endpoint in the partition. Commands are instead retried until they complete or the session expires.
+         *
+         * @param error the error that failed the attempt
+         */
+        protected void retry(Throwable error) {
+            if (acquireRetry(error)) {
+                if (attempt == 1 && isConnectionFailure(error)) {
+                    retry();
+                } else {
+                    retry(retryPolicy.getRetryDelay(attempt));
+                }
+            }
+        }
+
+        /**
+         * Acquires a retry of the attempt from the retry policy and the partition's retry budget.
+         * <p>
+         * The attempt is aborted with the given error if its deadline has passed, it has reached the policy's attempt
+         * limit or the budget is exhausted.
+         *
+         * @param error the error with which to abort the attempt if it can't be retried
+         * @return indicates whether the attempt may be retried
+         */
+        protected final boolean acquireRetry(Throwable error) {
+            if (deadline != null && deadline.isExpired()) {
+                abort(new PrimitiveException.Timeout());
+                return false;
+            } else if (attempt >= retryPolicy.getMaxAttempts()) {
+                abort(error);
+                return false;
+            } else if (!retryBudget.tryAcquire()) {
+                if (partitionMetrics.enabled) {
+                    partitionMetrics.retriesDenied.increment();
+                }
+                abort(error);
+                return false;
+            }
+            if (partitionMetrics.enabled) {
+                partitionMetrics.retries.increment();
+            }
+            return true;
+        }
+
+        /**
+         * Aborts the attempt once it can no longer be retried.
+         *
+         * @param error the error that failed the attempt
+         */
+        protected void abort(Throwable error) {
+            fail(error);
+        }
+
+        /**
+         * Resends the attempt as its next attempt.
+         */
+        private void resend() {
+            attempt++;
+            invoke(this);
         }
     }
 
     /**
-     * Command operation attempt.
+     * Attempt of an operation that's sequenced as a command in the session.
+     * <p>
+     * A command holds a sequence number in the session, and dropping it would leave a gap in the session's command
+     * sequence. Commands are therefore sent without a deadline, are not subject to the retry policy's attempt limit or
+     * the partition's retry budget, and are retried with the policy's backoff until they complete or the session
+     * expires.
      */
-    private final class CommandAttempt<T> extends OperationAttempt<T, T> implements BiConsumer<T, Throwable> {
-        CommandAttempt(
+    private abstract class AbstractCommandAttempt<T, U> extends OperationAttempt<T, U> {
+        protected AbstractCommandAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
-            CompletableFuture<T> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, 1, future);
+            OperationFuture<U> future,
+            Deadline deadline) {
+            super(id, requestFunction, responseHeaderFunction, future, deadline);
+        }
+
+        @Override
+        protected OperationType type() {
+            return OperationType.COMMAND;
+        }
+
+        @Override
+        protected RequestHeader newRequestHeader() {
+            return getRequestHeader(state.nextCommandRequest());
+        }
+
+        @Override
+        protected boolean isSequenced() {
+            return requestHeader != null && !isCompleted();
+        }
+
+        @Override
+        protected void completeCommand() {
+            if (requestHeader != null) {
+                state.setCommandResponse(requestHeader.getSequenceNumber());
+            }
+        }
+
+        @Override
+        protected Throwable defaultException() {
+            return new PrimitiveException.CommandFailure("failed to complete command");
+        }
+
+        /**
+         * Executes the request function without a deadline, even if the operation's future has been cancelled.
+         */
+        @Override
+        protected void execute() {
+            type().run(requestFunction, requestHeader, this, null);
         }
 
+        @Override
+        protected void retry(Throwable error) {
+            if (state.getState() == PrimitiveState.EXPIRED) {
+                abort(new PrimitiveException.UnknownSession());
+            } else {
+                if (partitionMetrics.enabled) {
+                    partitionMetrics.retries.increment();
+                }
+                if (attempt == 1 && isConnectionFailure(error)) {
+                    retry();
+                } else {
+                    retry(retryPolicy.getRetryDelay(attempt));
+                }
+            }
+        }
+    }
+
+    /**
+     * Command operation attempt.
+     */
+    private final class CommandAttempt<T> extends AbstractCommandAttempt<T, T> implements Runnable {
+        private final Scheduled timeoutTimer;
+        private T response;
+        private ResponseHeader responseHeader;
+
         CommandAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
-            int attempt,
-            CompletableFuture<T> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, attempt, future);
+            OperationFuture<T> future,
+            Deadline deadline) {
+            super(id, requestFunction, responseHeaderFunction, future, deadline);
+            this.timeoutTimer = threadContext.schedule(
+                Duration.ofNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS)), this::timeout);
+        }
+
+        /**
+         * Fails the command's future once the operation timeout has passed, leaving the command in flight if it has
+         * already been sent.
+         */
+        private void timeout() {
+            if (requestHeader == null) {
+                fail(new PrimitiveException.Timeout());
+            } else {
+                future.completeExceptionally(new PrimitiveException.Timeout());
+            }
         }
 
         @Override
-        protected void send() {
-            execute().whenComplete(this);
+        protected boolean isDropped() {
+            return requestHeader == null && future.isDone();
         }
 
         @Override
-        protected CommandAttempt<T> next() {
-            return new CommandAttempt<>(id, requestFunction, requestHeader, responseHeaderFunction, this.attempt + 1, future);
+        protected void cancel() {
+            // Once sent, the command stays in flight so that its sequence number is not skipped.
+            if (requestHeader == null) {
+                fail(new CancellationException());
+            }
         }
 
         @Override
-        protected Throwable defaultException() {
-            return new PrimitiveException.CommandFailure("failed to complete command");
+        protected void completeCommand() {
+            super.completeCommand();
+            if (timeoutTimer != null) {
+                timeoutTimer.cancel();
+            }
+        }
+
+        @Override
+        protected void addToIndex() {
+            commands.add(id, this);
+        }
+
+        @Override
+        protected boolean removeFromIndex() {
+            return commands.remove(id);
         }
 
         @Override
-        public void accept(T response, Throwable error) {
-            if (error == null) {
-                complete(response);
+        protected void send() {
+            execute();
+        }
+
+        @Override
+        public void onNext(T response) {
+            ResponseHeader responseHeader = getHeader(response);
+            if (tryComplete()) {
+                this.response = response;
+                this.responseHeader = responseHeader;
+                sequencer.sequenceResponse(id, responseHeader, this);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (isCompleted()) {
+                return;
+            }
+            if (DEADLINE_PREDICATE.test(error)) {
+                retry(error);
             } else if (EXPIRED_PREDICATE.test(error) || (error instanceof CompletionException && EXPIRED_PREDICATE.test(error.getCause()))) {
                 complete(new PrimitiveException.UnknownSession());
                 state.setState(PrimitiveState.EXPIRED);
@@ -429,59 +1091,157 @@ final class PrimitiveSessionExecutor<S> {
                 complete(new PrimitiveException.ConcurrentModification());
                 state.setState(PrimitiveState.CLOSED);
             } else if (EXCEPTION_PREDICATE.test(error) || (error instanceof CompletionException && EXCEPTION_PREDICATE.test(error.getCause()))) {
-                retry(Duration.ofSeconds(FIBONACCI[Math.min(attempt - 1, FIBONACCI.length - 1)]));
+                retry(error);
             } else {
                 fail(error);
             }
         }
 
         /**
-         * Completes the response.
-         *
-         * @param response the response to complete
+         * Completes the response once it has been sequenced.
          */
-        @SuppressWarnings("unchecked")
-        protected void complete(T response) {
-            ResponseHeader header = getHeader(response);
-            sequence(header, () -> {
-                state.setCommandResponse(id);
-                state.setResponseIndex(header.getIndex());
-                future.complete(response);
-            });
+        @Override
+        public void run() {
+            completeCommand();
+            state.setResponseIndex(responseHeader.getIndex());
+            unregister();
+            retryBudget.recordSuccess();
+            recordLatency(response);
+            future.complete(response);
         }
     }
 
     /**
      * Query operation attempt.
      */
-    private final class QueryAttempt<T> extends OperationAttempt<T, T> implements BiConsumer<T, Throwable> {
+    private final class QueryAttempt<T> extends OperationAttempt<T, T> implements Runnable {
+        private final Object readKey;
+        private final Route route;
+        private OperationType routing;
+        private T response;
+        private ResponseHeader responseHeader;
+        private Hedge hedge;
+        private volatile Scheduled hedgeTimer;
+        private long sendTime;
+        private long minIndex;
+        private int pending;
+
         QueryAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
-            CompletableFuture<T> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, 1, future);
+            OperationFuture<T> future,
+            Deadline deadline,
+            ReadConsistency consistency,
+            Object readKey) {
+            super(id, requestFunction, responseHeaderFunction, future, deadline);
+            this.readKey = readKey;
+            this.route = hedger.isEnabled() ? new Route() : null;
+            this.routing = consistency.getLevel() == ReadConsistency.Level.LINEARIZABLE
+                ? OperationType.QUERY
+                : OperationType.RELAXED_QUERY;
         }
 
-        QueryAttempt(
-            long id,
-            BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
-            Function<T, ResponseHeader> responseHeaderFunction,
-            int attempt,
-            CompletableFuture<T> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, attempt, future);
+        @Override
+        protected OperationType type() {
+            return routing;
+        }
+
+        @Override
+        protected void addToIndex() {
+            queries.add(id, this);
+        }
+
+        @Override
+        protected boolean removeFromIndex() {
+            return queries.remove(id);
+        }
+
+        @Override
+        protected void execute() {
+            if (!future.isCancelled()) {
+                type().run(requestFunction, requestHeader, this, deadline, route);
+            }
         }
 
         @Override
         protected void send() {
-            execute().whenComplete(this);
+            if (!hedger.isEnabled()) {
+                sendTime = System.nanoTime();
+                minIndex = state.getResponseIndex();
+                execute();
+                return;
+            }
+
+            // The timer of a previous send must not hedge this one early.
+            cancelHedgeTimer();
+            synchronized (this) {
+                hedge = null;
+                pending = 1;
+                sendTime = System.nanoTime();
+                minIndex = state.getResponseIndex();
+            }
+            execute();
+            // Leader reads can't be routed away from the leader, so they're not hedged.
+            long delay = routing != OperationType.LEADER_QUERY ? hedger.getDelayNanos() : 0;
+            if (delay > 0) {
+                hedgeTimer = threadContext.schedule(Duration.ofNanos(delay), this::hedge);
+            }
+        }
+
+        /**
+         * Sends a hedged copy of the query if it has not yet received a response.
+         * <p>
+         * The hedged query is routed away from the endpoint to which the query was sent. Hedged queries are paid for
+         * from the partition's retry budget so that hedging can't amplify the load on a partition that's slow on all
+         * its endpoints.
+         */
+        private void hedge() {
+            Hedge hedge;
+            synchronized (this) {
+                if (isCompleted() || pending != 1 || this.hedge != null || future.isDone() || !retryBudget.tryAcquire()) {
+                    return;
+                }
+                hedge = new Hedge();
+                this.hedge = hedge;
+                pending++;
+            }
+            if (partitionMetrics.enabled) {
+                partitionMetrics.hedges.increment();
+            }
+            type().run(requestFunction, requestHeader, hedge, deadline, new Route(route.getEndpoint()));
+        }
+
+        /**
+         * Cancels the timer that hedges the query, if there is one.
+         */
+        private void cancelHedgeTimer() {
+            Scheduled hedgeTimer = this.hedgeTimer;
+            if (hedgeTimer != null) {
+                this.hedgeTimer = null;
+                hedgeTimer.cancel();
+            }
+        }
+
+        @Override
+        protected void cancel() {
+            Hedge hedge = this.hedge;
+            if (hedge != null && hedge.call != null) {
+                hedge.call.cancel("operation cancelled", null);
+            }
+            super.cancel();
         }
 
         @Override
-        protected QueryAttempt<T> next() {
-            return new QueryAttempt<>(id, requestFunction, requestHeader, responseHeaderFunction, this.attempt + 1, future);
+        protected void complete(Throwable error) {
+            cancelHedgeTimer();
+            super.complete(error);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            cancelHedgeTimer();
+            super.fail(t);
         }
 
         @Override
@@ -490,15 +1250,90 @@ final class PrimitiveSessionExecutor<S> {
         }
 
         @Override
-        public void accept(T response, Throwable error) {
-            if (error == null) {
-                complete(response);
+        public void onNext(T response) {
+            onResponse(response, null);
+        }
+
+        /**
+         * Handles a response to the query or to its hedge.
+         * <p>
+         * The first response completes the query and cancels the other call. A response with an index older than the
+         * session's response index when the query was sent is discarded while the other call may still respond, so
+         * hedged reads never go backwards.
+         *
+         * @param response the query response
+         * @param source   the hedge that received the response, or {@code null} if received by the query itself
+         */
+        private void onResponse(T response, Hedge source) {
+            ResponseHeader responseHeader = getHeader(response);
+            boolean stale = responseHeader.getIndex() < minIndex;
+            ClientCallStreamObserver<Object> loser = null;
+            if (hedger.isEnabled()) {
+                synchronized (this) {
+                    if (isCompleted()) {
+                        return;
+                    }
+                    if (pending > 1 && stale) {
+                        pending--;
+                        return;
+                    }
+                    pending = 0;
+                    // The query's latency is measured from the original send, whichever call responded first.
+                    hedger.record(System.nanoTime() - sendTime);
+                    if (hedge != null) {
+                        loser = source != null ? call : hedge.call;
+                    }
+                }
+            }
+            if (stale && routing == OperationType.RELAXED_QUERY && !isCompleted()) {
+                // The follower is behind the state already observed by the session, so read from the leader instead.
+                // The read is routed to the leader as a query so that its response doesn't move the partition's leader,
+                // and any hedge of the stale read is cancelled before it's resent.
+                cancelHedgeTimer();
+                if (loser != null) {
+                    loser.cancel("stale query retried on the leader", null);
+                }
+                if (acquireRetry(new PrimitiveException.QueryFailure("stale read"))) {
+                    routing = OperationType.LEADER_QUERY;
+                    retry();
+                }
+                return;
+            }
+            if (tryComplete()) {
+                cancelHedgeTimer();
+                this.response = response;
+                this.responseHeader = responseHeader;
+                sequencer.sequenceResponse(id, responseHeader, this);
+                if (loser != null) {
+                    loser.cancel("hedged query completed", null);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (isCompleted()) {
+                return;
+            }
+            if (hedger.isEnabled()) {
+                synchronized (this) {
+                    // Wait for the response to the other call if there is one.
+                    if (--pending > 0) {
+                        return;
+                    }
+                }
+            }
+            if (DEADLINE_PREDICATE.test(error)) {
+                fail(new PrimitiveException.Timeout());
             } else if (EXPIRED_PREDICATE.test(error) || (error instanceof CompletionException && EXPIRED_PREDICATE.test(error.getCause()))) {
                 complete(new PrimitiveException.UnknownSession());
                 state.setState(PrimitiveState.EXPIRED);
             } else if (CLOSED_PREDICATE.test(error) || (error instanceof CompletionException && CLOSED_PREDICATE.test(error.getCause()))) {
                 complete(new PrimitiveException.ConcurrentModification());
                 state.setState(PrimitiveState.CLOSED);
+            } else if (isConnectionFailure(error)) {
+                // A query that could not reach its endpoint was never applied, so it's safe to fail over.
+                retry(error);
             } else if (EXCEPTION_PREDICATE.test(error) || (error instanceof CompletionException && EXCEPTION_PREDICATE.test(error.getCause()))) {
                 complete(new PrimitiveException.ConcurrentModification("Query failed"));
             } else {
@@ -507,72 +1342,109 @@ final class PrimitiveSessionExecutor<S> {
         }
 
         /**
-         * Completes the given response.
-         *
-         * @param response the response to complete
+         * Completes the response once it has been sequenced.
          */
-        @SuppressWarnings("unchecked")
-        protected void complete(T response) {
-            ResponseHeader header = getHeader(response);
-            sequence(header, () -> {
-                state.setResponseIndex(header.getIndex());
-                future.complete(response);
-            });
+        @Override
+        public void run() {
+            state.setResponseIndex(responseHeader.getIndex());
+            unregister();
+            retryBudget.recordSuccess();
+            if (readKey != null) {
+                if (recentReads.size() >= MAX_RECENT_READS) {
+                    recentReads.clear();
+                }
+                recentReads.put(readKey, new RecentRead(response, responseHeader.getIndex(), sendTime));
+            }
+            recordLatency(response);
+            future.complete(response);
+        }
+
+        /**
+         * Hedged copy of the query.
+         */
+        private final class Hedge implements ClientResponseObserver<Object, T> {
+            private volatile ClientCallStreamObserver<Object> call;
+
+            @Override
+            public void beforeStart(ClientCallStreamObserver<Object> call) {
+                this.call = call;
+            }
+
+            @Override
+            public void onNext(T response) {
+                onResponse(response, this);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                QueryAttempt.this.onError(error);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
         }
     }
 
     /**
      * Command operation attempt.
      */
-    private final class CommandStreamAttempt<T>
-        extends OperationAttempt<T, Long>
-        implements StreamObserver<T> {
+    private final class CommandStreamAttempt<T> extends AbstractCommandAttempt<T, Long> {
         private final StreamObserver<T> responseObserver;
         private final AtomicBoolean complete = new AtomicBoolean();
 
         CommandStreamAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
             StreamObserver<T> responseObserver,
-            CompletableFuture<Long> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, 1, future);
+            OperationFuture<Long> future) {
+            super(id, requestFunction, responseHeaderFunction, future, null);
             this.responseObserver = responseObserver;
         }
 
-        CommandStreamAttempt(
-            long id,
-            BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
-            Function<T, ResponseHeader> responseHeaderFunction,
-            StreamObserver<T> responseObserver,
-            int attempt,
-            CompletableFuture<Long> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, attempt, future);
-            this.responseObserver = responseObserver;
+        @Override
+        protected void addToIndex() {
+            streams.add(id, this);
         }
 
         @Override
-        protected void send() {
-            execute(this);
+        protected boolean removeFromIndex() {
+            return streams.remove(id);
         }
 
         @Override
-        protected CommandStreamAttempt<T> next() {
-            return new CommandStreamAttempt<>(id, requestFunction, requestHeader, responseHeaderFunction, responseObserver, this.attempt + 1, future);
+        protected void abort(Throwable error) {
+            responseObserver.onError(error);
         }
 
         @Override
-        protected Throwable defaultException() {
-            return new PrimitiveException.CommandFailure("failed to complete command");
+        protected void cancel() {
+            if (call != null) {
+                call.cancel("operation cancelled", null);
+            } else {
+                CancellationException error = new CancellationException();
+                if (complete.compareAndSet(false, true)) {
+                    fail(error);
+                }
+                responseObserver.onError(error);
+            }
+        }
+
+        @Override
+        protected void send() {
+            execute();
         }
 
         @Override
         public void onNext(T response) {
             ResponseHeader header = getHeader(response);
             if (complete.compareAndSet(false, true)) {
-                sequence(header, () -> future.complete(header.getIndex()));
+                sequence(header, () -> {
+                    completeCommand();
+                    unregister();
+                    future.complete(header.getIndex());
+                });
             }
             sequencer.sequenceStream(header.getStreams(0), () -> responseObserver.onNext(response));
         }
@@ -580,15 +1452,24 @@ final class PrimitiveSessionExecutor<S> {
         @Override
         public void onCompleted() {
             if (complete.compareAndSet(false, true)) {
-                sequence(null, () -> future.complete(null));
+                sequence(null, () -> {
+                    completeCommand();
+                    unregister();
+                    future.complete(null);
+                });
             }
             sequencer.closeStream(requestHeader.getSequenceNumber(), () -> responseObserver.onCompleted());
         }
 
         @Override
         public void onError(Throwable error) {
+            call = null;
             if (complete.compareAndSet(false, true)) {
-                sequence(null, () -> future.completeExceptionally(error));
+                sequence(null, () -> {
+                    completeCommand();
+                    unregister();
+                    future.completeExceptionally(error);
+                });
             }
             if (EXPIRED_PREDICATE.test(error) || (error instanceof CompletionException && EXPIRED_PREDICATE.test(error.getCause()))) {
                 sequencer.closeStream(requestHeader.getSequenceNumber(), () -> responseObserver.onError(new PrimitiveException.UnknownSession()));
@@ -597,7 +1478,7 @@ final class PrimitiveSessionExecutor<S> {
                 sequencer.closeStream(requestHeader.getSequenceNumber(), () -> responseObserver.onError(new PrimitiveException.ConcurrentModification()));
                 state.setState(PrimitiveState.CLOSED);
             } else if (EXCEPTION_PREDICATE.test(error) || (error instanceof CompletionException && EXCEPTION_PREDICATE.test(error.getCause()))) {
-                retry(Duration.ofSeconds(FIBONACCI[Math.min(attempt - 1, FIBONACCI.length - 1)]));
+                retry(error);
             } else {
                 responseObserver.onError(error);
             }
@@ -607,43 +1488,56 @@ final class PrimitiveSessionExecutor<S> {
     /**
      * Query operation attempt.
      */
-    private final class QueryStreamAttempt<T>
-        extends OperationAttempt<T, Void>
-        implements StreamObserver<T> {
+    private final class QueryStreamAttempt<T> extends OperationAttempt<T, Void> {
         private final StreamObserver<T> responseObserver;
         private final AtomicBoolean complete = new AtomicBoolean();
 
         QueryStreamAttempt(
             long id,
             BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
             Function<T, ResponseHeader> responseHeaderFunction,
             StreamObserver<T> responseObserver,
-            CompletableFuture<Void> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, 1, future);
+            OperationFuture<Void> future) {
+            super(id, requestFunction, responseHeaderFunction, future, null);
             this.responseObserver = responseObserver;
         }
 
-        QueryStreamAttempt(
-            long id,
-            BiConsumer<RequestHeader, StreamObserver<T>> requestFunction,
-            RequestHeader requestHeader,
-            Function<T, ResponseHeader> responseHeaderFunction,
-            StreamObserver<T> responseObserver,
-            int attempt,
-            CompletableFuture<Void> future) {
-            super(id, requestFunction, requestHeader, responseHeaderFunction, attempt, future);
-            this.responseObserver = responseObserver;
+        @Override
+        protected OperationType type() {
+            return OperationType.QUERY;
         }
 
         @Override
-        protected void send() {
-            execute(this);
+        protected void addToIndex() {
+            streams.add(id, this);
+        }
+
+        @Override
+        protected boolean removeFromIndex() {
+            return streams.remove(id);
+        }
+
+        @Override
+        protected void abort(Throwable error) {
+            responseObserver.onError(error);
+        }
+
+        @Override
+        protected void cancel() {
+            if (call != null) {
+                call.cancel("operation cancelled", null);
+            } else {
+                CancellationException error = new CancellationException();
+                if (complete.compareAndSet(false, true)) {
+                    fail(error);
+                }
+                responseObserver.onError(error);
+            }
         }
 
         @Override
-        protected QueryStreamAttempt<T> next() {
-            return new QueryStreamAttempt<>(id, requestFunction, requestHeader, responseHeaderFunction, responseObserver, this.attempt + 1, future);
+        protected void send() {
+            execute();
         }
 
         @Override
@@ -657,6 +1551,7 @@ final class PrimitiveSessionExecutor<S> {
             if (complete.compareAndSet(false, true)) {
                 sequence(null, () -> {
                     state.setResponseIndex(header.getIndex());
+                    unregister();
                     future.complete(null);
                 });
             }
@@ -668,25 +1563,47 @@ final class PrimitiveSessionExecutor<S> {
         @Override
         public void onCompleted() {
             if (complete.compareAndSet(false, true)) {
-                sequence(null, () -> future.complete(null));
+                sequence(null, () -> {
+                    unregister();
+                    future.complete(null);
+                });
             }
             responseObserver.onCompleted();
         }
 
         @Override
         public void onError(Throwable error) {
+            call = null;
             if (complete.compareAndSet(false, true)) {
-                sequence(null, () -> future.completeExceptionally(error));
+                sequence(null, () -> {
+                    unregister();
+                    future.completeExceptionally(error);
+                });
             }
             if (EXPIRED_PREDICATE.test(error) || (error instanceof CompletionException && EXPIRED_PREDICATE.test(error.getCause()))) {
                 state.setState(PrimitiveState.EXPIRED);
             } else if (CLOSED_PREDICATE.test(error) || (error instanceof CompletionException && CLOSED_PREDICATE.test(error.getCause()))) {
                 state.setState(PrimitiveState.CLOSED);
             } else if (EXCEPTION_PREDICATE.test(error) || (error instanceof CompletionException && EXCEPTION_PREDICATE.test(error.getCause()))) {
-                retry(Duration.ofSeconds(FIBONACCI[Math.min(attempt - 1, FIBONACCI.length - 1)]));
+                retry(error);
             } else {
                 responseObserver.onError(error);
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Recent response to a keyed query.
+     */
+    private static final class RecentRead {
+        private final Object response;
+        private final long index;
+        private final long time;
+
+        RecentRead(Object response, long index, long time) {
+            this.response = response;
+            this.index = index;
+            this.time = time;
+        }
+    }
+}
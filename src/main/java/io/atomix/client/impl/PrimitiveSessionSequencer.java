@@ -15,16 +15,17 @@
  */
 package io.atomix.client.impl;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.atomix.api.headers.ResponseHeader;
 import io.atomix.api.headers.StreamHeader;
 import io.atomix.client.DistributedPrimitive;
+import io.atomix.client.metrics.Histogram;
 import io.atomix.client.utils.logging.ContextualLoggerFactory;
 import io.atomix.client.utils.logging.LoggerContext;
 import org.slf4j.Logger;
@@ -55,6 +56,10 @@ import org.slf4j.Logger;
  * of inactivity in the session can still be completed upon reception since the event is guaranteed not to have
  * occurred concurrently with any other operation. If requests for the session are outstanding, the event is placed
  * in a queue and the algorithm for checking sequenced responses is run again.
+ * <p>
+ * Because request sequence numbers are dense and monotonically increasing, responses received out of order are held
+ * in a power-of-two ring buffer indexed by sequence number rather than in a map, so sequencing a response neither
+ * allocates nor hashes.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
@@ -65,11 +70,18 @@ final class PrimitiveSessionSequencer {
     long requestSequence;
     @VisibleForTesting
     long responseSequence;
-    private final Map<Long, StreamSequencer> streams = new HashMap<>();
-    private final Map<Long, ResponseCallback> responseCallbacks = new HashMap<>();
+    // Streams are read by the partition session when building keep-alive requests.
+    private final Map<Long, StreamSequencer> streams = new ConcurrentHashMap<>();
+    private final ResponseBuffer responseCallbacks = new ResponseBuffer();
+    private final Histogram reorderDepth;
 
     PrimitiveSessionSequencer(PrimitiveSessionState state, ManagedPrimitiveContext context) {
+        this(state, context, null);
+    }
+
+    PrimitiveSessionSequencer(PrimitiveSessionState state, ManagedPrimitiveContext context, Histogram reorderDepth) {
         this.state = state;
+        this.reorderDepth = reorderDepth;
         this.log = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(DistributedPrimitive.class)
             .addValue(state.getSessionId())
             .add("type", context.type().getClass().getSimpleName())
@@ -124,13 +136,16 @@ final class PrimitiveSessionSequencer {
                 ++responseSequence;
                 completeResponses();
             } else {
-                responseCallbacks.put(sequence, new ResponseCallback(context, callback));
+                responseCallbacks.put(responseSequence, sequence, context, callback);
             }
         }
-        // If the response has not yet been sequenced, store it in the response callbacks map.
+        // If the response has not yet been sequenced, store it in the response callbacks buffer.
         // Otherwise, the response for the operation with this sequence number has already been handled.
         else if (sequence > responseSequence) {
-            responseCallbacks.put(sequence, new ResponseCallback(context, callback));
+            if (reorderDepth != null) {
+                reorderDepth.record(sequence - responseSequence - 1);
+            }
+            responseCallbacks.put(responseSequence, sequence, context, callback);
         }
     }
 
@@ -139,13 +154,15 @@ final class PrimitiveSessionSequencer {
      */
     private void completeResponses() {
         // Iterate through queued responses and complete as many as possible.
-        ResponseCallback response = responseCallbacks.get(responseSequence + 1);
-        while (response != null) {
-            // If the response was completed, remove the response callback from the response queue,
+        long sequence = responseSequence + 1;
+        Runnable callback = responseCallbacks.callback(sequence);
+        while (callback != null) {
+            // If the response was completed, remove the response callback from the response buffer,
             // increment the response sequence number, and check the next response.
-            if (completeResponse(response.context, response.callback)) {
-                responseCallbacks.remove(++responseSequence);
-                response = responseCallbacks.get(responseSequence + 1);
+            if (completeResponse(responseCallbacks.context(sequence), callback)) {
+                responseCallbacks.remove(sequence);
+                responseSequence = sequence++;
+                callback = responseCallbacks.callback(sequence);
             } else {
                 break;
             }
@@ -153,7 +170,7 @@ final class PrimitiveSessionSequencer {
 
         // Once we've completed as many responses as possible, if no more operations are outstanding
         // and events remain in the event queue, complete the events.
-        if (requestSequence == responseSequence) {
+        if (requestSequence == responseSequence && !streams.isEmpty()) {
             for (StreamSequencer stream : streams.values()) {
                 stream.completeStream();
             }
@@ -223,20 +240,86 @@ final class PrimitiveSessionSequencer {
     }
 
     /**
-     * Response callback holder.
+     * Ring buffer of out-of-order response callbacks.
+     * <p>
+     * Callbacks are stored at {@code sequence & mask}. Only sequence numbers within {@code capacity} of the last
+     * completed response sequence number can be stored at a time, and the buffer grows to the next power of two if a
+     * response is received further ahead than that.
      */
-    private static final class ResponseCallback implements Runnable {
-        private final ResponseHeader context;
-        private final Runnable callback;
+    private static final class ResponseBuffer {
+        private static final int INITIAL_CAPACITY = 16;
 
-        private ResponseCallback(ResponseHeader context, Runnable callback) {
-            this.context = context;
-            this.callback = callback;
+        private ResponseHeader[] contexts = new ResponseHeader[INITIAL_CAPACITY];
+        private Runnable[] callbacks = new Runnable[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+
+        /**
+         * Stores the response for the given sequence number.
+         *
+         * @param base     the last completed response sequence number
+         * @param sequence the response sequence number
+         * @param context  the response context
+         * @param callback the response callback
+         */
+        void put(long base, long sequence, ResponseHeader context, Runnable callback) {
+            if (sequence - base > callbacks.length) {
+                grow(base, sequence - base);
+            }
+            int index = (int) sequence & mask;
+            contexts[index] = context;
+            callbacks[index] = callback;
         }
 
-        @Override
-        public void run() {
-            callback.run();
+        /**
+         * Returns the callback for the given sequence number.
+         *
+         * @param sequence the response sequence number
+         * @return the response callback or {@code null} if the response has not been received
+         */
+        Runnable callback(long sequence) {
+            return callbacks[(int) sequence & mask];
+        }
+
+        /**
+         * Returns the response context for the given sequence number.
+         *
+         * @param sequence the response sequence number
+         * @return the response context
+         */
+        ResponseHeader context(long sequence) {
+            return contexts[(int) sequence & mask];
+        }
+
+        /**
+         * Removes the response for the given sequence number.
+         *
+         * @param sequence the response sequence number
+         */
+        void remove(long sequence) {
+            int index = (int) sequence & mask;
+            contexts[index] = null;
+            callbacks[index] = null;
+        }
+
+        /**
+         * Grows the buffer to hold at least the given number of sequence numbers following the given base.
+         */
+        private void grow(long base, long required) {
+            int capacity = callbacks.length;
+            while (capacity < required) {
+                capacity <<= 1;
+            }
+            ResponseHeader[] newContexts = new ResponseHeader[capacity];
+            Runnable[] newCallbacks = new Runnable[capacity];
+            int newMask = capacity - 1;
+            for (long sequence = base + 1; sequence <= base + callbacks.length; sequence++) {
+                int index = (int) sequence & mask;
+                newContexts[(int) sequence & newMask] = contexts[index];
+                newCallbacks[(int) sequence & newMask] = callbacks[index];
+            }
+            contexts = newContexts;
+            callbacks = newCallbacks;
+            mask = newMask;
         }
     }
 
@@ -245,11 +328,11 @@ final class PrimitiveSessionSequencer {
      */
     public class StreamSequencer {
         private final long streamId;
-        private long streamIndex;
+        private volatile long streamIndex;
         private long completeIndex;
-        private long streamSequence;
+        private volatile long streamSequence;
         private long completeSequence;
-        private final Queue<EventCallback> eventCallbacks = new LinkedList<>();
+        private final Queue<EventCallback> eventCallbacks = new ArrayDeque<>();
         private Runnable closeCallback;
 
         StreamSequencer(long streamId) {
@@ -370,11 +453,20 @@ final class PrimitiveSessionSequencer {
 
         /**
          * Closes the stream.
+         * <p>
+         * The stream is removed from the sequencer once its pending events have been completed.
          *
          * @param callback the callback to run once the stream is closed
          */
         void close(Runnable callback) {
-            closeCallback = callback;
+            closeCallback = () -> {
+                if (streams.remove(streamId, this)) {
+                    callback.run();
+                }
+            };
+            if (eventCallbacks.isEmpty()) {
+                closeCallback.run();
+            }
         }
     }
 
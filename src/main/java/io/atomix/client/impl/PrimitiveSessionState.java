@@ -31,6 +31,7 @@ public final class PrimitiveSessionState {
     private final Name name;
     private final long sessionId;
     private final long timeout;
+    private final CommandSequence commandSequence;
     private volatile PrimitiveState state = PrimitiveState.CONNECTED;
     private volatile Long suspendedTime;
     private volatile long commandRequest;
@@ -40,9 +41,14 @@ public final class PrimitiveSessionState {
     private final Set<Consumer<PrimitiveState>> changeListeners = new CopyOnWriteArraySet<>();
 
     PrimitiveSessionState(Name name, long sessionId, long timeout) {
+        this(name, sessionId, timeout, new CommandSequence());
+    }
+
+    PrimitiveSessionState(Name name, long sessionId, long timeout, CommandSequence commandSequence) {
         this.name = checkNotNull(name);
         this.sessionId = sessionId;
         this.timeout = timeout;
+        this.commandSequence = checkNotNull(commandSequence);
         this.responseIndex = sessionId;
         this.eventIndex = sessionId;
     }
@@ -146,11 +152,16 @@ public final class PrimitiveSessionState {
 
     /**
      * Returns the next command request sequence number for the session.
+     * <p>
+     * Sequence numbers are drawn from the command sequence shared by all the primitives in the session, so the
+     * primitive's own sequence numbers increase but are not necessarily consecutive.
      *
      * @return The next command request sequence number for the session.
      */
     public long nextCommandRequest() {
-        return ++commandRequest;
+        long commandRequest = commandSequence.next();
+        this.commandRequest = commandRequest;
+        return commandRequest;
     }
 
     /**
@@ -160,6 +171,7 @@ public final class PrimitiveSessionState {
      */
     public void setCommandResponse(long commandResponse) {
         this.commandResponse = commandResponse;
+        commandSequence.complete(commandResponse);
     }
 
     /**
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.Arrays;
+
+import io.atomix.client.session.SessionConfig;
+
+/**
+ * Partition query hedger.
+ * <p>
+ * The hedger tracks the latencies of recent queries to a partition and computes the delay after which a query that
+ * has not yet received a response is hedged, i.e. sent again to another endpoint in the partition. The delay is the
+ * configured percentile of the recent query latencies, so only the slowest queries are hedged. No queries are hedged
+ * until enough latencies have been recorded to compute the percentile.
+ */
+final class QueryHedger {
+    private static final int WINDOW_SIZE = 1024;
+    private static final int UPDATE_INTERVAL = 128;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int size;
+    private int next;
+    private int updateCountdown = UPDATE_INTERVAL;
+    private volatile long delayNanos = -1;
+
+    QueryHedger(SessionConfig config) {
+        this.enabled = config.isQueryHedgingEnabled();
+        this.percentile = config.getHedgingPercentile();
+        this.minDelayNanos = config.getMinHedgingDelay().toNanos();
+    }
+
+    /**
+     * Returns whether query hedging is enabled.
+     *
+     * @return indicates whether query hedging is enabled
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the delay after which to hedge a query.
+     *
+     * @return the hedging delay in nanoseconds, or {@code -1} if queries should not be hedged
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Records the latency of a query.
+     *
+     * @param latencyNanos the query latency in nanoseconds
+     */
+    synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) & (WINDOW_SIZE - 1);
+        if (size < WINDOW_SIZE) {
+            size++;
+        }
+        if (--updateCountdown == 0) {
+            updateCountdown = UPDATE_INTERVAL;
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int index = Math.max((int) Math.ceil(percentile * size) - 1, 0);
+            delayNanos = Math.max(sorted[Math.min(index, size - 1)], minDelayNanos);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Token bucket limiting the retries sent to a partition.
+ * <p>
+ * Each retry takes a token from the bucket, and each successful operation returns a fraction of a token to it. While
+ * the partition is healthy the bucket stays full, but once operations start failing the bucket drains and further
+ * retries are denied until enough operations have succeeded again. This bounds the additional load retries can put on
+ * a partition to the configured ratio of its successful operations.
+ */
+public final class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+    private final LongAdder retriesTaken = new LongAdder();
+    private final LongAdder retriesDenied = new LongAdder();
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+        checkArgument(maxTokens > 0, "maxTokens must be positive");
+        checkArgument(tokenRatio >= 0, "tokenRatio cannot be negative");
+        this.maxTokens = maxTokens * SCALE;
+        this.tokenRatio = (long) (tokenRatio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Attempts to take a token for a retry.
+     *
+     * @return indicates whether the retry is allowed
+     */
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                retriesDenied.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        retriesTaken.increment();
+        return true;
+    }
+
+    /**
+     * Records a successful operation, returning a fraction of a token to the bucket.
+     */
+    void recordSuccess() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current == maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(current + tokenRatio, maxTokens)));
+    }
+
+    /**
+     * Returns the number of tokens currently available for retries.
+     *
+     * @return the number of tokens currently available for retries
+     */
+    public double getAvailableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    /**
+     * Returns the number of retries allowed by the budget.
+     *
+     * @return the number of retries allowed by the budget
+     */
+    public long getRetriesTaken() {
+        return retriesTaken.sum();
+    }
+
+    /**
+     * Returns the number of retries denied by the budget.
+     *
+     * @return the number of retries denied by the budget
+     */
+    public long getRetriesDenied() {
+        return retriesDenied.sum();
+    }
+}
@@ -58,6 +58,7 @@ public class BlockingIterator<T> implements SyncIterator<T> {
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             if (e.getCause() instanceof PrimitiveException) {
@@ -91,6 +91,7 @@ public class BlockingAtomicLock extends Synchronous<AsyncAtomicLock> implements
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
@@ -89,6 +89,7 @@ public class BlockingDistributedLock extends Synchronous<AsyncDistributedLock> i
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
@@ -27,13 +27,13 @@ import io.atomix.api.lock.CreateRequest;
 import io.atomix.api.lock.CreateResponse;
 import io.atomix.api.lock.IsLockedRequest;
 import io.atomix.api.lock.IsLockedResponse;
-import io.atomix.api.lock.KeepAliveRequest;
-import io.atomix.api.lock.KeepAliveResponse;
 import io.atomix.api.lock.LockRequest;
 import io.atomix.api.lock.LockResponse;
 import io.atomix.api.lock.LockServiceGrpc;
 import io.atomix.api.lock.UnlockRequest;
 import io.atomix.api.lock.UnlockResponse;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.impl.AbstractManagedPrimitive;
 import io.atomix.client.lock.AsyncAtomicLock;
 import io.atomix.client.lock.AtomicLock;
@@ -47,8 +47,8 @@ import io.atomix.client.utils.concurrent.ThreadContext;
 public class DefaultAsyncAtomicLock extends AbstractManagedPrimitive<LockServiceGrpc.LockServiceStub, AsyncAtomicLock> implements AsyncAtomicLock {
     private final AtomicLong lockId = new AtomicLong();
 
-    public DefaultAsyncAtomicLock(Name name, Partition partition, ThreadContext context, Duration timeout) {
-        super(name, LockServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context, timeout);
+    public DefaultAsyncAtomicLock(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency) {
+        super(name, partition, LockServiceGrpc::newStub, context, timeout, retryPolicy, operationTimeout, readConsistency);
     }
 
     @Override
@@ -166,13 +166,6 @@ public class DefaultAsyncAtomicLock extends AbstractManagedPrimitive<LockService
             .thenApply(response -> response.getHeader().getSessionId());
     }
 
-    @Override
-    protected CompletableFuture<Boolean> keepAlive() {
-        return this.<KeepAliveResponse>session((header, observer) -> getService().keepAlive(KeepAliveRequest.newBuilder()
-            .build(), observer))
-            .thenApply(response -> true);
-    }
-
     @Override
     protected CompletableFuture<Void> close(boolean delete) {
         return this.<CloseResponse>session((header, observer) -> getService().close(CloseRequest.newBuilder()
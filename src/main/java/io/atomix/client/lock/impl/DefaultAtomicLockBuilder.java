@@ -39,8 +39,9 @@ public class DefaultAtomicLockBuilder extends AtomicLockBuilder {
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
                 managementService.getThreadFactory().createContext(),
-                sessionTimeout)
+                sessionTimeout,
+                retryPolicy(), operationTimeout(), readConsistency())
                 .connect()
-                .thenApply(AsyncAtomicLock::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
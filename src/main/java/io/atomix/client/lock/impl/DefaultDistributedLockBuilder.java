@@ -39,9 +39,10 @@ public class DefaultDistributedLockBuilder extends DistributedLockBuilder {
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
                 managementService.getThreadFactory().createContext(),
-                sessionTimeout)
+                sessionTimeout,
+                retryPolicy(), operationTimeout(), readConsistency())
                 .connect()
                 .thenApply(DelegatingAsyncDistributedLock::new)
-                .thenApply(AsyncDistributedLock::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
@@ -23,7 +23,23 @@ import io.atomix.client.PrimitiveManagementService;
  * Builder for DistributedLog.
  */
 public abstract class DistributedLogBuilder<E> extends PrimitiveBuilder<DistributedLogBuilder<E>, DistributedLog<E>> {
+    protected boolean zeroCopyValues;
+
     public DistributedLogBuilder(Name name, PrimitiveManagementService managementService) {
         super(name, managementService);
     }
+
+    /**
+     * Enables zero-copy values.
+     * <p>
+     * Encoded values are sent without being copied into the request, and values read from responses are decoded
+     * without being copied out of them. The serializer must therefore return a new array from every {@code encode}
+     * call that it doesn't modify afterwards, and must treat the arrays passed to {@code decode} as read-only.
+     *
+     * @return the log builder
+     */
+    public DistributedLogBuilder<E> withZeroCopyValues() {
+        this.zeroCopyValues = true;
+        return this;
+    }
 }
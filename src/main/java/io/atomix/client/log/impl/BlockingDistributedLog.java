@@ -90,6 +90,7 @@ public class BlockingDistributedLog<E> extends Synchronous<AsyncDistributedLog<E
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
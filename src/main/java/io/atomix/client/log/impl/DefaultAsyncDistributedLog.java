@@ -23,18 +23,19 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
-import com.google.common.io.BaseEncoding;
 import io.atomix.api.primitive.Name;
-import io.atomix.api.log.LogServiceGrpc;
 import io.atomix.client.PrimitiveType;
 import io.atomix.client.log.AsyncDistributedLog;
 import io.atomix.client.log.AsyncDistributedLogPartition;
 import io.atomix.client.log.DistributedLog;
 import io.atomix.client.log.DistributedLogType;
 import io.atomix.client.log.Record;
+import io.atomix.client.partition.HashPartitioner;
 import io.atomix.client.partition.PartitionGroup;
+import io.atomix.client.partition.PartitionTable;
 import io.atomix.client.partition.Partitioner;
 import io.atomix.client.utils.concurrent.Futures;
+import io.atomix.client.utils.serializer.Base16KeyCodec;
 import io.atomix.client.utils.serializer.Serializer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -47,7 +48,9 @@ public class DefaultAsyncDistributedLog<E> implements AsyncDistributedLog<E> {
     private final Partitioner<String> partitioner;
     private final Map<Integer, DefaultAsyncDistributedLogPartition<E>> partitions = new ConcurrentHashMap<>();
     private final List<AsyncDistributedLogPartition<E>> sortedPartitions = new CopyOnWriteArrayList<>();
-    private final List<Integer> partitionIds = new CopyOnWriteArrayList<>();
+    private final List<Integer> partitionIds;
+    private final PartitionTable partitionTable;
+    private final HashPartitioner hashPartitioner;
     private final Serializer serializer;
 
     public DefaultAsyncDistributedLog(
@@ -62,16 +65,24 @@ public class DefaultAsyncDistributedLog<E> implements AsyncDistributedLog<E> {
         PartitionGroup partitionGroup,
         Partitioner<String> partitioner,
         Serializer serializer) {
+        this(name, partitionGroup, partitioner, serializer, false);
+    }
+
+    public DefaultAsyncDistributedLog(
+        Name name,
+        PartitionGroup partitionGroup,
+        Partitioner<String> partitioner,
+        Serializer serializer,
+        boolean zeroCopy) {
         this.name = checkNotNull(name);
         this.partitioner = checkNotNull(partitioner);
+        this.hashPartitioner = partitioner instanceof HashPartitioner ? (HashPartitioner) partitioner : null;
+        this.partitionIds = partitionGroup.getPartitionIds();
+        this.partitionTable = partitionGroup.getPartitionTable();
         this.serializer = checkNotNull(serializer);
         partitionGroup.getPartitions().forEach(partition -> this.partitions.put(
             partition.id(),
-            new DefaultAsyncDistributedLogPartition<>(
-                name,
-                partition.id(),
-                LogServiceGrpc.newStub(partition.getChannelFactory().getChannel()),
-                serializer)));
+            new DefaultAsyncDistributedLogPartition<>(name, partition, serializer, zeroCopy)));
     }
 
     @Override
@@ -116,15 +127,29 @@ public class DefaultAsyncDistributedLog<E> implements AsyncDistributedLog<E> {
         return partitions.get(partitionId);
     }
 
+    /**
+     * Returns the partition for the given encoded entry.
+     *
+     * @param bytes the encoded entry
+     * @return the partition to which the entry belongs
+     */
+    private DefaultAsyncDistributedLogPartition<E> getPartition(byte[] bytes) {
+        // Entries are routed by their base16 encoding so that they're partitioned the same way as by earlier clients.
+        if (hashPartitioner != null) {
+            return partitions.get(hashPartitioner.partition(Base16KeyCodec.encodeChars(bytes), partitionTable));
+        }
+        return partitions.get(partitioner.partition(Base16KeyCodec.encodeChars(bytes).toString(), partitionIds));
+    }
+
     @Override
     public AsyncDistributedLogPartition<E> getPartition(E entry) {
-        return partitions.get(partitioner.partition(BaseEncoding.base16().encode(encode(entry)), partitionIds));
+        return getPartition(encode(entry));
     }
 
     @Override
     public CompletableFuture<Void> produce(E entry) {
         byte[] bytes = encode(entry);
-        return partitions.get(partitioner.partition(BaseEncoding.base16().encode(encode(entry)), partitionIds)).produce(bytes);
+        return getPartition(bytes).produce(bytes);
     }
 
     @Override
@@ -141,7 +166,9 @@ public class DefaultAsyncDistributedLog<E> implements AsyncDistributedLog<E> {
 
     @Override
     public CompletableFuture<Void> close() {
-        return CompletableFuture.completedFuture(null);
+        return Futures.allOf(partitions.values().stream()
+            .map(DefaultAsyncDistributedLogPartition::close))
+            .thenApply(v -> null);
     }
 
     @Override
@@ -26,11 +26,15 @@ import io.atomix.api.log.LogRecord;
 import io.atomix.api.log.LogServiceGrpc;
 import io.atomix.api.log.ProduceRequest;
 import io.atomix.api.log.ProduceResponse;
+import io.atomix.client.impl.ByteStrings;
 import io.atomix.client.log.AsyncDistributedLogPartition;
 import io.atomix.client.log.DistributedLogPartition;
 import io.atomix.client.log.Record;
+import io.atomix.client.partition.Partition;
 import io.atomix.client.utils.concurrent.Futures;
+import io.atomix.client.utils.serializer.BufferSerializer;
 import io.atomix.client.utils.serializer.Serializer;
+import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
 
 /**
@@ -39,15 +43,23 @@ import io.grpc.stub.StreamObserver;
 public class DefaultAsyncDistributedLogPartition<E> implements AsyncDistributedLogPartition<E> {
     private final Name name;
     private final int partitionId;
+    private final ManagedChannel channel;
     private final LogServiceGrpc.LogServiceStub log;
     private final Serializer serializer;
+    private final boolean zeroCopy;
     private volatile StreamObserver<ProduceRequest> producer;
 
-    public DefaultAsyncDistributedLogPartition(Name name, int partitionId, LogServiceGrpc.LogServiceStub log, Serializer serializer) {
+    public DefaultAsyncDistributedLogPartition(Name name, Partition partition, Serializer serializer) {
+        this(name, partition, serializer, false);
+    }
+
+    public DefaultAsyncDistributedLogPartition(Name name, Partition partition, Serializer serializer, boolean zeroCopy) {
         this.name = name;
-        this.partitionId = partitionId;
-        this.log = log;
+        this.partitionId = partition.id();
+        this.channel = partition.getChannelFactory().getChannel();
+        this.log = LogServiceGrpc.newStub(channel);
         this.serializer = serializer;
+        this.zeroCopy = zeroCopy;
     }
 
     @Override
@@ -82,6 +94,20 @@ public class DefaultAsyncDistributedLogPartition<E> implements AsyncDistributedL
         return bytes != null ? serializer.decode(bytes) : null;
     }
 
+    /**
+     * Decodes the given value, reading it directly from the received bytes if the serializer supports buffers.
+     *
+     * @param value the value to decode
+     * @param <T>   the object type
+     * @return the decoded object
+     */
+    private <T> T decode(ByteString value) {
+        if (serializer instanceof BufferSerializer) {
+            return ((BufferSerializer) serializer).decode(ByteStrings.asBuffer(value));
+        }
+        return decode(ByteStrings.toByteArray(value, zeroCopy));
+    }
+
     /**
      * Produces the given bytes to the partition.
      *
@@ -114,7 +140,7 @@ public class DefaultAsyncDistributedLogPartition<E> implements AsyncDistributedL
             }
         }
         producer.onNext(ProduceRequest.newBuilder()
-            .setValue(ByteString.copyFrom(bytes))
+            .setValue(ByteStrings.wrap(bytes, zeroCopy))
             .build());
         return CompletableFuture.completedFuture(null);
     }
@@ -132,7 +158,7 @@ public class DefaultAsyncDistributedLogPartition<E> implements AsyncDistributedL
             new StreamObserver<LogRecord>() {
                 @Override
                 public void onNext(LogRecord record) {
-                    consumer.accept(new Record<>(record.getOffset(), record.getTimestamp(), decode(record.getValue().toByteArray())));
+                    consumer.accept(new Record<>(record.getOffset(), record.getTimestamp(), decode(record.getValue())));
                 }
 
                 @Override
@@ -150,6 +176,7 @@ public class DefaultAsyncDistributedLogPartition<E> implements AsyncDistributedL
 
     @Override
     public CompletableFuture<Void> close() {
+        channel.shutdown();
         return CompletableFuture.completedFuture(null);
     }
 
@@ -37,7 +37,8 @@ public class DefaultDistributedLogBuilder<E> extends DistributedLogBuilder<E> {
                 getName(),
                 group,
                 partitioner,
-                serializer)
+                serializer(),
+                zeroCopyValues)
                 .sync());
     }
 }
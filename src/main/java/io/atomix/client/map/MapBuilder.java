@@ -15,17 +15,103 @@
  */
 package io.atomix.client.map;
 
+import java.util.function.Function;
+
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveManagementService;
 import io.atomix.client.SyncPrimitive;
 import io.atomix.client.cache.CachedPrimitiveBuilder;
+import io.atomix.client.partition.HashPartitioner;
+import io.atomix.client.partition.KeyAffinityCodec;
+import io.atomix.client.partition.KeyAffinityPartitioner;
+import io.atomix.client.partition.Partitioner;
+import io.atomix.client.utils.serializer.KeyCodec;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Base map builder.
  */
 public abstract class MapBuilder<B extends MapBuilder<B, P, K, V>, P extends SyncPrimitive, K, V>
     extends CachedPrimitiveBuilder<B, P> {
+    protected boolean zeroCopyValues;
+    protected KeyCodec<K> keyCodec;
+    protected Function<K, String> keyAffinity;
+
     protected MapBuilder(Name name, PrimitiveManagementService managementService) {
         super(name, managementService);
     }
+
+    /**
+     * Enables zero-copy values.
+     * <p>
+     * Encoded values are sent without being copied into the request, and values read from responses are decoded
+     * without being copied out of them. The serializer must therefore return a new array from every {@code encode}
+     * call that it doesn't modify afterwards, and must treat the arrays passed to {@code decode} as read-only.
+     *
+     * @return the map builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withZeroCopyValues() {
+        this.zeroCopyValues = true;
+        return (B) this;
+    }
+
+    /**
+     * Sets the codec with which keys are encoded.
+     * <p>
+     * Encoded keys are used both to partition the primitive and as the keys stored by the cluster, so a primitive must
+     * always be accessed with the codec with which it was written. Defaults to {@link KeyCodec#base16}, the encoding
+     * used by earlier versions of the client. New primitives can opt in to {@link KeyCodec#compact}, which stores string
+     * keys unchanged and halves the size of other keys.
+     *
+     * @param keyCodec the key codec
+     * @return the map builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withKeyCodec(KeyCodec<K> keyCodec) {
+        this.keyCodec = checkNotNull(keyCodec, "keyCodec cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Returns the key codec.
+     *
+     * @return the key codec
+     */
+    protected KeyCodec<K> keyCodec() {
+        KeyCodec<K> codec = keyCodec != null ? keyCodec : KeyCodec.base16(serializer());
+        return keyAffinity != null ? new KeyAffinityCodec<>(codec, keyAffinity) : codec;
+    }
+
+    /**
+     * Sets the function with which keys are mapped to their partition affinity.
+     * <p>
+     * Keys with the same affinity are stored in the same partition, so operations on multiple related keys are
+     * sent to a single partition. The affinity is computed when a key is encoded and is stored with the encoded
+     * key, so a primitive must always be accessed with the same affinity function. Keys for which the function
+     * returns {@code null} are partitioned by their encoded form. Affinity requires a {@link HashPartitioner}.
+     *
+     * @param keyAffinity the key affinity function
+     * @return the map builder
+     */
+    @SuppressWarnings("unchecked")
+    public B withKeyAffinity(Function<K, String> keyAffinity) {
+        this.keyAffinity = checkNotNull(keyAffinity, "keyAffinity cannot be null");
+        return (B) this;
+    }
+
+    /**
+     * Returns the partitioner with which encoded keys are routed.
+     *
+     * @return the key partitioner
+     */
+    protected Partitioner<String> keyPartitioner() {
+        if (keyAffinity == null) {
+            return partitioner;
+        }
+        checkState(partitioner instanceof HashPartitioner, "key affinity requires a HashPartitioner");
+        return new KeyAffinityPartitioner((HashPartitioner) partitioner);
+    }
 }
@@ -206,6 +206,7 @@ public class BlockingAtomicMap<K, V> extends Synchronous<AsyncAtomicMap<K, V>> i
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
@@ -182,6 +182,7 @@ public class BlockingDistributedMap<K, V> extends Synchronous<AsyncDistributedMa
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.ConcurrentModification();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
@@ -20,12 +20,15 @@ import com.google.protobuf.ByteString;
 import io.atomix.api.map.*;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveException;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.Versioned;
 import io.atomix.client.collection.AsyncDistributedCollection;
 import io.atomix.client.collection.CollectionEvent;
 import io.atomix.client.collection.CollectionEventListener;
 import io.atomix.client.collection.impl.UnsupportedAsyncDistributedCollection;
 import io.atomix.client.impl.AbstractManagedPrimitive;
+import io.atomix.client.impl.ByteStrings;
 import io.atomix.client.impl.TranscodingStreamObserver;
 import io.atomix.client.iterator.AsyncIterator;
 import io.atomix.client.iterator.impl.StreamObserverIterator;
@@ -55,9 +58,29 @@ import java.util.function.Predicate;
 public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGrpc.MapServiceStub, AsyncAtomicMap<String, byte[]>> implements AsyncAtomicMap<String, byte[]> {
     private volatile CompletableFuture<Long> listenFuture;
     private final Map<AtomicMapEventListener<String, byte[]>, Executor> eventListeners = new ConcurrentHashMap<>();
+    private final boolean zeroCopy;
 
-    public DefaultAsyncAtomicMap(Name name, Partition partition, ThreadContext context, Duration timeout) {
-        super(name, MapServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context, timeout);
+    public DefaultAsyncAtomicMap(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency) {
+        this(name, partition, context, timeout, retryPolicy, operationTimeout, readConsistency, null, false);
+    }
+
+    public DefaultAsyncAtomicMap(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency, Duration idleTimeout, boolean zeroCopy) {
+        super(name, partition, MapServiceGrpc::newStub, context, timeout, retryPolicy, operationTimeout, readConsistency, idleTimeout);
+        this.zeroCopy = zeroCopy;
+    }
+
+    /**
+     * Converts a value to a {@code ByteString}, wrapping the value in zero-copy mode.
+     */
+    private ByteString wrap(byte[] value) {
+        return ByteStrings.wrap(value, zeroCopy);
+    }
+
+    /**
+     * Converts a {@code ByteString} to a value, sharing the response's array in zero-copy mode.
+     */
+    private byte[] unwrap(ByteString value) {
+        return ByteStrings.toByteArray(value, zeroCopy);
     }
 
     @Override
@@ -88,26 +111,28 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
     @Override
     public CompletableFuture<Versioned<byte[]>> get(String key) {
         return query(
+            key,
             (header, observer) -> getService().get(GetRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
                 .build(), observer),
             GetResponse::getHeader)
             .thenApply(response -> response.getVersion() != 0
-                ? new Versioned<>(response.getValue().toByteArray(), response.getVersion())
+                ? new Versioned<>(unwrap(response.getValue()), response.getVersion())
                 : null);
     }
 
     @Override
     public CompletableFuture<Versioned<byte[]>> getOrDefault(String key, byte[] defaultValue) {
         return query(
+            key,
             (header, observer) -> getService().get(GetRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
                 .build(), observer),
             GetResponse::getHeader)
             .thenApply(response -> response.getVersion() != 0
-                ? new Versioned<>(response.getValue().toByteArray(), response.getVersion())
+                ? new Versioned<>(unwrap(response.getValue()), response.getVersion())
                 : new Versioned<>(defaultValue, 0));
     }
 
@@ -123,11 +148,11 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                 .build(), observer),
             GetResponse::getHeader)
             .thenCompose(response -> {
-                byte[] currentValue = response.getVersion() > 0 ? response.getValue().toByteArray() : null;
+                byte[] currentValue = response.getVersion() > 0 ? unwrap(response.getValue()) : null;
                 if (!condition.test(currentValue)) {
                     return CompletableFuture.completedFuture(
                         response.getVersion() > 0
-                            ? new Versioned<>(response.getValue().toByteArray(), response.getVersion())
+                            ? new Versioned<>(unwrap(response.getValue()), response.getVersion())
                             : null);
                 }
 
@@ -150,7 +175,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                         (header, observer) -> getService().put(PutRequest.newBuilder()
                             .setHeader(header)
                             .setKey(key)
-                            .setValue(ByteString.copyFrom(computedValue))
+                            .setValue(wrap(computedValue))
                             .setVersion(-1)
                             .build(), observer),
                         PutResponse::getHeader)
@@ -180,7 +205,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                             .setHeader(header)
                             .setKey(key)
                             .setPreviousVersion(response.getVersion())
-                            .setNewValue(ByteString.copyFrom(computedValue))
+                            .setNewValue(wrap(computedValue))
                             .build(), observer),
                         ReplaceResponse::getHeader)
                         .thenCompose(result -> {
@@ -200,7 +225,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             (header, observer) -> getService().put(PutRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
-                .setValue(ByteString.copyFrom(value))
+                .setValue(wrap(value))
                 .setTtl(ttl.toMillis())
                 .build(), observer),
             PutResponse::getHeader)
@@ -209,7 +234,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                     return Futures.exceptionalFuture(new PrimitiveException.ConcurrentModification());
                 }
                 if (!response.getPreviousValue().isEmpty()) {
-                    return CompletableFuture.completedFuture(new Versioned<>(response.getPreviousValue().toByteArray(), response.getPreviousVersion()));
+                    return CompletableFuture.completedFuture(new Versioned<>(unwrap(response.getPreviousValue()), response.getPreviousVersion()));
                 }
                 return CompletableFuture.completedFuture(null);
             });
@@ -221,7 +246,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             (header, observer) -> getService().put(PutRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
-                .setValue(ByteString.copyFrom(value))
+                .setValue(wrap(value))
                 .setVersion(-1)
                 .setTtl(ttl.toMillis())
                 .build(), observer),
@@ -231,7 +256,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                     return Futures.exceptionalFuture(new PrimitiveException.ConcurrentModification());
                 }
                 if (response.getStatus() == ResponseStatus.PRECONDITION_FAILED) {
-                    return CompletableFuture.completedFuture(new Versioned<>(response.getPreviousValue().toByteArray(), response.getPreviousVersion()));
+                    return CompletableFuture.completedFuture(new Versioned<>(unwrap(response.getPreviousValue()), response.getPreviousVersion()));
                 }
                 return CompletableFuture.completedFuture(null);
             });
@@ -250,7 +275,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                     return Futures.exceptionalFuture(new PrimitiveException.ConcurrentModification());
                 }
                 if (!response.getPreviousValue().isEmpty()) {
-                    return CompletableFuture.completedFuture(new Versioned<>(response.getPreviousValue().toByteArray(), response.getPreviousVersion()));
+                    return CompletableFuture.completedFuture(new Versioned<>(unwrap(response.getPreviousValue()), response.getPreviousVersion()));
                 }
                 return CompletableFuture.completedFuture(null);
             });
@@ -287,7 +312,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             (header, observer) -> getService().remove(RemoveRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
-                .setValue(ByteString.copyFrom(value))
+                .setValue(wrap(value))
                 .build(), observer),
             RemoveResponse::getHeader)
             .thenCompose(response -> {
@@ -321,7 +346,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             (header, observer) -> getService().replace(ReplaceRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
-                .setNewValue(ByteString.copyFrom(value))
+                .setNewValue(wrap(value))
                 .build(), observer),
             ReplaceResponse::getHeader)
             .thenCompose(response -> {
@@ -330,7 +355,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                 } else if (response.getStatus() == ResponseStatus.PRECONDITION_FAILED) {
                     return CompletableFuture.completedFuture(null);
                 } else if (response.getStatus() == ResponseStatus.OK) {
-                    return CompletableFuture.completedFuture(new Versioned<>(response.getPreviousValue().toByteArray(), response.getPreviousVersion()));
+                    return CompletableFuture.completedFuture(new Versioned<>(unwrap(response.getPreviousValue()), response.getPreviousVersion()));
                 }
                 return CompletableFuture.completedFuture(null);
             });
@@ -342,8 +367,8 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             (header, observer) -> getService().replace(ReplaceRequest.newBuilder()
                 .setHeader(header)
                 .setKey(key)
-                .setPreviousValue(ByteString.copyFrom(oldValue))
-                .setNewValue(ByteString.copyFrom(newValue))
+                .setPreviousValue(wrap(oldValue))
+                .setNewValue(wrap(newValue))
                 .build(), observer),
             ReplaceResponse::getHeader)
             .thenCompose(response -> {
@@ -361,7 +386,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                 .setHeader(header)
                 .setKey(key)
                 .setPreviousVersion(oldVersion)
-                .setNewValue(ByteString.copyFrom(newValue))
+                .setNewValue(wrap(newValue))
                 .build(), observer),
             ReplaceResponse::getHeader)
             .thenCompose(response -> {
@@ -388,22 +413,22 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                                 event = new AtomicMapEvent<>(
                                     AtomicMapEvent.Type.INSERTED,
                                     response.getKey(),
-                                    new Versioned<>(response.getNewValue().toByteArray(), response.getNewVersion()),
+                                    new Versioned<>(unwrap(response.getNewValue()), response.getNewVersion()),
                                     null);
                                 break;
                             case UPDATED:
                                 event = new AtomicMapEvent<>(
                                     AtomicMapEvent.Type.UPDATED,
                                     response.getKey(),
-                                    new Versioned<>(response.getNewValue().toByteArray(), response.getNewVersion()),
-                                    new Versioned<>(response.getOldValue().toByteArray(), response.getOldVersion()));
+                                    new Versioned<>(unwrap(response.getNewValue()), response.getNewVersion()),
+                                    new Versioned<>(unwrap(response.getOldValue()), response.getOldVersion()));
                                 break;
                             case REMOVED:
                                 event = new AtomicMapEvent<>(
                                     AtomicMapEvent.Type.REMOVED,
                                     response.getKey(),
                                     null,
-                                    new Versioned<>(response.getOldValue().toByteArray(), response.getOldVersion()));
+                                    new Versioned<>(unwrap(response.getOldValue()), response.getOldVersion()));
                                 break;
                         }
                         onEvent(event);
@@ -454,14 +479,6 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
             .thenApply(response -> response.getHeader().getSessionId());
     }
 
-    @Override
-    protected CompletableFuture<Boolean> keepAlive() {
-        return this.<KeepAliveResponse>session((header, observer) -> getService().keepAlive(KeepAliveRequest.newBuilder()
-            .setHeader(header)
-            .build(), observer))
-            .thenApply(response -> true);
-    }
-
     @Override
     protected CompletableFuture<Void> close(boolean delete) {
         return this.<CloseResponse>session((header, observer) -> getService().close(CloseRequest.newBuilder()
@@ -559,7 +576,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                     iterator,
                     response -> Maps.immutableEntry(
                         response.getKey(),
-                        new Versioned<>(response.getValue().toByteArray(), response.getVersion()))));
+                        new Versioned<>(unwrap(response.getValue()), response.getVersion()))));
             return iterator;
         }
     }
@@ -709,7 +726,7 @@ public class DefaultAsyncAtomicMap extends AbstractManagedPrimitive<MapServiceGr
                 EntriesResponse::getHeader,
                 new TranscodingStreamObserver<>(
                     iterator,
-                    response -> new Versioned<>(response.getValue().toByteArray(), response.getVersion())));
+                    response -> new Versioned<>(unwrap(response.getValue()), response.getVersion())));
             return iterator;
         }
     }
@@ -20,12 +20,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Maps;
-import com.google.common.io.BaseEncoding;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveManagementService;
 import io.atomix.client.map.AsyncAtomicMap;
 import io.atomix.client.map.AtomicMap;
 import io.atomix.client.map.AtomicMapBuilder;
+import io.atomix.client.utils.serializer.KeyCodec;
 import io.atomix.client.utils.serializer.Serializer;
 
 /**
@@ -45,16 +45,17 @@ public class DefaultAtomicMapBuilder<K, V> extends AtomicMapBuilder<K, V> {
         return managementService.getPartitionService().getPartitionGroup(group)
             .thenCompose(group -> {
                 Map<Integer, AsyncAtomicMap<String, byte[]>> partitions = group.getPartitions().stream()
-                    .map(partition -> Maps.immutableEntry(partition.id(), new DefaultAsyncAtomicMap(getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout)))
+                    .map(partition -> Maps.immutableEntry(partition.id(), new DefaultAsyncAtomicMap(getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout, retryPolicy(), operationTimeout(), readConsistency(), sessionIdleTimeout, zeroCopyValues)))
                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                return new PartitionedAsyncAtomicMap(name, partitions, partitioner).connect();
+                return new PartitionedAsyncAtomicMap(name, partitions, keyPartitioner()).connect();
             })
             .thenApply(rawMap -> {
                 Serializer serializer = serializer();
+                KeyCodec<K> keyCodec = keyCodec();
                 return new TranscodingAsyncAtomicMap<K, V, String, byte[]>(
                     rawMap,
-                    key -> BaseEncoding.base16().encode(serializer.encode(key)),
-                    string -> serializer.decode(BaseEncoding.base16().decode(string)),
+                    keyCodec::encode,
+                    keyCodec::decode,
                     value -> serializer.encode(value),
                     bytes -> serializer.decode(bytes));
             })
@@ -70,6 +71,6 @@ public class DefaultAtomicMapBuilder<K, V> extends AtomicMapBuilder<K, V> {
                 }
                 return map;
             })
-            .thenApply(AsyncAtomicMap::sync);
+            .thenApply(primitive -> primitive.sync(operationTimeout()));
     }
 }
@@ -16,13 +16,13 @@
 package io.atomix.client.map.impl;
 
 import com.google.common.collect.Maps;
-import com.google.common.io.BaseEncoding;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveManagementService;
 import io.atomix.client.map.AsyncAtomicMap;
 import io.atomix.client.map.AsyncDistributedMap;
 import io.atomix.client.map.DistributedMap;
 import io.atomix.client.map.DistributedMapBuilder;
+import io.atomix.client.utils.serializer.KeyCodec;
 import io.atomix.client.utils.serializer.Serializer;
 
 import java.util.Map;
@@ -43,16 +43,17 @@ public class DefaultDistributedMapBuilder<K, V> extends DistributedMapBuilder<K,
         return managementService.getPartitionService().getPartitionGroup(group)
             .thenCompose(group -> {
                 Map<Integer, AsyncAtomicMap<String, byte[]>> partitions = group.getPartitions().stream()
-                    .map(partition -> Maps.immutableEntry(partition.id(), new DefaultAsyncAtomicMap(getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout)))
+                    .map(partition -> Maps.immutableEntry(partition.id(), new DefaultAsyncAtomicMap(getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout, retryPolicy(), operationTimeout(), readConsistency(), sessionIdleTimeout, zeroCopyValues)))
                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                return new PartitionedAsyncAtomicMap(name, partitions, partitioner).connect();
+                return new PartitionedAsyncAtomicMap(name, partitions, keyPartitioner()).connect();
             })
             .thenApply(rawMap -> {
                 Serializer serializer = serializer();
+                KeyCodec<K> keyCodec = keyCodec();
                 return new TranscodingAsyncAtomicMap<K, V, String, byte[]>(
                     rawMap,
-                    key -> BaseEncoding.base16().encode(serializer.encode(key)),
-                    string -> serializer.decode(BaseEncoding.base16().decode(string)),
+                    keyCodec::encode,
+                    keyCodec::decode,
                     value -> serializer.encode(value),
                     bytes -> serializer.decode(bytes));
             })
@@ -69,6 +70,6 @@ public class DefaultDistributedMapBuilder<K, V> extends DistributedMapBuilder<K,
                 return map;
             })
             .thenApply(DelegatingAsyncDistributedMap::new)
-            .thenApply(AsyncDistributedMap::sync);
+            .thenApply(primitive -> primitive.sync(operationTimeout()));
     }
 }
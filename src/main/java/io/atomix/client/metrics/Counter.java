@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics;
+
+/**
+ * Counter that can be incremented and decremented.
+ */
+public interface Counter {
+
+    /**
+     * Increments the counter.
+     */
+    default void increment() {
+        add(1);
+    }
+
+    /**
+     * Decrements the counter.
+     */
+    default void decrement() {
+        add(-1);
+    }
+
+    /**
+     * Adds the given delta to the counter.
+     *
+     * @param delta the delta to add
+     */
+    void add(long delta);
+
+    /**
+     * Returns the counter value.
+     *
+     * @return the counter value
+     */
+    long get();
+
+    /**
+     * Resets the counter to zero.
+     */
+    void reset();
+
+}
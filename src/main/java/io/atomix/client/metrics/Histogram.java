@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics;
+
+/**
+ * Histogram of recorded values.
+ */
+public interface Histogram {
+
+    /**
+     * Records a value.
+     *
+     * @param value the value to record
+     */
+    void record(long value);
+
+    /**
+     * Returns a snapshot of the values recorded since the histogram was created or last reset.
+     *
+     * @return a snapshot of the histogram
+     */
+    HistogramSnapshot snapshot();
+
+    /**
+     * Resets the histogram.
+     */
+    void reset();
+
+}
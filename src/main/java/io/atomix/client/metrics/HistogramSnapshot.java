@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics;
+
+/**
+ * Snapshot of a {@link Histogram}.
+ */
+public interface HistogramSnapshot {
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    long getCount();
+
+    /**
+     * Returns the smallest recorded value.
+     *
+     * @return the smallest recorded value, or {@code 0} if no values have been recorded
+     */
+    long getMin();
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the largest recorded value, or {@code 0} if no values have been recorded
+     */
+    long getMax();
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean of the recorded values, or {@code 0} if no values have been recorded
+     */
+    double getMean();
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the value at the given percentile, or {@code 0} if no values have been recorded
+     */
+    long getValueAtPercentile(double percentile);
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics;
+
+import io.atomix.client.metrics.impl.DefaultMetricsRegistry;
+import io.atomix.client.metrics.impl.NoOpMetricsRegistry;
+
+/**
+ * Registry of client metrics.
+ * <p>
+ * The client records operation latencies, in-flight operations, retries, sequencer reordering and session keep-alive
+ * round trips through the registry configured with
+ * {@link io.atomix.client.AtomixClientBuilder#withMetricsRegistry(MetricsRegistry)}. Instruments are looked up by name
+ * once, when the primitive or session recording them is created, and are recorded to on the operation path, so
+ * implementations must be thread-safe and should avoid blocking.
+ * <p>
+ * Metrics are disabled by default. When the registry is {@link #isEnabled() disabled}, the client doesn't record to
+ * it at all.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Disabled metrics registry.
+     */
+    MetricsRegistry NOOP = new NoOpMetricsRegistry();
+
+    /**
+     * Returns a new in-memory metrics registry.
+     *
+     * @return a new in-memory metrics registry
+     */
+    static MetricsRegistry inMemory() {
+        return new DefaultMetricsRegistry();
+    }
+
+    /**
+     * Returns whether metrics are recorded to the registry.
+     *
+     * @return indicates whether the registry is enabled
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if necessary.
+     *
+     * @param name the histogram name
+     * @return the histogram with the given name
+     */
+    Histogram histogram(String name);
+
+    /**
+     * Returns the counter with the given name, creating it if necessary.
+     *
+     * @param name the counter name
+     * @return the counter with the given name
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns a snapshot of all the metrics in the registry.
+     *
+     * @return a snapshot of the registry's metrics
+     */
+    MetricsSnapshot snapshot();
+
+    /**
+     * Resets all the metrics in the registry.
+     */
+    void reset();
+
+}
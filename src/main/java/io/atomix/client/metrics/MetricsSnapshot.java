@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Snapshot of the metrics in a {@link MetricsRegistry}.
+ */
+public final class MetricsSnapshot {
+    private final Map<String, HistogramSnapshot> histograms;
+    private final Map<String, Long> counters;
+
+    public MetricsSnapshot(Map<String, HistogramSnapshot> histograms, Map<String, Long> counters) {
+        this.histograms = ImmutableMap.copyOf(histograms);
+        this.counters = ImmutableMap.copyOf(counters);
+    }
+
+    /**
+     * Returns the histogram snapshots by name.
+     *
+     * @return the histogram snapshots by name
+     */
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Returns the counter values by name.
+     *
+     * @return the counter values by name
+     */
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+            .add("histograms", histograms.keySet())
+            .add("counters", counters)
+            .toString();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.atomix.client.metrics.Counter;
+
+/**
+ * Counter backed by a {@link LongAdder}.
+ */
+public class DefaultCounter implements Counter {
+    private final LongAdder value = new LongAdder();
+
+    @Override
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    @Override
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void reset() {
+        value.reset();
+    }
+}
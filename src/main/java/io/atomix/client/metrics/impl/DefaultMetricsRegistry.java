@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.atomix.client.metrics.Counter;
+import io.atomix.client.metrics.Histogram;
+import io.atomix.client.metrics.HistogramSnapshot;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.metrics.MetricsSnapshot;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * In-memory metrics registry.
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Histogram histogram(String name) {
+        checkNotNull(name, "name cannot be null");
+        return histograms.computeIfAbsent(name, n -> new LogLinearHistogram());
+    }
+
+    @Override
+    public Counter counter(String name) {
+        checkNotNull(name, "name cannot be null");
+        return counters.computeIfAbsent(name, n -> new DefaultCounter());
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        Map<String, HistogramSnapshot> histograms = new TreeMap<>();
+        this.histograms.forEach((name, histogram) -> histograms.put(name, histogram.snapshot()));
+        Map<String, Long> counters = new TreeMap<>();
+        this.counters.forEach((name, counter) -> counters.put(name, counter.get()));
+        return new MetricsSnapshot(histograms, counters);
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        counters.values().forEach(Counter::reset);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.atomix.client.metrics.Histogram;
+import io.atomix.client.metrics.HistogramSnapshot;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Lock-free log-linear histogram.
+ * <p>
+ * Like an HDR histogram, values are counted in buckets whose width grows with the magnitude of the value: each power
+ * of two is divided into {@value #SUB_BUCKETS} linear sub-buckets, so any recorded value is reported with a relative
+ * error of at most {@code 1/}{@value #SUB_BUCKETS}. Recording a value is a single atomic increment of its bucket, and
+ * only contends with concurrent snapshots on the bucket counts themselves.
+ * <p>
+ * Negative values are recorded as zero.
+ */
+public class LogLinearHistogram implements Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Returns the index of the bucket for the given value.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the largest value counted in the given bucket.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + ((1L << shift) - 1);
+    }
+
+    @Override
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucket(value));
+        sum.add(value);
+        long min = this.min.get();
+        while (value < min && !this.min.compareAndSet(min, value)) {
+            min = this.min.get();
+        }
+        long max = this.max.get();
+        while (value > max && !this.max.compareAndSet(max, value)) {
+            max = this.max.get();
+        }
+    }
+
+    @Override
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.counts.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, sum.sum(), min.get(), max.get());
+    }
+
+    /**
+     * Resets the histogram.
+     * <p>
+     * Values recorded concurrently with the reset may be partially retained.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Log-linear histogram snapshot.
+     */
+    private static final class Snapshot implements HistogramSnapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = count > 0 ? min : 0;
+            this.max = count > 0 ? max : 0;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getMin() {
+            return min;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return count > 0 ? (double) sum / count : 0;
+        }
+
+        @Override
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max((long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * count), 1);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.max(Math.min(upperBound(i), max), min);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                .add("count", count)
+                .add("min", min)
+                .add("max", max)
+                .add("mean", getMean())
+                .add("p50", getValueAtPercentile(50))
+                .add("p99", getValueAtPercentile(99))
+                .add("p99.9", getValueAtPercentile(99.9))
+                .toString();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics.impl;
+
+import java.util.Collections;
+
+import io.atomix.client.metrics.Counter;
+import io.atomix.client.metrics.Histogram;
+import io.atomix.client.metrics.HistogramSnapshot;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.metrics.MetricsSnapshot;
+
+/**
+ * Disabled metrics registry.
+ */
+public final class NoOpMetricsRegistry implements MetricsRegistry {
+    private static final HistogramSnapshot EMPTY_SNAPSHOT = new HistogramSnapshot() {
+        @Override
+        public long getCount() {
+            return 0;
+        }
+
+        @Override
+        public long getMin() {
+            return 0;
+        }
+
+        @Override
+        public long getMax() {
+            return 0;
+        }
+
+        @Override
+        public double getMean() {
+            return 0;
+        }
+
+        @Override
+        public long getValueAtPercentile(double percentile) {
+            return 0;
+        }
+    };
+
+    private static final Histogram HISTOGRAM = new Histogram() {
+        @Override
+        public void record(long value) {
+        }
+
+        @Override
+        public HistogramSnapshot snapshot() {
+            return EMPTY_SNAPSHOT;
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    private static final Counter COUNTER = new Counter() {
+        @Override
+        public void add(long delta) {
+        }
+
+        @Override
+        public long get() {
+            return 0;
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return HISTOGRAM;
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return COUNTER;
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    @Override
+    public void reset() {
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Partitioner that routes keys by hashing them onto a {@link PartitionTable}.
+ * <p>
+ * Hash partitioners can route {@link CharSequence}s, raw bytes and precomputed hashes without allocating, and can
+ * route a batch of keys in a single pass.
+ */
+public interface HashPartitioner extends Partitioner<String> {
+
+    /**
+     * Returns the hash of the given key.
+     *
+     * @param key the key to hash
+     * @return the key hash
+     */
+    long hash(CharSequence key);
+
+    /**
+     * Returns the hash of a segment of the given key.
+     *
+     * @param key   the key to hash
+     * @param start the index of the first character of the segment
+     * @param end   the index after the last character of the segment
+     * @return the hash of the segment
+     */
+    default long hash(CharSequence key, int start, int end) {
+        return hash(key.subSequence(start, end));
+    }
+
+    /**
+     * Returns the hash of the given raw key.
+     *
+     * @param key    the key bytes
+     * @param offset the offset of the key in the array
+     * @param length the length of the key
+     * @return the key hash
+     */
+    long hash(byte[] key, int offset, int length);
+
+    /**
+     * Returns the partition ID to which the given hash maps.
+     *
+     * @param hash  the key hash
+     * @param table the partition table
+     * @return the partition ID
+     */
+    default int partition(long hash, PartitionTable table) {
+        return table.partition(hash);
+    }
+
+    /**
+     * Returns the partition ID to which the given key maps.
+     *
+     * @param key   the key to partition
+     * @param table the partition table
+     * @return the partition ID
+     */
+    default int partition(CharSequence key, PartitionTable table) {
+        return partition(hash(key), table);
+    }
+
+    /**
+     * Returns the partition ID to which the given raw key maps.
+     *
+     * @param key   the key bytes
+     * @param table the partition table
+     * @return the partition ID
+     */
+    default int partition(byte[] key, PartitionTable table) {
+        return partition(hash(key, 0, key.length), table);
+    }
+
+    /**
+     * Routes a batch of keys in a single pass.
+     *
+     * @param keys         the keys to partition
+     * @param table        the partition table
+     * @param partitionIds the array to which to write the partition ID of each key
+     */
+    default void partition(CharSequence[] keys, PartitionTable table, int[] partitionIds) {
+        checkArgument(partitionIds.length >= keys.length, "partitionIds cannot be shorter than keys");
+        for (int i = 0; i < keys.length; i++) {
+            partitionIds[i] = partition(hash(keys[i]), table);
+        }
+    }
+
+    @Override
+    default int partition(String key, List<Integer> partitions) {
+        return partitions.get(PartitionTable.consistentHash(hash(key), partitions.size()));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Partitioner that co-locates keys sharing a hash tag.
+ * <p>
+ * A hash tag is the non-empty segment between the first opening brace in a key and the first closing brace after it.
+ * Keys with a hash tag are partitioned by the tag alone, so {@code {user:1}:name} and {@code {user:1}:email} map to
+ * the same partition. Keys without a hash tag are hashed in full.
+ */
+public class HashTagPartitioner implements HashPartitioner {
+    private static final char TAG_START = '{';
+    private static final char TAG_END = '}';
+
+    private final HashPartitioner partitioner;
+
+    public HashTagPartitioner(HashPartitioner partitioner) {
+        this.partitioner = checkNotNull(partitioner, "partitioner cannot be null");
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        return hash(key, 0, key.length());
+    }
+
+    @Override
+    public long hash(CharSequence key, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (key.charAt(i) == TAG_START) {
+                for (int j = i + 1; j < end; j++) {
+                    if (key.charAt(j) == TAG_END) {
+                        if (j > i + 1) {
+                            return partitioner.hash(key, i + 1, j);
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        return partitioner.hash(key, start, end);
+    }
+
+    @Override
+    public long hash(byte[] key, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (key[i] == TAG_START) {
+                for (int j = i + 1; j < end; j++) {
+                    if (key[j] == TAG_END) {
+                        if (j > i + 1) {
+                            return partitioner.hash(key, i + 1, j - i - 1);
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        return partitioner.hash(key, offset, length);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.function.Function;
+
+import io.atomix.client.utils.serializer.KeyCodec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Key codec that prefixes encoded keys with their partition affinity.
+ * <p>
+ * The affinity is computed from the original key when it's encoded, and stored ahead of the key as a single character
+ * holding its length followed by the affinity itself, so {@link KeyAffinityPartitioner} can route encoded keys without
+ * decoding them. Keys whose affinity is {@code null} or empty are stored with a zero length.
+ *
+ * @param <K> the key type
+ */
+public class KeyAffinityCodec<K> implements KeyCodec<K> {
+    private static final int MAX_AFFINITY_LENGTH = Character.MAX_VALUE;
+
+    /**
+     * Returns the length of the affinity of the given encoded key.
+     *
+     * @param key   the encoded key
+     * @param start the index of the first character of the key
+     * @return the length of the key's affinity, which starts at {@code start + 1}
+     */
+    static int affinityLength(CharSequence key, int start) {
+        return key.charAt(start);
+    }
+
+    private final KeyCodec<K> keyCodec;
+    private final Function<K, String> keyAffinity;
+
+    public KeyAffinityCodec(KeyCodec<K> keyCodec, Function<K, String> keyAffinity) {
+        this.keyCodec = checkNotNull(keyCodec, "keyCodec cannot be null");
+        this.keyAffinity = checkNotNull(keyAffinity, "keyAffinity cannot be null");
+    }
+
+    @Override
+    public String encode(K key) {
+        String affinity = keyAffinity.apply(key);
+        String encoded = keyCodec.encode(key);
+        if (affinity == null || affinity.isEmpty()) {
+            return (char) 0 + encoded;
+        }
+        checkArgument(affinity.length() <= MAX_AFFINITY_LENGTH,
+            "affinity cannot be longer than %s characters", MAX_AFFINITY_LENGTH);
+        return new StringBuilder(affinity.length() + encoded.length() + 1)
+            .append((char) affinity.length())
+            .append(affinity)
+            .append(encoded)
+            .toString();
+    }
+
+    @Override
+    public K decode(String key) {
+        return keyCodec.decode(key.substring(affinityLength(key, 0) + 1));
+    }
+}
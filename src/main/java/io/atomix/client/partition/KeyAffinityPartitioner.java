@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Partitioner that routes keys encoded by a {@link KeyAffinityCodec} by their affinity.
+ * <p>
+ * Keys with an affinity are partitioned by the affinity alone, so keys with the same affinity map to the same
+ * partition. Keys without an affinity are partitioned by the rest of the encoded key. Raw keys carry no affinity and
+ * are hashed in full.
+ */
+public class KeyAffinityPartitioner implements HashPartitioner {
+    private final HashPartitioner partitioner;
+
+    public KeyAffinityPartitioner(HashPartitioner partitioner) {
+        this.partitioner = checkNotNull(partitioner, "partitioner cannot be null");
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        return hash(key, 0, key.length());
+    }
+
+    @Override
+    public long hash(CharSequence key, int start, int end) {
+        if (start == end) {
+            return partitioner.hash(key, start, end);
+        }
+        int length = KeyAffinityCodec.affinityLength(key, start);
+        if (length > 0) {
+            return partitioner.hash(key, start + 1, start + 1 + length);
+        }
+        return partitioner.hash(key, start + 1, end);
+    }
+
+    @Override
+    public long hash(byte[] key, int offset, int length) {
+        return partitioner.hash(key, offset, length);
+    }
+}
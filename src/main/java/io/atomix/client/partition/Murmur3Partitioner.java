@@ -15,17 +15,68 @@
  */
 package io.atomix.client.partition;
 
-import java.util.List;
-
-import com.google.common.hash.Hashing;
-
 /**
  * Murmur 3 partitioner.
+ * <p>
+ * Keys are hashed with an inlined 32-bit murmur3 that produces the same hashes as Guava's
+ * {@code Hashing.murmur3_32().hashUnencodedChars(key)}. Raw keys are hashed as if each byte were a character, so they
+ * route the same way as keys encoded with {@link io.atomix.client.utils.serializer.KeyCodec#binary binary} key codecs.
  */
-public class Murmur3Partitioner implements Partitioner<String> {
+public class Murmur3Partitioner implements HashPartitioner {
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    @Override
+    public long hash(CharSequence key) {
+        return hash(key, 0, key.length());
+    }
+
     @Override
-    public int partition(String key, List<Integer> partitions) {
-        int hash = Math.abs(Hashing.murmur3_32().hashUnencodedChars(key).asInt());
-        return partitions.get(Hashing.consistentHash(hash, partitions.size()));
+    public long hash(CharSequence key, int start, int end) {
+        int length = end - start;
+        int h1 = 0;
+        for (int i = 1; i < length; i += 2) {
+            h1 = mixH1(h1, mixK1(key.charAt(start + i - 1) | (key.charAt(start + i) << 16)));
+        }
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(key.charAt(end - 1));
+        }
+        return Math.abs(fmix(h1, Character.BYTES * length));
+    }
+
+    @Override
+    public long hash(byte[] key, int offset, int length) {
+        int h1 = 0;
+        for (int i = 1; i < length; i += 2) {
+            h1 = mixH1(h1, mixK1((key[offset + i - 1] & 0xff) | ((key[offset + i] & 0xff) << 16)));
+        }
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(key[offset + length - 1] & 0xff);
+        }
+        return Math.abs(fmix(h1, Character.BYTES * length));
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        h1 = h1 * 5 + 0xe6546b64;
+        return h1;
+    }
+
+    private static int fmix(int h1, int length) {
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
     }
-}
\ No newline at end of file
+}
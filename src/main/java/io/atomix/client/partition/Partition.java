@@ -16,6 +16,7 @@
 package io.atomix.client.partition;
 
 import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.metrics.MetricsRegistry;
 
 /**
  * Partition.
@@ -36,4 +37,11 @@ public interface Partition {
      */
     ChannelFactory getChannelFactory();
 
+    /**
+     * Returns the registry to which the partition's metrics are recorded.
+     *
+     * @return the metrics registry
+     */
+    MetricsRegistry getMetricsRegistry();
+
 }
@@ -54,4 +54,13 @@ public interface PartitionGroup {
      */
     List<Integer> getPartitionIds();
 
+    /**
+     * Returns the table used to route hashes to partitions in the group.
+     *
+     * @return the partition table
+     */
+    default PartitionTable getPartitionTable() {
+        return PartitionTable.of(getPartitionIds());
+    }
+
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable table mapping hashes to partition IDs.
+ * <p>
+ * Hashes are routed with jump consistent hashing over the sorted partition IDs, matching Guava's
+ * {@code Hashing.consistentHash} without allocating a generator per lookup.
+ */
+public final class PartitionTable {
+
+    /**
+     * Returns a new partition table for the given partition IDs.
+     *
+     * @param partitionIds the partition IDs
+     * @return the partition table
+     */
+    public static PartitionTable of(Collection<Integer> partitionIds) {
+        checkNotNull(partitionIds, "partitionIds cannot be null");
+        int[] ids = new int[partitionIds.size()];
+        int i = 0;
+        for (int partitionId : partitionIds) {
+            ids[i++] = partitionId;
+        }
+        Arrays.sort(ids);
+        return new PartitionTable(ids);
+    }
+
+    /**
+     * Returns the bucket in {@code [0, buckets)} to which the given hash is assigned.
+     * <p>
+     * The result is identical to Guava's {@code Hashing.consistentHash(hash, buckets)}.
+     *
+     * @param hash    the hash to assign
+     * @param buckets the number of buckets
+     * @return the bucket to which the hash is assigned
+     */
+    public static int consistentHash(long hash, int buckets) {
+        checkArgument(buckets > 0, "buckets must be positive: %s", buckets);
+        long state = hash;
+        int candidate = 0;
+        while (true) {
+            state = 2862933555777941757L * state + 1;
+            double next = (double) ((int) (state >>> 33) + 1) / 0x1.0p31;
+            int bucket = (int) ((candidate + 1) / next);
+            if (bucket >= 0 && bucket < buckets) {
+                candidate = bucket;
+            } else {
+                return candidate;
+            }
+        }
+    }
+
+    private final int[] partitionIds;
+
+    private PartitionTable(int[] partitionIds) {
+        this.partitionIds = partitionIds;
+    }
+
+    /**
+     * Returns the number of partitions in the table.
+     *
+     * @return the number of partitions
+     */
+    public int size() {
+        return partitionIds.length;
+    }
+
+    /**
+     * Returns the partition ID at the given index.
+     *
+     * @param index the partition index
+     * @return the partition ID at the given index
+     */
+    public int partitionId(int index) {
+        return partitionIds[index];
+    }
+
+    /**
+     * Returns the partition ID to which the given hash maps.
+     *
+     * @param hash the key hash
+     * @return the partition ID
+     */
+    public int partition(long hash) {
+        return partitionIds[consistentHash(hash, partitionIds.length)];
+    }
+}
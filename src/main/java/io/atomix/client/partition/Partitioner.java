@@ -30,6 +30,11 @@ public interface Partitioner<K> {
      */
     Partitioner<String> MURMUR3 = new Murmur3Partitioner();
 
+    /**
+     * Murmur 3 partitioner that only hashes the {@link HashTagPartitioner hash tag} of keys that have one.
+     */
+    Partitioner<String> MURMUR3_HASH_TAGS = new HashTagPartitioner(new Murmur3Partitioner());
+
     /**
      * Returns the partition ID to which the specified object maps.
      *
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Partition channel.
+ * <p>
+ * The partition channel routes each call to one of the partition's endpoints using the partition's
+ * {@link PartitionEndpointSelector}. Calls are routed as commands unless they're started within the
+ * {@link OperationType#QUERY}, {@link OperationType#RELAXED_QUERY} or {@link OperationType#LEADER_QUERY} context, and
+ * the outcome of each call is reported back to the selector so that unavailable endpoints are skipped by subsequent
+ * calls. Leader queries are routed like commands, but their responses don't move the partition's leader.
+ * <p>
+ * Calls started with a deadline via {@link OperationType#run(BiConsumer, Object, Object, Deadline)} are sent with that
+ * deadline, so operations that have timed out on the client are cancelled rather than left running on the partition.
+ * Calls started with a {@link Route} record the endpoint to which they were routed, and queries whose route excludes
+ * an endpoint are routed to another endpoint while one is healthy.
+ * <p>
+ * When the partition's endpoints change, the channel is {@link #update(PartitionEndpointSelector) updated} with a new
+ * selector, and subsequent calls are routed to the new endpoints. Each call retains the endpoints to which it was
+ * routed until it has started, so the previous endpoints' channels aren't shut down under calls that are starting.
+ */
+public class PartitionChannel extends ManagedChannel {
+
+    /**
+     * Context key for the type of the operation being executed.
+     */
+    static final Context.Key<OperationType> OPERATION_TYPE = Context.key("atomix-operation-type");
+
+    /**
+     * Context key for the deadline of the operation being executed.
+     */
+    static final Context.Key<Deadline> OPERATION_DEADLINE = Context.key("atomix-operation-deadline");
+
+    /**
+     * Context key for the route of the operation being executed.
+     */
+    static final Context.Key<Route> OPERATION_ROUTE = Context.key("atomix-operation-route");
+
+    /**
+     * Endpoint route of a call.
+     * <p>
+     * The channel records the endpoint to which a call started with the route is sent. A query started with a route
+     * that excludes an endpoint is sent to another endpoint, e.g. so that a hedged query doesn't go to the endpoint
+     * that's already slow to respond to the query it hedges.
+     */
+    public static final class Route {
+        private final int excluded;
+        private volatile int endpoint = -1;
+
+        public Route() {
+            this(-1);
+        }
+
+        public Route(int excluded) {
+            this.excluded = excluded;
+        }
+
+        /**
+         * Returns the index of the endpoint to which the last call started with the route was sent.
+         *
+         * @return the endpoint index, or {@code -1} if no call has been started with the route
+         */
+        public int getEndpoint() {
+            return endpoint;
+        }
+    }
+
+    /**
+     * Operation type used to route calls.
+     */
+    public enum OperationType {
+        COMMAND,
+        QUERY,
+        RELAXED_QUERY,
+        LEADER_QUERY;
+
+        private final Context rootContext = Context.ROOT.withValue(OPERATION_TYPE, this);
+
+        /**
+         * Returns the caller's context with calls routed as this operation type.
+         * <p>
+         * The caller's deadline, cancellation and other values are preserved. Callers without a gRPC context share a
+         * precomputed routing context.
+         */
+        private Context context() {
+            Context current = Context.current();
+            return current == Context.ROOT ? rootContext : current.withValue(OPERATION_TYPE, this);
+        }
+
+        /**
+         * Runs the given callback with calls routed as this operation type.
+         *
+         * @param callback the callback to run
+         */
+        public void run(Runnable callback) {
+            context().run(callback);
+        }
+
+        /**
+         * Calls the given function with calls routed as this operation type.
+         * <p>
+         * Unlike {@link #run(Runnable)}, this method doesn't require a capturing callback to pass arguments to the
+         * function.
+         *
+         * @param function the function to call
+         * @param arg1     the first function argument
+         * @param arg2     the second function argument
+         * @param <T>      the first argument type
+         * @param <U>      the second argument type
+         */
+        public <T, U> void run(BiConsumer<T, U> function, T arg1, U arg2) {
+            run(function, arg1, arg2, null);
+        }
+
+        /**
+         * Calls the given function with calls routed as this operation type and sent with the given deadline.
+         *
+         * @param function the function to call
+         * @param arg1     the first function argument
+         * @param arg2     the second function argument
+         * @param deadline the deadline for calls made by the function, or {@code null} for no deadline
+         * @param <T>      the first argument type
+         * @param <U>      the second argument type
+         */
+        public <T, U> void run(BiConsumer<T, U> function, T arg1, U arg2, Deadline deadline) {
+            run(function, arg1, arg2, deadline, null);
+        }
+
+        /**
+         * Calls the given function with calls routed as this operation type along the given route and sent with the
+         * given deadline.
+         *
+         * @param function the function to call
+         * @param arg1     the first function argument
+         * @param arg2     the second function argument
+         * @param deadline the deadline for calls made by the function, or {@code null} for no deadline
+         * @param route    the route along which to send calls made by the function, or {@code null} for none
+         * @param <T>      the first argument type
+         * @param <U>      the second argument type
+         */
+        public <T, U> void run(BiConsumer<T, U> function, T arg1, U arg2, Deadline deadline, Route route) {
+            Context context = context();
+            Context callContext = deadline != null ? context.withValue(OPERATION_DEADLINE, deadline) : context;
+            if (route != null) {
+                callContext = callContext.withValue(OPERATION_ROUTE, route);
+            }
+            Context previous = callContext.attach();
+            try {
+                function.accept(arg1, arg2);
+            } finally {
+                callContext.detach(previous);
+            }
+        }
+    }
+
+    private final PartitionChannelRegistry registry;
+    private final Consumer<PartitionChannel> shutdownListener;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    private volatile Endpoints endpoints;
+
+    PartitionChannel(
+        PartitionEndpointSelector selector,
+        PartitionChannelRegistry registry,
+        Consumer<PartitionChannel> shutdownListener) {
+        this.registry = registry;
+        this.shutdownListener = shutdownListener;
+        this.endpoints = new Endpoints(selector, registry);
+    }
+
+    /**
+     * Moves the channel to the endpoints of the given selector.
+     * <p>
+     * The channel's references to the previous endpoints' channels are released once the calls routed to them have
+     * started, so calls already in flight complete on the endpoints to which they were sent.
+     *
+     * @param selector the selector for the partition's new endpoints
+     */
+    synchronized void update(PartitionEndpointSelector selector) {
+        if (shutdown.get()) {
+            return;
+        }
+        Endpoints previous = endpoints;
+        endpoints = new Endpoints(selector, registry);
+        previous.release();
+    }
+
+    /**
+     * Retains the channel's current endpoints for a new call.
+     *
+     * @return the retained endpoints, or {@code null} if the channel has been shut down
+     */
+    private Endpoints retainEndpoints() {
+        Endpoints endpoints = this.endpoints;
+        while (!endpoints.retain()) {
+            Endpoints current = this.endpoints;
+            if (current == endpoints) {
+                return null;
+            }
+            endpoints = current;
+        }
+        return endpoints;
+    }
+
+    @Override
+    public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+        MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+        OperationType type = OPERATION_TYPE.get();
+        boolean command = type != OperationType.QUERY
+            && type != OperationType.RELAXED_QUERY
+            && type != OperationType.LEADER_QUERY;
+        Deadline deadline = OPERATION_DEADLINE.get();
+        if (deadline != null && (callOptions.getDeadline() == null || deadline.isBefore(callOptions.getDeadline()))) {
+            callOptions = callOptions.withDeadline(deadline);
+        }
+        Route route = OPERATION_ROUTE.get();
+        Endpoints retained = retainEndpoints();
+        Endpoints endpoints = retained != null ? retained : this.endpoints;
+        PartitionEndpointSelector selector = endpoints.selector;
+        int index;
+        if (command || type == OperationType.LEADER_QUERY) {
+            index = selector.selectCommand();
+        } else if (route != null && route.excluded != -1) {
+            index = selector.selectQuery(route.excluded);
+        } else if (type == OperationType.RELAXED_QUERY) {
+            index = selector.selectFollower();
+        } else {
+            index = selector.selectQuery();
+        }
+        if (route != null) {
+            route.endpoint = index;
+        }
+        ClientCall<RequestT, ResponseT> call = endpoints.channels[index].newCall(methodDescriptor, callOptions);
+        return new EndpointCall<>(
+            call, retained, selector, index, command, methodDescriptor.getType() == MethodDescriptor.MethodType.UNARY);
+    }
+
+    @Override
+    public String authority() {
+        return endpoints.channels[0].authority();
+    }
+
+    @Override
+    public synchronized ManagedChannel shutdown() {
+        if (shutdown.compareAndSet(false, true)) {
+            endpoints.release();
+            shutdownListener.accept(this);
+        }
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        return shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown.get();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+
+    /**
+     * The partition's endpoints and the channels to them.
+     * <p>
+     * The endpoints are reference counted: the partition channel holds a reference while they're current, and each
+     * call routed to them holds a reference until it has started. The endpoints' channels are released with the last
+     * reference.
+     */
+    private static final class Endpoints {
+        private final PartitionEndpointSelector selector;
+        private final ManagedChannel[] channels;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Endpoints(PartitionEndpointSelector selector, PartitionChannelRegistry registry) {
+            this.selector = selector;
+            this.channels = new ManagedChannel[selector.size()];
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = registry.acquire(selector.getEndpoint(i));
+            }
+        }
+
+        /**
+         * Acquires a reference to the endpoints.
+         *
+         * @return indicates whether the reference was acquired, or {@code false} if the endpoints have been released
+         */
+        boolean retain() {
+            int references;
+            do {
+                references = this.references.get();
+                if (references == 0) {
+                    return false;
+                }
+            } while (!this.references.compareAndSet(references, references + 1));
+            return true;
+        }
+
+        /**
+         * Releases a reference to the endpoints, releasing the references to the endpoints' channels with the last
+         * reference.
+         */
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                for (ManagedChannel channel : channels) {
+                    channel.shutdown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Call that reports its outcome to the endpoint selector.
+     * <p>
+     * The call holds a reference to the endpoints to which it was routed until it has been started or cancelled.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final class EndpointCall<RequestT, ResponseT>
+        extends ForwardingClientCall.SimpleForwardingClientCall<RequestT, ResponseT> {
+        private static final AtomicIntegerFieldUpdater<EndpointCall> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(EndpointCall.class, "released");
+        private final Endpoints endpoints;
+        private final PartitionEndpointSelector selector;
+        private final int index;
+        private final boolean command;
+        private final boolean unary;
+        private volatile int released;
+
+        EndpointCall(
+            ClientCall<RequestT, ResponseT> call,
+            Endpoints endpoints,
+            PartitionEndpointSelector selector,
+            int index,
+            boolean command,
+            boolean unary) {
+            super(call);
+            this.endpoints = endpoints;
+            this.selector = selector;
+            this.index = index;
+            this.command = command;
+            this.unary = unary;
+        }
+
+        /**
+         * Releases the call's reference to the endpoints to which it was routed.
+         */
+        private void releaseEndpoints() {
+            if (endpoints != null && RELEASED.compareAndSet(this, 0, 1)) {
+                endpoints.release();
+            }
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            try {
+                super.cancel(message, cause);
+            } finally {
+                releaseEndpoints();
+            }
+        }
+
+        @Override
+        public void start(Listener<ResponseT> listener, Metadata headers) {
+            if (unary) {
+                selector.requestStarted(index);
+            }
+            try {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<ResponseT>(listener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        if (unary) {
+                            selector.requestCompleted(index);
+                        }
+                        if (status.isOk()) {
+                            selector.recordSuccess(index, command);
+                        } else if (status.getCode() == Status.Code.UNAVAILABLE) {
+                            selector.recordFailure(index);
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            } finally {
+                releaseEndpoints();
+            }
+        }
+    }
+}
@@ -15,31 +15,54 @@
  */
 package io.atomix.client.partition.impl;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.atomix.api.controller.Partition;
-import io.atomix.api.controller.PartitionEndpoint;
 import io.atomix.client.channel.ChannelFactory;
-import io.grpc.Channel;
-import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.ManagedChannel;
 
 /**
  * Partition group channel factory.
+ * <p>
+ * Channels returned by this factory are {@link PartitionChannel}s that route calls across all the partition's
+ * endpoints, backed by channels shared through the {@link PartitionChannelRegistry}. All channels created by the
+ * factory share the same {@link PartitionEndpointSelector}, so endpoint health is tracked per partition.
+ * <p>
+ * The factory keeps track of the channels it has returned until they're shut down, so that when the partition's
+ * endpoints change, the open channels are moved to the new endpoints along with the factory.
  */
 public class PartitionChannelFactory implements ChannelFactory {
-    private final Partition partition;
-    private final NettyChannelBuilder builder;
+    private final PartitionChannelRegistry registry;
+    private final Set<PartitionChannel> channels = ConcurrentHashMap.newKeySet();
+    private PartitionEndpointSelector selector;
+
+    public PartitionChannelFactory(Partition partition, PartitionChannelRegistry registry) {
+        this.selector = new PartitionEndpointSelector(
+            partition.getEndpointsList(), registry.config().getLoadBalancingPolicy());
+        this.registry = registry;
+    }
 
-    public PartitionChannelFactory(Partition partition) {
-        this.partition = partition;
-        PartitionEndpoint endpoint = partition.getEndpoints(0);
-        if (endpoint.getPort() != 0) {
-            this.builder = NettyChannelBuilder.forAddress(endpoint.getHost(), endpoint.getPort()).usePlaintext();
-        } else {
-            this.builder = NettyChannelBuilder.forTarget(endpoint.getHost()).usePlaintext();
+    /**
+     * Updates the partition's endpoints.
+     * <p>
+     * Channels previously returned by the factory route their subsequent calls to the new endpoints, while calls
+     * already in flight complete on the endpoints to which they were sent.
+     *
+     * @param partition the updated partition metadata
+     */
+    synchronized void update(Partition partition) {
+        selector = new PartitionEndpointSelector(
+            partition.getEndpointsList(), registry.config().getLoadBalancingPolicy());
+        for (PartitionChannel channel : channels) {
+            channel.update(selector);
         }
     }
 
     @Override
-    public Channel getChannel() {
-        return builder.build();
+    public synchronized ManagedChannel getChannel() {
+        PartitionChannel channel = new PartitionChannel(selector, registry, channels::remove);
+        channels.add(channel);
+        return channel;
     }
 }
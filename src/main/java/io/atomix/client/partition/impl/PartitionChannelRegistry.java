@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLException;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.client.channel.ChannelConfig;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoop;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
+import io.grpc.netty.shaded.io.netty.util.concurrent.EventExecutor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reference counted registry of partition endpoint channels.
+ * <p>
+ * The registry shares a single pool of channels per {@link PartitionEndpoint} among all the primitives connected to
+ * that endpoint. Each call to {@link #acquire(PartitionEndpoint)} returns a new reference to the endpoint's channels.
+ * Shutting down the reference releases it, and once the last reference to an endpoint has been released the pooled
+ * channels for the endpoint are shut down.
+ * <p>
+ * When the registry is given an {@link EventLoopGroup}, each endpoint gets one channel bound to each event loop in the
+ * group, and calls made from an event loop are sent on that event loop's channel. gRPC callbacks for those channels
+ * are executed directly on the event loop, so a primitive whose context runs on an event loop sends requests and
+ * handles responses without switching threads.
+ */
+public class PartitionChannelRegistry {
+    private final ChannelConfig config;
+    private final EventLoop[] eventLoops;
+    private final SslContext sslContext;
+    private final Map<PartitionEndpoint, EndpointChannels> endpoints = new HashMap<>();
+
+    public PartitionChannelRegistry(ChannelConfig config) {
+        this(config, null);
+    }
+
+    public PartitionChannelRegistry(ChannelConfig config, EventLoopGroup eventLoopGroup) {
+        this.config = checkNotNull(config, "config cannot be null");
+        this.sslContext = config.isTlsEnabled() ? newSslContext(config) : null;
+        if (eventLoopGroup != null) {
+            List<EventLoop> eventLoops = new ArrayList<>();
+            for (EventExecutor executor : eventLoopGroup) {
+                eventLoops.add((EventLoop) executor);
+            }
+            this.eventLoops = eventLoops.toArray(new EventLoop[0]);
+        } else {
+            this.eventLoops = null;
+        }
+    }
+
+    /**
+     * Creates the TLS context for the given configuration.
+     * <p>
+     * If the configuration has a certificate chain and private key, they're presented to the server as the client's
+     * identity.
+     */
+    private static SslContext newSslContext(ChannelConfig config) {
+        SslContextBuilder builder = GrpcSslContexts.forClient();
+        if (config.getCertPath() != null && config.getKeyPath() != null) {
+            builder.keyManager(new File(config.getCertPath()), new File(config.getKeyPath()));
+        }
+        try {
+            return builder.build();
+        } catch (SSLException e) {
+            throw new IllegalStateException("failed to create TLS context", e);
+        }
+    }
+
+    /**
+     * Returns the channel configuration.
+     *
+     * @return the channel configuration
+     */
+    ChannelConfig config() {
+        return config;
+    }
+
+    /**
+     * Acquires a reference to the channel for the given endpoint.
+     * <p>
+     * The returned channel must be shut down once it's no longer needed by the caller. Shutting down the channel
+     * releases the reference but does not close the shared connections until all references have been released.
+     *
+     * @param endpoint the endpoint for which to return a channel
+     * @return a reference to the shared channel for the given endpoint
+     */
+    public synchronized ManagedChannel acquire(PartitionEndpoint endpoint) {
+        EndpointChannels channels = endpoints.computeIfAbsent(endpoint, EndpointChannels::new);
+        channels.references++;
+        return new ChannelReference(channels);
+    }
+
+    /**
+     * Releases a reference to the given endpoint channels.
+     *
+     * @param channels the endpoint channels to release
+     */
+    private synchronized void release(EndpointChannels channels) {
+        if (--channels.references == 0) {
+            endpoints.remove(channels.endpoint, channels);
+            channels.shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of open references to the given endpoint.
+     *
+     * @param endpoint the endpoint for which to return the reference count
+     * @return the number of open references to the given endpoint
+     */
+    @VisibleForTesting
+    synchronized int getReferenceCount(PartitionEndpoint endpoint) {
+        EndpointChannels channels = endpoints.get(endpoint);
+        return channels != null ? channels.references : 0;
+    }
+
+    /**
+     * Closes the registry, shutting down all open channels.
+     */
+    public synchronized void close() {
+        endpoints.values().forEach(EndpointChannels::shutdown);
+        endpoints.clear();
+    }
+
+    /**
+     * Pool of channels for a single partition endpoint.
+     */
+    private final class EndpointChannels {
+        private final PartitionEndpoint endpoint;
+        private final ManagedChannel[] channels;
+        private final AtomicInteger nextChannel = new AtomicInteger();
+        private int references;
+
+        EndpointChannels(PartitionEndpoint endpoint) {
+            this.endpoint = endpoint;
+            this.channels = new ManagedChannel[eventLoops != null ? eventLoops.length : config.getPoolSize()];
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = newChannel(endpoint, eventLoops != null ? eventLoops[i] : null);
+            }
+        }
+
+        /**
+         * Creates a new channel to the given endpoint.
+         */
+        private ManagedChannel newChannel(PartitionEndpoint endpoint, EventLoop eventLoop) {
+            NettyChannelBuilder builder;
+            if (endpoint.getPort() != 0) {
+                builder = NettyChannelBuilder.forAddress(endpoint.getHost(), endpoint.getPort());
+            } else {
+                builder = NettyChannelBuilder.forTarget(endpoint.getHost());
+            }
+            if (sslContext != null) {
+                builder.sslContext(sslContext);
+            } else {
+                builder.usePlaintext();
+            }
+            if (eventLoop != null) {
+                builder.eventLoopGroup(eventLoop)
+                    .channelType(NioSocketChannel.class)
+                    .directExecutor();
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns the channel bound to the current event loop, or otherwise the next channel in the pool.
+         */
+        ManagedChannel next() {
+            if (eventLoops != null) {
+                for (int i = 0; i < eventLoops.length; i++) {
+                    if (eventLoops[i].inEventLoop()) {
+                        return channels[i];
+                    }
+                }
+            }
+            if (channels.length == 1) {
+                return channels[0];
+            }
+            return channels[Math.floorMod(nextChannel.getAndIncrement(), channels.length)];
+        }
+
+        /**
+         * Shuts down all the channels in the pool.
+         */
+        void shutdown() {
+            for (ManagedChannel channel : channels) {
+                channel.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Reference to a shared endpoint channel.
+     */
+    private final class ChannelReference extends ManagedChannel {
+        private final EndpointChannels channels;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ChannelReference(EndpointChannels channels) {
+            this.channels = channels;
+        }
+
+        @Override
+        public <RequestT, ResponseT> ClientCall<RequestT, ResponseT> newCall(
+            MethodDescriptor<RequestT, ResponseT> methodDescriptor, CallOptions callOptions) {
+            return channels.next().newCall(methodDescriptor, callOptions);
+        }
+
+        @Override
+        public String authority() {
+            return channels.channels[0].authority();
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            if (released.compareAndSet(false, true)) {
+                release(channels);
+            }
+            return this;
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return shutdown();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return released.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return released.get();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.client.channel.LoadBalancingPolicy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Partition endpoint selector.
+ * <p>
+ * The selector tracks the health of each endpoint in a partition and picks the endpoint to which each operation is
+ * routed. Commands stick to the last endpoint that successfully handled a command, which is usually the partition
+ * leader, and fail over to the next healthy endpoint when that endpoint becomes unavailable. Queries are spread across
+ * the healthy endpoints according to the configured {@link LoadBalancingPolicy}. Relaxed queries, which don't need to
+ * be served by the leader, are spread across the healthy endpoints other than the leader when there are any.
+ * <p>
+ * An endpoint that fails with a connection error is considered unhealthy for a backoff period that grows with the
+ * number of consecutive failures, and is only selected again once the backoff expires or if no endpoint is healthy.
+ */
+public class PartitionEndpointSelector {
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final PartitionEndpoint[] endpoints;
+    private final EndpointHealth[] health;
+    private final LoadBalancingPolicy policy;
+    private final AtomicInteger nextQuery = new AtomicInteger();
+    private volatile int leader;
+
+    public PartitionEndpointSelector(List<PartitionEndpoint> endpoints, LoadBalancingPolicy policy) {
+        checkArgument(!endpoints.isEmpty(), "endpoints cannot be empty");
+        this.endpoints = endpoints.toArray(new PartitionEndpoint[0]);
+        this.health = new EndpointHealth[this.endpoints.length];
+        for (int i = 0; i < health.length; i++) {
+            health[i] = new EndpointHealth();
+        }
+        this.policy = checkNotNull(policy, "policy cannot be null");
+    }
+
+    /**
+     * Returns the number of endpoints in the partition.
+     *
+     * @return the number of endpoints in the partition
+     */
+    public int size() {
+        return endpoints.length;
+    }
+
+    /**
+     * Returns the endpoint at the given index.
+     *
+     * @param index the endpoint index
+     * @return the endpoint at the given index
+     */
+    public PartitionEndpoint getEndpoint(int index) {
+        return endpoints[index];
+    }
+
+    /**
+     * Selects the endpoint to which to route a command.
+     *
+     * @return the index of the selected endpoint
+     */
+    public int selectCommand() {
+        int leader = this.leader;
+        if (endpoints.length == 1) {
+            return leader;
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < endpoints.length; i++) {
+            int index = (leader + i) % endpoints.length;
+            if (health[index].isHealthy(now)) {
+                this.leader = index;
+                return index;
+            }
+        }
+        return leastRecentlyFailed();
+    }
+
+    /**
+     * Selects the endpoint to which to route a query.
+     *
+     * @return the index of the selected endpoint
+     */
+    public int selectQuery() {
+        return selectQuery(-1);
+    }
+
+    /**
+     * Selects the endpoint to which to route a relaxed query.
+     * <p>
+     * Relaxed queries are routed to an endpoint other than the leader, unless the leader is the only healthy endpoint.
+     *
+     * @return the index of the selected endpoint
+     */
+    public int selectFollower() {
+        if (endpoints.length == 1) {
+            return 0;
+        }
+        int leader = this.leader;
+        int index = selectQuery(leader);
+        return health[index].isHealthy(System.nanoTime()) ? index : selectQuery(-1);
+    }
+
+    /**
+     * Selects the endpoint to which to route a query, skipping the given endpoint.
+     * <p>
+     * The excluded endpoint is only skipped while another endpoint is healthy.
+     *
+     * @param excluded the index of the endpoint to skip, or {@code -1} to consider all endpoints
+     * @return the index of the selected endpoint
+     */
+    public int selectQuery(int excluded) {
+        if (endpoints.length == 1) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        switch (policy) {
+            case LEAST_OUTSTANDING_REQUESTS:
+                int selected = -1;
+                int outstanding = Integer.MAX_VALUE;
+                int offset = Math.floorMod(nextQuery.getAndIncrement(), endpoints.length);
+                for (int i = 0; i < endpoints.length; i++) {
+                    int index = (offset + i) % endpoints.length;
+                    EndpointHealth endpoint = health[index];
+                    if (index != excluded && endpoint.isHealthy(now) && endpoint.outstanding.get() < outstanding) {
+                        selected = index;
+                        outstanding = endpoint.outstanding.get();
+                    }
+                }
+                return selected != -1 ? selected : leastRecentlyFailed();
+            case ROUND_ROBIN:
+            default:
+                int start = Math.floorMod(nextQuery.getAndIncrement(), endpoints.length);
+                for (int i = 0; i < endpoints.length; i++) {
+                    int index = (start + i) % endpoints.length;
+                    if (index != excluded && health[index].isHealthy(now)) {
+                        return index;
+                    }
+                }
+                return leastRecentlyFailed();
+        }
+    }
+
+    /**
+     * Returns the endpoint whose backoff expires first when no endpoint is healthy.
+     */
+    private int leastRecentlyFailed() {
+        int selected = 0;
+        for (int i = 1; i < endpoints.length; i++) {
+            if (health[i].retryAt - health[selected].retryAt < 0) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Records the start of a request to the given endpoint.
+     *
+     * @param index the endpoint index
+     */
+    public void requestStarted(int index) {
+        health[index].outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a request to the given endpoint.
+     *
+     * @param index the endpoint index
+     */
+    public void requestCompleted(int index) {
+        health[index].outstanding.decrementAndGet();
+    }
+
+    /**
+     * Records a successful response from the given endpoint.
+     *
+     * @param index   the endpoint index
+     * @param command whether the response was for a command
+     */
+    public void recordSuccess(int index, boolean command) {
+        AtomicInteger failures = health[index].failures;
+        if (failures.get() != 0) {
+            failures.set(0);
+        }
+        if (command) {
+            leader = index;
+        }
+    }
+
+    /**
+     * Records a connection failure for the given endpoint.
+     *
+     * @param index the endpoint index
+     */
+    public void recordFailure(int index) {
+        EndpointHealth endpoint = health[index];
+        int failures = Math.min(endpoint.failures.incrementAndGet(), 30);
+        long backoff = Math.min(MIN_BACKOFF_NANOS << (failures - 1), MAX_BACKOFF_NANOS);
+        endpoint.retryAt = System.nanoTime() + backoff;
+    }
+
+    /**
+     * Endpoint health.
+     */
+    private static final class EndpointHealth {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long retryAt;
+
+        boolean isHealthy(long now) {
+            return failures.get() == 0 || now - retryAt >= 0;
+        }
+    }
+}
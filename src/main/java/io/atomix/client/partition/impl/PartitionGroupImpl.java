@@ -16,31 +16,67 @@
 package io.atomix.client.partition.impl;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.atomix.api.controller.PartitionGroupId;
+import io.atomix.client.impl.PartitionSessionRegistry;
 import io.atomix.client.partition.Partition;
 import io.atomix.client.partition.PartitionGroup;
+import io.atomix.client.partition.PartitionTable;
 
 /**
  * Partition group implementation.
+ * <p>
+ * Partition groups are immutable. When a group's metadata changes, a new group is created which reuses the group's
+ * existing {@link PartitionImpl partitions}, updating those whose metadata has changed so that primitives already
+ * using them follow the changes.
  */
 public class PartitionGroupImpl implements PartitionGroup {
     private final io.atomix.api.controller.PartitionGroup group;
-    private final Map<Integer, Partition> partitions = new ConcurrentHashMap<>();
-    private final List<Integer> partitionIds = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Partition> partitions;
+    private final List<Integer> partitionIds;
+    private final PartitionTable partitionTable;
 
-    public PartitionGroupImpl(io.atomix.api.controller.PartitionGroup group) {
+    public PartitionGroupImpl(
+        io.atomix.api.controller.PartitionGroup group,
+        PartitionChannelRegistry channelRegistry,
+        PartitionSessionRegistry sessionRegistry) {
+        this(group, channelRegistry, sessionRegistry, null);
+    }
+
+    PartitionGroupImpl(
+        io.atomix.api.controller.PartitionGroup group,
+        PartitionChannelRegistry channelRegistry,
+        PartitionSessionRegistry sessionRegistry,
+        PartitionGroupImpl previous) {
         this.group = group;
+        ImmutableMap.Builder<Integer, Partition> partitions = ImmutableMap.builder();
         group.getPartitionsList().forEach(partition -> {
-            partitions.put(partition.getPartitionId(), new PartitionImpl(partition));
-            partitionIds.add(partition.getPartitionId());
+            PartitionImpl previousPartition = previous != null
+                ? (PartitionImpl) previous.getPartition(partition.getPartitionId())
+                : null;
+            if (previousPartition != null) {
+                previousPartition.update(partition);
+                partitions.put(partition.getPartitionId(), previousPartition);
+            } else {
+                partitions.put(partition.getPartitionId(), new PartitionImpl(partition, channelRegistry, sessionRegistry));
+            }
         });
-        Collections.sort(partitionIds);
+        this.partitions = partitions.build();
+        this.partitionIds = ImmutableList.sortedCopyOf(this.partitions.keySet());
+        this.partitionTable = PartitionTable.of(partitionIds);
+    }
+
+    /**
+     * Returns the group metadata from which the group was created.
+     *
+     * @return the partition group metadata
+     */
+    io.atomix.api.controller.PartitionGroup descriptor() {
+        return group;
     }
 
     @Override
@@ -58,6 +94,11 @@ public class PartitionGroupImpl implements PartitionGroup {
         return partitionIds;
     }
 
+    @Override
+    public PartitionTable getPartitionTable() {
+        return partitionTable;
+    }
+
     @Override
     public Collection<Partition> getPartitions() {
         return partitions.values();
@@ -15,19 +15,58 @@
  */
 package io.atomix.client.partition.impl;
 
+import java.time.Duration;
+
 import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.impl.PartitionSession;
+import io.atomix.client.impl.PartitionSessionProvider;
+import io.atomix.client.impl.PartitionSessionRegistry;
+import io.atomix.client.metrics.MetricsRegistry;
 import io.atomix.client.partition.Partition;
 
 /**
  * Partition implementation.
+ * <p>
+ * Partitions are kept across changes to their metadata. When the partition's endpoints change, the channels created
+ * by its channel factory are moved to the new endpoints, so primitives and sessions already using the partition follow
+ * it. Sessions are acquired with the metadata from which the partition was created, so the partition's primitives
+ * keep sharing a single session across endpoint changes.
  */
-public class PartitionImpl implements Partition {
+public class PartitionImpl implements Partition, PartitionSessionProvider {
     private final io.atomix.api.controller.Partition partition;
-    private final ChannelFactory channelFactory;
+    private final PartitionChannelFactory channelFactory;
+    private final PartitionSessionRegistry sessionRegistry;
+    private volatile io.atomix.api.controller.Partition descriptor;
 
-    public PartitionImpl(io.atomix.api.controller.Partition partition) {
+    public PartitionImpl(
+        io.atomix.api.controller.Partition partition,
+        PartitionChannelRegistry channelRegistry,
+        PartitionSessionRegistry sessionRegistry) {
         this.partition = partition;
-        this.channelFactory = new PartitionChannelFactory(partition);
+        this.descriptor = partition;
+        this.channelFactory = new PartitionChannelFactory(partition, channelRegistry);
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * Returns the partition metadata from which the partition was created.
+     *
+     * @return the partition metadata
+     */
+    io.atomix.api.controller.Partition descriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Updates the partition metadata.
+     *
+     * @param descriptor the updated partition metadata
+     */
+    synchronized void update(io.atomix.api.controller.Partition descriptor) {
+        if (!descriptor.getEndpointsList().equals(this.descriptor.getEndpointsList())) {
+            channelFactory.update(descriptor);
+        }
+        this.descriptor = descriptor;
     }
 
     @Override
@@ -39,4 +78,19 @@ public class PartitionImpl implements Partition {
     public ChannelFactory getChannelFactory() {
         return channelFactory;
     }
+
+    @Override
+    public PartitionSession getSession(Duration timeout) {
+        return sessionRegistry.acquire(partition, channelFactory, timeout);
+    }
+
+    @Override
+    public PartitionSession newSession(Duration timeout) {
+        return sessionRegistry.create(partition, channelFactory, timeout);
+    }
+
+    @Override
+    public MetricsRegistry getMetricsRegistry() {
+        return sessionRegistry.getMetricsRegistry();
+    }
 }
@@ -15,7 +15,10 @@
  */
 package io.atomix.client.partition.impl;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import io.atomix.api.controller.ControllerServiceGrpc;
@@ -23,22 +26,97 @@ import io.atomix.api.controller.GetPartitionGroupsRequest;
 import io.atomix.api.controller.GetPartitionGroupsResponse;
 import io.atomix.api.controller.PartitionGroupId;
 import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.impl.PartitionSessionRegistry;
 import io.atomix.client.partition.PartitionGroup;
 import io.atomix.client.partition.PartitionService;
+import io.atomix.client.utils.concurrent.Scheduled;
+import io.atomix.client.utils.concurrent.ThreadContext;
 import io.grpc.stub.StreamObserver;
 
 /**
  * Partition service implementation.
+ * <p>
+ * Partition groups are cached for the lifetime of the client, so every primitive built on a group shares the same
+ * {@link PartitionGroup} and {@link io.atomix.client.partition.Partition} instances. Concurrent lookups of a group that
+ * is not yet cached share a single controller request. When constructed with a refresh interval, cached groups are
+ * periodically reloaded from the controller, and a group is replaced only when its metadata has changed. Replacement
+ * groups keep the existing partitions, which move their open channels to any new endpoints.
  */
 public class PartitionServiceImpl implements PartitionService {
     private final ControllerServiceGrpc.ControllerServiceStub service;
+    private final PartitionChannelRegistry channelRegistry;
+    private final PartitionSessionRegistry sessionRegistry;
+    private final Map<PartitionGroupId, CompletableFuture<PartitionGroup>> groups = new ConcurrentHashMap<>();
+    private final Scheduled refreshTimer;
 
-    public PartitionServiceImpl(ChannelFactory channelFactory) {
+    public PartitionServiceImpl(
+        ChannelFactory channelFactory,
+        PartitionChannelRegistry channelRegistry,
+        PartitionSessionRegistry sessionRegistry) {
+        this(channelFactory, channelRegistry, sessionRegistry, null, null);
+    }
+
+    public PartitionServiceImpl(
+        ChannelFactory channelFactory,
+        PartitionChannelRegistry channelRegistry,
+        PartitionSessionRegistry sessionRegistry,
+        ThreadContext context,
+        Duration refreshInterval) {
         this.service = ControllerServiceGrpc.newStub(channelFactory.getChannel());
+        this.channelRegistry = channelRegistry;
+        this.sessionRegistry = sessionRegistry;
+        this.refreshTimer = refreshInterval != null ? context.schedule(refreshInterval, refreshInterval, this::refresh) : null;
     }
 
     @Override
     public CompletableFuture<PartitionGroup> getPartitionGroup(PartitionGroupId id) {
+        CompletableFuture<PartitionGroup> future = groups.get(id);
+        if (future != null) {
+            return future;
+        }
+        future = new CompletableFuture<>();
+        CompletableFuture<PartitionGroup> existing = groups.putIfAbsent(id, future);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<PartitionGroup> loadFuture = future;
+        load(id, null).whenComplete((group, error) -> {
+            if (error != null || group == null) {
+                groups.remove(id, loadFuture);
+            }
+            if (error != null) {
+                loadFuture.completeExceptionally(error);
+            } else {
+                loadFuture.complete(group);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Reloads all cached partition groups from the controller.
+     */
+    private void refresh() {
+        groups.forEach((id, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                PartitionGroupImpl current = (PartitionGroupImpl) future.join();
+                load(id, current).thenAccept(group -> {
+                    if (group != null && group != current) {
+                        groups.replace(id, future, CompletableFuture.completedFuture(group));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Loads a partition group from the controller.
+     *
+     * @param id      the partition group ID
+     * @param current the currently cached group, or {@code null} if the group is not cached
+     * @return a future to be completed with the group, or {@code null} if the group does not exist
+     */
+    private CompletableFuture<PartitionGroup> load(PartitionGroupId id, PartitionGroupImpl current) {
         return this.<GetPartitionGroupsResponse>execute(observer ->
             service.getPartitionGroups(GetPartitionGroupsRequest.newBuilder()
                 .setId(id)
@@ -47,10 +125,24 @@ public class PartitionServiceImpl implements PartitionService {
                 if (response.getGroupsList().isEmpty()) {
                     return null;
                 }
-                return new PartitionGroupImpl(response.getGroups(0));
+                io.atomix.api.controller.PartitionGroup group = response.getGroups(0);
+                if (current != null && current.descriptor().equals(group)) {
+                    return current;
+                }
+                return new PartitionGroupImpl(group, channelRegistry, sessionRegistry, current);
             });
     }
 
+    /**
+     * Closes the partition service.
+     */
+    public void close() {
+        if (refreshTimer != null) {
+            refreshTimer.cancel();
+        }
+        groups.clear();
+    }
+
     private <T> CompletableFuture<T> execute(Consumer<StreamObserver<T>> callback) {
         CompletableFuture<T> future = new CompletableFuture<>();
         callback.accept(new StreamObserver<T>() {
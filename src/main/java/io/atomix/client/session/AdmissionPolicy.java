@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.session;
+
+/**
+ * Policy applied to operations submitted while a primitive's admission queue is full.
+ * <p>
+ * When client flow control is enabled, operations in excess of the in-flight limits wait in a bounded admission queue
+ * until earlier operations have completed. The admission policy determines what happens to an operation submitted
+ * once that queue is full. Operations submitted from an Atomix thread are never blocked, and are queued beyond the
+ * bound instead.
+ */
+public enum AdmissionPolicy {
+
+    /**
+     * Blocks the submitting thread until there's space in the admission queue.
+     */
+    BLOCK,
+
+    /**
+     * Fails the operation with {@link io.atomix.client.PrimitiveException.Unavailable}.
+     */
+    FAIL,
+
+    /**
+     * Queues the operation beyond the bound and makes the submitting thread wait for the operation to complete, so
+     * each producer thread is throttled to the rate at which the partition completes its operations.
+     */
+    CALLER_RUNS,
+
+}
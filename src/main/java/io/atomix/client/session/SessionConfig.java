@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.session;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Partition session configuration.
+ */
+public class SessionConfig {
+    private static final int DEFAULT_RETRY_BUDGET_TOKENS = 100;
+    private static final double DEFAULT_RETRY_BUDGET_RATIO = .1;
+    private static final Duration DEFAULT_MIN_HEDGING_DELAY = Duration.ofMillis(1);
+    private static final int DEFAULT_MAX_QUEUED_OPERATIONS = 1024;
+
+    private int retryBudgetTokens = DEFAULT_RETRY_BUDGET_TOKENS;
+    private double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+    private double hedgingPercentile;
+    private Duration minHedgingDelay = DEFAULT_MIN_HEDGING_DELAY;
+    private int maxInFlightPerSession;
+    private int maxInFlightPerPartition;
+    private int maxQueuedOperations = DEFAULT_MAX_QUEUED_OPERATIONS;
+    private AdmissionPolicy admissionPolicy = AdmissionPolicy.BLOCK;
+
+    /**
+     * Returns the maximum number of retries a partition's retry budget can hold.
+     *
+     * @return the maximum number of retry tokens per partition
+     */
+    public int getRetryBudgetTokens() {
+        return retryBudgetTokens;
+    }
+
+    /**
+     * Sets the maximum number of retries a partition's retry budget can hold.
+     *
+     * @param retryBudgetTokens the maximum number of retry tokens per partition
+     * @return the session configuration
+     */
+    public SessionConfig setRetryBudgetTokens(int retryBudgetTokens) {
+        checkArgument(retryBudgetTokens > 0, "retryBudgetTokens must be positive");
+        this.retryBudgetTokens = retryBudgetTokens;
+        return this;
+    }
+
+    /**
+     * Returns the number of retry tokens returned to a partition's retry budget by each successful operation.
+     *
+     * @return the number of retry tokens earned per successful operation
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * Sets the number of retry tokens returned to a partition's retry budget by each successful operation.
+     *
+     * @param retryBudgetRatio the number of retry tokens earned per successful operation
+     * @return the session configuration
+     */
+    public SessionConfig setRetryBudgetRatio(double retryBudgetRatio) {
+        checkArgument(retryBudgetRatio >= 0, "retryBudgetRatio cannot be negative");
+        this.retryBudgetRatio = retryBudgetRatio;
+        return this;
+    }
+
+    /**
+     * Returns whether query hedging is enabled.
+     *
+     * @return indicates whether query hedging is enabled
+     */
+    public boolean isQueryHedgingEnabled() {
+        return hedgingPercentile > 0;
+    }
+
+    /**
+     * Returns the percentile of recent query latencies after which a query is hedged.
+     *
+     * @return the query hedging percentile
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Sets the percentile of recent query latencies after which a query is hedged.
+     * <p>
+     * A percentile of zero disables query hedging.
+     *
+     * @param hedgingPercentile the query hedging percentile, between {@code 0} and {@code 1}
+     * @return the session configuration
+     */
+    public SessionConfig setHedgingPercentile(double hedgingPercentile) {
+        checkArgument(hedgingPercentile >= 0 && hedgingPercentile < 1, "hedgingPercentile must be in [0, 1)");
+        this.hedgingPercentile = hedgingPercentile;
+        return this;
+    }
+
+    /**
+     * Returns the minimum delay after which a query is hedged.
+     *
+     * @return the minimum query hedging delay
+     */
+    public Duration getMinHedgingDelay() {
+        return minHedgingDelay;
+    }
+
+    /**
+     * Sets the minimum delay after which a query is hedged.
+     *
+     * @param minHedgingDelay the minimum query hedging delay
+     * @return the session configuration
+     */
+    public SessionConfig setMinHedgingDelay(Duration minHedgingDelay) {
+        checkNotNull(minHedgingDelay, "minHedgingDelay cannot be null");
+        checkArgument(!minHedgingDelay.isNegative(), "minHedgingDelay cannot be negative");
+        this.minHedgingDelay = minHedgingDelay;
+        return this;
+    }
+
+    /**
+     * Returns whether client flow control is enabled.
+     *
+     * @return indicates whether the number of in-flight operations is limited
+     */
+    public boolean isFlowControlEnabled() {
+        return maxInFlightPerSession > 0 || maxInFlightPerPartition > 0;
+    }
+
+    /**
+     * Returns the maximum number of in-flight operations per primitive session.
+     *
+     * @return the maximum number of in-flight operations per primitive session, or {@code 0} if unlimited
+     */
+    public int getMaxInFlightPerSession() {
+        return maxInFlightPerSession;
+    }
+
+    /**
+     * Sets the maximum number of in-flight operations per primitive session.
+     *
+     * @param maxInFlightPerSession the maximum number of in-flight operations per primitive session, or {@code 0}
+     *                              for no limit
+     * @return the session configuration
+     */
+    public SessionConfig setMaxInFlightPerSession(int maxInFlightPerSession) {
+        checkArgument(maxInFlightPerSession >= 0, "maxInFlightPerSession cannot be negative");
+        this.maxInFlightPerSession = maxInFlightPerSession;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of in-flight operations per partition.
+     *
+     * @return the maximum number of in-flight operations per partition, or {@code 0} if unlimited
+     */
+    public int getMaxInFlightPerPartition() {
+        return maxInFlightPerPartition;
+    }
+
+    /**
+     * Sets the maximum number of in-flight operations per partition.
+     *
+     * @param maxInFlightPerPartition the maximum number of in-flight operations per partition, or {@code 0} for no
+     *                                limit
+     * @return the session configuration
+     */
+    public SessionConfig setMaxInFlightPerPartition(int maxInFlightPerPartition) {
+        checkArgument(maxInFlightPerPartition >= 0, "maxInFlightPerPartition cannot be negative");
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of operations waiting to be admitted per primitive session.
+     *
+     * @return the admission queue capacity
+     */
+    public int getMaxQueuedOperations() {
+        return maxQueuedOperations;
+    }
+
+    /**
+     * Sets the maximum number of operations waiting to be admitted per primitive session.
+     *
+     * @param maxQueuedOperations the admission queue capacity
+     * @return the session configuration
+     */
+    public SessionConfig setMaxQueuedOperations(int maxQueuedOperations) {
+        checkArgument(maxQueuedOperations >= 0, "maxQueuedOperations cannot be negative");
+        this.maxQueuedOperations = maxQueuedOperations;
+        return this;
+    }
+
+    /**
+     * Returns the policy applied to operations submitted while the admission queue is full.
+     *
+     * @return the admission policy
+     */
+    public AdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Sets the policy applied to operations submitted while the admission queue is full.
+     *
+     * @param admissionPolicy the admission policy
+     * @return the session configuration
+     */
+    public SessionConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy) {
+        this.admissionPolicy = checkNotNull(admissionPolicy, "admissionPolicy cannot be null");
+        return this;
+    }
+}
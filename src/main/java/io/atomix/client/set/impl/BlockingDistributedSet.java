@@ -142,6 +142,7 @@ public class BlockingDistributedSet<E> extends Synchronous<AsyncDistributedSet<E
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             if (e.getCause() instanceof PrimitiveException) {
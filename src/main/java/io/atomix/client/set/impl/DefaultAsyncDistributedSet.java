@@ -17,6 +17,8 @@ package io.atomix.client.set.impl;
 
 import io.atomix.api.primitive.Name;
 import io.atomix.api.set.*;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.collection.CollectionEvent;
 import io.atomix.client.collection.CollectionEventListener;
 import io.atomix.client.impl.AbstractManagedPrimitive;
@@ -47,8 +49,12 @@ public class DefaultAsyncDistributedSet
     private volatile CompletableFuture<Long> listenFuture;
     private final Map<CollectionEventListener<String>, Executor> eventListeners = new ConcurrentHashMap<>();
 
-    public DefaultAsyncDistributedSet(Name name, Partition partition, ThreadContext context, Duration timeout) {
-        super(name, SetServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context, timeout);
+    public DefaultAsyncDistributedSet(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency) {
+        this(name, partition, context, timeout, retryPolicy, operationTimeout, readConsistency, null);
+    }
+
+    public DefaultAsyncDistributedSet(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency, Duration idleTimeout) {
+        super(name, partition, SetServiceGrpc::newStub, context, timeout, retryPolicy, operationTimeout, readConsistency, idleTimeout);
     }
 
     @Override
@@ -214,13 +220,6 @@ public class DefaultAsyncDistributedSet
             .thenApply(response -> response.getHeader().getSessionId());
     }
 
-    @Override
-    protected CompletableFuture<Boolean> keepAlive() {
-        return this.<KeepAliveResponse>session((header, observer) -> getService().keepAlive(KeepAliveRequest.newBuilder()
-            .build(), observer))
-            .thenApply(response -> true);
-    }
-
     @Override
     protected CompletableFuture<Void> close(boolean delete) {
         return this.<CloseResponse>session((header, observer) -> getService().close(CloseRequest.newBuilder()
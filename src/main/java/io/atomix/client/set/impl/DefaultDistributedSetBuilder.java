@@ -16,13 +16,12 @@
 package io.atomix.client.set.impl;
 
 import com.google.common.collect.Maps;
-import com.google.common.io.BaseEncoding;
 import io.atomix.api.primitive.Name;
 import io.atomix.client.PrimitiveManagementService;
 import io.atomix.client.set.AsyncDistributedSet;
 import io.atomix.client.set.DistributedSet;
 import io.atomix.client.set.DistributedSetBuilder;
-import io.atomix.client.utils.serializer.Serializer;
+import io.atomix.client.utils.serializer.KeyCodec;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -45,16 +44,16 @@ public class DefaultDistributedSetBuilder<E> extends DistributedSetBuilder<E> {
             .thenCompose(group -> {
                 Map<Integer, AsyncDistributedSet<String>> partitions = group.getPartitions().stream()
                     .map(partition -> Maps.immutableEntry(partition.id(), new DefaultAsyncDistributedSet(
-                        getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout)))
+                        getName(), partition, managementService.getThreadFactory().createContext(), sessionTimeout, retryPolicy(), operationTimeout(), readConsistency(), sessionIdleTimeout)))
                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                return new PartitionedAsyncDistributedSet(name, partitions, partitioner).connect();
+                return new PartitionedAsyncDistributedSet(name, partitions, keyPartitioner()).connect();
             })
             .thenApply(rawSet -> {
-                Serializer serializer = serializer();
+                KeyCodec<E> keyCodec = keyCodec();
                 return new TranscodingAsyncDistributedSet<E, String>(
                     rawSet,
-                    element -> BaseEncoding.base16().encode(serializer.encode(element)),
-                    string -> serializer.decode(BaseEncoding.base16().decode(string)));
+                    keyCodec::encode,
+                    keyCodec::decode);
             })
             .<AsyncDistributedSet<E>>thenApply(set -> {
                 if (cacheEnabled) {
@@ -68,6 +67,6 @@ public class DefaultDistributedSetBuilder<E> extends DistributedSetBuilder<E> {
                 }
                 return set;
             })
-            .thenApply(AsyncDistributedSet::sync);
+            .thenApply(primitive -> primitive.sync(operationTimeout()));
     }
 }
@@ -16,9 +16,7 @@
 package io.atomix.client.set.impl;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -80,8 +78,7 @@ public class PartitionedAsyncDistributedSet extends PartitionedAsyncPrimitive<As
 
     @Override
     public CompletableFuture<Boolean> addAll(Collection<? extends String> c) {
-        Map<Integer, Collection<String>> partitions = new HashMap<>();
-        c.forEach(key -> partitions.computeIfAbsent(getPartitionId(key), id -> new ArrayList<>()).add(key));
+        Map<Integer, Collection<String>> partitions = getPartitionKeys(c);
         return Futures.allOf(partitions.entrySet().stream()
             .map(entry -> getPartition(entry.getKey()).addAll(entry.getValue())))
             .thenApply(results -> results.reduce(Boolean::logicalOr).orElse(false));
@@ -89,8 +86,7 @@ public class PartitionedAsyncDistributedSet extends PartitionedAsyncPrimitive<As
 
     @Override
     public CompletableFuture<Boolean> containsAll(Collection<? extends String> c) {
-        Map<Integer, Collection<String>> partitions = new HashMap<>();
-        c.forEach(key -> partitions.computeIfAbsent(getPartitionId(key), id -> new ArrayList<>()).add(key));
+        Map<Integer, Collection<String>> partitions = getPartitionKeys(c);
         return Futures.allOf(partitions.entrySet().stream()
             .map(entry -> getPartition(entry.getKey()).containsAll(entry.getValue())))
             .thenApply(results -> results.reduce(Boolean::logicalOr).orElse(false));
@@ -103,8 +99,7 @@ public class PartitionedAsyncDistributedSet extends PartitionedAsyncPrimitive<As
 
     @Override
     public CompletableFuture<Boolean> removeAll(Collection<? extends String> c) {
-        Map<Integer, Collection<String>> partitions = new HashMap<>();
-        c.forEach(key -> partitions.computeIfAbsent(getPartitionId(key), id -> new ArrayList<>()).add(key));
+        Map<Integer, Collection<String>> partitions = getPartitionKeys(c);
         return Futures.allOf(partitions.entrySet().stream()
             .map(entry -> getPartition(entry.getKey()).removeAll(entry.getValue())))
             .thenApply(results -> results.reduce(Boolean::logicalOr).orElse(false));
@@ -25,6 +25,10 @@ public class BlockingAwareThreadPoolContext extends ThreadPoolContext {
         super(parent);
     }
 
+    public BlockingAwareThreadPoolContext(ScheduledExecutorService parent, Scheduler timer) {
+        super(parent, timer);
+    }
+
     @Override
     public void execute(Runnable command) {
         if (isBlocked()) {
@@ -15,6 +15,7 @@
  */
 package io.atomix.client.utils.concurrent;
 
+import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -25,29 +26,42 @@ import static io.atomix.client.utils.concurrent.Threads.namedThreads;
 
 /**
  * Thread pool context factory.
+ * <p>
+ * When the factory is created with a timer resolution, the contexts it creates share a {@link HashedWheelScheduler}
+ * with that tick duration for their timers.
  */
 public class BlockingAwareThreadPoolContextFactory implements ThreadContextFactory {
     private final ScheduledExecutorService executor;
+    private final HashedWheelScheduler timer;
 
     public BlockingAwareThreadPoolContextFactory(String name, int threadPoolSize, Logger logger) {
         this(threadPoolSize, namedThreads(name, logger));
     }
 
+    public BlockingAwareThreadPoolContextFactory(String name, int threadPoolSize, Duration timerResolution, Logger logger) {
+        this.executor = Executors.newScheduledThreadPool(threadPoolSize, namedThreads(name, logger));
+        this.timer = new HashedWheelScheduler(namedThreads(name.replace("%d", "timer-%d"), logger), timerResolution);
+    }
+
     public BlockingAwareThreadPoolContextFactory(int threadPoolSize, ThreadFactory threadFactory) {
         this(Executors.newScheduledThreadPool(threadPoolSize, threadFactory));
     }
 
     public BlockingAwareThreadPoolContextFactory(ScheduledExecutorService executor) {
         this.executor = executor;
+        this.timer = null;
     }
 
     @Override
     public ThreadContext createContext() {
-        return new BlockingAwareThreadPoolContext(executor);
+        return timer != null ? new BlockingAwareThreadPoolContext(executor, timer) : new BlockingAwareThreadPoolContext(executor);
     }
 
     @Override
     public void close() {
         executor.shutdownNow();
+        if (timer != null) {
+            timer.close();
+        }
     }
 }
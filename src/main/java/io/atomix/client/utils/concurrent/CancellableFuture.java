@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link CompletableFuture} that propagates cancellation from the futures derived from it.
+ * <p>
+ * Futures returned by the dependent stage methods of a cancellable future, e.g. {@link #thenApply}, are themselves
+ * cancellable futures, and cancelling any of them cancels the source future as well. Once the source future has been
+ * cancelled, {@link #onCancel()} is called, allowing the operation backing the future to be aborted.
+ */
+public class CancellableFuture<T> extends CompletableFuture<T> {
+    private final CancellableFuture<?> source;
+
+    public CancellableFuture() {
+        this.source = null;
+    }
+
+    private CancellableFuture(CancellableFuture<?> source) {
+        this.source = source;
+    }
+
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new CancellableFuture<>(source != null ? source : this);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (source != null) {
+            source.cancel(mayInterruptIfRunning);
+        } else if (cancelled) {
+            onCancel();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Called once when the source future is cancelled.
+     */
+    protected void onCancel() {
+    }
+}
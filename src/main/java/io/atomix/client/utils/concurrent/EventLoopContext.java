@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.netty.shaded.io.netty.channel.EventLoop;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Event loop context.
+ * <p>
+ * This context executes events on a Netty {@link EventLoop}. When the channels used by a primitive are bound to the
+ * same event loop, requests are written and responses are handled on the context's thread without handing off to
+ * another thread. Events must not block, since blocking the event loop also blocks the transport.
+ * <p>
+ * Timers are scheduled on the event loop unless the context is given a shared {@link Scheduler}, such as a
+ * {@link HashedWheelScheduler}, in which case expired timers are handed off to the event loop.
+ */
+public class EventLoopContext extends AbstractThreadContext {
+    private final EventLoop eventLoop;
+    private final Scheduler timer;
+
+    public EventLoopContext(EventLoop eventLoop) {
+        this(eventLoop, null);
+    }
+
+    /**
+     * Creates a new event loop context.
+     *
+     * @param eventLoop the event loop on which to execute events
+     * @param timer     the scheduler on which to schedule events, or {@code null} to schedule events on the event loop
+     */
+    public EventLoopContext(EventLoop eventLoop, Scheduler timer) {
+        this.eventLoop = checkNotNull(eventLoop, "eventLoop cannot be null");
+        this.timer = timer;
+        eventLoop.execute(() -> ((AtomixThread) Thread.currentThread()).setContext(this));
+    }
+
+    /**
+     * Returns the event loop on which the context executes events.
+     *
+     * @return the context's event loop
+     */
+    public EventLoop eventLoop() {
+        return eventLoop;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        eventLoop.execute(command);
+    }
+
+    @Override
+    public Scheduled schedule(Duration delay, Runnable runnable) {
+        if (timer != null) {
+            return timer.schedule(delay, () -> eventLoop.execute(runnable));
+        }
+        ScheduledFuture<?> future = eventLoop.schedule(runnable, delay.toNanos(), TimeUnit.NANOSECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public Scheduled schedule(Duration delay, Duration interval, Runnable runnable) {
+        if (timer != null) {
+            return timer.schedule(delay, interval, () -> eventLoop.execute(runnable));
+        }
+        ScheduledFuture<?> future = eventLoop.scheduleAtFixedRate(
+            runnable, delay.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public void close() {
+        // The event loop is owned by the context factory.
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.netty.shaded.io.netty.channel.EventLoop;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.util.concurrent.EventExecutor;
+import org.slf4j.Logger;
+
+import static io.atomix.client.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Event loop context factory.
+ * <p>
+ * The factory owns a Netty {@link EventLoopGroup} to be shared with the client's gRPC channels, and creates one
+ * {@link EventLoopContext} per event loop. Contexts are handed out in round-robin order.
+ * <p>
+ * When the factory is created with a timer resolution, the contexts it creates share a {@link HashedWheelScheduler}
+ * with that tick duration for their timers.
+ */
+public class EventLoopContextFactory implements ThreadContextFactory {
+    private final EventLoopGroup eventLoopGroup;
+    private final HashedWheelScheduler timer;
+    private final EventLoopContext[] contexts;
+    private final AtomicInteger nextContext = new AtomicInteger();
+
+    public EventLoopContextFactory(String name, int threadPoolSize, Logger logger) {
+        this(name, threadPoolSize, null, logger);
+    }
+
+    public EventLoopContextFactory(String name, int threadPoolSize, Duration timerResolution, Logger logger) {
+        this.eventLoopGroup = new NioEventLoopGroup(threadPoolSize, namedThreads(name, logger));
+        this.timer = timerResolution != null
+            ? new HashedWheelScheduler(namedThreads(name.replace("%d", "timer-%d"), logger), timerResolution)
+            : null;
+        List<EventLoopContext> contexts = new ArrayList<>(threadPoolSize);
+        for (EventExecutor executor : eventLoopGroup) {
+            contexts.add(new EventLoopContext((EventLoop) executor, timer));
+        }
+        this.contexts = contexts.toArray(new EventLoopContext[0]);
+    }
+
+    /**
+     * Returns the event loop group on which the contexts execute events.
+     *
+     * @return the event loop group
+     */
+    public EventLoopGroup eventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    @Override
+    public ThreadContext createContext() {
+        return contexts[Math.floorMod(nextContext.getAndIncrement(), contexts.length)];
+    }
+
+    @Override
+    public void close() {
+        eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+        if (timer != null) {
+            timer.close();
+        }
+    }
+}
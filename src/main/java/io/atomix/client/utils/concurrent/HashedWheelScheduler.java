@@ -0,0 +1,301 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Hashed wheel scheduler.
+ * <p>
+ * Timers are hashed by their deadline into the buckets of a wheel which is advanced by a single worker thread once per
+ * tick, so scheduling and cancelling a timer are O(1) regardless of the number of pending timers. Timers fire on the
+ * first tick at or after their deadline, so the tick duration bounds the scheduler's resolution. Callbacks are run on
+ * the worker thread and must not block; thread contexts hand their callbacks off to the context.
+ * <p>
+ * New and cancelled timers are passed to the worker through lock-free queues, and the wheel itself is only accessed
+ * by the worker. While the wheel is empty the worker parks until a timer is scheduled rather than waking up on every
+ * tick.
+ */
+public class HashedWheelScheduler implements Scheduler, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelScheduler.class);
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final MpscQueue<Timer> pending = new MpscQueue<>();
+    private final MpscQueue<Timer> cancelled = new MpscQueue<>();
+    private final Thread worker;
+    private volatile boolean closed;
+    private volatile boolean idle;
+    private long tick;
+    private int timers;
+
+    public HashedWheelScheduler(ThreadFactory threadFactory, Duration tickDuration) {
+        this(threadFactory, tickDuration, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    public HashedWheelScheduler(ThreadFactory threadFactory, Duration tickDuration, int ticksPerWheel) {
+        checkNotNull(threadFactory, "threadFactory cannot be null");
+        checkArgument(!tickDuration.isNegative() && !tickDuration.isZero(), "tickDuration must be positive");
+        checkArgument(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30, "ticksPerWheel must be in the range (0, 2^30]");
+        this.tickNanos = tickDuration.toNanos();
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+        this.worker = threadFactory.newThread(this::run);
+        worker.start();
+    }
+
+    @Override
+    public Scheduled schedule(Duration delay, Runnable callback) {
+        return schedule(delay.toNanos(), 0, callback);
+    }
+
+    @Override
+    public Scheduled schedule(Duration initialDelay, Duration interval, Runnable callback) {
+        checkArgument(!interval.isNegative() && !interval.isZero(), "interval must be positive");
+        return schedule(initialDelay.toNanos(), interval.toNanos(), callback);
+    }
+
+    private Scheduled schedule(long delayNanos, long intervalNanos, Runnable callback) {
+        checkNotNull(callback, "callback cannot be null");
+        Timer timer = new Timer(System.nanoTime() - startTime + Math.max(delayNanos, 0), intervalNanos, callback);
+        pending.offer(timer);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timer;
+    }
+
+    /**
+     * Runs the worker loop, advancing the wheel once per tick.
+     */
+    private void run() {
+        while (!closed) {
+            if (timers == 0 && !awaitPending()) {
+                break;
+            }
+            long now = waitForNextTick();
+            if (now < 0) {
+                break;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(now);
+            tick++;
+        }
+    }
+
+    /**
+     * Parks the worker until a timer is scheduled.
+     *
+     * @return indicates whether the scheduler is still open
+     */
+    private boolean awaitPending() {
+        idle = true;
+        while (pending.isEmpty() && !closed) {
+            LockSupport.park(this);
+        }
+        idle = false;
+
+        // No timers were skipped while the wheel was empty, so resume from the current tick.
+        tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+        return !closed;
+    }
+
+    /**
+     * Waits for the end of the current tick.
+     *
+     * @return the time relative to the start time, or {@code -1} if the scheduler was closed
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (;;) {
+            long now = System.nanoTime() - startTime;
+            long sleepNanos = deadline - now;
+            if (sleepNanos <= 0) {
+                return now;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+            if (closed) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Adds new timers to the wheel.
+     */
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timer timer = pending.poll();
+            if (timer == null) {
+                break;
+            }
+            if (timer.state == Timer.PENDING) {
+                add(timer);
+            }
+        }
+    }
+
+    /**
+     * Removes cancelled timers from the wheel.
+     */
+    private void removeCancelled() {
+        Timer timer;
+        while ((timer = cancelled.poll()) != null) {
+            if (timer.bucket != null) {
+                timer.bucket.remove(timer);
+            }
+        }
+    }
+
+    /**
+     * Adds a timer to the bucket for its deadline.
+     */
+    private void add(Timer timer) {
+        long ticks = timer.deadline / tickNanos;
+        timer.rounds = Math.max(ticks - tick, 0) / wheel.length;
+        wheel[(int) (Math.max(ticks, tick) & mask)].add(timer);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Wheel bucket.
+     * <p>
+     * Each bucket is a doubly linked list of timers so that cancelled timers can be removed in constant time.
+     */
+    private final class Bucket {
+        private Timer head;
+        private Timer tail;
+
+        void add(Timer timer) {
+            timers++;
+            timer.bucket = this;
+            if (head == null) {
+                head = tail = timer;
+            } else {
+                tail.next = timer;
+                timer.prev = tail;
+                tail = timer;
+            }
+        }
+
+        void remove(Timer timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            } else {
+                tail = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.bucket = null;
+            timers--;
+        }
+
+        /**
+         * Runs the timers in the bucket that have expired as of the given time.
+         */
+        void expire(long now) {
+            Timer timer = head;
+            while (timer != null) {
+                Timer next = timer.next;
+                if (timer.rounds <= 0 && timer.deadline <= now) {
+                    remove(timer);
+                    timer.expire();
+                    if (timer.interval > 0 && timer.state == Timer.PENDING) {
+                        timer.deadline += timer.interval;
+                        add(timer);
+                    }
+                } else if (timer.rounds > 0) {
+                    timer.rounds--;
+                }
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Scheduled timer.
+     */
+    private final class Timer implements Scheduled {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final long interval;
+        private final Runnable callback;
+        private long deadline;
+        private long rounds;
+        private Bucket bucket;
+        private Timer prev;
+        private Timer next;
+        private volatile int state;
+
+        Timer(long deadline, long interval, Runnable callback) {
+            this.deadline = deadline;
+            this.interval = interval;
+            this.callback = callback;
+        }
+
+        void expire() {
+            if (interval == 0 ? !STATE.compareAndSet(this, PENDING, EXPIRED) : state != PENDING) {
+                return;
+            }
+            try {
+                callback.run();
+            } catch (Throwable t) {
+                LOGGER.warn("An uncaught exception occurred in a scheduled callback", t);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                cancelled.offer(this);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Timer> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Timer.class, "state");
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded lock-free multi-producer single-consumer queue.
+ * <p>
+ * This is an intrusive linked queue in the style of JCTools' {@code MpscLinkedQueue}: producers append nodes by
+ * atomically swapping the tail and then linking the previous tail to the new node, and the single consumer follows
+ * the links from the head. Elements offered by a single producer are polled in the order in which they were offered.
+ *
+ * @param <E> the element type
+ */
+final class MpscQueue<E> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MpscQueue, Node> TAIL =
+        AtomicReferenceFieldUpdater.newUpdater(MpscQueue.class, Node.class, "tail");
+
+    private Node<E> head;
+    private volatile Node<E> tail;
+
+    MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = stub;
+    }
+
+    /**
+     * Adds an element to the tail of the queue. This method may be called by any thread.
+     *
+     * @param element the element to add
+     */
+    @SuppressWarnings("unchecked")
+    void offer(E element) {
+        Node<E> node = new Node<>(element);
+        Node<E> previous = TAIL.getAndSet(this, node);
+        previous.next = node;
+    }
+
+    /**
+     * Removes the element at the head of the queue. This method may only be called by the consumer.
+     *
+     * @return the element at the head of the queue, or {@code null} if the queue is empty
+     */
+    E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            if (head == tail) {
+                return null;
+            }
+            // A producer has swapped the tail but not yet linked its node.
+            while ((next = head.next) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        E element = next.element;
+        next.element = null;
+        head = next;
+        return element;
+    }
+
+    /**
+     * Returns whether the queue is empty. This method may only be called by the consumer.
+     *
+     * @return indicates whether the queue is empty
+     */
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Queue node.
+     */
+    private static final class Node<E> {
+        private E element;
+        private volatile Node<E> next;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -94,7 +94,7 @@ public class OrderedFuture<T> extends CompletableFuture<T> {
     }
 
     @Override
-    public synchronized T join() {
+    public T join() {
         ThreadContext context = getThreadContext();
         context.block();
         try {
@@ -43,7 +43,7 @@ public interface ThreadContext extends AutoCloseable, Executor, Scheduler {
      */
     static ThreadContext currentContext() {
         Thread thread = Thread.currentThread();
-        return thread instanceof AtomixThread ? ((AtomixThread) thread).getContext() : null;
+        return thread instanceof AtomixThread ? ((AtomixThread) thread).getContext() : VirtualThreadPoolContext.currentContext();
     }
 
     /**
@@ -16,11 +16,11 @@
 package io.atomix.client.utils.concurrent;
 
 import java.time.Duration;
-import java.util.LinkedList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,24 +33,29 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * This is a special {@link ThreadContext} implementation that schedules events to be executed
  * on a thread pool. Events executed by this context are guaranteed to be executed on order but may be executed on different
  * threads in the provided thread pool.
+ * <p>
+ * Tasks are submitted to a lock-free {@link MpscQueue} and drained by a single runner at a time, which is started by
+ * the submitter that changes the context from idle to running.
+ * <p>
+ * Timers are scheduled on the parent thread pool unless the context is given a shared {@link Scheduler}, such as a
+ * {@link HashedWheelScheduler}, in which case expired timers are handed off to the context.
  *
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class ThreadPoolContext extends AbstractThreadContext {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThreadPoolContext.class);
     protected final ScheduledExecutorService parent;
+    private final Executor runnerExecutor;
+    private final Scheduler timer;
     private final Runnable runner;
-    private final LinkedList<Runnable> tasks = new LinkedList<>();
-    private boolean running;
+    private final MpscQueue<Runnable> tasks = new MpscQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
     private final Executor executor = new Executor() {
         @Override
         public void execute(Runnable command) {
-            synchronized (tasks) {
-                tasks.add(command);
-                if (!running) {
-                    running = true;
-                    parent.execute(runner);
-                }
+            tasks.offer(command);
+            if (!running.get() && running.compareAndSet(false, true)) {
+                runnerExecutor.execute(runner);
             }
         }
     };
@@ -61,20 +66,44 @@ public class ThreadPoolContext extends AbstractThreadContext {
      * @param parent The thread pool on which to execute events.
      */
     public ThreadPoolContext(ScheduledExecutorService parent) {
-        this.parent = checkNotNull(parent, "parent cannot be null");
+        this(parent, checkNotNull(parent, "parent cannot be null"), null);
+    }
+
+    /**
+     * Creates a new thread pool context.
+     *
+     * @param parent The thread pool on which to execute events.
+     * @param timer  The scheduler on which to schedule events.
+     */
+    public ThreadPoolContext(ScheduledExecutorService parent, Scheduler timer) {
+        this(checkNotNull(parent, "parent cannot be null"), parent, checkNotNull(timer, "timer cannot be null"));
+    }
+
+    /**
+     * Creates a new thread pool context.
+     *
+     * @param executor The executor on which to execute events.
+     * @param parent   The thread pool on which to schedule events if no timer is provided.
+     * @param timer    The scheduler on which to schedule events, or {@code null} to schedule events on the parent.
+     */
+    protected ThreadPoolContext(Executor executor, ScheduledExecutorService parent, Scheduler timer) {
+        this.parent = parent;
+        this.runnerExecutor = checkNotNull(executor, "executor cannot be null");
+        this.timer = timer;
 
         // This code was shamelessly stolededed from Vert.x:
         // https://github.com/eclipse/vert.x/blob/master/src/main/java/io/vertx/core/impl/OrderedExecutorFactory.java
         runner = () -> {
-            ((AtomixThread) Thread.currentThread()).setContext(this);
+            bindThread();
             for (; ; ) {
-                final Runnable task;
-                synchronized (tasks) {
-                    task = tasks.poll();
-                    if (task == null) {
-                        running = false;
+                final Runnable task = tasks.poll();
+                if (task == null) {
+                    running.set(false);
+                    // A task may have been submitted after the poll but before the runner was marked idle.
+                    if (tasks.isEmpty() || !running.compareAndSet(false, true)) {
                         return;
                     }
+                    continue;
                 }
 
                 try {
@@ -87,6 +116,13 @@ public class ThreadPoolContext extends AbstractThreadContext {
         };
     }
 
+    /**
+     * Binds the current thread to this context.
+     */
+    protected void bindThread() {
+        ((AtomixThread) Thread.currentThread()).setContext(this);
+    }
+
     @Override
     public void execute(Runnable command) {
         executor.execute(command);
@@ -94,12 +130,18 @@ public class ThreadPoolContext extends AbstractThreadContext {
 
     @Override
     public Scheduled schedule(Duration delay, Runnable runnable) {
+        if (timer != null) {
+            return timer.schedule(delay, () -> executor.execute(runnable));
+        }
         ScheduledFuture<?> future = parent.schedule(() -> executor.execute(runnable), delay.toMillis(), TimeUnit.MILLISECONDS);
         return () -> future.cancel(false);
     }
 
     @Override
     public Scheduled schedule(Duration delay, Duration interval, Runnable runnable) {
+        if (timer != null) {
+            return timer.schedule(delay, interval, () -> executor.execute(runnable));
+        }
         ScheduledFuture<?> future = parent.scheduleAtFixedRate(() -> executor.execute(runnable), delay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
         return () -> future.cancel(false);
     }
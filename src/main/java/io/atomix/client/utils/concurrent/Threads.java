@@ -39,4 +39,16 @@ public final class Threads {
             .setUncaughtExceptionHandler((t, e) -> log.error("Uncaught exception on " + t.getName(), e))
             .build();
     }
+
+    /**
+     * Returns whether the given thread is a virtual thread.
+     * <p>
+     * Virtual threads are only supported on Java 21 and later, so this always returns {@code false} on earlier JVMs.
+     *
+     * @param thread the thread to check
+     * @return indicates whether the thread is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        return VirtualThreads.isVirtual(thread);
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Virtual thread pool context.
+ * <p>
+ * This context executes events in order on virtual threads, so tasks and callbacks running in the context may block
+ * without tying up a platform thread. Blocking is cheap on virtual threads, so the context is never marked blocked.
+ * Virtual threads can't be {@link AtomixThread}s, so the context of the current virtual thread is tracked in a
+ * thread local instead.
+ */
+public class VirtualThreadPoolContext extends ThreadPoolContext {
+    private static final ThreadLocal<ThreadContext> CURRENT_CONTEXT = new ThreadLocal<>();
+    private static volatile boolean enabled;
+
+    /**
+     * Returns the context of the current virtual thread.
+     *
+     * @return the current thread context or {@code null} if no context exists
+     */
+    static ThreadContext currentContext() {
+        return enabled ? CURRENT_CONTEXT.get() : null;
+    }
+
+    /**
+     * Creates a new virtual thread pool context.
+     *
+     * @param executor The executor on which to start virtual threads.
+     * @param timer    The scheduler on which to schedule events.
+     */
+    public VirtualThreadPoolContext(Executor executor, Scheduler timer) {
+        super(executor, null, checkNotNull(timer, "timer cannot be null"));
+        enabled = true;
+    }
+
+    @Override
+    protected void bindThread() {
+        CURRENT_CONTEXT.set(this);
+    }
+
+    @Override
+    public boolean isBlocked() {
+        return false;
+    }
+
+    @Override
+    public void block() {
+        // Blocking virtual threads doesn't block the context's executor.
+    }
+
+    @Override
+    public void unblock() {
+    }
+}
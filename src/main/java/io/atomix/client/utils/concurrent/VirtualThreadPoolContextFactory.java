@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.atomix.client.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Virtual thread pool context factory.
+ * <p>
+ * Contexts created by this factory run their events on virtual threads, and share a {@link HashedWheelScheduler}
+ * running on a single platform thread for timers. Virtual threads require Java 21 or later, and creating the factory
+ * on an earlier JVM fails with an {@link IllegalStateException}.
+ */
+public class VirtualThreadPoolContextFactory implements ThreadContextFactory {
+    private final ExecutorService executor;
+    private final HashedWheelScheduler timer;
+
+    public VirtualThreadPoolContextFactory(String name, Duration timerResolution, Logger logger) {
+        checkState(isSupported(), "virtual threads require Java 21 or later");
+        this.executor = VirtualThreads.newThreadPerTaskExecutor(name);
+        this.timer = new HashedWheelScheduler(namedThreads(name + "-timer-%d", logger), timerResolution);
+    }
+
+    /**
+     * Returns whether virtual threads are supported by the running JVM.
+     *
+     * @return indicates whether virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    @Override
+    public ThreadContext createContext() {
+        return new VirtualThreadPoolContext(executor, timer);
+    }
+
+    @Override
+    public void close() {
+        timer.close();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual thread support.
+ * <p>
+ * Virtual threads are only available on Java 21 and later, where this class is replaced by the version in the
+ * multi-release jar's {@code META-INF/versions/21} directory. Callers must check {@link #isSupported()} before
+ * creating a virtual thread executor.
+ */
+final class VirtualThreads {
+
+    /**
+     * Returns whether virtual threads are supported by the running JVM.
+     *
+     * @return indicates whether virtual threads are supported
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Returns whether the given thread is a virtual thread.
+     *
+     * @param thread the thread to check
+     * @return indicates whether the thread is a virtual thread
+     */
+    static boolean isVirtual(Thread thread) {
+        return false;
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread.
+     * <p>
+     * This is only called once {@link #isSupported()} has been checked, so it's never reached on this version.
+     *
+     * @param name the virtual thread name prefix
+     * @return the virtual thread executor
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        throw new AssertionError("virtual threads are not supported");
+    }
+
+    private VirtualThreads() {
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import com.google.common.io.BaseEncoding;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Key codec that encodes serialized keys as base16 strings.
+ *
+ * @param <K> the key type
+ */
+public class Base16KeyCodec<K> implements KeyCodec<K> {
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Returns a view of the base16 encoding of the given bytes.
+     * <p>
+     * Hashing the view routes raw keys the same way as their base16 encoded strings without allocating the strings.
+     *
+     * @param bytes the bytes to encode
+     * @return the base16 encoded characters
+     */
+    public static CharSequence encodeChars(byte[] bytes) {
+        return new Base16Chars(bytes, 0, bytes.length * 2);
+    }
+
+    private final Serializer serializer;
+
+    public Base16KeyCodec(Serializer serializer) {
+        this.serializer = checkNotNull(serializer, "serializer cannot be null");
+    }
+
+    @Override
+    public String encode(K key) {
+        if (serializer instanceof BufferSerializer) {
+            return ((BufferSerializer) serializer).encode(key, buffer ->
+                BaseEncoding.base16().encode(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+        }
+        return BaseEncoding.base16().encode(serializer.encode(key));
+    }
+
+    @Override
+    public K decode(String key) {
+        return serializer.decode(BaseEncoding.base16().decode(key));
+    }
+
+    /**
+     * Base16 encoded view of a byte array.
+     */
+    private static final class Base16Chars implements CharSequence {
+        private final byte[] bytes;
+        private final int start;
+        private final int end;
+
+        Base16Chars(byte[] bytes, int start, int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            int position = start + index;
+            int b = bytes[position >> 1];
+            return DIGITS[(position & 1) == 0 ? (b >> 4) & 0xf : b & 0xf];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Base16Chars(bytes, this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(length()).append(this).toString();
+        }
+    }
+}
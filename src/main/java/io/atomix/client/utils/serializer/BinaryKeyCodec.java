@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Key codec that encodes each byte of a serialized key as a single character.
+ * <p>
+ * Encoded keys are ISO-8859-1 strings, so they're stored in one byte per character by JVMs with compact strings and
+ * take between one and two bytes per key byte in UTF-8 on the wire, compared to two for base16.
+ *
+ * @param <K> the key type
+ */
+public class BinaryKeyCodec<K> implements KeyCodec<K> {
+
+    /**
+     * Encodes the given bytes as a key.
+     *
+     * @param bytes the bytes to encode
+     * @return the encoded key
+     */
+    public static String encodeBytes(byte[] bytes) {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encodes the remaining bytes of the given heap buffer as a key.
+     *
+     * @param buffer the buffer to encode
+     * @return the encoded key
+     */
+    public static String encodeBytes(ByteBuffer buffer) {
+        return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Decodes the bytes of the given key.
+     *
+     * @param key the key to decode
+     * @return the decoded bytes
+     */
+    public static byte[] decodeBytes(String key) {
+        return key.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private final Serializer serializer;
+
+    public BinaryKeyCodec(Serializer serializer) {
+        this.serializer = checkNotNull(serializer, "serializer cannot be null");
+    }
+
+    @Override
+    public String encode(K key) {
+        if (serializer instanceof BufferSerializer) {
+            return ((BufferSerializer) serializer).encode(key, BinaryKeyCodec::encodeBytes);
+        }
+        return encodeBytes(serializer.encode(key));
+    }
+
+    @Override
+    public K decode(String key) {
+        return serializer.decode(decodeBytes(key));
+    }
+}
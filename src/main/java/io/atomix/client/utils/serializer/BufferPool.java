@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import io.atomix.client.utils.concurrent.Threads;
+
+/**
+ * Per-thread pool of the buffers into which {@link BufferSerializer}s encode objects.
+ */
+final class BufferPool {
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<>();
+
+    /**
+     * Encodes the given object into a pooled buffer and applies the given function to the encoded bytes.
+     * <p>
+     * The buffer is doubled in size until the object fits. The buffer is removed from the pool while in use, so objects
+     * that encode nested objects with another buffer serializer get a buffer of their own. Buffers larger than
+     * {@link #MAX_POOLED_CAPACITY} are not returned to the pool. Virtual threads are short-lived and numerous, so a
+     * per-thread buffer would rarely be reused; they encode into a fresh buffer instead.
+     *
+     * @param serializer the serializer with which to encode the object
+     * @param object     the object to encode
+     * @param function   the function to apply to the flipped buffer
+     * @param <T>        the object type
+     * @param <R>        the result type
+     * @return the result of the function
+     */
+    static <T, R> R encode(BufferSerializer serializer, T object, Function<ByteBuffer, R> function) {
+        boolean pooled = !Threads.isVirtual(Thread.currentThread());
+        ByteBuffer buffer = pooled ? BUFFERS.get() : null;
+        if (buffer != null) {
+            BUFFERS.set(null);
+        } else {
+            buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        }
+        try {
+            for (;;) {
+                buffer.clear();
+                try {
+                    serializer.encode(object, buffer);
+                    break;
+                } catch (BufferOverflowException e) {
+                    buffer = ByteBuffer.allocate(Math.multiplyExact(buffer.capacity(), 2));
+                }
+            }
+            buffer.flip();
+            return function.apply(buffer);
+        } finally {
+            if (pooled && buffer.capacity() <= MAX_POOLED_CAPACITY) {
+                BUFFERS.set(buffer);
+            }
+        }
+    }
+
+    private BufferPool() {
+    }
+}
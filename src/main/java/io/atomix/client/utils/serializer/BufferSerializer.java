@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Serializer that encodes into and decodes from {@link ByteBuffer}s.
+ * <p>
+ * Buffer serializers decode directly from views of received values rather than from copies of them. Values encoded
+ * through {@link #encode(Object)} are written to a pooled per-thread buffer and copied once into an array of the exact
+ * encoded size, so implementations need not know the encoded size of an object up front.
+ */
+public interface BufferSerializer extends Serializer {
+
+    /**
+     * Encodes the given object into the given buffer.
+     * <p>
+     * The object is written at the buffer's position, and the position is advanced past the encoded bytes.
+     *
+     * @param object the object to encode
+     * @param buffer the buffer into which to encode the object
+     * @param <T>    encoded type
+     * @throws java.nio.BufferOverflowException if the buffer has insufficient space for the object
+     */
+    <T> void encode(T object, ByteBuffer buffer);
+
+    /**
+     * Decodes an object from the remaining bytes of the given buffer.
+     * <p>
+     * The buffer may be a read-only view of a received value, and must not be retained by the decoded object.
+     *
+     * @param buffer the buffer from which to decode the object
+     * @param <T>    decoded type
+     * @return the decoded object
+     */
+    <T> T decode(ByteBuffer buffer);
+
+    /**
+     * Encodes the given object into a pooled buffer and applies the given function to the encoded bytes.
+     * <p>
+     * The function is passed a heap buffer whose remaining bytes are the encoded object. The buffer is only valid until
+     * the function returns, so the function must copy any bytes it needs to retain.
+     *
+     * @param object   the object to encode
+     * @param function the function to apply to the encoded bytes
+     * @param <T>      encoded type
+     * @param <R>      result type
+     * @return the result of the function
+     */
+    default <T, R> R encode(T object, Function<ByteBuffer, R> function) {
+        return BufferPool.encode(this, object, function);
+    }
+
+    @Override
+    default <T> byte[] encode(T object) {
+        return encode(object, buffer -> Arrays.copyOf(buffer.array(), buffer.limit()));
+    }
+
+    @Override
+    default <T> T decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+/**
+ * Key codec that passes string keys through unchanged.
+ * <p>
+ * Keys that are not strings are serialized and encoded with {@link BinaryKeyCodec}, prefixed with a {@code NUL}
+ * character to distinguish them from string keys. String keys that begin with {@code NUL} are encoded the same way.
+ * The serializer is only required for keys that are not strings.
+ *
+ * @param <K> the key type
+ */
+public class CompactKeyCodec<K> implements KeyCodec<K> {
+    private static final char BINARY_PREFIX = '\0';
+
+    private final Serializer serializer;
+
+    public CompactKeyCodec(Serializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public String encode(K key) {
+        if (key instanceof String) {
+            String string = (String) key;
+            if (string.isEmpty() || string.charAt(0) != BINARY_PREFIX) {
+                return string;
+            }
+        }
+        if (serializer instanceof BufferSerializer) {
+            return BINARY_PREFIX + ((BufferSerializer) serializer).<K, String>encode(key, BinaryKeyCodec::encodeBytes);
+        }
+        return BINARY_PREFIX + BinaryKeyCodec.encodeBytes(serializer.encode(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K decode(String key) {
+        if (key.isEmpty() || key.charAt(0) != BINARY_PREFIX) {
+            return (K) key;
+        }
+        return serializer.decode(BinaryKeyCodec.decodeBytes(key.substring(1)));
+    }
+}
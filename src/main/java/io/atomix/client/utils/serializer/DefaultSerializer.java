@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.Utf8;
+
+/**
+ * Serializer for strings, boxed primitives and byte arrays.
+ * <p>
+ * Each value is encoded as a one byte type tag followed by the value: strings in UTF-8, numbers in big-endian order and
+ * byte arrays as is. Values are encoded into arrays of their exact size without reflection. Other types are rejected
+ * with an {@link IllegalArgumentException}.
+ */
+public class DefaultSerializer implements BufferSerializer {
+    private static final byte STRING = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte SHORT = 3;
+    private static final byte BYTE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte CHARACTER = 8;
+    private static final byte BYTES = 9;
+
+    @Override
+    public <T> byte[] encode(T object) {
+        byte[] bytes = new byte[encodedSize(object)];
+        encode(object, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Returns the encoded size of the given object.
+     */
+    private static int encodedSize(Object object) {
+        if (object instanceof String) {
+            return 1 + Utf8.encodedLength((String) object);
+        } else if (object instanceof Long || object instanceof Double) {
+            return 1 + Long.BYTES;
+        } else if (object instanceof Integer || object instanceof Float) {
+            return 1 + Integer.BYTES;
+        } else if (object instanceof Short || object instanceof Character) {
+            return 1 + Short.BYTES;
+        } else if (object instanceof Byte || object instanceof Boolean) {
+            return 1 + Byte.BYTES;
+        } else if (object instanceof byte[]) {
+            return 1 + ((byte[]) object).length;
+        }
+        throw unsupported(object);
+    }
+
+    @Override
+    public <T> void encode(T object, ByteBuffer buffer) {
+        if (object instanceof String) {
+            buffer.put(STRING);
+            encodeString((String) object, buffer);
+        } else if (object instanceof Long) {
+            buffer.put(LONG).putLong((Long) object);
+        } else if (object instanceof Integer) {
+            buffer.put(INTEGER).putInt((Integer) object);
+        } else if (object instanceof Short) {
+            buffer.put(SHORT).putShort((Short) object);
+        } else if (object instanceof Byte) {
+            buffer.put(BYTE).put((Byte) object);
+        } else if (object instanceof Boolean) {
+            buffer.put(BOOLEAN).put((byte) ((Boolean) object ? 1 : 0));
+        } else if (object instanceof Double) {
+            buffer.put(DOUBLE).putDouble((Double) object);
+        } else if (object instanceof Float) {
+            buffer.put(FLOAT).putFloat((Float) object);
+        } else if (object instanceof Character) {
+            buffer.put(CHARACTER).putChar((Character) object);
+        } else if (object instanceof byte[]) {
+            buffer.put(BYTES).put((byte[]) object);
+        } else {
+            throw unsupported(object);
+        }
+    }
+
+    /**
+     * Encodes the given string in UTF-8 without an intermediate array.
+     */
+    private static void encodeString(String string, ByteBuffer buffer) {
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                throw new IllegalArgumentException("unpaired surrogate at index " + i);
+            } else {
+                buffer.put((byte) (0xE0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(ByteBuffer buffer) {
+        byte type = buffer.get();
+        switch (type) {
+            case STRING:
+                return (T) decodeString(buffer);
+            case LONG:
+                return (T) (Long) buffer.getLong();
+            case INTEGER:
+                return (T) (Integer) buffer.getInt();
+            case SHORT:
+                return (T) (Short) buffer.getShort();
+            case BYTE:
+                return (T) (Byte) buffer.get();
+            case BOOLEAN:
+                return (T) (Boolean) (buffer.get() != 0);
+            case DOUBLE:
+                return (T) (Double) buffer.getDouble();
+            case FLOAT:
+                return (T) (Float) buffer.getFloat();
+            case CHARACTER:
+                return (T) (Character) buffer.getChar();
+            case BYTES:
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return (T) bytes;
+            default:
+                throw new IllegalArgumentException("unknown type tag " + type);
+        }
+    }
+
+    /**
+     * Decodes a UTF-8 string from the remaining bytes of the given buffer.
+     */
+    private static String decodeString(ByteBuffer buffer) {
+        String string;
+        if (buffer.hasArray()) {
+            string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+            buffer.position(buffer.limit());
+        } else {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return string;
+    }
+
+    private static IllegalArgumentException unsupported(Object object) {
+        return new IllegalArgumentException("unsupported type " + (object != null ? object.getClass().getName() : null));
+    }
+}
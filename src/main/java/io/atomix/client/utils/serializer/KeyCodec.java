@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+/**
+ * Codec for converting primitive keys to and from the strings under which they're stored and partitioned.
+ * <p>
+ * Encoded keys are sent to the cluster and hashed by the primitive's {@link io.atomix.client.partition.Partitioner},
+ * so a codec must encode equal keys to equal strings.
+ *
+ * @param <K> the key type
+ */
+public interface KeyCodec<K> {
+
+    /**
+     * Returns a codec that passes string keys through unchanged and encodes other keys with {@link #binary(Serializer)}.
+     *
+     * @param serializer the serializer with which to encode non-string keys
+     * @param <K>        the key type
+     * @return the compact key codec
+     */
+    static <K> KeyCodec<K> compact(Serializer serializer) {
+        return new CompactKeyCodec<>(serializer);
+    }
+
+    /**
+     * Returns a codec that encodes serialized keys with one character per byte.
+     *
+     * @param serializer the key serializer
+     * @param <K>        the key type
+     * @return the binary key codec
+     */
+    static <K> KeyCodec<K> binary(Serializer serializer) {
+        return new BinaryKeyCodec<>(serializer);
+    }
+
+    /**
+     * Returns a codec that encodes serialized keys as base16 strings.
+     * <p>
+     * This is the default encoding, and the encoding used by earlier versions of the client.
+     *
+     * @param serializer the key serializer
+     * @param <K>        the key type
+     * @return the base16 key codec
+     */
+    static <K> KeyCodec<K> base16(Serializer serializer) {
+        return new Base16KeyCodec<>(serializer);
+    }
+
+    /**
+     * Encodes the given key.
+     *
+     * @param key the key to encode
+     * @return the encoded key
+     */
+    String encode(K key);
+
+    /**
+     * Decodes the given key.
+     *
+     * @param key the key to decode
+     * @return the decoded key
+     */
+    K decode(String key);
+
+}
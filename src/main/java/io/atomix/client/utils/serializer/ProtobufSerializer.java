@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Serializer for protobuf messages of a single type.
+ *
+ * @param <M> the message type
+ */
+public class ProtobufSerializer<M extends MessageLite> implements BufferSerializer {
+    private final Parser<M> parser;
+
+    public ProtobufSerializer(Parser<M> parser) {
+        this.parser = checkNotNull(parser, "parser cannot be null");
+    }
+
+    @Override
+    public <T> byte[] encode(T object) {
+        return ((MessageLite) object).toByteArray();
+    }
+
+    @Override
+    public <T> void encode(T object, ByteBuffer buffer) {
+        MessageLite message = (MessageLite) object;
+        int size = message.getSerializedSize();
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        try {
+            message.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] bytes) {
+        try {
+            return (T) parser.parseFrom(bytes);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(ByteBuffer buffer) {
+        try {
+            return (T) parser.parseFrom(buffer);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
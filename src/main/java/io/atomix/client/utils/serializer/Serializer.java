@@ -21,6 +21,11 @@ package io.atomix.client.utils.serializer;
  */
 public interface Serializer {
 
+    /**
+     * Serializer for strings, boxed primitives and byte arrays.
+     */
+    Serializer DEFAULT = new DefaultSerializer();
+
     /**
      * Serialize the specified object.
      *
@@ -92,6 +92,7 @@ public class BlockingAtomicValue<V> extends Synchronous<AsyncAtomicValue<V>> imp
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             Throwable cause = Throwables.getRootCause(e);
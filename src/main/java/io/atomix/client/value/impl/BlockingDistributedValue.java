@@ -79,6 +79,7 @@ public class BlockingDistributedValue<V> extends Synchronous<AsyncDistributedVal
             Thread.currentThread().interrupt();
             throw new PrimitiveException.Interrupted();
         } catch (TimeoutException e) {
+            future.cancel(false);
             throw new PrimitiveException.Timeout();
         } catch (ExecutionException e) {
             throw new PrimitiveException(e.getCause());
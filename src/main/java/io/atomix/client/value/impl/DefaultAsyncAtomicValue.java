@@ -33,11 +33,11 @@ import io.atomix.api.value.EventRequest;
 import io.atomix.api.value.EventResponse;
 import io.atomix.api.value.GetRequest;
 import io.atomix.api.value.GetResponse;
-import io.atomix.api.value.KeepAliveRequest;
-import io.atomix.api.value.KeepAliveResponse;
 import io.atomix.api.value.SetRequest;
 import io.atomix.api.value.SetResponse;
 import io.atomix.api.value.ValueServiceGrpc;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
 import io.atomix.client.Versioned;
 import io.atomix.client.impl.AbstractManagedPrimitive;
 import io.atomix.client.partition.Partition;
@@ -57,14 +57,16 @@ public class DefaultAsyncAtomicValue
     private volatile CompletableFuture<Long> listenFuture;
     private final Set<AtomicValueEventListener<String>> eventListeners = new CopyOnWriteArraySet<>();
 
-    public DefaultAsyncAtomicValue(Name name, Partition partition, ThreadContext context, Duration timeout) {
-        super(name, ValueServiceGrpc.newStub(partition.getChannelFactory().getChannel()), context, timeout);
+    public DefaultAsyncAtomicValue(Name name, Partition partition, ThreadContext context, Duration timeout, RetryPolicy retryPolicy, Duration operationTimeout, ReadConsistency readConsistency) {
+        super(name, partition, ValueServiceGrpc::newStub, context, timeout, retryPolicy, operationTimeout, readConsistency);
     }
 
     @Override
     public CompletableFuture<Versioned<String>> get() {
         return query(
+            name(),
             (header, observer) -> getService().get(GetRequest.newBuilder()
+                .setHeader(header)
                 .build(), observer),
             GetResponse::getHeader)
             .thenApply(response -> response.getVersion() > 0
@@ -186,13 +188,6 @@ public class DefaultAsyncAtomicValue
             .thenApply(response -> response.getHeader().getSessionId());
     }
 
-    @Override
-    protected CompletableFuture<Boolean> keepAlive() {
-        return this.<KeepAliveResponse>session((header, observer) -> getService().keepAlive(KeepAliveRequest.newBuilder()
-            .build(), observer))
-            .thenApply(response -> true);
-    }
-
     @Override
     protected CompletableFuture<Void> close(boolean delete) {
         return this.<CloseResponse>session((header, observer) -> getService().close(CloseRequest.newBuilder()
@@ -43,7 +43,8 @@ public class DefaultAtomicValueBuilder<V> extends AtomicValueBuilder<V> {
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
                 managementService.getThreadFactory().createContext(),
-                sessionTimeout)
+                sessionTimeout,
+                retryPolicy(), operationTimeout(), readConsistency())
                 .connect()
                 .thenApply(rawValue -> {
                     Serializer serializer = serializer();
@@ -52,6 +53,6 @@ public class DefaultAtomicValueBuilder<V> extends AtomicValueBuilder<V> {
                         value -> BaseEncoding.base16().encode(serializer.encode(value)),
                         string -> serializer.decode(BaseEncoding.base16().decode(string)));
                 })
-                .thenApply(AsyncAtomicValue::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
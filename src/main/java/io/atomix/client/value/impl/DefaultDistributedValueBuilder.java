@@ -43,7 +43,8 @@ public class DefaultDistributedValueBuilder<V> extends DistributedValueBuilder<V
                 getName(),
                 group.getPartition(partitioner.partition(getName().getName(), group.getPartitionIds())),
                 managementService.getThreadFactory().createContext(),
-                sessionTimeout)
+                sessionTimeout,
+                retryPolicy(), operationTimeout(), readConsistency())
                 .connect()
                 .thenApply(rawValue -> {
                     Serializer serializer = serializer();
@@ -53,6 +54,6 @@ public class DefaultDistributedValueBuilder<V> extends DistributedValueBuilder<V
                         string -> serializer.decode(BaseEncoding.base16().decode(string)));
                 })
                 .thenApply(DelegatingAsyncDistributedValue::new)
-                .thenApply(AsyncDistributedValue::sync));
+                .thenApply(primitive -> primitive.sync(operationTimeout())));
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ExponentialBackoffRetryPolicy}.
+ */
+public class ExponentialBackoffRetryPolicyTest {
+
+    @Test
+    public void testRetryDelay() throws Exception {
+        RetryPolicy policy = ExponentialBackoffRetryPolicy.builder()
+            .withMaxAttempts(3)
+            .withBaseDelay(Duration.ofMillis(10))
+            .withMaxDelay(Duration.ofMillis(100))
+            .build();
+        assertEquals(3, policy.getMaxAttempts());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.getRetryDelay(1).toMillis() <= 10);
+            assertTrue(policy.getRetryDelay(3).toMillis() <= 40);
+            assertTrue(policy.getRetryDelay(10).toMillis() <= 100);
+            assertTrue(policy.getRetryDelay(Integer.MAX_VALUE).toMillis() <= 100);
+            assertTrue(policy.getRetryDelay(Integer.MAX_VALUE).toMillis() >= 0);
+        }
+    }
+}
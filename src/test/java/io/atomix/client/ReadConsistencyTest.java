@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link ReadConsistency}.
+ */
+public class ReadConsistencyTest {
+
+    @Test
+    public void testCall() throws Exception {
+        ReadConsistency bounded = ReadConsistency.boundedStaleness(Duration.ofSeconds(1));
+        assertSame(ReadConsistency.LINEARIZABLE, ReadConsistency.current(ReadConsistency.LINEARIZABLE));
+        assertSame(ReadConsistency.SEQUENTIAL, ReadConsistency.SEQUENTIAL.call(
+            () -> ReadConsistency.current(ReadConsistency.LINEARIZABLE)));
+
+        // Nested calls override the consistency until they return.
+        ReadConsistency.SEQUENTIAL.call(() -> {
+            assertSame(bounded, bounded.call(() -> ReadConsistency.current(ReadConsistency.LINEARIZABLE)));
+            assertSame(ReadConsistency.SEQUENTIAL, ReadConsistency.current(ReadConsistency.LINEARIZABLE));
+            return null;
+        });
+        assertSame(ReadConsistency.LINEARIZABLE, ReadConsistency.current(ReadConsistency.LINEARIZABLE));
+
+        // The override is removed even if the supplier fails.
+        try {
+            ReadConsistency.SEQUENTIAL.call(() -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        assertSame(ReadConsistency.LINEARIZABLE, ReadConsistency.current(ReadConsistency.LINEARIZABLE));
+    }
+
+    @Test
+    public void testBoundedStaleness() throws Exception {
+        ReadConsistency consistency = ReadConsistency.boundedStaleness(Duration.ofSeconds(1));
+        assertEquals(ReadConsistency.Level.BOUNDED_STALENESS, consistency.getLevel());
+        assertEquals(Duration.ofSeconds(1), consistency.getMaxStaleness());
+        assertEquals(consistency, ReadConsistency.boundedStaleness(Duration.ofSeconds(1)));
+        assertEquals(Duration.ZERO, ReadConsistency.SEQUENTIAL.getMaxStaleness());
+    }
+}
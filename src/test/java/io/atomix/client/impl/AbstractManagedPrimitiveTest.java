@@ -0,0 +1,399 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+import io.atomix.api.controller.Partition;
+import io.atomix.api.headers.RequestHeader;
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.headers.StreamHeader;
+import io.atomix.api.primitive.Name;
+import io.atomix.api.session.CloseSessionRequest;
+import io.atomix.api.session.CloseSessionResponse;
+import io.atomix.api.session.KeepAliveRequest;
+import io.atomix.api.session.KeepAliveResponse;
+import io.atomix.api.session.OpenSessionRequest;
+import io.atomix.api.session.OpenSessionResponse;
+import io.atomix.api.session.SessionServiceGrpc;
+import io.atomix.client.PrimitiveException;
+import io.atomix.client.PrimitiveState;
+import io.atomix.client.PrimitiveType;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.SyncPrimitive;
+import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.lock.AtomicLockType;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.ThreadContext;
+import io.atomix.client.utils.concurrent.ThreadPoolContextFactory;
+import io.grpc.Channel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link AbstractManagedPrimitive}.
+ */
+public class AbstractManagedPrimitiveTest {
+    private static final long SESSION_ID = 10;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMillis(50);
+    private static final Partition PARTITION = Partition.newBuilder()
+        .setPartitionId(1)
+        .build();
+
+    private final AtomicLong sessionIds = new AtomicLong(SESSION_ID);
+    private final List<Long> openSessionIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<CompletableFuture<Long>> opens = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> deletes = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> closedSessions = Collections.synchronizedList(new ArrayList<>());
+    private Server server;
+    private ChannelFactory channelFactory;
+    private ThreadPoolContextFactory threadContextFactory;
+    private PartitionSessionRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new SessionServiceGrpc.SessionServiceImplBase() {
+                @Override
+                public void openSession(OpenSessionRequest request, StreamObserver<OpenSessionResponse> responseObserver) {
+                    responseObserver.onNext(OpenSessionResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setSessionId(sessionIds.getAndIncrement()).build())
+                        .build());
+                    responseObserver.onCompleted();
+                }
+
+                @Override
+                public void keepAlive(KeepAliveRequest request, StreamObserver<KeepAliveResponse> responseObserver) {
+                    responseObserver.onNext(KeepAliveResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setSessionId(SESSION_ID).build())
+                        .build());
+                    responseObserver.onCompleted();
+                }
+
+                @Override
+                public void closeSession(CloseSessionRequest request, StreamObserver<CloseSessionResponse> responseObserver) {
+                    closedSessions.add(request.getHeader().getSessionId());
+                    responseObserver.onNext(CloseSessionResponse.newBuilder().build());
+                    responseObserver.onCompleted();
+                }
+            })
+            .build()
+            .start();
+        channelFactory = () -> InProcessChannelBuilder.forName(name).directExecutor().build();
+        threadContextFactory = new ThreadPoolContextFactory("test-%d", 1, LoggerFactory.getLogger(getClass()));
+        registry = new PartitionSessionRegistry(threadContextFactory, new SessionConfig());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        registry.close();
+        threadContextFactory.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private TestPrimitive newPrimitive() throws Exception {
+        TestPrimitive primitive = new TestPrimitive(threadContextFactory.createContext(), IDLE_TIMEOUT);
+        primitive.connect().get(5, TimeUnit.SECONDS);
+        return primitive;
+    }
+
+    private static void respond(RequestHeader header, StreamObserver<ResponseHeader> observer) {
+        observer.onNext(ResponseHeader.newBuilder().setSessionId(SESSION_ID).build());
+        observer.onCompleted();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testSingleFlightConnect() throws Exception {
+        TestPrimitive primitive = newPrimitive();
+        List<CompletableFuture<ResponseHeader>> futures = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            new Thread(() -> {
+                futures.add(primitive.read(AbstractManagedPrimitiveTest::respond));
+                latch.countDown();
+            }).start();
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        // Concurrent first operations share a single connection attempt.
+        waitFor(() -> opens.size() == 1);
+        for (CompletableFuture<ResponseHeader> future : futures) {
+            assertFalse(future.isDone());
+        }
+        opens.get(0).complete(SESSION_ID);
+        for (CompletableFuture<ResponseHeader> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, opens.size());
+        primitive.close().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testIdleCloseKeepsOpenStreams() throws Exception {
+        TestPrimitive primitive = newPrimitive();
+        AtomicReference<StreamObserver<ResponseHeader>> stream = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        CompletableFuture<Long> future = primitive.listen((header, observer) -> {
+            stream.set(observer);
+            observer.onNext(ResponseHeader.newBuilder()
+                .setSessionId(SESSION_ID)
+                .setIndex(1)
+                .addStreams(StreamHeader.newBuilder()
+                    .setStreamId(header.getSequenceNumber())
+                    .setIndex(1)
+                    .setLastItemNumber(1)
+                    .build())
+                .build());
+        }, new StreamObserver<ResponseHeader>() {
+            @Override
+            public void onNext(ResponseHeader value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+                closed.countDown();
+            }
+        });
+        waitFor(() -> opens.size() == 1);
+        opens.get(0).complete(SESSION_ID);
+        future.get(5, TimeUnit.SECONDS);
+
+        List<PrimitiveState> states = new CopyOnWriteArrayList<>();
+        primitive.state(states::add);
+
+        // The session is kept while the stream is open, even though no operations are in flight.
+        Thread.sleep(IDLE_TIMEOUT.toMillis() * 4);
+        assertFalse(states.contains(PrimitiveState.CLOSED));
+
+        primitive.context().execute(() -> stream.get().onCompleted());
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        waitFor(() -> states.contains(PrimitiveState.CLOSED));
+
+        // The next operation connects the primitive again.
+        CompletableFuture<ResponseHeader> read = primitive.read(AbstractManagedPrimitiveTest::respond);
+        waitFor(() -> opens.size() == 2);
+        opens.get(1).complete(openSessionIds.get(1));
+        read.get(5, TimeUnit.SECONDS);
+        primitive.close().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCloseWhileConnecting() throws Exception {
+        TestPrimitive primitive = newPrimitive();
+        CompletableFuture<ResponseHeader> read = primitive.read(AbstractManagedPrimitiveTest::respond);
+        waitFor(() -> opens.size() == 1);
+
+        // Closing the primitive waits for the pending connection before detaching it.
+        CompletableFuture<Void> close = primitive.close();
+        assertFalse(close.isDone());
+        opens.get(0).complete(SESSION_ID);
+        close.get(5, TimeUnit.SECONDS);
+        read.handle((result, error) -> null).get(5, TimeUnit.SECONDS);
+
+        try {
+            primitive.read(AbstractManagedPrimitiveTest::respond).get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PrimitiveException.ClosedSession);
+        }
+        assertEquals(1, opens.size());
+    }
+
+    @Test
+    public void testCancelWhileConnecting() throws Exception {
+        TestPrimitive primitive = newPrimitive();
+        AtomicInteger requests = new AtomicInteger();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> {
+            requests.incrementAndGet();
+            respond(header, observer);
+        };
+        CompletableFuture<ResponseHeader> cancelled = primitive.read(function);
+        waitFor(() -> opens.size() == 1);
+
+        // Operations cancelled before the primitive connects are never sent.
+        assertTrue(cancelled.cancel(false));
+        opens.get(0).complete(SESSION_ID);
+        primitive.read(function).get(5, TimeUnit.SECONDS);
+        assertEquals(1, requests.get());
+        primitive.close().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDeleteKeepsSharedSession() throws Exception {
+        TestPrimitive deleted = new TestPrimitive(threadContextFactory.createContext(), null);
+        CompletableFuture<TestPrimitive> connectDeleted = deleted.connect();
+        waitFor(() -> opens.size() == 1);
+        opens.get(0).complete(openSessionIds.get(0));
+        connectDeleted.get(5, TimeUnit.SECONDS);
+
+        TestPrimitive other = new TestPrimitive(threadContextFactory.createContext(), null);
+        CompletableFuture<TestPrimitive> connectOther = other.connect();
+        waitFor(() -> opens.size() == 2);
+        opens.get(1).complete(openSessionIds.get(1));
+        connectOther.get(5, TimeUnit.SECONDS);
+        assertEquals(openSessionIds.get(0), openSessionIds.get(1));
+
+        // The primitive is deleted through a session of its own rather than the shared session.
+        CompletableFuture<Void> delete = deleted.delete();
+        waitFor(() -> opens.size() == 3);
+        assertNotEquals(openSessionIds.get(0), openSessionIds.get(2));
+        opens.get(2).complete(openSessionIds.get(2));
+        delete.get(5, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList(openSessionIds.get(2)), deletes);
+        waitFor(() -> closedSessions.contains(openSessionIds.get(2)));
+        assertFalse(closedSessions.contains(openSessionIds.get(0)));
+
+        // The other primitive keeps using the shared session.
+        assertEquals(PrimitiveState.CONNECTED, other.getState());
+        other.read(AbstractManagedPrimitiveTest::respond).get(5, TimeUnit.SECONDS);
+        other.close().get(5, TimeUnit.SECONDS);
+        waitFor(() -> closedSessions.contains(openSessionIds.get(0)));
+    }
+
+    /**
+     * Partition whose sessions are acquired from the test registry.
+     */
+    private final class TestPartition implements io.atomix.client.partition.Partition, PartitionSessionProvider {
+        @Override
+        public int id() {
+            return PARTITION.getPartitionId();
+        }
+
+        @Override
+        public ChannelFactory getChannelFactory() {
+            return channelFactory;
+        }
+
+        @Override
+        public MetricsRegistry getMetricsRegistry() {
+            return MetricsRegistry.NOOP;
+        }
+
+        @Override
+        public PartitionSession getSession(Duration timeout) {
+            return registry.acquire(PARTITION, channelFactory, timeout);
+        }
+
+        @Override
+        public PartitionSession newSession(Duration timeout) {
+            return registry.create(PARTITION, channelFactory, timeout);
+        }
+    }
+
+    /**
+     * Primitive whose sessions are opened by the test.
+     */
+    private final class TestPrimitive extends AbstractManagedPrimitive<Channel, TestPrimitive> {
+        TestPrimitive(ThreadContext context, Duration idleTimeout) {
+            super(
+                Name.newBuilder().setName("test").build(),
+                new TestPartition(),
+                channel -> channel,
+                context,
+                Duration.ofSeconds(10),
+                RetryPolicy.DEFAULT,
+                Duration.ofSeconds(10),
+                ReadConsistency.LINEARIZABLE,
+                idleTimeout);
+        }
+
+        CompletableFuture<ResponseHeader> read(BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function) {
+            return query(function, response -> response);
+        }
+
+        CompletableFuture<Long> listen(
+            BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function,
+            StreamObserver<ResponseHeader> handler) {
+            return command(function, response -> response, handler);
+        }
+
+        @Override
+        protected CompletableFuture<Long> openSession(Duration timeout) {
+            return this.<Long>session((header, observer) -> {
+                CompletableFuture<Long> future = new CompletableFuture<>();
+                openSessionIds.add(header.getSessionId());
+                opens.add(future);
+                future.thenAccept(observer::onNext);
+            });
+        }
+
+        @Override
+        protected CompletableFuture<Void> close(boolean delete) {
+            return this.<Void>session((header, observer) -> {
+                if (delete) {
+                    deletes.add(header.getSessionId());
+                }
+                observer.onNext(null);
+            });
+        }
+
+        @Override
+        public PrimitiveType type() {
+            return AtomicLockType.instance();
+        }
+
+        @Override
+        public SyncPrimitive sync() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SyncPrimitive sync(Duration operationTimeout) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
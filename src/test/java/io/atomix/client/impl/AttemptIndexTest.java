@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link AttemptIndex}.
+ */
+public class AttemptIndexTest {
+
+    @Test
+    public void testAddRemove() throws Exception {
+        AttemptIndex<String> index = new AttemptIndex<>();
+        index.add(1, "a");
+        index.add(3, "b");
+        index.add(4, "c");
+        assertEquals(3, index.size());
+        assertEquals("b", index.get(3));
+        assertNull(index.get(2));
+
+        index.remove(3);
+        assertNull(index.get(3));
+        assertEquals(Arrays.asList("a", "c"), index.values());
+
+        index.remove(1);
+        index.remove(4);
+        assertTrue(index.isEmpty());
+        assertTrue(index.values().isEmpty());
+    }
+
+    @Test
+    public void testAfter() throws Exception {
+        AttemptIndex<Long> index = new AttemptIndex<>();
+        for (long i = 1; i <= 10; i++) {
+            index.add(i * 2, i * 2);
+        }
+        assertEquals(Arrays.asList(16L, 18L, 20L), index.after(14));
+        assertEquals(Arrays.asList(16L, 18L, 20L), index.after(15));
+        assertEquals(10, index.after(0).size());
+        assertTrue(index.after(20).isEmpty());
+    }
+
+    @Test
+    public void testGrowAndCompact() throws Exception {
+        AttemptIndex<Long> index = new AttemptIndex<>();
+        // Keep a long-lived entry at the head of the ring while many others come and go behind it.
+        index.add(0, 0L);
+        for (long i = 1; i <= 10000; i++) {
+            index.add(i, i);
+            if (i > 100) {
+                index.remove(i - 100);
+            }
+        }
+        assertEquals(101, index.size());
+        assertEquals(Long.valueOf(0), index.get(0));
+        assertEquals(Long.valueOf(9901), index.get(9901));
+        assertNull(index.get(9900));
+        assertEquals(100, index.after(0).size());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link ByteStrings}.
+ */
+public class ByteStringsTest {
+    @Test
+    public void testCopy() throws Exception {
+        byte[] value = new byte[]{1, 2, 3};
+        ByteString bytes = ByteStrings.wrap(value, false);
+        value[0] = 4;
+        assertArrayEquals(new byte[]{1, 2, 3}, bytes.toByteArray());
+        assertNotSame(value, ByteStrings.toByteArray(ByteStrings.wrap(value, true), false));
+    }
+
+    @Test
+    public void testZeroCopy() throws Exception {
+        byte[] value = new byte[]{1, 2, 3};
+        assertSame(value, ByteStrings.toByteArray(ByteStrings.wrap(value, true), true));
+
+        // Parsed values are backed by their own arrays, which are returned without copying.
+        BytesValue response = BytesValue.parseFrom(BytesValue.newBuilder()
+            .setValue(ByteStrings.wrap(value, true))
+            .build()
+            .toByteArray());
+        assertSame(ByteStrings.toByteArray(response.getValue(), true), ByteStrings.toByteArray(response.getValue(), true));
+        assertArrayEquals(value, ByteStrings.toByteArray(response.getValue(), true));
+
+        // Values that don't span a whole array are copied.
+        ByteString substring = ByteStrings.wrap(value, true).substring(1);
+        assertArrayEquals(new byte[]{2, 3}, ByteStrings.toByteArray(substring, true));
+        ByteString concat = ByteStrings.wrap(value, true).concat(ByteStrings.wrap(value, true));
+        assertArrayEquals(new byte[]{1, 2, 3, 1, 2, 3}, ByteStrings.toByteArray(concat, true));
+    }
+}
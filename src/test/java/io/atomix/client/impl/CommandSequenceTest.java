@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import io.atomix.api.primitive.Name;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link CommandSequence}.
+ */
+public class CommandSequenceTest {
+
+    @Test
+    public void testAckCompletedCommands() throws Exception {
+        CommandSequence sequence = new CommandSequence();
+        assertEquals(1, sequence.next());
+        assertEquals(2, sequence.next());
+        assertEquals(3, sequence.next());
+        assertEquals(0, sequence.ack());
+
+        // The ack only advances once all the preceding commands have completed.
+        sequence.complete(2);
+        assertEquals(0, sequence.ack());
+        sequence.complete(1);
+        assertEquals(2, sequence.ack());
+        sequence.complete(3);
+        assertEquals(3, sequence.ack());
+
+        // Duplicate and unknown sequence numbers are ignored.
+        sequence.complete(3);
+        sequence.complete(5);
+        assertEquals(3, sequence.ack());
+    }
+
+    @Test
+    public void testSharedSequence() throws Exception {
+        CommandSequence sequence = new CommandSequence();
+        PrimitiveSessionState state1 = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000, sequence);
+        PrimitiveSessionState state2 = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000, sequence);
+        assertEquals(1, state1.nextCommandRequest());
+        assertEquals(2, state2.nextCommandRequest());
+        assertEquals(3, state1.nextCommandRequest());
+
+        state2.setCommandResponse(2);
+        assertEquals(0, sequence.ack());
+        state1.setCommandResponse(1);
+        assertEquals(2, sequence.ack());
+        state1.setCommandResponse(3);
+        assertEquals(3, sequence.ack());
+    }
+
+    @Test
+    public void testGrowWithPendingCommands() throws Exception {
+        CommandSequence sequence = new CommandSequence();
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, sequence.next());
+        }
+        for (int i = 100; i > 1; i--) {
+            sequence.complete(i);
+        }
+        assertEquals(0, sequence.ack());
+        sequence.complete(1);
+        assertEquals(100, sequence.ack());
+        assertEquals(101, sequence.next());
+        sequence.complete(101);
+        assertEquals(101, sequence.ack());
+    }
+}
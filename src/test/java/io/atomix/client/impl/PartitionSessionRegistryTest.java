@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.atomix.api.controller.Partition;
+import io.atomix.api.session.CloseSessionRequest;
+import io.atomix.api.session.CloseSessionResponse;
+import io.atomix.api.session.SessionServiceGrpc;
+import io.atomix.client.channel.ChannelFactory;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.ThreadPoolContextFactory;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link PartitionSessionRegistry}.
+ */
+public class PartitionSessionRegistryTest {
+    private static final Partition PARTITION = Partition.newBuilder()
+        .setPartitionId(1)
+        .build();
+
+    private final AtomicInteger channels = new AtomicInteger();
+    private Server server;
+    private ChannelFactory channelFactory;
+    private ThreadPoolContextFactory threadContextFactory;
+    private PartitionSessionRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new SessionServiceGrpc.SessionServiceImplBase() {
+                @Override
+                public void closeSession(CloseSessionRequest request, StreamObserver<CloseSessionResponse> responseObserver) {
+                    responseObserver.onNext(CloseSessionResponse.newBuilder().build());
+                    responseObserver.onCompleted();
+                }
+            })
+            .build()
+            .start();
+        channelFactory = () -> {
+            channels.incrementAndGet();
+            return InProcessChannelBuilder.forName(name).directExecutor().build();
+        };
+        threadContextFactory = new ThreadPoolContextFactory("test-%d", 1, LoggerFactory.getLogger(getClass()));
+        registry = new PartitionSessionRegistry(threadContextFactory, new SessionConfig());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        registry.close();
+        threadContextFactory.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testSharedSession() throws Exception {
+        PartitionSession session1 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10));
+        PartitionSession session2 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10));
+        assertSame(session1, session2);
+        assertSame(session1.commandSequence(), session2.commandSequence());
+        assertEquals(1, channels.get());
+
+        // Sessions with different timeouts are not shared.
+        PartitionSession session3 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(20));
+        assertNotSame(session1, session3);
+        assertEquals(2, channels.get());
+        session3.release();
+    }
+
+    @Test
+    public void testReleaseClosesSession() throws Exception {
+        PartitionSession session1 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10));
+        PartitionSession session2 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10));
+
+        // The session is kept until the last reference to it has been released.
+        session1.release();
+        assertSame(session1, registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10)));
+        session1.release();
+        session2.release();
+
+        PartitionSession session3 = registry.acquire(PARTITION, channelFactory, Duration.ofSeconds(10));
+        assertNotSame(session1, session3);
+        assertEquals(2, channels.get());
+        session3.release();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.api.headers.RequestHeader;
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.primitive.Name;
+import io.atomix.api.session.CloseSessionRequest;
+import io.atomix.api.session.CloseSessionResponse;
+import io.atomix.api.session.KeepAliveRequest;
+import io.atomix.api.session.KeepAliveResponse;
+import io.atomix.api.session.OpenSessionRequest;
+import io.atomix.api.session.OpenSessionResponse;
+import io.atomix.api.session.SessionServiceGrpc;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.ThreadPoolContextFactory;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link PartitionSession}.
+ */
+public class PartitionSessionTest {
+    private static final long SESSION_ID = 10;
+
+    private final List<StreamObserver<OpenSessionResponse>> opens = new ArrayList<>();
+    private final List<KeepAliveRequest> keepAlives = new ArrayList<>();
+    private final List<CloseSessionRequest> closes = new ArrayList<>();
+    private Server server;
+    private String serverName;
+    private ThreadPoolContextFactory threadContextFactory;
+
+    @Before
+    public void setUp() throws Exception {
+        serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(new SessionServiceGrpc.SessionServiceImplBase() {
+                @Override
+                public void openSession(OpenSessionRequest request, StreamObserver<OpenSessionResponse> responseObserver) {
+                    synchronized (opens) {
+                        opens.add(responseObserver);
+                    }
+                }
+
+                @Override
+                public void keepAlive(KeepAliveRequest request, StreamObserver<KeepAliveResponse> responseObserver) {
+                    synchronized (keepAlives) {
+                        keepAlives.add(request);
+                    }
+                    responseObserver.onNext(KeepAliveResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setSessionId(SESSION_ID).build())
+                        .build());
+                    responseObserver.onCompleted();
+                }
+
+                @Override
+                public void closeSession(CloseSessionRequest request, StreamObserver<CloseSessionResponse> responseObserver) {
+                    synchronized (closes) {
+                        closes.add(request);
+                    }
+                    responseObserver.onNext(CloseSessionResponse.newBuilder().build());
+                    responseObserver.onCompleted();
+                }
+            })
+            .build()
+            .start();
+        threadContextFactory = new ThreadPoolContextFactory("test-%d", 1, LoggerFactory.getLogger(getClass()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        threadContextFactory.close();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private PartitionSession newSession() {
+        return new PartitionSession(
+            InProcessChannelBuilder.forName(serverName).directExecutor().build(),
+            threadContextFactory.createContext(),
+            Duration.ofSeconds(10),
+            new SessionConfig(),
+            new PartitionMetrics(MetricsRegistry.NOOP, 1),
+            session -> session.close());
+    }
+
+    private void respond(int request) {
+        StreamObserver<OpenSessionResponse> observer;
+        synchronized (opens) {
+            observer = opens.get(request);
+        }
+        observer.onNext(OpenSessionResponse.newBuilder()
+            .setHeader(ResponseHeader.newBuilder().setSessionId(SESSION_ID).build())
+            .build());
+        observer.onCompleted();
+    }
+
+    @Test
+    public void testSingleFlightConnect() throws Exception {
+        PartitionSession session = newSession();
+        CompletableFuture<Long> future1 = session.connect();
+        CompletableFuture<Long> future2 = session.connect();
+        assertSame(future1, future2);
+        assertFalse(future1.isDone());
+        assertEquals(1, opens.size());
+
+        respond(0);
+        assertEquals(SESSION_ID, future1.get(5, TimeUnit.SECONDS).longValue());
+        assertEquals(SESSION_ID, session.sessionId());
+        assertSame(future1, session.connect());
+        assertEquals(1, opens.size());
+        session.close().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testKeepAliveAcksCompletedCommands() throws Exception {
+        PartitionSession session = newSession();
+        CompletableFuture<Long> future = session.connect();
+        respond(0);
+        future.get(5, TimeUnit.SECONDS);
+
+        // Primitives sharing the session draw distinct sequence numbers from the session's command sequence.
+        PrimitiveSessionState state1 = new PrimitiveSessionState(
+            Name.getDefaultInstance(), SESSION_ID, 10000, session.commandSequence());
+        PrimitiveSessionState state2 = new PrimitiveSessionState(
+            Name.getDefaultInstance(), SESSION_ID, 10000, session.commandSequence());
+        long command1 = state1.nextCommandRequest();
+        long command2 = state2.nextCommandRequest();
+        long command3 = state1.nextCommandRequest();
+        assertNotEquals(command1, command2);
+        assertNotEquals(command2, command3);
+
+        RequestHeader header = session.getKeepAliveHeader();
+        assertEquals(SESSION_ID, header.getSessionId());
+        assertEquals(0, header.getSequenceNumber());
+
+        state2.setCommandResponse(command2);
+        assertEquals(0, session.getKeepAliveHeader().getSequenceNumber());
+        state1.setCommandResponse(command1);
+        assertEquals(command2, session.getKeepAliveHeader().getSequenceNumber());
+        state1.setCommandResponse(command3);
+        assertEquals(command3, session.getKeepAliveHeader().getSequenceNumber());
+        session.close().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCloseOpenSession() throws Exception {
+        PartitionSession unopened = newSession();
+        unopened.close().get(5, TimeUnit.SECONDS);
+        assertEquals(0, closes.size());
+
+        PartitionSession session = newSession();
+        CompletableFuture<Long> future = session.connect();
+        respond(0);
+        future.get(5, TimeUnit.SECONDS);
+        session.close().get(5, TimeUnit.SECONDS);
+        assertEquals(1, closes.size());
+        assertEquals(SESSION_ID, closes.get(0).getHeader().getSessionId());
+    }
+}
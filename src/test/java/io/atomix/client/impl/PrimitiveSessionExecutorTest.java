@@ -0,0 +1,567 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import io.atomix.api.headers.RequestHeader;
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.primitive.Name;
+import io.atomix.client.PrimitiveException;
+import io.atomix.client.PrimitiveState;
+import io.atomix.client.ReadConsistency;
+import io.atomix.client.RetryPolicy;
+import io.atomix.client.metrics.MetricsRegistry;
+import io.atomix.client.metrics.MetricsSnapshot;
+import io.atomix.client.session.AdmissionPolicy;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.NullThreadContext;
+import io.atomix.client.utils.concurrent.Scheduled;
+import io.atomix.client.utils.concurrent.ThreadContext;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link PrimitiveSessionExecutor}.
+ */
+public class PrimitiveSessionExecutorTest {
+    private static final int OPERATIONS = 100_000;
+    private static final long MAX_BYTES_PER_OPERATION = 512;
+    private static final Duration OPERATION_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> REQUEST_FUNCTION =
+        (header, observer) -> {
+            observer.onNext(ResponseHeader.getDefaultInstance());
+            observer.onCompleted();
+        };
+
+    private PrimitiveSessionExecutor<Object> newExecutor() {
+        return newExecutor(MetricsRegistry.NOOP);
+    }
+
+    private PrimitiveSessionExecutor<Object> newExecutor(MetricsRegistry registry) {
+        return newExecutor(registry, new SessionConfig());
+    }
+
+    private final Map<Runnable, Duration> scheduled = new LinkedHashMap<>();
+    private PrimitiveSessionState state;
+    private InFlightLimit partitionLimit;
+    private QueryHedger hedger;
+
+    private PrimitiveSessionExecutor<Object> newExecutor(MetricsRegistry registry, SessionConfig config) {
+        return newExecutor(registry, config, new InFlightLimit(config.getMaxInFlightPerPartition()));
+    }
+
+    private PrimitiveSessionExecutor<Object> newExecutor(
+        MetricsRegistry registry, SessionConfig config, InFlightLimit partitionLimit) {
+        ThreadContext context = new NullThreadContext() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+
+            @Override
+            public Scheduled schedule(Duration delay, Runnable callback) {
+                scheduled.put(callback, delay);
+                return () -> scheduled.remove(callback);
+            }
+        };
+        state = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000);
+        this.partitionLimit = partitionLimit;
+        hedger = new QueryHedger(config);
+        ManagedPrimitiveContext primitiveContext = new ManagedPrimitiveContext(
+            1, "test", (name, managementService) -> null, Duration.ofSeconds(5));
+        PrimitiveSessionSequencer sequencer = new PrimitiveSessionSequencer(state, primitiveContext);
+        return new PrimitiveSessionExecutor<>(
+            new Object(), state, primitiveContext, sequencer, context,
+            RetryPolicy.DEFAULT, new RetryBudget(100, .1), OPERATION_TIMEOUT,
+            hedger, ReadConsistency.LINEARIZABLE,
+            new PartitionMetrics(registry, 1), new OperationMetrics(registry, Object.class),
+            config, partitionLimit);
+    }
+
+    @Test
+    public void testCommandsCompleteInOrder() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        CompletableFuture<ResponseHeader> future1 = executor.executeCommand(REQUEST_FUNCTION, response -> response);
+        CompletableFuture<ResponseHeader> future2 = executor.executeQuery(REQUEST_FUNCTION, response -> response);
+        assertTrue(future1.isDone());
+        assertTrue(future2.isDone());
+    }
+
+    @Test
+    public void testOperationMetrics() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.inMemory();
+        PrimitiveSessionExecutor<Object> executor = newExecutor(registry);
+        executor.executeCommand(REQUEST_FUNCTION, response -> response).join();
+        executor.executeQuery(REQUEST_FUNCTION, response -> response).join();
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(2, snapshot.getHistograms().get("Object.responseHeader").getCount());
+        assertEquals(0, (long) snapshot.getCounters().get("partition.1.inflight"));
+    }
+
+    @Test
+    public void testFlowControl() throws Exception {
+        SessionConfig config = new SessionConfig()
+            .setMaxInFlightPerSession(1)
+            .setMaxQueuedOperations(1)
+            .setAdmissionPolicy(AdmissionPolicy.FAIL);
+        PrimitiveSessionExecutor<Object> executor = newExecutor(MetricsRegistry.NOOP, config);
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> observers.add(observer);
+
+        CompletableFuture<ResponseHeader> future1 = executor.executeCommand(function, response -> response);
+        CompletableFuture<ResponseHeader> future2 = executor.executeCommand(function, response -> response);
+        assertEquals(1, observers.size());
+        assertEquals(1, executor.getQueueDepth());
+
+        CompletableFuture<ResponseHeader> future3 = executor.executeCommand(function, response -> response);
+        try {
+            future3.join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof PrimitiveException.Unavailable);
+        }
+
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        observers.get(0).onCompleted();
+        assertTrue(future1.isDone());
+        assertFalse(future2.isDone());
+        assertEquals(2, observers.size());
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void testSequenceNumbersAllocatedOnAdmission() throws Exception {
+        SessionConfig config = new SessionConfig()
+            .setMaxInFlightPerSession(1)
+            .setMaxQueuedOperations(2);
+        PrimitiveSessionExecutor<Object> executor = newExecutor(MetricsRegistry.NOOP, config);
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> observers.add(observer);
+
+        CompletableFuture<ResponseHeader> future1 = executor.executeCommand(function, response -> response);
+        CompletableFuture<ResponseHeader> future2 = executor.executeCommand(function, response -> response);
+        CompletableFuture<ResponseHeader> future3 = executor.executeCommand(function, response -> response);
+        assertEquals(1, observers.size());
+        assertEquals(1, state.getCommandRequest());
+
+        // A command cancelled while queued is never sent and doesn't take a sequence number.
+        assertTrue(future2.cancel(false));
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future1.isDone());
+        assertEquals(2, observers.size());
+        assertEquals(2, state.getCommandRequest());
+        observers.get(1).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future3.isDone());
+        assertFalse(future3.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testCancelDerivedFuture() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        CompletableFuture<ResponseHeader> future = executor.executeQuery((header, observer) -> { }, response -> response);
+        CompletableFuture<ResponseHeader> derived = future.thenApply(response -> response);
+        assertTrue(derived.cancel(false));
+        assertTrue(future.isCancelled());
+
+        // The cancelled query must not block the operations sequenced after it.
+        assertTrue(executor.executeCommand(REQUEST_FUNCTION, response -> response).isDone());
+    }
+
+    @Test
+    public void testCancelledCommandStaysInFlight() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        CompletableFuture<ResponseHeader> future1 = executor.executeCommand(
+            (header, observer) -> observers.add(observer), response -> response);
+        assertTrue(future1.cancel(false));
+
+        // The cancelled command is not dropped, so the command sequenced after it waits for its response.
+        CompletableFuture<ResponseHeader> future2 = executor.executeCommand(REQUEST_FUNCTION, response -> response);
+        assertFalse(future2.isDone());
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future2.isDone());
+        assertFalse(future2.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testCommandTimeout() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        CompletableFuture<ResponseHeader> future1 = executor.executeCommand(
+            (header, observer) -> observers.add(observer), response -> response);
+        runTimeouts();
+        try {
+            future1.join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof PrimitiveException.Timeout);
+        }
+
+        // The timed out command stays in flight until it receives its response.
+        CompletableFuture<ResponseHeader> future2 = executor.executeCommand(REQUEST_FUNCTION, response -> response);
+        assertFalse(future2.isDone());
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future2.isDone());
+        assertFalse(future2.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testCloseDrainsSequencedCommands() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        List<Long> sequenceNumbers = new ArrayList<>();
+        CompletableFuture<ResponseHeader> future = executor.executeCommand((header, observer) -> {
+            sequenceNumbers.add(header.getSequenceNumber());
+            observers.add(observer);
+        }, response -> response);
+
+        // The command is waiting to be retried when the primitive is closed.
+        observers.get(0).onError(Status.DEADLINE_EXCEEDED.asRuntimeException());
+        state.setState(PrimitiveState.CLOSED);
+        CompletableFuture<Void> close = executor.close();
+        assertFalse(close.isDone());
+        assertEquals(0, state.getCommandResponse());
+
+        // The command is resent with its sequence number rather than failed, and the close waits for its response.
+        assertTrue(runRetries());
+        assertEquals(2, observers.size());
+        assertEquals(sequenceNumbers.get(0), sequenceNumbers.get(1));
+        assertFalse(close.isDone());
+        observers.get(1).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(close.isDone());
+        assertEquals(1, state.getCommandResponse());
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testCloseReleasesPartitionPermits() throws Exception {
+        SessionConfig config = new SessionConfig().setMaxInFlightPerPartition(2);
+        PrimitiveSessionExecutor<Object> executor = newExecutor(MetricsRegistry.NOOP, config);
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> observers.add(observer);
+        CompletableFuture<ResponseHeader> command = executor.executeCommand(function, response -> response);
+        CompletableFuture<ResponseHeader> query = executor.executeQuery(function, response -> response);
+        assertEquals(2, partitionLimit.inFlight());
+
+        // The query's failure is sequenced behind the in-flight command, but its permit is released on close.
+        state.setState(PrimitiveState.CLOSED);
+        CompletableFuture<Void> close = executor.close();
+        assertEquals(1, partitionLimit.inFlight());
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(close.isDone());
+        assertTrue(command.isDone());
+        assertTrue(query.isCompletedExceptionally());
+        assertEquals(0, partitionLimit.inFlight());
+    }
+
+    @Test
+    public void testPartitionWakeupSurvivesClose() throws Exception {
+        SessionConfig config = new SessionConfig().setMaxInFlightPerPartition(1);
+        InFlightLimit limit = new InFlightLimit(config.getMaxInFlightPerPartition());
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> observers.add(observer);
+        PrimitiveSessionExecutor<Object> executor = newExecutor(MetricsRegistry.NOOP, config, limit);
+        CompletableFuture<ResponseHeader> future = executor.executeQuery(function, response -> response);
+
+        // Both primitives wait for the partition's only permit.
+        PrimitiveSessionExecutor<Object> closed = newExecutor(MetricsRegistry.NOOP, config, limit);
+        PrimitiveSessionState closedState = state;
+        closed.executeQuery(function, response -> response);
+        PrimitiveSessionExecutor<Object> waiting = newExecutor(MetricsRegistry.NOOP, config, limit);
+        CompletableFuture<ResponseHeader> waitingFuture = waiting.executeQuery(function, response -> response);
+        assertEquals(1, observers.size());
+
+        // The first waiter is closed, so the released permit goes to the next waiter.
+        closedState.setState(PrimitiveState.CLOSED);
+        closed.close();
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future.isDone());
+        assertEquals(2, observers.size());
+        observers.get(1).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(waitingFuture.isDone());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    public void testUnusedPartitionWakeupPassedOn() throws Exception {
+        InFlightLimit limit = new InFlightLimit(1);
+        List<String> woken = new ArrayList<>();
+        assertTrue(limit.tryAcquire());
+        limit.await(() -> woken.add("a"));
+        limit.await(() -> woken.add("b"));
+
+        // A waiter that doesn't use the released permit signals the next one.
+        limit.release();
+        assertEquals(1, woken.size());
+        limit.signal();
+        assertEquals(2, woken.size());
+        assertEquals("b", woken.get(1));
+    }
+
+    @Test
+    public void testHedgeTimersCancelled() throws Exception {
+        Duration hedgeDelay = Duration.ofMinutes(30);
+        PrimitiveSessionExecutor<Object> executor = newExecutor(MetricsRegistry.NOOP,
+            new SessionConfig().setHedgingPercentile(.9).setMinHedgingDelay(hedgeDelay));
+        for (int i = 0; i < 128; i++) {
+            hedger.record(1);
+        }
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        CompletableFuture<ResponseHeader> future = executor.executeQuery(
+            (header, observer) -> observers.add(observer), response -> response);
+        assertEquals(1, hedgeTimers(hedgeDelay));
+
+        // A retry after a connection failure replaces the hedge timer of the failed send.
+        observers.get(0).onError(Status.UNAVAILABLE.asRuntimeException());
+        runRetries();
+        assertEquals(2, observers.size());
+        assertEquals(1, hedgeTimers(hedgeDelay));
+
+        // The timer is cancelled once the query completes.
+        observers.get(1).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future.isDone());
+        assertEquals(0, hedgeTimers(hedgeDelay));
+    }
+
+    /**
+     * Returns the number of hedge timers scheduled on the executor's thread context.
+     */
+    private long hedgeTimers(Duration hedgeDelay) {
+        return scheduled.values().stream().filter(hedgeDelay::equals).count();
+    }
+
+    /**
+     * Runs the retries scheduled on the executor's thread context.
+     * <p>
+     * The default retry policy's maximum delay is well below the operation timeout, so the retries are told apart from
+     * the operation timeouts by their delay.
+     *
+     * @return indicates whether any callbacks were run
+     */
+    private boolean runRetries() {
+        List<Runnable> callbacks = new ArrayList<>();
+        scheduled.forEach((callback, delay) -> {
+            if (delay.compareTo(OPERATION_TIMEOUT.dividedBy(2)) < 0) {
+                callbacks.add(callback);
+            }
+        });
+        callbacks.forEach(scheduled::remove);
+        callbacks.forEach(Runnable::run);
+        return !callbacks.isEmpty();
+    }
+
+    /**
+     * Runs the operation timeouts scheduled on the executor's thread context.
+     */
+    private void runTimeouts() {
+        List<Runnable> callbacks = new ArrayList<>(scheduled.keySet());
+        scheduled.clear();
+        callbacks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testRetryLimitsOnlyApplyToQueries() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        int failures = RetryPolicy.DEFAULT.getMaxAttempts() * 2;
+        AtomicInteger commandAttempts = new AtomicInteger();
+        CompletableFuture<ResponseHeader> command = executor.executeCommand((header, observer) -> {
+            if (commandAttempts.incrementAndGet() <= failures) {
+                observer.onError(Status.UNAVAILABLE.asRuntimeException());
+            } else {
+                observer.onNext(ResponseHeader.getDefaultInstance());
+                observer.onCompleted();
+            }
+        }, response -> response);
+        AtomicInteger queryAttempts = new AtomicInteger();
+        CompletableFuture<ResponseHeader> query = executor.executeQuery((header, observer) -> {
+            queryAttempts.incrementAndGet();
+            observer.onError(Status.UNAVAILABLE.asRuntimeException());
+        }, response -> response);
+        while (runRetries()) {
+            continue;
+        }
+
+        // Dropping a command would leave a gap in the session's command sequence, so it's retried until it completes.
+        assertEquals(failures + 1, commandAttempts.get());
+        assertTrue(command.isDone());
+        assertFalse(command.isCompletedExceptionally());
+        assertEquals(RetryPolicy.DEFAULT.getMaxAttempts(), queryAttempts.get());
+        assertTrue(query.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testStaleFollowerReadRetriedOnLeader() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        state.setResponseIndex(10);
+        List<ResponseHeader> responses = new ArrayList<>();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> {
+            // The first read is served by a follower that's behind the state already observed by the session.
+            ResponseHeader response = ResponseHeader.newBuilder().setIndex(responses.isEmpty() ? 5 : 10).build();
+            responses.add(response);
+            observer.onNext(response);
+            observer.onCompleted();
+        };
+        CompletableFuture<ResponseHeader> future = ReadConsistency.SEQUENTIAL.call(
+            () -> executor.executeQuery(function, response -> response));
+        assertEquals(2, responses.size());
+        assertEquals(10, future.join().getIndex());
+
+        // Linearizable reads are served by the leader and never retried.
+        responses.clear();
+        executor.executeQuery(function, response -> response).join();
+        assertEquals(1, responses.size());
+    }
+
+    @Test
+    public void testStaleReadRetriesAreLimited() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        state.setResponseIndex(10);
+        int maxAttempts = RetryPolicy.DEFAULT.getMaxAttempts();
+        AtomicInteger reads = new AtomicInteger();
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> function = (header, observer) -> {
+            // The follower is unreachable until the last attempt, which is behind the state observed by the session.
+            if (reads.incrementAndGet() < maxAttempts) {
+                observer.onError(Status.UNAVAILABLE.asRuntimeException());
+            } else {
+                observer.onNext(ResponseHeader.newBuilder().setIndex(5).build());
+                observer.onCompleted();
+            }
+        };
+        CompletableFuture<ResponseHeader> future = ReadConsistency.SEQUENTIAL.call(
+            () -> executor.executeQuery(function, response -> response));
+        while (runRetries()) {
+            continue;
+        }
+
+        // Resending the stale read to the leader is a retry, so it's not sent once the attempts are used up.
+        assertEquals(maxAttempts, reads.get());
+        try {
+            future.join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof PrimitiveException.QueryFailure);
+        }
+    }
+
+    @Test
+    public void testBoundedStalenessReads() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        ReadConsistency consistency = ReadConsistency.boundedStaleness(Duration.ofMinutes(1));
+        AtomicInteger reads = new AtomicInteger();
+        AtomicLong index = new AtomicLong(10);
+        BiConsumer<RequestHeader, StreamObserver<ResponseHeader>> read = (header, observer) -> {
+            reads.incrementAndGet();
+            observer.onNext(ResponseHeader.newBuilder().setIndex(index.get()).build());
+            observer.onCompleted();
+        };
+
+        ResponseHeader response = consistency.call(() -> executor.executeQuery("foo", read, r -> r)).join();
+        assertEquals(1, reads.get());
+        assertSame(response, consistency.call(() -> executor.executeQuery("foo", read, r -> r)).join());
+        assertEquals(1, reads.get());
+
+        // Other keys and reads with other consistencies are not served from recent reads.
+        consistency.call(() -> executor.executeQuery("bar", read, r -> r)).join();
+        assertEquals(2, reads.get());
+        executor.executeQuery("foo", read, r -> r).join();
+        assertEquals(3, reads.get());
+
+        // Recent reads older than the maximum staleness are not served.
+        ReadConsistency.boundedStaleness(Duration.ZERO).call(() -> executor.executeQuery("foo", read, r -> r)).join();
+        assertEquals(4, reads.get());
+
+        // Recent reads older than the state written by a later command are not served.
+        executor.<ResponseHeader>executeCommand((header, observer) -> {
+            observer.onNext(ResponseHeader.newBuilder().setIndex(index.addAndGet(10)).build());
+            observer.onCompleted();
+        }, r -> r).join();
+        consistency.call(() -> executor.executeQuery("foo", read, r -> r)).join();
+        assertEquals(5, reads.get());
+    }
+
+    @Test
+    public void testRecentReadsCompleteInOrder() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        ReadConsistency consistency = ReadConsistency.boundedStaleness(Duration.ofMinutes(1));
+        consistency.call(() -> executor.executeQuery("foo", REQUEST_FUNCTION, r -> r)).join();
+
+        List<StreamObserver<ResponseHeader>> observers = new ArrayList<>();
+        CompletableFuture<ResponseHeader> future1 = executor.executeQuery(
+            (header, observer) -> observers.add(observer), r -> r);
+        CompletableFuture<ResponseHeader> future2 = consistency.call(
+            () -> executor.executeQuery("foo", REQUEST_FUNCTION, r -> r));
+
+        // The recent read is not completed ahead of the query submitted before it.
+        assertFalse(future2.isDone());
+        observers.get(0).onNext(ResponseHeader.getDefaultInstance());
+        assertTrue(future1.isDone());
+        assertTrue(future2.isDone());
+    }
+
+    @Test
+    public void testDeadlineExceeded() throws Exception {
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        CompletableFuture<ResponseHeader> future = executor.executeQuery(
+            (header, observer) -> observer.onError(Status.DEADLINE_EXCEEDED.asRuntimeException()), response -> response);
+        try {
+            future.join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof PrimitiveException.Timeout);
+        }
+    }
+
+    @Test
+    public void testAllocationsPerOperation() throws Exception {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+
+        PrimitiveSessionExecutor<Object> executor = newExecutor();
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.executeCommand(REQUEST_FUNCTION, response -> response).join();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.executeCommand(REQUEST_FUNCTION, response -> response).join();
+        }
+        long bytesPerOperation = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / OPERATIONS;
+        assertTrue("allocated " + bytesPerOperation + " bytes per operation", bytesPerOperation <= MAX_BYTES_PER_OPERATION);
+    }
+}
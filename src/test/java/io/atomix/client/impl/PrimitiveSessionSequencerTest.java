@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.atomix.api.headers.ResponseHeader;
+import io.atomix.api.headers.StreamHeader;
+import io.atomix.api.primitive.Name;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PrimitiveSessionSequencer}.
+ */
+public class PrimitiveSessionSequencerTest {
+
+    private PrimitiveSessionSequencer newSequencer() {
+        PrimitiveSessionState state = new PrimitiveSessionState(Name.getDefaultInstance(), 1, 5000);
+        ManagedPrimitiveContext context = new ManagedPrimitiveContext(
+            1, "test", (name, managementService) -> null, Duration.ofSeconds(5));
+        return new PrimitiveSessionSequencer(state, context);
+    }
+
+    @Test
+    public void testSequenceResponsesInOrder() throws Exception {
+        PrimitiveSessionSequencer sequencer = newSequencer();
+        List<Long> completed = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            long sequence = sequencer.nextRequest();
+            sequencer.sequenceResponse(sequence, ResponseHeader.getDefaultInstance(), () -> completed.add(sequence));
+            assertEquals(sequence, sequencer.responseSequence);
+        }
+        assertEquals(100, completed.size());
+    }
+
+    @Test
+    public void testSequenceResponsesOutOfOrder() throws Exception {
+        PrimitiveSessionSequencer sequencer = newSequencer();
+        List<Long> completed = new ArrayList<>();
+        long sequence1 = sequencer.nextRequest();
+        long sequence2 = sequencer.nextRequest();
+        long sequence3 = sequencer.nextRequest();
+
+        sequencer.sequenceResponse(sequence3, ResponseHeader.getDefaultInstance(), () -> completed.add(sequence3));
+        sequencer.sequenceResponse(sequence2, null, () -> completed.add(sequence2));
+        assertTrue(completed.isEmpty());
+
+        sequencer.sequenceResponse(sequence1, ResponseHeader.getDefaultInstance(), () -> completed.add(sequence1));
+        assertEquals(3, completed.size());
+        assertEquals(sequence1, (long) completed.get(0));
+        assertEquals(sequence2, (long) completed.get(1));
+        assertEquals(sequence3, (long) completed.get(2));
+        assertEquals(sequence3, sequencer.responseSequence);
+    }
+
+    @Test
+    public void testSequenceResponsesBeyondCapacity() throws Exception {
+        PrimitiveSessionSequencer sequencer = newSequencer();
+        List<Long> completed = new ArrayList<>();
+        long first = sequencer.nextRequest();
+        for (int i = 0; i < 1000; i++) {
+            sequencer.nextRequest();
+        }
+
+        // Complete the responses in reverse order, which requires the buffer to grow past its initial capacity.
+        for (long sequence = sequencer.requestSequence; sequence > first; sequence--) {
+            long response = sequence;
+            sequencer.sequenceResponse(response, ResponseHeader.getDefaultInstance(), () -> completed.add(response));
+        }
+        assertTrue(completed.isEmpty());
+
+        sequencer.sequenceResponse(first, ResponseHeader.getDefaultInstance(), () -> completed.add(first));
+        assertEquals(1001, completed.size());
+        for (int i = 0; i < completed.size(); i++) {
+            assertEquals(first + i, (long) completed.get(i));
+        }
+    }
+
+    @Test
+    public void testCloseStream() throws Exception {
+        PrimitiveSessionSequencer sequencer = newSequencer();
+        List<Long> events = new ArrayList<>();
+        for (long i = 1; i <= 2; i++) {
+            long event = i;
+            sequencer.sequenceStream(StreamHeader.newBuilder()
+                .setStreamId(1)
+                .setIndex(event)
+                .setLastItemNumber(event)
+                .build(), () -> events.add(event));
+        }
+        assertEquals(2, events.size());
+        assertEquals(1, sequencer.streams().size());
+
+        // Closed streams are removed from the sequencer so that they no longer keep the primitive active.
+        List<Long> closed = new ArrayList<>();
+        sequencer.closeStream(1, () -> closed.add(1L));
+        assertEquals(1, closed.size());
+        assertTrue(sequencer.streams().isEmpty());
+        sequencer.closeStream(1, () -> closed.add(1L));
+        assertEquals(1, closed.size());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.client.session.SessionConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link QueryHedger}.
+ */
+public class QueryHedgerTest {
+    @Test
+    public void testHedgingDisabled() throws Exception {
+        QueryHedger hedger = new QueryHedger(new SessionConfig());
+        assertFalse(hedger.isEnabled());
+        assertEquals(-1, hedger.getDelayNanos());
+    }
+
+    @Test
+    public void testPercentileDelay() throws Exception {
+        QueryHedger hedger = new QueryHedger(new SessionConfig()
+            .setHedgingPercentile(.9)
+            .setMinHedgingDelay(Duration.ZERO));
+        assertTrue(hedger.isEnabled());
+        for (int i = 1; i < 100; i++) {
+            hedger.record(TimeUnit.MILLISECONDS.toNanos(i));
+            assertEquals(-1, hedger.getDelayNanos());
+        }
+        for (int i = 100; i <= 128; i++) {
+            hedger.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(116), hedger.getDelayNanos());
+    }
+
+    @Test
+    public void testMinDelay() throws Exception {
+        QueryHedger hedger = new QueryHedger(new SessionConfig()
+            .setHedgingPercentile(.5)
+            .setMinHedgingDelay(Duration.ofMillis(10)));
+        for (int i = 0; i < 128; i++) {
+            hedger.record(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), hedger.getDelayNanos());
+    }
+}
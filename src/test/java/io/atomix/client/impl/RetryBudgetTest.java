@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link RetryBudget}.
+ */
+public class RetryBudgetTest {
+
+    @Test
+    public void testRetryBudget() throws Exception {
+        RetryBudget budget = new RetryBudget(2, .5);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(2, budget.getRetriesTaken());
+        assertEquals(1, budget.getRetriesDenied());
+
+        budget.recordSuccess();
+        assertFalse(budget.tryAcquire());
+        budget.recordSuccess();
+        assertTrue(budget.tryAcquire());
+        assertEquals(3, budget.getRetriesTaken());
+        assertEquals(2, budget.getRetriesDenied());
+
+        for (int i = 0; i < 10; i++) {
+            budget.recordSuccess();
+        }
+        assertEquals(2, budget.getAvailableTokens(), 0);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.metrics.impl;
+
+import io.atomix.client.metrics.HistogramSnapshot;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link LogLinearHistogram}.
+ */
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testBuckets() throws Exception {
+        long[] values = {0, 1, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LogLinearHistogram.bucket(value);
+            assertTrue(LogLinearHistogram.upperBound(bucket) >= value);
+            assertTrue(bucket == 0 || LogLinearHistogram.upperBound(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    public void testPercentiles() throws Exception {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5000.5, snapshot.getMean(), .001);
+        assertEquals(5000, snapshot.getValueAtPercentile(50), 5000 / 32);
+        assertEquals(9900, snapshot.getValueAtPercentile(99), 9900 / 32);
+        assertEquals(10_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(100);
+        histogram.reset();
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+}
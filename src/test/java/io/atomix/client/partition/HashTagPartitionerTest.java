@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link HashTagPartitioner}.
+ */
+public class HashTagPartitionerTest {
+    private final Murmur3Partitioner murmur3 = new Murmur3Partitioner();
+    private final HashTagPartitioner partitioner = new HashTagPartitioner(murmur3);
+
+    @Test
+    public void testHashTag() throws Exception {
+        assertEquals(murmur3.hash("user:1"), partitioner.hash("{user:1}:name"));
+        assertEquals(murmur3.hash("user:1"), partitioner.hash("profile:{user:1}"));
+        assertEquals(murmur3.hash("user:1"), partitioner.hash("{user:1}:{other}"));
+        assertEquals(murmur3.hash("user:1"), partitioner.hash(bytes("{user:1}:name"), 0, 13));
+        assertEquals(murmur3.hash("user:1"), partitioner.hash(bytes("x{user:1}:name"), 1, 13));
+    }
+
+    @Test
+    public void testNoHashTag() throws Exception {
+        assertEquals(murmur3.hash("user:1"), partitioner.hash("user:1"));
+        assertEquals(murmur3.hash("{}user:1"), partitioner.hash("{}user:1"));
+        assertEquals(murmur3.hash("{user:1"), partitioner.hash("{user:1"));
+        assertEquals(murmur3.hash("}user:1{"), partitioner.hash("}user:1{"));
+        assertEquals(murmur3.hash("{}user:1"), partitioner.hash(bytes("{}user:1"), 0, 8));
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
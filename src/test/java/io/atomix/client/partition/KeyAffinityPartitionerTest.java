@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.atomix.client.utils.serializer.KeyCodec;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link KeyAffinityPartitioner}.
+ */
+public class KeyAffinityPartitionerTest {
+    private final Murmur3Partitioner murmur3 = new Murmur3Partitioner();
+    private final KeyAffinityPartitioner partitioner = new KeyAffinityPartitioner(murmur3);
+
+    @Test
+    public void testAffinity() throws Exception {
+        KeyCodec<String> codec = new KeyAffinityCodec<>(
+            KeyCodec.compact(null), key -> key.startsWith("user:") ? key.substring(0, key.indexOf(':', 5)) : null);
+        String name = codec.encode("user:1:name");
+        String email = codec.encode("user:1:email");
+        assertEquals(murmur3.hash("user:1"), partitioner.hash(name));
+        assertEquals(murmur3.hash("user:1"), partitioner.hash(email));
+        assertEquals("user:1:name", codec.decode(name));
+        assertEquals("user:1:email", codec.decode(email));
+
+        // Keys without an affinity are partitioned by the encoded key alone.
+        String other = codec.encode("other");
+        assertEquals(murmur3.hash("other"), partitioner.hash(other));
+        assertEquals("other", codec.decode(other));
+        assertEquals(murmur3.hash(""), partitioner.hash(codec.encode("")));
+        assertEquals("", codec.decode(codec.encode("")));
+    }
+
+    @Test
+    public void testAffinityComputedOnEncode() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        KeyCodec<String> codec = new KeyAffinityCodec<>(KeyCodec.compact(null), key -> {
+            calls.incrementAndGet();
+            return "a";
+        });
+        String encoded = codec.encode("foo");
+        assertEquals(1, calls.get());
+        partitioner.hash(encoded);
+        codec.decode(encoded);
+        assertEquals(1, calls.get());
+    }
+}
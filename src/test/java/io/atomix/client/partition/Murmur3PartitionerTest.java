@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.hash.Hashing;
+import io.atomix.client.utils.serializer.BinaryKeyCodec;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link Murmur3Partitioner}.
+ */
+public class Murmur3PartitionerTest {
+    private static final int KEYS = 10_000;
+
+    private final Murmur3Partitioner partitioner = new Murmur3Partitioner();
+
+    @Test
+    public void testHashMatchesGuava() throws Exception {
+        Random random = new Random(0);
+        for (int i = 0; i < KEYS; i++) {
+            char[] chars = new char[random.nextInt(32)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(Character.MAX_VALUE + 1);
+            }
+            String key = new String(chars);
+            assertEquals(Math.abs(Hashing.murmur3_32().hashUnencodedChars(key).asInt()), partitioner.hash(key));
+        }
+    }
+
+    @Test
+    public void testRawKeysMatchBinaryKeys() throws Exception {
+        Random random = new Random(0);
+        for (int i = 0; i < KEYS; i++) {
+            byte[] bytes = new byte[random.nextInt(32)];
+            random.nextBytes(bytes);
+            assertEquals(partitioner.hash(BinaryKeyCodec.encodeBytes(bytes)), partitioner.hash(bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    public void testPartitionMatchesGuava() throws Exception {
+        List<Integer> partitions = IntStream.rangeClosed(1, 7).boxed().collect(Collectors.toList());
+        PartitionTable table = PartitionTable.of(partitions);
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "key-" + i;
+        }
+        int[] partitionIds = new int[KEYS];
+        partitioner.partition(keys, table, partitionIds);
+        for (int i = 0; i < KEYS; i++) {
+            int hash = Math.abs(Hashing.murmur3_32().hashUnencodedChars(keys[i]).asInt());
+            int expected = partitions.get(Hashing.consistentHash(hash, partitions.size()));
+            assertEquals(expected, partitioner.partition(keys[i], partitions));
+            assertEquals(expected, partitioner.partition(keys[i], table));
+            assertEquals(expected, partitionIds[i]);
+        }
+    }
+}
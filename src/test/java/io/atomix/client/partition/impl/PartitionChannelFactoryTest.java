@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import io.atomix.api.controller.Partition;
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.api.session.KeepAliveRequest;
+import io.atomix.api.session.KeepAliveResponse;
+import io.atomix.api.session.SessionServiceGrpc;
+import io.atomix.client.channel.ChannelConfig;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link PartitionChannelFactory}.
+ */
+public class PartitionChannelFactoryTest {
+    private static final PartitionEndpoint ENDPOINT_1 = PartitionEndpoint.newBuilder()
+        .setHost("localhost")
+        .setPort(5001)
+        .build();
+    private static final PartitionEndpoint ENDPOINT_2 = PartitionEndpoint.newBuilder()
+        .setHost("localhost")
+        .setPort(5002)
+        .build();
+
+    @Test
+    public void testUpdateEndpoints() throws Exception {
+        PartitionChannelRegistry registry = new PartitionChannelRegistry(new ChannelConfig());
+        PartitionChannelFactory factory = new PartitionChannelFactory(Partition.newBuilder()
+            .setPartitionId(1)
+            .addEndpoints(ENDPOINT_1)
+            .build(), registry);
+        ManagedChannel channel1 = factory.getChannel();
+        ManagedChannel channel2 = factory.getChannel();
+        channel2.shutdown();
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_1));
+
+        // Open channels are moved to the new endpoints.
+        factory.update(Partition.newBuilder()
+            .setPartitionId(1)
+            .addEndpoints(ENDPOINT_2)
+            .build());
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_1));
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_2));
+
+        ManagedChannel channel3 = factory.getChannel();
+        assertEquals(2, registry.getReferenceCount(ENDPOINT_2));
+        channel1.shutdown();
+        channel3.shutdown();
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_2));
+        registry.close();
+    }
+
+    @Test
+    public void testUpdateWhileCallStarting() throws Exception {
+        PartitionChannelRegistry registry = new PartitionChannelRegistry(new ChannelConfig());
+        PartitionChannelFactory factory = new PartitionChannelFactory(Partition.newBuilder()
+            .setPartitionId(1)
+            .addEndpoints(ENDPOINT_1)
+            .build(), registry);
+        ManagedChannel channel = factory.getChannel();
+        ClientCall<KeepAliveRequest, KeepAliveResponse> call =
+            channel.newCall(SessionServiceGrpc.getKeepAliveMethod(), CallOptions.DEFAULT);
+
+        // The previous endpoints are kept until the call routed to them has started.
+        factory.update(Partition.newBuilder()
+            .setPartitionId(1)
+            .addEndpoints(ENDPOINT_2)
+            .build());
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_1));
+        call.start(new ClientCall.Listener<KeepAliveResponse>() {
+        }, new Metadata());
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_1));
+        call.cancel("test", null);
+
+        channel.shutdown();
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_2));
+        registry.close();
+    }
+}
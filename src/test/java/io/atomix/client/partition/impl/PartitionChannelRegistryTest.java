@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.client.channel.ChannelConfig;
+import io.atomix.client.utils.concurrent.EventLoopContext;
+import io.atomix.client.utils.concurrent.EventLoopContextFactory;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PartitionChannelRegistry}.
+ */
+public class PartitionChannelRegistryTest {
+    private static final PartitionEndpoint ENDPOINT_1 = PartitionEndpoint.newBuilder()
+        .setHost("localhost")
+        .setPort(5001)
+        .build();
+    private static final PartitionEndpoint ENDPOINT_2 = PartitionEndpoint.newBuilder()
+        .setHost("localhost")
+        .setPort(5002)
+        .build();
+    private static final MethodDescriptor.Marshaller<String> STRING_MARSHALLER = new MethodDescriptor.Marshaller<String>() {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            try {
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+    private static final MethodDescriptor<String, String> ECHO = MethodDescriptor.<String, String>newBuilder()
+        .setType(MethodDescriptor.MethodType.UNARY)
+        .setFullMethodName(MethodDescriptor.generateFullMethodName("test.Echo", "Echo"))
+        .setRequestMarshaller(STRING_MARSHALLER)
+        .setResponseMarshaller(STRING_MARSHALLER)
+        .build();
+
+    @Test
+    public void testReferenceCounting() throws Exception {
+        PartitionChannelRegistry registry = new PartitionChannelRegistry(new ChannelConfig().setPoolSize(2));
+        ManagedChannel channel1 = registry.acquire(ENDPOINT_1);
+        ManagedChannel channel2 = registry.acquire(ENDPOINT_1);
+        ManagedChannel channel3 = registry.acquire(ENDPOINT_2);
+        assertEquals(2, registry.getReferenceCount(ENDPOINT_1));
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_2));
+        assertEquals(channel1.authority(), channel2.authority());
+
+        channel1.shutdown();
+        assertTrue(channel1.isShutdown());
+        assertFalse(channel2.isShutdown());
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_1));
+
+        // Releasing the same reference twice must not release another primitive's reference.
+        channel1.shutdown();
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_1));
+
+        channel2.shutdown();
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_1));
+        assertEquals(1, registry.getReferenceCount(ENDPOINT_2));
+
+        channel3.shutdown();
+        assertEquals(0, registry.getReferenceCount(ENDPOINT_2));
+        registry.close();
+    }
+
+    @Test
+    public void testEventLoopAffinity() throws Exception {
+        Server server = NettyServerBuilder.forPort(0)
+            .addService(ServerServiceDefinition.builder("test.Echo")
+                .addMethod(ECHO, ServerCalls.asyncUnaryCall((String request, StreamObserver<String> observer) -> {
+                    observer.onNext(request);
+                    observer.onCompleted();
+                }))
+                .build())
+            .build()
+            .start();
+        EventLoopContextFactory factory = new EventLoopContextFactory(
+            "test-%d", 2, LoggerFactory.getLogger(PartitionChannelRegistryTest.class));
+        PartitionChannelRegistry registry = new PartitionChannelRegistry(new ChannelConfig(), factory.eventLoopGroup());
+        try {
+            ManagedChannel channel = registry.acquire(PartitionEndpoint.newBuilder()
+                .setHost("localhost")
+                .setPort(server.getPort())
+                .build());
+            AtomicBoolean failed = new AtomicBoolean();
+            CountDownLatch latch = new CountDownLatch(20);
+            for (int i = 0; i < 2; i++) {
+                EventLoopContext context = (EventLoopContext) factory.createContext();
+                for (int j = 0; j < 10; j++) {
+                    // Calls made on a context's event loop go out on the channel bound to that loop, so their
+                    // callbacks are run on the same loop.
+                    context.execute(() -> ClientCalls.asyncUnaryCall(
+                        channel.newCall(ECHO, CallOptions.DEFAULT), "foo", new StreamObserver<String>() {
+                            @Override
+                            public void onNext(String value) {
+                                if (!context.eventLoop().inEventLoop() || !context.isCurrentContext()) {
+                                    failed.set(true);
+                                }
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                                failed.set(true);
+                                latch.countDown();
+                            }
+
+                            @Override
+                            public void onCompleted() {
+                                latch.countDown();
+                            }
+                        }));
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertFalse(failed.get());
+            channel.shutdown();
+        } finally {
+            registry.close();
+            factory.close();
+            server.shutdownNow();
+        }
+    }
+}
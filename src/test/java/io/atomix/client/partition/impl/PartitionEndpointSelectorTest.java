@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.client.channel.LoadBalancingPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Unit tests for {@link PartitionEndpointSelector}.
+ */
+public class PartitionEndpointSelectorTest {
+    private static final List<PartitionEndpoint> ENDPOINTS = Arrays.asList(
+        PartitionEndpoint.newBuilder().setHost("localhost").setPort(5001).build(),
+        PartitionEndpoint.newBuilder().setHost("localhost").setPort(5002).build(),
+        PartitionEndpoint.newBuilder().setHost("localhost").setPort(5003).build());
+
+    @Test
+    public void testCommandFailover() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.ROUND_ROBIN);
+        assertEquals(0, selector.selectCommand());
+        assertEquals(0, selector.selectCommand());
+
+        selector.recordFailure(0);
+        assertEquals(1, selector.selectCommand());
+        assertEquals(1, selector.selectCommand());
+
+        selector.recordSuccess(2, true);
+        assertEquals(2, selector.selectCommand());
+    }
+
+    @Test
+    public void testRoundRobinQueries() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.ROUND_ROBIN);
+        assertEquals(0, selector.selectQuery());
+        assertEquals(1, selector.selectQuery());
+        assertEquals(2, selector.selectQuery());
+
+        selector.recordFailure(1);
+        for (int i = 0; i < 6; i++) {
+            assertNotEquals(1, selector.selectQuery());
+        }
+
+        selector.recordSuccess(1, false);
+        assertEquals(0, selector.selectQuery());
+        assertEquals(1, selector.selectQuery());
+    }
+
+    @Test
+    public void testExcludedQueryEndpoint() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.ROUND_ROBIN);
+        for (int i = 0; i < 6; i++) {
+            assertNotEquals(1, selector.selectQuery(1));
+        }
+
+        // The excluded endpoint is still selected when no other endpoint is healthy.
+        selector.recordFailure(0);
+        selector.recordFailure(2);
+        assertEquals(1, selector.selectQuery(1));
+    }
+
+    @Test
+    public void testLeastOutstandingQueries() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.LEAST_OUTSTANDING_REQUESTS);
+        selector.requestStarted(0);
+        selector.requestStarted(1);
+        assertEquals(2, selector.selectQuery());
+        selector.requestStarted(2);
+        selector.requestStarted(2);
+        selector.requestCompleted(1);
+        assertEquals(1, selector.selectQuery());
+    }
+
+    @Test
+    public void testFollowerQueries() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.ROUND_ROBIN);
+        selector.recordSuccess(1, true);
+        for (int i = 0; i < 6; i++) {
+            assertNotEquals(1, selector.selectFollower());
+        }
+
+        selector.recordFailure(0);
+        selector.recordFailure(2);
+        assertEquals(1, selector.selectFollower());
+    }
+
+    @Test
+    public void testAllEndpointsUnavailable() throws Exception {
+        PartitionEndpointSelector selector = new PartitionEndpointSelector(ENDPOINTS, LoadBalancingPolicy.ROUND_ROBIN);
+        selector.recordFailure(0);
+        selector.recordFailure(0);
+        selector.recordFailure(1);
+        selector.recordFailure(2);
+        selector.recordFailure(2);
+        assertEquals(1, selector.selectCommand());
+        assertEquals(1, selector.selectQuery());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.partition.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.api.controller.ControllerServiceGrpc;
+import io.atomix.api.controller.GetPartitionGroupsRequest;
+import io.atomix.api.controller.GetPartitionGroupsResponse;
+import io.atomix.api.controller.Partition;
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.api.controller.PartitionGroup;
+import io.atomix.api.controller.PartitionGroupId;
+import io.atomix.client.channel.ChannelConfig;
+import io.atomix.client.impl.PartitionSessionRegistry;
+import io.atomix.client.session.SessionConfig;
+import io.atomix.client.utils.concurrent.ThreadPoolContextFactory;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link PartitionServiceImpl}.
+ */
+public class PartitionServiceImplTest {
+    private static final PartitionGroupId GROUP_ID = PartitionGroupId.newBuilder()
+        .setName("test")
+        .setNamespace("default")
+        .build();
+    private static final PartitionGroup GROUP = PartitionGroup.newBuilder()
+        .setId(GROUP_ID)
+        .addPartitions(Partition.newBuilder()
+            .setPartitionId(1)
+            .addEndpoints(PartitionEndpoint.newBuilder()
+                .setHost("localhost")
+                .setPort(5001)
+                .build())
+            .build())
+        .build();
+
+    private final List<StreamObserver<GetPartitionGroupsResponse>> requests = new ArrayList<>();
+    private Server server;
+    private ManagedChannel channel;
+    private ThreadPoolContextFactory threadContextFactory;
+    private PartitionChannelRegistry channelRegistry;
+
+    @Before
+    public void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new ControllerServiceGrpc.ControllerServiceImplBase() {
+                @Override
+                public void getPartitionGroups(
+                    GetPartitionGroupsRequest request, StreamObserver<GetPartitionGroupsResponse> responseObserver) {
+                    synchronized (requests) {
+                        requests.add(responseObserver);
+                    }
+                }
+            })
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        threadContextFactory = new ThreadPoolContextFactory("test-%d", 1, LoggerFactory.getLogger(getClass()));
+        channelRegistry = new PartitionChannelRegistry(new ChannelConfig());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        channelRegistry.close();
+        threadContextFactory.close();
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void respond(int request) {
+        StreamObserver<GetPartitionGroupsResponse> observer;
+        synchronized (requests) {
+            observer = requests.get(request);
+        }
+        observer.onNext(GetPartitionGroupsResponse.newBuilder().addGroups(GROUP).build());
+        observer.onCompleted();
+    }
+
+    @Test
+    public void testSingleFlightLoading() throws Exception {
+        PartitionServiceImpl service = new PartitionServiceImpl(
+            () -> channel, channelRegistry, new PartitionSessionRegistry(threadContextFactory, new SessionConfig()));
+
+        CompletableFuture<io.atomix.client.partition.PartitionGroup> future1 = service.getPartitionGroup(GROUP_ID);
+        CompletableFuture<io.atomix.client.partition.PartitionGroup> future2 = service.getPartitionGroup(GROUP_ID);
+        assertFalse(future1.isDone());
+        assertEquals(1, requests.size());
+
+        respond(0);
+        io.atomix.client.partition.PartitionGroup group = future1.get(5, TimeUnit.SECONDS);
+        assertSame(group, future2.get(5, TimeUnit.SECONDS));
+
+        // Subsequent lookups are served from the cache and share the same partitions.
+        assertSame(group, service.getPartitionGroup(GROUP_ID).get(5, TimeUnit.SECONDS));
+        assertSame(group.getPartition(1), service.getPartitionGroup(GROUP_ID).get(5, TimeUnit.SECONDS).getPartition(1));
+        assertEquals(1, requests.size());
+        service.close();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.test;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.google.protobuf.Empty;
+import io.atomix.api.controller.NodeConfig;
+import io.atomix.api.controller.Partition;
+import io.atomix.api.controller.PartitionConfig;
+import io.atomix.api.controller.PartitionEndpoint;
+import io.atomix.api.controller.PartitionGroup;
+import io.atomix.api.controller.PartitionGroupId;
+import io.atomix.api.controller.PartitionGroupSpec;
+import io.atomix.api.controller.PartitionId;
+import io.atomix.client.AtomixClient;
+import io.atomix.client.AtomixClientBuilder;
+import io.atomix.client.utils.concurrent.Futures;
+import io.atomix.server.AtomixServer;
+
+/**
+ * In-process test cluster.
+ * <p>
+ * The cluster runs a {@link TestController} and one {@link AtomixServer} per partition using the {@link TestProtocol},
+ * and is shared by the primitive tests and the benchmarks.
+ */
+public class TestCluster {
+  private static final int CONTROLLER_PORT = 6000;
+  private static final int BASE_PARTITION_PORT = 5000;
+
+  private final int partitions;
+  private TestController controller;
+  private final List<AtomixServer> servers = new CopyOnWriteArrayList<>();
+  private final List<AtomixClient> clients = new CopyOnWriteArrayList<>();
+
+  public TestCluster() {
+    this(3);
+  }
+
+  public TestCluster(int partitions) {
+    this.partitions = partitions;
+  }
+
+  /**
+   * Returns a new client builder connected to the cluster.
+   *
+   * @return a new client builder
+   */
+  public AtomixClientBuilder clientBuilder() {
+    return AtomixClient.builder()
+        .withServer("localhost", CONTROLLER_PORT);
+  }
+
+  /**
+   * Returns a new started client connected to the cluster.
+   *
+   * @return a new client
+   */
+  public AtomixClient client() throws Exception {
+    return client(clientBuilder());
+  }
+
+  /**
+   * Builds and starts a client connected to the cluster.
+   * <p>
+   * The client is stopped when the cluster is stopped.
+   *
+   * @param builder the client builder
+   * @return the started client
+   */
+  public AtomixClient client(AtomixClientBuilder builder) throws Exception {
+    AtomixClient client = builder.build();
+    client.start().get(10, TimeUnit.SECONDS);
+    clients.add(client);
+    return client;
+  }
+
+  private AtomixServer createServer(int partitionId, String host, int port) {
+    String memberId = String.format("test-%d", partitionId);
+    PartitionConfig partitionConfig = PartitionConfig.newBuilder()
+        .setPartition(PartitionId.newBuilder()
+            .setGroup(PartitionGroupId.newBuilder()
+                .setName("test")
+                .setNamespace("default")
+                .build())
+            .setPartition(partitionId)
+            .build())
+        .setController(NodeConfig.newBuilder()
+            .setId("controller")
+            .setHost("localhost")
+            .setPort(CONTROLLER_PORT)
+            .build())
+        .addMembers(NodeConfig.newBuilder()
+            .setId(memberId)
+            .setHost(host)
+            .setPort(port)
+            .build())
+        .build();
+    return new AtomixServer(memberId, partitionConfig, TestProtocol.TYPE, Empty.newBuilder().build());
+  }
+
+  /**
+   * Starts the cluster.
+   */
+  public void start() throws Exception {
+    deleteData();
+    TestProtocol.reset();
+    PartitionGroup.Builder partitionGroup = PartitionGroup.newBuilder()
+        .setId(PartitionGroupId.newBuilder()
+            .setName("test")
+            .setNamespace("default")
+            .build())
+        .setSpec(PartitionGroupSpec.newBuilder()
+            .setPartitions(partitions)
+            .setPartitionSize(1)
+            .build());
+    for (int partitionId = 1; partitionId <= partitions; partitionId++) {
+      partitionGroup.addPartitions(Partition.newBuilder()
+          .setPartitionId(partitionId)
+          .addEndpoints(PartitionEndpoint.newBuilder()
+              .setHost("localhost")
+              .setPort(BASE_PARTITION_PORT + partitionId)
+              .build())
+          .build());
+    }
+    controller = new TestController(CONTROLLER_PORT, Collections.singletonList(partitionGroup.build()));
+    controller.start().get(30, TimeUnit.SECONDS);
+
+    for (int partitionId = 1; partitionId <= partitions; partitionId++) {
+      servers.add(createServer(partitionId, "localhost", BASE_PARTITION_PORT + partitionId));
+    }
+    Futures.allOf(servers.stream().map(AtomixServer::start)).get(30, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the cluster and all the clients connected to it.
+   */
+  public void stop() throws Exception {
+    List<CompletableFuture<Void>> futures = clients.stream().map(AtomixClient::stop).collect(Collectors.toList());
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(30, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      // Do nothing
+    }
+    clients.clear();
+    Futures.allOf(servers.stream().map(AtomixServer::stop)).get(30, TimeUnit.SECONDS);
+    servers.clear();
+    if (controller != null) {
+      controller.stop().get(30, TimeUnit.SECONDS);
+    }
+    deleteData();
+  }
+
+  private void deleteData() throws IOException {
+    if (Files.exists(Paths.get("target/test-data/"))) {
+      Files.walkFileTree(Paths.get("target/test-data/"), new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          Files.delete(file);
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+          Files.delete(dir);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+  }
+}
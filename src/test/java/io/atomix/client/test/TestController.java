@@ -69,4 +69,9 @@ public class TestController extends ControllerServiceGrpc.ControllerServiceImplB
     return serviceRegistry.start()
         .thenRun(() -> serviceRegistry.register(this));
   }
+
+  @Override
+  public CompletableFuture<Void> stop() {
+    return serviceRegistry.stop();
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link EventLoopContextFactory}.
+ */
+public class EventLoopContextFactoryTest {
+
+    @Test
+    public void testContextsRunOnEventLoops() throws Exception {
+        EventLoopContextFactory factory = new EventLoopContextFactory(
+            "test-%d", 2, LoggerFactory.getLogger(EventLoopContextFactoryTest.class));
+        try {
+            EventLoopContext context1 = (EventLoopContext) factory.createContext();
+            EventLoopContext context2 = (EventLoopContext) factory.createContext();
+            assertNotSame(context1.eventLoop(), context2.eventLoop());
+            assertSame(context1, factory.createContext());
+
+            AtomicBoolean failed = new AtomicBoolean();
+            CountDownLatch latch = new CountDownLatch(4);
+            for (EventLoopContext context : new EventLoopContext[]{context1, context2}) {
+                Runnable check = () -> {
+                    if (!context.eventLoop().inEventLoop() || !context.isCurrentContext()) {
+                        failed.set(true);
+                    }
+                    latch.countDown();
+                };
+                context.execute(check);
+                context.schedule(Duration.ofMillis(1), check);
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertFalse(failed.get());
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    public void testTimersRunOnEventLoops() throws Exception {
+        EventLoopContextFactory factory = new EventLoopContextFactory(
+            "test-%d", 1, Duration.ofMillis(1), LoggerFactory.getLogger(EventLoopContextFactoryTest.class));
+        try {
+            EventLoopContext context = (EventLoopContext) factory.createContext();
+            AtomicBoolean failed = new AtomicBoolean();
+            CountDownLatch latch = new CountDownLatch(4);
+            Runnable check = () -> {
+                if (!context.eventLoop().inEventLoop() || !context.isCurrentContext()) {
+                    failed.set(true);
+                }
+                latch.countDown();
+            };
+
+            // Timers are scheduled on the shared wheel and handed off to the context's event loop once expired.
+            context.schedule(Duration.ofMillis(1), check);
+            Scheduled periodic = context.schedule(Duration.ofMillis(1), Duration.ofMillis(1), check);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            periodic.cancel();
+            assertFalse(failed.get());
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    public void testSubMillisecondTimers() throws Exception {
+        EventLoopContextFactory factory = new EventLoopContextFactory(
+            "test-%d", 1, LoggerFactory.getLogger(EventLoopContextFactoryTest.class));
+        try {
+            ThreadContext context = factory.createContext();
+            CountDownLatch latch = new CountDownLatch(2);
+
+            // Sub-millisecond intervals are scheduled as is rather than truncated to zero.
+            Scheduled periodic = context.schedule(Duration.ofNanos(500_000), Duration.ofNanos(500_000), latch::countDown);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            periodic.cancel();
+        } finally {
+            factory.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link HashedWheelScheduler}.
+ */
+public class HashedWheelSchedulerTest {
+    private HashedWheelScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new HashedWheelScheduler(new AtomixThreadFactory(), Duration.ofMillis(1), 8);
+    }
+
+    @After
+    public void teardown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        // Both delays are longer than one revolution of the wheel.
+        scheduler.schedule(Duration.ofMillis(50), latch::countDown);
+        scheduler.schedule(Duration.ofMillis(20), latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testScheduleWhenIdle() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(Duration.ofMillis(1), latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        // Let the worker park on the empty wheel before scheduling the next timer.
+        Thread.sleep(50);
+        CountDownLatch idleLatch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(Duration.ofMillis(10), idleLatch::countDown);
+        assertTrue(idleLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(Duration.ofMillis(10), count::incrementAndGet).cancel();
+        scheduler.schedule(Duration.ofMillis(30), latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws Exception {
+        CountDownLatch latch = new CountDownLatch(5);
+        Scheduled scheduled = scheduler.schedule(Duration.ofMillis(5), Duration.ofMillis(5), latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        scheduled.cancel();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ThreadPoolContext}.
+ */
+public class ThreadPoolContextTest {
+    private static final int PRODUCERS = 8;
+    private static final int TASKS = 10_000;
+
+    @Test
+    public void testTasksExecuteInOrder() throws Exception {
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(4, new AtomixThreadFactory());
+        try {
+            ThreadContext context = new ThreadPoolContext(executor);
+            int[] last = new int[PRODUCERS];
+            AtomicBoolean running = new AtomicBoolean();
+            AtomicBoolean failed = new AtomicBoolean();
+            CountDownLatch latch = new CountDownLatch(PRODUCERS * TASKS);
+            for (int i = 0; i < PRODUCERS; i++) {
+                int producer = i;
+                new Thread(() -> {
+                    for (int j = 1; j <= TASKS; j++) {
+                        int task = j;
+                        context.execute(() -> {
+                            // Tasks must be executed one at a time, and each producer's tasks in the order submitted.
+                            if (!running.compareAndSet(false, true)
+                                || last[producer] != task - 1
+                                || !context.isCurrentContext()) {
+                                failed.set(true);
+                            }
+                            last[producer] = task;
+                            running.set(false);
+                            latch.countDown();
+                        });
+                    }
+                }).start();
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            assertFalse(failed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+
+import com.google.protobuf.StringValue;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link BufferSerializer}.
+ */
+public class BufferSerializerTest {
+
+    /**
+     * Serializer that writes the given number of bytes.
+     */
+    private static class RepeatingSerializer implements BufferSerializer {
+        @Override
+        public <T> void encode(T object, ByteBuffer buffer) {
+            int length = (Integer) object;
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) i);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T decode(ByteBuffer buffer) {
+            return (T) (Integer) buffer.remaining();
+        }
+    }
+
+    @Test
+    public void testPooledEncode() throws Exception {
+        BufferSerializer serializer = new RepeatingSerializer();
+        assertEquals(10, serializer.encode(10).length);
+        assertEquals(100_000, serializer.encode(100_000).length);
+        assertEquals(10, serializer.encode(10).length);
+        assertEquals(100_000, (int) serializer.decode(serializer.encode(100_000)));
+    }
+
+    @Test
+    public void testEncodeToFunction() throws Exception {
+        BufferSerializer serializer = new RepeatingSerializer();
+        assertEquals(10, (int) serializer.encode(10, ByteBuffer::remaining));
+        assertEquals(100_000, (int) serializer.encode(100_000, ByteBuffer::remaining));
+        assertEquals(9, (int) serializer.<Integer, Byte>encode(10, buffer -> buffer.get(buffer.limit() - 1)));
+    }
+
+    @Test
+    public void testNestedEncode() throws Exception {
+        BufferSerializer inner = new RepeatingSerializer();
+        BufferSerializer outer = new RepeatingSerializer() {
+            @Override
+            public <T> void encode(T object, ByteBuffer buffer) {
+                buffer.put(inner.encode(object));
+            }
+        };
+        assertEquals(10, outer.encode(10).length);
+    }
+
+    @Test
+    public void testProtobufSerializer() throws Exception {
+        ProtobufSerializer<StringValue> serializer = new ProtobufSerializer<>(StringValue.parser());
+        StringValue value = StringValue.newBuilder().setValue("foo").build();
+        assertEquals(value, serializer.decode(serializer.encode(value)));
+
+        ByteBuffer buffer = ByteBuffer.allocate(value.getSerializedSize());
+        serializer.encode(value, buffer);
+        assertEquals(value.getSerializedSize(), buffer.position());
+        buffer.flip();
+        assertEquals(value, serializer.decode(buffer.asReadOnlyBuffer()));
+    }
+}
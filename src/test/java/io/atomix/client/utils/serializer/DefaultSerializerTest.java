@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link DefaultSerializer}.
+ */
+public class DefaultSerializerTest {
+    private final DefaultSerializer serializer = new DefaultSerializer();
+
+    private void assertRoundTrip(Object value) {
+        byte[] bytes = serializer.encode(value);
+        assertEquals(value, serializer.decode(bytes));
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+        serializer.encode(value, buffer);
+        assertEquals(bytes.length, buffer.position());
+        buffer.flip();
+        assertEquals(value, serializer.decode(buffer.asReadOnlyBuffer()));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        assertRoundTrip("");
+        assertRoundTrip("foo");
+        assertRoundTrip("\u00e9\u4e2d\ud83d\ude00");
+        assertRoundTrip(Long.MIN_VALUE);
+        assertRoundTrip(42);
+        assertRoundTrip((short) -1);
+        assertRoundTrip((byte) 7);
+        assertRoundTrip(true);
+        assertRoundTrip(false);
+        assertRoundTrip(Math.PI);
+        assertRoundTrip(1.5f);
+        assertRoundTrip('x');
+    }
+
+    @Test
+    public void testEncodedSize() throws Exception {
+        assertEquals(4, serializer.encode("foo").length);
+        assertEquals(1 + 2 + 3 + 4, serializer.encode("\u00e9\u4e2d\ud83d\ude00").length);
+        assertEquals(9, serializer.encode(1L).length);
+    }
+
+    @Test
+    public void testBytes() throws Exception {
+        byte[] value = new byte[]{1, 2, 3};
+        assertArrayEquals(value, serializer.decode(serializer.encode(value)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedType() throws Exception {
+        serializer.encode(new Object());
+    }
+}
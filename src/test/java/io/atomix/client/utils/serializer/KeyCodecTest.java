@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.client.utils.serializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link KeyCodec}.
+ */
+public class KeyCodecTest {
+    private static final Serializer SERIALIZER = new Serializer() {
+        @Override
+        public <T> byte[] encode(T object) {
+            if (object instanceof String) {
+                byte[] bytes = ((String) object).getBytes(StandardCharsets.UTF_8);
+                return ByteBuffer.allocate(bytes.length + 1).put((byte) 0).put(bytes).array();
+            }
+            return ByteBuffer.allocate(Long.BYTES + 1).put((byte) 1).putLong((Long) object).array();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T decode(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() == 0) {
+                return (T) new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            }
+            return (T) (Long) buffer.getLong();
+        }
+    };
+
+    private static final BufferSerializer BUFFER_SERIALIZER = new BufferSerializer() {
+        @Override
+        public <T> void encode(T object, ByteBuffer buffer) {
+            buffer.put(SERIALIZER.encode(object));
+        }
+
+        @Override
+        public <T> T decode(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return SERIALIZER.decode(bytes);
+        }
+    };
+
+    @Test
+    public void testBinaryKeys() throws Exception {
+        KeyCodec<Object> codec = KeyCodec.binary(SERIALIZER);
+        String encoded = codec.encode(-1L);
+        assertEquals(Long.BYTES + 1, encoded.length());
+        assertEquals(-1L, codec.decode(encoded));
+        assertEquals("foo", codec.decode(codec.encode("foo")));
+    }
+
+    @Test
+    public void testCompactKeys() throws Exception {
+        KeyCodec<Object> codec = KeyCodec.compact(SERIALIZER);
+        assertEquals("foo", codec.encode("foo"));
+        assertEquals("foo", codec.decode("foo"));
+        assertEquals("", codec.encode(""));
+        assertEquals("", codec.decode(""));
+
+        // Keys that are not strings are encoded in binary behind a prefix that string keys are not stored with.
+        String encoded = codec.encode(1L);
+        assertEquals('\0', encoded.charAt(0));
+        assertEquals(1L, codec.decode(encoded));
+
+        String string = "\0foo";
+        encoded = codec.encode(string);
+        assertEquals(string, codec.decode(encoded));
+    }
+
+    @Test
+    public void testStringKeysWithoutSerializer() throws Exception {
+        KeyCodec<String> codec = KeyCodec.compact(null);
+        assertEquals("foo", codec.decode(codec.encode("foo")));
+    }
+
+    @Test
+    public void testBase16Keys() throws Exception {
+        KeyCodec<Object> codec = KeyCodec.base16(SERIALIZER);
+        assertEquals("01FFFFFFFFFFFFFFFF", codec.encode(-1L));
+        assertEquals(-1L, codec.decode("01FFFFFFFFFFFFFFFF"));
+
+        byte[] bytes = SERIALIZER.encode("foo");
+        CharSequence chars = Base16KeyCodec.encodeChars(bytes);
+        assertEquals(codec.encode("foo"), chars.toString());
+        assertEquals(codec.encode("foo").substring(3, 7), chars.subSequence(3, 7).toString());
+    }
+
+    @Test
+    public void testBufferSerializerKeys() throws Exception {
+        // Keys encoded directly from the serializer's buffer must match keys encoded from copies of it.
+        assertBufferEncoding(KeyCodec.base16(SERIALIZER), KeyCodec.base16(BUFFER_SERIALIZER));
+        assertBufferEncoding(KeyCodec.binary(SERIALIZER), KeyCodec.binary(BUFFER_SERIALIZER));
+        assertBufferEncoding(KeyCodec.compact(SERIALIZER), KeyCodec.compact(BUFFER_SERIALIZER));
+    }
+
+    private static void assertBufferEncoding(KeyCodec<Object> arrayCodec, KeyCodec<Object> bufferCodec) {
+        for (Object key : new Object[]{-1L, 1L, "foo", "\0foo"}) {
+            String encoded = bufferCodec.encode(key);
+            assertEquals(arrayCodec.encode(key), encoded);
+            assertEquals(key, bufferCodec.decode(encoded));
+        }
+    }
+}